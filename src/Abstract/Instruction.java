@@ -6,6 +6,8 @@ package Abstract;
 import Environment.Environment;
 import Types.TypeInstrution;
 import Types.TypeStatement;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * Instrucción en el lenguaje.
@@ -14,11 +16,46 @@ import Types.TypeStatement;
  */
 public abstract class Instruction extends Statement{
     TypeInstrution typeInstrution;
+    // Línea del código fuente donde empieza la instrucción (0 si no se conoce)
+    int line;
     public Instruction(TypeInstrution typeInstrution) {
         super(TypeStatement.INSTRUCION);
         this.typeInstrution = typeInstrution;
     }
 
     public abstract void Execute(Environment entorno);
-    
-}
\ No newline at end of file
+
+    /**
+     * Clave que identifica el contenido de la instrucción (independiente de
+     * espacios y comentarios). Se usa para el cache de re-análisis incremental.
+     */
+    public String getSourceKey() {
+        return toString();
+    }
+
+    /**
+     * Conjuntos que la instrucción lee del entorno.
+     */
+    public Set<String> getReadSets() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Conjunto que la instrucción escribe en el entorno (null si no escribe).
+     */
+    public String getWrittenSet() {
+        return null;
+    }
+
+    public TypeInstrution getTypeInstrution() {
+        return typeInstrution;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    public void setLine(int line) {
+        this.line = line;
+    }
+}
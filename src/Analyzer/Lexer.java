@@ -37,7 +37,7 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_CMAP_TOP = zzUnpackcmap_top();
 
   private static final String ZZ_CMAP_TOP_PACKED_0 =
-    "\1\0\37\u0100\1\u0200\267\u0100\10\u0300\u1020\u0100";
+    "\1\0\u10ff\u0100";
 
   private static int [] zzUnpackcmap_top() {
     int [] result = new int[4352];
@@ -65,17 +65,17 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_CMAP_BLOCKS = zzUnpackcmap_blocks();
 
   private static final String ZZ_CMAP_BLOCKS_PACKED_0 =
-    "\11\0\1\1\1\2\2\3\1\1\22\0\1\1\1\4"+
-    "\1\5\1\6\2\5\1\7\1\5\1\10\1\11\2\5"+
-    "\1\12\1\13\2\5\12\14\1\15\1\16\1\17\1\5"+
-    "\1\20\2\5\1\21\1\22\1\23\1\22\1\24\4\22"+
-    "\1\25\1\22\1\26\1\22\1\27\1\30\1\31\1\22"+
-    "\1\32\2\22\1\33\1\34\4\22\3\5\1\35\1\36"+
-    "\1\5\32\22\1\37\1\5\1\40\1\41\6\0\1\3"+
-    "\u01a2\0\2\3\326\0\u0100\3";
+    "\11\0\1\1\1\2\2\0\1\3\22\0\1\1\1\4"+
+    "\1\5\1\6\2\7\1\10\1\7\1\11\1\12\2\7"+
+    "\1\13\1\14\2\7\12\15\1\16\1\17\1\20\1\7"+
+    "\1\21\2\7\1\22\1\23\1\24\1\23\1\25\2\23"+
+    "\1\26\1\27\1\30\1\23\1\31\1\32\1\33\1\34"+
+    "\1\35\1\23\1\36\1\37\1\40\1\41\1\42\4\23"+
+    "\3\7\1\43\1\44\1\7\32\23\1\45\1\7\1\46"+
+    "\1\47\u0181\50";
 
   private static int [] zzUnpackcmap_blocks() {
-    int [] result = new int[1024];
+    int [] result = new int[512];
     int offset = 0;
     offset = zzUnpackcmap_blocks(ZZ_CMAP_BLOCKS_PACKED_0, offset, result);
     return result;
@@ -99,13 +99,15 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\1\0\1\1\1\2\2\3\1\4\1\5\1\6\1\7"+
-    "\1\10\1\11\1\12\1\13\1\3\4\14\1\15\1\16"+
-    "\1\17\1\20\1\21\1\22\1\23\1\0\3\14\1\0"+
-    "\3\14\1\24\1\25\3\14\1\26\1\14\1\27";
+    "\1\0\1\1\1\2\3\3\1\4\1\5\1\6\1\7"+
+    "\1\10\1\11\1\12\1\13\1\3\6\14\1\15\1\16"+
+    "\1\17\1\20\1\21\1\22\1\0\1\23\1\24\1\25"+
+    "\1\0\6\14\1\22\1\0\6\14\1\22\1\26\1\14"+
+    "\1\27\4\14\1\22\3\14\1\30\1\14\1\22\4\14"+
+    "\1\22\1\31\1\32\2\14\1\22\1\33\1\34\371\22";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[41];
+    int [] result = new int[322];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -130,15 +132,50 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\42\0\104\0\42\0\146\0\42\0\42\0\42"+
-    "\0\42\0\210\0\252\0\42\0\42\0\314\0\356\0\u0110"+
-    "\0\u0132\0\u0154\0\356\0\42\0\42\0\42\0\42\0\146"+
-    "\0\42\0\u0176\0\u0198\0\u01ba\0\u01dc\0\u01fe\0\u0220\0\u0242"+
-    "\0\u0264\0\42\0\356\0\u0286\0\u02a8\0\u02ca\0\356\0\u02ec"+
-    "\0\356";
+    "\0\0\0\51\0\122\0\173\0\244\0\315\0\173\0\173"+
+    "\0\173\0\173\0\366\0\u011f\0\173\0\173\0\u0148\0\u0171"+
+    "\0\u019a\0\u01c3\0\u01ec\0\u0215\0\u023e\0\u0267\0\173\0\173"+
+    "\0\173\0\173\0\u0290\0\244\0\173\0\315\0\173\0\u02b9"+
+    "\0\u02e2\0\u030b\0\u0334\0\u035d\0\u0386\0\u03af\0\u03d8\0\u0401"+
+    "\0\u042a\0\u0453\0\u047c\0\u04a5\0\u04ce\0\u04f7\0\u0520\0\173"+
+    "\0\u0549\0\u019a\0\u0572\0\u059b\0\u05c4\0\u05ed\0\u0616\0\u063f"+
+    "\0\u0668\0\u0691\0\u019a\0\u06ba\0\u06e3\0\u070c\0\u0735\0\u075e"+
+    "\0\u0787\0\u07b0\0\u019a\0\u019a\0\u07d9\0\u0802\0\u082b\0\u019a"+
+    "\0\u019a\0\u0854\0\u087d\0\u08a6\0\u08cf\0\u08f8\0\u0921\0\u094a"+
+    "\0\u0973\0\u099c\0\u09c5\0\u09ee\0\u0a17\0\u0a40\0\u0a69\0\u0a92"+
+    "\0\u0abb\0\u0ae4\0\u0b0d\0\u0b36\0\u0b5f\0\u0b88\0\u0bb1\0\u0bda"+
+    "\0\u0c03\0\u0c2c\0\u0c55\0\u0c7e\0\u0ca7\0\u0cd0\0\u0cf9\0\u0d22"+
+    "\0\u0d4b\0\u0d74\0\u0d9d\0\u0dc6\0\u0def\0\u0e18\0\u0e41\0\u0e6a"+
+    "\0\u0e93\0\u0ebc\0\u0ee5\0\u0f0e\0\u0f37\0\u0f60\0\u0f89\0\u0fb2"+
+    "\0\u0fdb\0\u1004\0\u102d\0\u1056\0\u107f\0\u10a8\0\u10d1\0\u10fa"+
+    "\0\u1123\0\u114c\0\u1175\0\u119e\0\u11c7\0\u11f0\0\u1219\0\u1242"+
+    "\0\u126b\0\u1294\0\u12bd\0\u12e6\0\u130f\0\u1338\0\u1361\0\u138a"+
+    "\0\u13b3\0\u13dc\0\u1405\0\u142e\0\u1457\0\u1480\0\u14a9\0\u14d2"+
+    "\0\u14fb\0\u1524\0\u154d\0\u1576\0\u159f\0\u15c8\0\u15f1\0\u161a"+
+    "\0\u1643\0\u166c\0\u1695\0\u16be\0\u16e7\0\u1710\0\u1739\0\u1762"+
+    "\0\u178b\0\u17b4\0\u17dd\0\u1806\0\u182f\0\u1858\0\u1881\0\u18aa"+
+    "\0\u18d3\0\u18fc\0\u1925\0\u194e\0\u1977\0\u19a0\0\u19c9\0\u19f2"+
+    "\0\u1a1b\0\u1a44\0\u1a6d\0\u1a96\0\u1abf\0\u1ae8\0\u1b11\0\u1b3a"+
+    "\0\u1b63\0\u1b8c\0\u1bb5\0\u1bde\0\u1c07\0\u1c30\0\u1c59\0\u1c82"+
+    "\0\u1cab\0\u1cd4\0\u1cfd\0\u1d26\0\u1d4f\0\u1d78\0\u1da1\0\u1dca"+
+    "\0\u1df3\0\u1e1c\0\u1e45\0\u1e6e\0\u1e97\0\u1ec0\0\u1ee9\0\u1f12"+
+    "\0\u1f3b\0\u1f64\0\u1f8d\0\u1fb6\0\u1fdf\0\u2008\0\u2031\0\u205a"+
+    "\0\u2083\0\u20ac\0\u20d5\0\u20fe\0\u2127\0\u2150\0\u2179\0\u21a2"+
+    "\0\u21cb\0\u21f4\0\u221d\0\u2246\0\u226f\0\u2298\0\u22c1\0\u22ea"+
+    "\0\u2313\0\u233c\0\u2365\0\u238e\0\u23b7\0\u23e0\0\u2409\0\u2432"+
+    "\0\u245b\0\u2484\0\u24ad\0\u24d6\0\u24ff\0\u2528\0\u2551\0\u257a"+
+    "\0\u25a3\0\u25cc\0\u25f5\0\u261e\0\u2647\0\u2670\0\u2699\0\u26c2"+
+    "\0\u26eb\0\u2714\0\u273d\0\u2766\0\u278f\0\u27b8\0\u27e1\0\u280a"+
+    "\0\u2833\0\u285c\0\u2885\0\u28ae\0\u28d7\0\u2900\0\u2929\0\u2952"+
+    "\0\u297b\0\u29a4\0\u29cd\0\u29f6\0\u2a1f\0\u2a48\0\u2a71\0\u2a9a"+
+    "\0\u2ac3\0\u2aec\0\u2b15\0\u2b3e\0\u2b67\0\u2b90\0\u2bb9\0\u2be2"+
+    "\0\u2c0b\0\u2c34\0\u2c5d\0\u2c86\0\u2caf\0\u2cd8\0\u2d01\0\u2d2a"+
+    "\0\u2d53\0\u2d7c\0\u2da5\0\u2dce\0\u2df7\0\u2e20\0\u2e49\0\u2e72"+
+    "\0\u2e9b\0\u2ec4\0\u2eed\0\u2f16\0\u2f3f\0\u2f68\0\u2f91\0\u2fba"+
+    "\0\u2fe3\0\173";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[41];
+    int [] result = new int[322];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -161,29 +198,113 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_TRANS = zzUnpacktrans();
 
   private static final String ZZ_TRANS_PACKED_0 =
-    "\1\2\2\3\1\0\2\4\1\5\1\6\1\7\1\10"+
-    "\1\11\1\12\1\13\1\14\1\15\1\16\1\4\2\17"+
-    "\1\20\1\21\3\17\1\22\2\17\1\23\1\17\1\24"+
-    "\1\4\1\25\1\26\1\27\43\0\2\3\37\0\2\30"+
-    "\1\0\37\30\20\0\1\31\35\0\1\13\31\0\1\32"+
-    "\51\0\1\17\4\0\14\17\1\0\1\17\17\0\1\17"+
-    "\4\0\7\17\1\33\4\17\1\0\1\17\17\0\1\17"+
-    "\4\0\13\17\1\34\1\0\1\17\17\0\1\17\4\0"+
-    "\10\17\1\35\3\17\1\0\1\17\3\0\4\32\1\36"+
-    "\35\32\14\0\1\17\4\0\6\17\1\37\5\17\1\0"+
-    "\1\17\17\0\1\17\4\0\1\40\13\17\1\0\1\17"+
-    "\17\0\1\17\4\0\3\17\1\41\10\17\1\0\1\17"+
-    "\3\0\20\32\1\42\21\32\14\0\1\17\4\0\4\17"+
-    "\1\43\7\17\1\0\1\17\17\0\1\17\4\0\5\17"+
-    "\1\44\6\17\1\0\1\17\17\0\1\17\4\0\11\17"+
-    "\1\45\2\17\1\0\1\17\17\0\1\17\4\0\12\17"+
-    "\1\46\1\17\1\0\1\17\17\0\1\17\4\0\1\47"+
-    "\13\17\1\0\1\17\17\0\1\17\4\0\1\50\13\17"+
-    "\1\0\1\17\17\0\1\17\4\0\11\17\1\51\2\17"+
-    "\1\0\1\17\3\0";
+    "\1\2\3\3\1\4\1\5\1\6\1\4\1\7\1\10"+
+    "\1\11\1\12\1\13\1\14\1\15\1\16\1\17\1\4"+
+    "\1\20\1\21\1\22\1\23\1\21\1\24\4\21\1\25"+
+    "\4\21\1\26\1\21\1\27\1\4\1\30\1\31\1\32"+
+    "\1\33\1\2\51\0\3\3\116\0\2\34\2\0\1\34"+
+    "\1\35\43\34\2\36\1\0\46\36\21\0\1\37\44\0"+
+    "\1\14\37\0\1\40\61\0\1\21\4\0\14\21\1\41"+
+    "\4\21\1\0\1\21\21\0\1\21\4\0\21\21\1\0"+
+    "\1\21\21\0\1\21\4\0\12\21\1\42\6\21\1\0"+
+    "\1\21\21\0\1\21\4\0\20\21\1\43\1\0\1\21"+
+    "\21\0\1\21\4\0\10\21\1\44\10\21\1\0\1\21"+
+    "\21\0\1\21\4\0\13\21\1\45\5\21\1\0\1\21"+
+    "\21\0\1\21\4\0\11\21\1\46\7\21\1\0\1\21"+
+    "\54\0\1\47\4\40\1\50\44\40\15\0\1\21\4\0"+
+    "\2\21\1\51\16\21\1\0\1\21\21\0\1\21\4\0"+
+    "\11\21\1\52\7\21\1\0\1\21\21\0\1\21\4\0"+
+    "\1\53\20\21\1\0\1\21\21\0\1\21\4\0\13\21"+
+    "\1\54\5\21\1\0\1\21\21\0\1\21\4\0\3\21"+
+    "\1\55\15\21\1\0\1\21\21\0\1\21\4\0\5\21"+
+    "\1\56\13\21\1\0\1\21\54\0\1\57\21\40\1\60"+
+    "\27\40\15\0\1\21\4\0\4\21\1\61\14\21\1\0"+
+    "\1\21\21\0\1\21\4\0\6\21\1\62\12\21\1\0"+
+    "\1\21\21\0\1\21\4\0\7\21\1\63\11\21\1\0"+
+    "\1\21\21\0\1\21\4\0\12\21\1\64\6\21\1\0"+
+    "\1\21\21\0\1\21\4\0\14\21\1\65\4\21\1\0"+
+    "\1\21\21\0\1\21\4\0\20\21\1\66\1\0\1\21"+
+    "\54\0\1\67\15\0\1\21\4\0\5\21\1\70\13\21"+
+    "\1\0\1\21\21\0\1\21\4\0\17\21\1\71\1\21"+
+    "\1\0\1\21\21\0\1\21\4\0\14\21\1\72\4\21"+
+    "\1\0\1\21\21\0\1\21\4\0\1\73\20\21\1\0"+
+    "\1\21\21\0\1\21\4\0\3\21\1\74\15\21\1\0"+
+    "\1\21\54\0\1\75\15\0\1\21\4\0\20\21\1\76"+
+    "\1\0\1\21\21\0\1\21\4\0\1\77\20\21\1\0"+
+    "\1\21\21\0\1\21\4\0\16\21\1\100\2\21\1\0"+
+    "\1\21\21\0\1\21\4\0\14\21\1\101\4\21\1\0"+
+    "\1\21\54\0\1\102\15\0\1\21\4\0\12\21\1\103"+
+    "\6\21\1\0\1\21\21\0\1\21\4\0\14\21\1\104"+
+    "\4\21\1\0\1\21\21\0\1\21\4\0\1\105\20\21"+
+    "\1\0\1\21\21\0\1\21\4\0\15\21\1\106\3\21"+
+    "\1\0\1\21\54\0\1\107\15\0\1\21\4\0\14\21"+
+    "\1\110\4\21\1\0\1\21\21\0\1\21\4\0\12\21"+
+    "\1\111\6\21\1\0\1\21\54\0\1\112\50\0\1\113"+
+    "\50\0\1\114\50\0\1\115\50\0\1\116\50\0\1\117"+
+    "\50\0\1\120\50\0\1\121\50\0\1\122\50\0\1\123"+
+    "\50\0\1\124\50\0\1\125\50\0\1\126\50\0\1\127"+
+    "\50\0\1\130\50\0\1\131\50\0\1\132\50\0\1\133"+
+    "\50\0\1\134\50\0\1\135\50\0\1\136\50\0\1\137"+
+    "\50\0\1\140\50\0\1\141\50\0\1\142\50\0\1\143"+
+    "\50\0\1\144\50\0\1\145\50\0\1\146\50\0\1\147"+
+    "\50\0\1\150\50\0\1\151\50\0\1\152\50\0\1\153"+
+    "\50\0\1\154\50\0\1\155\50\0\1\156\50\0\1\157"+
+    "\50\0\1\160\50\0\1\161\50\0\1\162\50\0\1\163"+
+    "\50\0\1\164\50\0\1\165\50\0\1\166\50\0\1\167"+
+    "\50\0\1\170\50\0\1\171\50\0\1\172\50\0\1\173"+
+    "\50\0\1\174\50\0\1\175\50\0\1\176\50\0\1\177"+
+    "\50\0\1\200\50\0\1\201\50\0\1\202\50\0\1\203"+
+    "\50\0\1\204\50\0\1\205\50\0\1\206\50\0\1\207"+
+    "\50\0\1\210\50\0\1\211\50\0\1\212\50\0\1\213"+
+    "\50\0\1\214\50\0\1\215\50\0\1\216\50\0\1\217"+
+    "\50\0\1\220\50\0\1\221\50\0\1\222\50\0\1\223"+
+    "\50\0\1\224\50\0\1\225\50\0\1\226\50\0\1\227"+
+    "\50\0\1\230\50\0\1\231\50\0\1\232\50\0\1\233"+
+    "\50\0\1\234\50\0\1\235\50\0\1\236\50\0\1\237"+
+    "\50\0\1\240\50\0\1\241\50\0\1\242\50\0\1\243"+
+    "\50\0\1\244\50\0\1\245\50\0\1\246\50\0\1\247"+
+    "\50\0\1\250\50\0\1\251\50\0\1\252\50\0\1\253"+
+    "\50\0\1\254\50\0\1\255\50\0\1\256\50\0\1\257"+
+    "\50\0\1\260\50\0\1\261\50\0\1\262\50\0\1\263"+
+    "\50\0\1\264\50\0\1\265\50\0\1\266\50\0\1\267"+
+    "\50\0\1\270\50\0\1\271\50\0\1\272\50\0\1\273"+
+    "\50\0\1\274\50\0\1\275\50\0\1\276\50\0\1\277"+
+    "\50\0\1\300\50\0\1\301\50\0\1\302\50\0\1\303"+
+    "\50\0\1\304\50\0\1\305\50\0\1\306\50\0\1\307"+
+    "\50\0\1\310\50\0\1\311\50\0\1\312\50\0\1\313"+
+    "\50\0\1\314\50\0\1\315\50\0\1\316\50\0\1\317"+
+    "\50\0\1\320\50\0\1\321\50\0\1\322\50\0\1\323"+
+    "\50\0\1\324\50\0\1\325\50\0\1\326\50\0\1\327"+
+    "\50\0\1\330\50\0\1\331\50\0\1\332\50\0\1\333"+
+    "\50\0\1\334\50\0\1\335\50\0\1\336\50\0\1\337"+
+    "\50\0\1\340\50\0\1\341\50\0\1\342\50\0\1\343"+
+    "\50\0\1\344\50\0\1\345\50\0\1\346\50\0\1\347"+
+    "\50\0\1\350\50\0\1\351\50\0\1\352\50\0\1\353"+
+    "\50\0\1\354\50\0\1\355\50\0\1\356\50\0\1\357"+
+    "\50\0\1\360\50\0\1\361\50\0\1\362\50\0\1\363"+
+    "\50\0\1\364\50\0\1\365\50\0\1\366\50\0\1\367"+
+    "\50\0\1\370\50\0\1\371\50\0\1\372\50\0\1\373"+
+    "\50\0\1\374\50\0\1\375\50\0\1\376\50\0\1\377"+
+    "\50\0\1\u0100\50\0\1\u0101\50\0\1\u0102\50\0\1\u0103"+
+    "\50\0\1\u0104\50\0\1\u0105\50\0\1\u0106\50\0\1\u0107"+
+    "\50\0\1\u0108\50\0\1\u0109\50\0\1\u010a\50\0\1\u010b"+
+    "\50\0\1\u010c\50\0\1\u010d\50\0\1\u010e\50\0\1\u010f"+
+    "\50\0\1\u0110\50\0\1\u0111\50\0\1\u0112\50\0\1\u0113"+
+    "\50\0\1\u0114\50\0\1\u0115\50\0\1\u0116\50\0\1\u0117"+
+    "\50\0\1\u0118\50\0\1\u0119\50\0\1\u011a\50\0\1\u011b"+
+    "\50\0\1\u011c\50\0\1\u011d\50\0\1\u011e\50\0\1\u011f"+
+    "\50\0\1\u0120\50\0\1\u0121\50\0\1\u0122\50\0\1\u0123"+
+    "\50\0\1\u0124\50\0\1\u0125\50\0\1\u0126\50\0\1\u0127"+
+    "\50\0\1\u0128\50\0\1\u0129\50\0\1\u012a\50\0\1\u012b"+
+    "\50\0\1\u012c\50\0\1\u012d\50\0\1\u012e\50\0\1\u012f"+
+    "\50\0\1\u0130\50\0\1\u0131\50\0\1\u0132\50\0\1\u0133"+
+    "\50\0\1\u0134\50\0\1\u0135\50\0\1\u0136\50\0\1\u0137"+
+    "\50\0\1\u0138\50\0\1\u0139\50\0\1\u013a\50\0\1\u013b"+
+    "\50\0\1\u013c\50\0\1\u013d\50\0\1\u013e\50\0\1\u013f"+
+    "\50\0\1\u0140\50\0\1\u0141\50\0\1\u0142";
 
   private static int [] zzUnpacktrans() {
-    int [] result = new int[782];
+    int [] result = new int[12300];
     int offset = 0;
     offset = zzUnpacktrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -226,12 +347,12 @@ public class Lexer implements java_cup.runtime.Scanner {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\1\0\1\11\1\1\1\11\1\1\4\11\2\1\2\11"+
-    "\6\1\4\11\1\1\1\11\1\0\3\1\1\0\3\1"+
-    "\1\11\7\1";
+    "\1\0\2\1\1\11\2\1\4\11\2\1\2\11\10\1"+
+    "\4\11\1\1\1\0\1\11\1\1\1\11\1\0\7\1"+
+    "\1\0\7\1\1\11\u0111\1\1\11";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[41];
+    int [] result = new int[322];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -310,6 +431,15 @@ public class Lexer implements java_cup.runtime.Scanner {
   /* user code: */
     // Código Java opcional
 
+    /**
+     * Posición del token para CUP, que la guarda como int. yychar es long: en
+     * archivos de más de 2 GB (solo en modo streaming) las posiciones siguientes
+     * se informan como Integer.MAX_VALUE; la línea sigue siendo exacta.
+     */
+    private int position() {
+        return (int) Math.min(yychar, Integer.MAX_VALUE);
+    }
+
 
   /**
    * Creates a new scanner
@@ -735,121 +865,145 @@ public class Lexer implements java_cup.runtime.Scanner {
       else {
         switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
           case 1:
-            { ErrorHandler.AddError(yytext(), "Léxico", yyline, (int) yychar,"El caracter \"" + yytext() + "\" No Pertenece al Lenguaje");
-                                    System.out.println("Error Lexico: " + yytext());
+            { /* Caracteres de control ignorados */
             }
           // fall through
-          case 24: break;
+          case 29: break;
           case 2:
             { /* Espacios blancos ignorados */
             }
           // fall through
-          case 25: break;
+          case 30: break;
           case 3:
-            { return new Symbol(sym.ASCII, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.ASCII, yyline, position(), yytext());
             }
           // fall through
-          case 26: break;
+          case 31: break;
           case 4:
-            { return new Symbol(sym.INTERSECCION, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.INTERSECCION, yyline, position(), yytext());
             }
           // fall through
-          case 27: break;
+          case 32: break;
           case 5:
-            { return new Symbol(sym.PAR_IZQ, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.PAR_IZQ, yyline, position(), yytext());
             }
           // fall through
-          case 28: break;
+          case 33: break;
           case 6:
-            { return new Symbol(sym.PAR_DCHA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.PAR_DCHA, yyline, position(), yytext());
             }
           // fall through
-          case 29: break;
+          case 34: break;
           case 7:
-            { return new Symbol(sym.COMA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.COMA, yyline, position(), yytext());
             }
           // fall through
-          case 30: break;
+          case 35: break;
           case 8:
-            { return new Symbol(sym.DIFERENCIA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.DIFERENCIA, yyline, position(), yytext());
             }
           // fall through
-          case 31: break;
+          case 36: break;
           case 9:
-            { return new Symbol(sym.ENTERO, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.ENTERO, yyline, position(), yytext());
             }
           // fall through
-          case 32: break;
+          case 37: break;
           case 10:
-            { return new Symbol(sym.DOS_PUNTOS, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.DOS_PUNTOS, yyline, position(), yytext());
             }
           // fall through
-          case 33: break;
+          case 38: break;
           case 11:
-            { return new Symbol(sym.PUNTO_COMA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.PUNTO_COMA, yyline, position(), yytext());
             }
           // fall through
-          case 34: break;
+          case 39: break;
           case 12:
-            { return new Symbol(sym.ID, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.ID, yyline, position(), yytext());
             }
           // fall through
-          case 35: break;
+          case 40: break;
           case 13:
-            { return new Symbol(sym.UNION, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.UNION, yyline, position(), yytext());
             }
           // fall through
-          case 36: break;
+          case 41: break;
           case 14:
-            { return new Symbol(sym.COMPLEMENTO, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.COMPLEMENTO, yyline, position(), yytext());
             }
           // fall through
-          case 37: break;
+          case 42: break;
           case 15:
-            { return new Symbol(sym.LLAVE_IZQ, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.LLAVE_IZQ, yyline, position(), yytext());
             }
           // fall through
-          case 38: break;
+          case 43: break;
           case 16:
-            { return new Symbol(sym.LLAVE_DCHA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.LLAVE_DCHA, yyline, position(), yytext());
             }
           // fall through
-          case 39: break;
+          case 44: break;
           case 17:
-            { return new Symbol(sym.RANGO, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.RANGO, yyline, position(), yytext());
             }
           // fall through
-          case 40: break;
+          case 45: break;
           case 18:
-            { /* Comentario de línea ignorado */
+            { ErrorHandler.AddUnrecognized(yytext(), yyline, position());
             }
           // fall through
-          case 41: break;
+          case 46: break;
           case 19:
-            { return new Symbol(sym.FLECHA, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.CADENA, yyline, position(), yytext().substring(1, yytext().length() - 1));
             }
           // fall through
-          case 42: break;
+          case 47: break;
           case 20:
-            { /* Comentario múltiple ignorado */
+            { /* Comentario de línea ignorado */
             }
           // fall through
-          case 43: break;
+          case 48: break;
           case 21:
-            { return new Symbol(sym.CONJ, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.FLECHA, yyline, position(), yytext());
             }
           // fall through
-          case 44: break;
+          case 49: break;
           case 22:
-            { return new Symbol(sym.OPERA, yyline, (int) yychar, yytext());
+            { /* Comentario múltiple ignorado */
             }
           // fall through
-          case 45: break;
+          case 50: break;
           case 23:
-            { return new Symbol(sym.EVALUAR, yyline, (int) yychar, yytext());
+            { return new Symbol(sym.CONJ, yyline, position(), yytext());
             }
           // fall through
-          case 46: break;
+          case 51: break;
+          case 24:
+            { return new Symbol(sym.OPERA, yyline, position(), yytext());
+            }
+          // fall through
+          case 52: break;
+          case 25:
+            { return new Symbol(sym.ARCHIVO, yyline, position(), yytext());
+            }
+          // fall through
+          case 53: break;
+          case 26:
+            { return new Symbol(sym.EVALUAR, yyline, position(), yytext());
+            }
+          // fall through
+          case 54: break;
+          case 27:
+            { return new Symbol(sym.IMPORTAR, yyline, position(), yytext());
+            }
+          // fall through
+          case 55: break;
+          case 28:
+            { return new Symbol(sym.UNIVERSO, yyline, position(), yytext());
+            }
+          // fall through
+          case 56: break;
           default:
             zzScanError(ZZ_NO_MATCH);
         }
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
+import java.util.function.Consumer;
 import Abstract.Expression;
 import Abstract.Instruction;
 import Expression.*;
@@ -41,18 +42,21 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Production table. */
   protected static final short _production_table[][] = 
     unpackFromStrings(new String[] {
-    "\000\044\000\002\002\004\000\002\002\005\000\002\003" +
+    "\000\060\000\002\002\004\000\002\002\005\000\002\003" +
     "\004\000\002\003\003\000\002\004\003\000\002\004\003" +
-    "\000\002\004\003\000\002\005\010\000\002\006\010\000" +
-    "\002\007\013\000\002\010\003\000\002\014\005\000\002" +
-    "\014\003\000\002\011\003\000\002\011\003\000\002\011" +
-    "\003\000\002\011\003\000\002\011\005\000\002\015\003" +
-    "\000\002\015\003\000\002\015\003\000\002\015\003\000" +
-    "\002\015\003\000\002\015\003\000\002\015\003\000\002" +
-    "\015\003\000\002\015\003\000\002\015\003\000\002\015" +
-    "\003\000\002\015\003\000\002\013\003\000\002\013\005" +
-    "\000\002\013\005\000\002\013\005\000\002\013\004\000" +
-    "\002\012\005" });
+    "\000\002\004\003\000\002\004\003\000\002\004\003\000" +
+    "\002\005\010\000\002\005\011\000\002\006\010\000\002" +
+    "\007\013\000\002\007\012\000\002\007\014\000\002\007" +
+    "\013\000\002\010\006\000\002\011\005\000\002\012\003" +
+    "\000\002\016\005\000\002\016\003\000\002\013\003\000" +
+    "\002\013\003\000\002\013\003\000\002\013\003\000\002" +
+    "\013\005\000\002\020\003\000\002\020\003\000\002\020" +
+    "\003\000\002\020\003\000\002\020\003\000\002\020\003" +
+    "\000\002\020\003\000\002\020\003\000\002\020\003\000" +
+    "\002\020\003\000\002\020\003\000\002\020\003\000\002" +
+    "\015\003\000\002\015\005\000\002\015\005\000\002\015" +
+    "\005\000\002\015\006\000\002\015\006\000\002\015\004" +
+    "\000\002\017\005\000\002\017\003\000\002\014\005" });
 
   /** Access to production table. */
   public short[][] production_table() {return _production_table;}
@@ -60,70 +64,105 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** Parse-action table. */
   protected static final short[][] _action_table = 
     unpackFromStrings(new String[] {
-    "\000\105\000\004\021\004\001\002\000\010\004\015\005" +
-    "\011\006\010\001\002\000\004\002\006\001\002\000\004" +
-    "\002\001\001\002\000\012\004\ufffd\005\ufffd\006\ufffd\022" +
-    "\ufffd\001\002\000\004\025\100\001\002\000\004\023\054" +
-    "\001\002\000\012\004\ufffe\005\ufffe\006\ufffe\022\ufffe\001" +
-    "\002\000\012\004\015\005\011\006\010\022\053\001\002" +
-    "\000\012\004\ufffb\005\ufffb\006\ufffb\022\ufffb\001\002\000" +
-    "\004\023\017\001\002\000\012\004\ufffc\005\ufffc\006\ufffc" +
-    "\022\ufffc\001\002\000\004\016\020\001\002\000\004\014" +
-    "\021\001\002\000\040\007\033\010\025\011\022\012\035" +
-    "\013\043\015\037\016\027\017\041\020\040\021\036\022" +
-    "\034\023\030\024\031\025\032\026\023\001\002\000\012" +
-    "\013\uffe6\015\uffe6\022\uffe6\024\uffe6\001\002\000\012\013" +
-    "\uffec\015\uffec\022\uffec\024\uffec\001\002\000\010\015\ufff7" +
-    "\022\ufff7\024\050\001\002\000\012\013\uffe7\015\uffe7\022" +
-    "\uffe7\024\uffe7\001\002\000\012\013\ufff1\015\ufff1\022\ufff1" +
-    "\024\ufff1\001\002\000\012\013\ufff2\015\ufff2\022\ufff2\024" +
-    "\ufff2\001\002\000\012\013\uffeb\015\uffeb\022\uffeb\024\uffeb" +
-    "\001\002\000\012\013\uffe9\015\uffe9\022\uffe9\024\uffe9\001" +
-    "\002\000\012\013\uffed\015\uffed\022\uffed\024\uffed\001\002" +
-    "\000\012\013\uffe8\015\uffe8\022\uffe8\024\uffe8\001\002\000" +
-    "\012\013\uffef\015\uffef\022\uffef\024\uffef\001\002\000\012" +
-    "\013\uffe5\015\uffe5\022\uffe5\024\uffe5\001\002\000\012\013" +
-    "\uffee\015\uffee\022\uffee\024\uffee\001\002\000\012\013\uffea" +
-    "\015\uffea\022\uffea\024\uffea\001\002\000\012\013\ufff3\015" +
-    "\ufff3\022\ufff3\024\ufff3\001\002\000\012\013\ufff4\015\ufff4" +
-    "\022\ufff4\024\ufff4\001\002\000\004\015\047\001\002\000" +
-    "\012\013\uffe4\015\uffe4\022\uffe4\024\uffe4\001\002\000\012" +
-    "\013\045\015\ufff5\022\ufff5\024\ufff5\001\002\000\040\007" +
-    "\033\010\025\011\022\012\035\013\043\015\037\016\027" +
-    "\017\041\020\040\021\036\022\034\023\030\024\031\025" +
-    "\032\026\023\001\002\000\012\013\ufff0\015\ufff0\022\ufff0" +
-    "\024\ufff0\001\002\000\012\004\ufffa\005\ufffa\006\ufffa\022" +
-    "\ufffa\001\002\000\040\007\033\010\025\011\022\012\035" +
-    "\013\043\015\037\016\027\017\041\020\040\021\036\022" +
-    "\034\023\030\024\031\025\032\026\023\001\002\000\012" +
-    "\013\045\015\ufff6\022\ufff6\024\ufff6\001\002\000\012\004" +
-    "\uffff\005\uffff\006\uffff\022\uffff\001\002\000\004\002\000" +
-    "\001\002\000\004\016\055\001\002\000\004\014\056\001" +
-    "\002\000\014\007\062\010\057\011\061\012\064\021\063" +
-    "\001\002\000\014\007\062\010\057\011\061\012\064\021" +
-    "\063\001\002\000\004\015\075\001\002\000\014\007\062" +
-    "\010\057\011\061\012\064\021\063\001\002\000\014\007" +
-    "\062\010\057\011\061\012\064\021\063\001\002\000\004" +
-    "\016\067\001\002\000\014\007\062\010\057\011\061\012" +
-    "\064\021\063\001\002\000\016\007\uffe3\010\uffe3\011\uffe3" +
-    "\012\uffe3\015\uffe3\021\uffe3\001\002\000\016\007\uffdf\010" +
-    "\uffdf\011\uffdf\012\uffdf\015\uffdf\021\uffdf\001\002\000\004" +
-    "\022\070\001\002\000\016\007\uffde\010\uffde\011\uffde\012" +
-    "\uffde\015\uffde\021\uffde\001\002\000\014\007\062\010\057" +
-    "\011\061\012\064\021\063\001\002\000\016\007\uffe2\010" +
-    "\uffe2\011\uffe2\012\uffe2\015\uffe2\021\uffe2\001\002\000\014" +
-    "\007\062\010\057\011\061\012\064\021\063\001\002\000" +
-    "\016\007\uffe0\010\uffe0\011\uffe0\012\uffe0\015\uffe0\021\uffe0" +
-    "\001\002\000\012\004\ufff9\005\ufff9\006\ufff9\022\ufff9\001" +
-    "\002\000\014\007\062\010\057\011\061\012\064\021\063" +
-    "\001\002\000\016\007\uffe1\010\uffe1\011\uffe1\012\uffe1\015" +
-    "\uffe1\021\uffe1\001\002\000\004\021\101\001\002\000\040" +
-    "\007\033\010\025\011\022\012\035\013\043\015\037\016" +
-    "\027\017\041\020\040\021\036\022\034\023\030\024\031" +
-    "\025\032\026\023\001\002\000\004\022\103\001\002\000" +
-    "\004\024\104\001\002\000\004\016\105\001\002\000\004" +
-    "\026\106\001\002\000\004\015\107\001\002\000\012\004" +
-    "\ufff8\005\ufff8\006\ufff8\022\ufff8\001\002" });
+    "\000\146\000\004\025\004\001\002\000\014\004\012\005" +
+    "\022\006\016\007\015\011\010\001\002\000\004\002\006" +
+    "\001\002\000\004\002\001\001\002\000\016\004\ufffe\005" +
+    "\ufffe\006\ufffe\007\ufffe\011\ufffe\026\ufffe\001\002\000\004" +
+    "\024\147\001\002\000\016\004\ufffa\005\ufffa\006\ufffa\007" +
+    "\ufffa\011\ufffa\026\ufffa\001\002\000\004\027\137\001\002" +
+    "\000\016\004\ufffd\005\ufffd\006\ufffd\007\ufffd\011\ufffd\026" +
+    "\ufffd\001\002\000\016\004\ufff9\005\ufff9\006\ufff9\007\ufff9" +
+    "\011\ufff9\026\ufff9\001\002\000\004\017\134\001\002\000" +
+    "\004\031\062\001\002\000\016\004\012\005\022\006\016" +
+    "\007\015\011\010\026\061\001\002\000\016\004\ufffb\005" +
+    "\ufffb\006\ufffb\007\ufffb\011\ufffb\026\ufffb\001\002\000\016" +
+    "\004\ufffc\005\ufffc\006\ufffc\007\ufffc\011\ufffc\026\ufffc\001" +
+    "\002\000\004\027\023\001\002\000\004\021\024\001\002" +
+    "\000\004\017\025\001\002\000\014\012\032\013\026\014" +
+    "\030\015\033\025\031\001\002\000\016\012\032\013\026" +
+    "\014\030\015\033\025\031\031\054\001\002\000\004\020" +
+    "\052\001\002\000\014\012\032\013\026\014\030\015\033" +
+    "\025\031\001\002\000\004\021\046\001\002\000\016\012" +
+    "\032\013\026\014\030\015\033\025\031\031\037\001\002" +
+    "\000\014\012\032\013\026\014\030\015\033\025\031\001" +
+    "\002\000\022\012\uffdb\013\uffdb\014\uffdb\015\uffdb\020\uffdb" +
+    "\025\uffdb\030\uffdb\032\uffdb\001\002\000\022\012\uffd5\013" +
+    "\uffd5\014\uffd5\015\uffd5\020\uffd5\025\uffd5\030\uffd5\032\uffd5" +
+    "\001\002\000\014\012\032\013\026\014\030\015\033\025" +
+    "\031\001\002\000\014\012\032\013\026\014\030\015\033" +
+    "\025\031\001\002\000\006\030\042\032\043\001\002\000" +
+    "\006\030\uffd3\032\uffd3\001\002\000\014\012\032\013\026" +
+    "\014\030\015\033\025\031\001\002\000\022\012\uffd7\013" +
+    "\uffd7\014\uffd7\015\uffd7\020\uffd7\025\uffd7\030\uffd7\032\uffd7" +
+    "\001\002\000\006\030\uffd4\032\uffd4\001\002\000\022\012" +
+    "\uffda\013\uffda\014\uffda\015\uffda\020\uffda\025\uffda\030\uffda" +
+    "\032\uffda\001\002\000\004\026\047\001\002\000\022\012" +
+    "\uffd2\013\uffd2\014\uffd2\015\uffd2\020\uffd2\025\uffd2\030\uffd2" +
+    "\032\uffd2\001\002\000\014\012\032\013\026\014\030\015" +
+    "\033\025\031\001\002\000\022\012\uffd8\013\uffd8\014\uffd8" +
+    "\015\uffd8\020\uffd8\025\uffd8\030\uffd8\032\uffd8\001\002\000" +
+    "\016\004\ufff6\005\ufff6\006\ufff6\007\ufff6\011\ufff6\026\ufff6" +
+    "\001\002\000\014\012\032\013\026\014\030\015\033\025" +
+    "\031\001\002\000\014\012\032\013\026\014\030\015\033" +
+    "\025\031\001\002\000\006\030\042\032\056\001\002\000" +
+    "\022\012\uffd6\013\uffd6\014\uffd6\015\uffd6\020\uffd6\025\uffd6" +
+    "\030\uffd6\032\uffd6\001\002\000\022\012\uffd9\013\uffd9\014" +
+    "\uffd9\015\uffd9\020\uffd9\025\uffd9\030\uffd9\032\uffd9\001\002" +
+    "\000\016\004\uffff\005\uffff\006\uffff\007\uffff\011\uffff\026" +
+    "\uffff\001\002\000\004\002\000\001\002\000\006\010\063" +
+    "\025\064\001\002\000\004\024\124\001\002\000\040\012" +
+    "\076\013\070\014\065\015\100\016\106\020\102\021\072" +
+    "\022\104\023\103\025\101\026\077\027\073\030\074\031" +
+    "\075\032\066\001\002\000\012\016\uffde\020\uffde\026\uffde" +
+    "\030\uffde\001\002\000\012\016\uffe4\020\uffe4\026\uffe4\030" +
+    "\uffe4\001\002\000\010\020\uffef\026\uffef\030\122\001\002" +
+    "\000\012\016\uffdf\020\uffdf\026\uffdf\030\uffdf\001\002\000" +
+    "\012\016\uffe9\020\uffe9\026\uffe9\030\uffe9\001\002\000\012" +
+    "\016\uffea\020\uffea\026\uffea\030\uffea\001\002\000\012\016" +
+    "\uffe3\020\uffe3\026\uffe3\030\uffe3\001\002\000\012\016\uffe1" +
+    "\020\uffe1\026\uffe1\030\uffe1\001\002\000\012\016\uffe5\020" +
+    "\uffe5\026\uffe5\030\uffe5\001\002\000\012\016\uffe0\020\uffe0" +
+    "\026\uffe0\030\uffe0\001\002\000\012\016\uffe7\020\uffe7\026" +
+    "\uffe7\030\uffe7\001\002\000\012\016\uffdd\020\uffdd\026\uffdd" +
+    "\030\uffdd\001\002\000\012\016\uffe6\020\uffe6\026\uffe6\030" +
+    "\uffe6\001\002\000\012\016\uffe2\020\uffe2\026\uffe2\030\uffe2" +
+    "\001\002\000\012\016\uffeb\020\uffeb\026\uffeb\030\uffeb\001" +
+    "\002\000\012\016\uffec\020\uffec\026\uffec\030\uffec\001\002" +
+    "\000\004\026\112\001\002\000\012\016\uffdc\020\uffdc\026" +
+    "\uffdc\030\uffdc\001\002\000\012\016\110\020\uffed\026\uffed" +
+    "\030\uffed\001\002\000\040\012\076\013\070\014\065\015" +
+    "\100\016\106\020\102\021\072\022\104\023\103\025\101" +
+    "\026\077\027\073\030\074\031\075\032\066\001\002\000" +
+    "\012\016\uffe8\020\uffe8\026\uffe8\030\uffe8\001\002\000\004" +
+    "\030\113\001\002\000\016\012\032\013\026\014\030\015" +
+    "\033\021\114\025\031\001\002\000\004\032\120\001\002" +
+    "\000\004\032\116\001\002\000\004\020\117\001\002\000" +
+    "\016\004\ufff2\005\ufff2\006\ufff2\007\ufff2\011\ufff2\026\ufff2" +
+    "\001\002\000\004\020\121\001\002\000\016\004\ufff5\005" +
+    "\ufff5\006\ufff5\007\ufff5\011\ufff5\026\ufff5\001\002\000\040" +
+    "\012\076\013\070\014\065\015\100\016\106\020\102\021" +
+    "\072\022\104\023\103\025\101\026\077\027\073\030\074" +
+    "\031\075\032\066\001\002\000\012\016\110\020\uffee\026" +
+    "\uffee\030\uffee\001\002\000\004\030\125\001\002\000\004" +
+    "\021\126\001\002\000\004\032\127\001\002\000\006\017" +
+    "\130\020\131\001\002\000\004\024\132\001\002\000\016" +
+    "\004\ufff4\005\ufff4\006\ufff4\007\ufff4\011\ufff4\026\ufff4\001" +
+    "\002\000\004\020\133\001\002\000\016\004\ufff3\005\ufff3" +
+    "\006\ufff3\007\ufff3\011\ufff3\026\ufff3\001\002\000\040\012" +
+    "\076\013\070\014\065\015\100\016\106\020\102\021\072" +
+    "\022\104\023\103\025\101\026\077\027\073\030\074\031" +
+    "\075\032\066\001\002\000\004\020\136\001\002\000\016" +
+    "\004\ufff1\005\ufff1\006\ufff1\007\ufff1\011\ufff1\026\ufff1\001" +
+    "\002\000\004\021\140\001\002\000\004\017\141\001\002" +
+    "\000\042\010\142\012\076\013\070\014\065\015\100\016" +
+    "\106\020\102\021\072\022\104\023\103\025\101\026\077" +
+    "\027\073\030\074\031\075\032\066\001\002\000\004\024" +
+    "\145\001\002\000\004\020\144\001\002\000\016\004\ufff8" +
+    "\005\ufff8\006\ufff8\007\ufff8\011\ufff8\026\ufff8\001\002\000" +
+    "\004\020\146\001\002\000\016\004\ufff7\005\ufff7\006\ufff7" +
+    "\007\ufff7\011\ufff7\026\ufff7\001\002\000\004\020\150\001" +
+    "\002\000\016\004\ufff0\005\ufff0\006\ufff0\007\ufff0\011\ufff0" +
+    "\026\ufff0\001\002" });
 
   /** Access to parse-action table. */
   public short[][] action_table() {return _action_table;}
@@ -131,34 +170,47 @@ public class Parser extends java_cup.runtime.lr_parser {
   /** <code>reduce_goto</code> table. */
   protected static final short[][] _reduce_table = 
     unpackFromStrings(new String[] {
-    "\000\105\000\004\002\004\001\001\000\014\003\012\004" +
-    "\011\005\006\006\015\007\013\001\001\000\002\001\001" +
+    "\000\146\000\004\002\004\001\001\000\020\003\016\004" +
+    "\006\005\012\006\020\007\017\010\010\011\013\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001\000\002\001\001\000\012\004\051\005\006" +
-    "\006\015\007\013\001\001\000\002\001\001\000\002\001" +
-    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\012\010\041\011\043\014\023\015\025\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\016\004\057\005\012\006\020\007\017\010\010" +
+    "\011\013\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
+    "\014\033\015\026\001\001\000\006\014\033\015\052\001" +
+    "\001\000\002\001\001\000\006\014\033\015\047\001\001" +
+    "\000\002\001\001\000\006\014\033\015\035\001\001\000" +
+    "\006\014\033\015\034\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\014\033\015\044\001\001\000\010\014" +
+    "\033\015\040\017\037\001\001\000\002\001\001\000\002" +
+    "\001\001\000\006\014\033\015\043\001\001\000\002\001" +
     "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
-    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\000\002\001\001\000\006\014\033\015\050\001\001\000" +
+    "\002\001\001\000\002\001\001\000\006\014\033\015\056" +
+    "\001\001\000\010\014\033\015\040\017\054\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\002\001\001\000\002\001\001\000\006\011" +
-    "\045\015\025\001\001\000\002\001\001\000\002\001\001" +
-    "\000\006\011\050\015\025\001\001\000\002\001\001\000" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\012\012\104\013\106\016\066\020\070\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
     "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
-    "\001\001\000\006\012\064\013\057\001\001\000\006\012" +
-    "\064\013\075\001\001\000\002\001\001\000\006\012\064" +
-    "\013\072\001\001\000\006\012\064\013\070\001\001\000" +
-    "\002\001\001\000\006\012\064\013\065\001\001\000\002" +
     "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
-    "\001\000\006\012\064\013\071\001\001\000\002\001\001" +
-    "\000\006\012\064\013\073\001\001\000\002\001\001\000" +
-    "\002\001\001\000\006\012\064\013\076\001\001\000\002" +
-    "\001\001\000\002\001\001\000\012\010\101\011\043\014" +
-    "\023\015\025\001\001\000\002\001\001\000\002\001\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\006" +
+    "\013\110\020\070\001\001\000\002\001\001\000\002\001" +
+    "\001\000\006\014\033\015\114\001\001\000\002\001\001" +
     "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
-    "\002\001\001" });
+    "\002\001\001\000\002\001\001\000\006\013\122\020\070" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\002\001\001\000\002\001\001\000\002\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\012\012\134\013\106\016\066\020\070\001\001\000\002" +
+    "\001\001\000\002\001\001\000\002\001\001\000\002\001" +
+    "\001\000\012\012\142\013\106\016\066\020\070\001\001" +
+    "\000\002\001\001\000\002\001\001\000\002\001\001\000" +
+    "\002\001\001\000\002\001\001\000\002\001\001\000\002" +
+    "\001\001" });
 
   /** Access to <code>reduce_goto</code> table. */
   public short[][] reduce_table() {return _reduce_table;}
@@ -200,6 +252,9 @@ public class Parser extends java_cup.runtime.lr_parser {
                 public ArrayList<Instruction> sentencias = new ArrayList<>();
                 public Stack<String> context = new Stack<>();
                 
+                // Modo streaming: si hay ejecutor, cada instrucción se entrega al reducirse y no se acumula
+                public Consumer<Instruction> ejecutor = null;
+                
                 //  Variables estáticas para capturar operaciones
                 public static Stack<String> operacionesStack = new Stack<>();
                 public static List<String> operandosCapturados = new ArrayList<>();
@@ -234,6 +289,15 @@ public class Parser extends java_cup.runtime.lr_parser {
                         operandosCapturados.clear();
                         operacionesStack.clear();
                 }
+                
+                //  Entrega una instrucción completa al ejecutor o la acumula en la lista
+                public void entregarInstruccion(ArrayList<Instruction> lista, Instruction instruccion) {
+                        if (ejecutor != null) {
+                                ejecutor.accept(instruccion);
+                        } else {
+                                lista.add(instruccion);
+                        }
+                }
         
 
 /** Cup generated class to encapsulate user supplied action code.*/
@@ -296,7 +360,7 @@ class CUP$Parser$actions {
 		int ileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int iright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Instruction i = (Instruction)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = l; RESULT.add(i); 
+		 RESULT = l; entregarInstruccion(RESULT, i); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCIONES",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -308,7 +372,7 @@ class CUP$Parser$actions {
 		int ileft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int iright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Instruction i = (Instruction)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = new ArrayList<>(Arrays.asList(i)); 
+		 RESULT = new ArrayList<>(); entregarInstruccion(RESULT, i); 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCIONES",1, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -320,7 +384,7 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		DefineSet e = (DefineSet)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = e; 
+		 e.setLine(eleft); RESULT = e; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCION",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -332,7 +396,7 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		OperateSet e = (OperateSet)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = e; 
+		 e.setLine(eleft); RESULT = e; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCION",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
@@ -344,13 +408,37 @@ class CUP$Parser$actions {
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		EvaluateSet e = (EvaluateSet)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
-		 RESULT = e; 
+		 e.setLine(eleft); RESULT = e; 
               CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCION",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 7: // DEFINIR_CONJ ::= CONJ DOS_PUNTOS ID FLECHA LISTA PUNTO_COMA 
+          case 7: // INSTRUCCION ::= DEFINIR_UNIVERSO 
+            {
+              Instruction RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		DefineUniverse e = (DefineUniverse)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 e.setLine(eleft); RESULT = e; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCION",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 8: // INSTRUCCION ::= IMPORTAR_MODULO 
+            {
+              Instruction RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		ImportModule e = (ImportModule)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 e.setLine(eleft); RESULT = e; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("INSTRUCCION",2, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 9: // DEFINIR_CONJ ::= CONJ DOS_PUNTOS ID FLECHA LISTA PUNTO_COMA 
             {
               DefineSet RESULT =null;
 		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
@@ -365,7 +453,22 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 8: // OPERAR_CONJ ::= OPERA DOS_PUNTOS ID FLECHA OPERADORES PUNTO_COMA 
+          case 10: // DEFINIR_CONJ ::= CONJ DOS_PUNTOS ID FLECHA ARCHIVO CADENA PUNTO_COMA 
+            {
+              DefineSet RESULT =null;
+		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int nright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String n = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String p = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new DefineSet(n, new FileSet(p)); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("DEFINIR_CONJ",3, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 11: // OPERAR_CONJ ::= OPERA DOS_PUNTOS ID FLECHA OPERADORES PUNTO_COMA 
             {
               OperateSet RESULT =null;
 		int nleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)).left;
@@ -382,7 +485,7 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 9: // EVALUACION_CONJ ::= EVALUAR PAR_IZQ LLAVE_IZQ LISTA LLAVE_DCHA COMA ID PAR_DCHA PUNTO_COMA 
+          case 12: // EVALUACION_CONJ ::= EVALUAR PAR_IZQ LLAVE_IZQ LISTA LLAVE_DCHA COMA ID PAR_DCHA PUNTO_COMA 
             {
               EvaluateSet RESULT =null;
 		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
@@ -397,19 +500,93 @@ class CUP$Parser$actions {
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 10: // LISTA ::= ELEMENTOS 
+          case 13: // EVALUACION_CONJ ::= EVALUAR PAR_IZQ ARCHIVO CADENA COMA ID PAR_DCHA PUNTO_COMA 
+            {
+              EvaluateSet RESULT =null;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String p = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int vleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int vright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		String v = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 RESULT = new EvaluateSet(new FileSet(p), v, null); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EVALUACION_CONJ",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-7)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 14: // EVALUACION_CONJ ::= EVALUAR PAR_IZQ ARCHIVO CADENA COMA ID PAR_DCHA FLECHA CADENA PUNTO_COMA 
+            {
+              EvaluateSet RESULT =null;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-6)).right;
+		String p = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-6)).value;
+		int vleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).left;
+		int vright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-4)).right;
+		String v = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-4)).value;
+		int oleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int oright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String o = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new EvaluateSet(new FileSet(p), v, o); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EVALUACION_CONJ",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-9)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 15: // EVALUACION_CONJ ::= EVALUAR PAR_IZQ LLAVE_IZQ LISTA LLAVE_DCHA COMA OPERADORES PAR_DCHA PUNTO_COMA 
+            {
+              EvaluateSet RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-5)).right;
+		Expression c = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-5)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		Expression e = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		 
+                limpiarOperandos();
+                RESULT = new EvaluateSet(c, e); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EVALUACION_CONJ",5, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-8)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 16: // DEFINIR_UNIVERSO ::= UNIVERSO FLECHA LISTA PUNTO_COMA 
+            {
+              DefineUniverse RESULT =null;
+		int cleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int cright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		Expression c = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new DefineUniverse(c); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("DEFINIR_UNIVERSO",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 17: // IMPORTAR_MODULO ::= IMPORTAR CADENA PUNTO_COMA 
+            {
+              ImportModule RESULT =null;
+		int pleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int pright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		String p = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 RESULT = new ImportModule(p); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("IMPORTAR_MODULO",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 18: // LISTA ::= ELEMENTOS 
             {
               Expression RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		List<Expression> e = (List<Expression>)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new ListElements(e); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("LISTA",6, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("LISTA",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 11: // ELEMENTOS ::= ELEMENTOS COMA EXPRESION 
+          case 19: // ELEMENTOS ::= ELEMENTOS COMA EXPRESION 
             {
               List<Expression> RESULT =null;
 		int eleleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
@@ -420,72 +597,72 @@ class CUP$Parser$actions {
 		Expression expr = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 if (ele == null) { ele = new ArrayList<>(); } 
                                                                 ele.add(expr); RESULT = ele; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("ELEMENTOS",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("ELEMENTOS",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 12: // ELEMENTOS ::= EXPRESION 
+          case 20: // ELEMENTOS ::= EXPRESION 
             {
               List<Expression> RESULT =null;
 		int exprleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int exprright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Expression expr = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new ArrayList<>(Arrays.asList(expr)); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("ELEMENTOS",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("ELEMENTOS",12, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 13: // EXPRESION ::= ENTERO 
+          case 21: // EXPRESION ::= ENTERO 
             {
               Expression RESULT =null;
 		int enleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int enright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String en = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(en, Type.ENTERO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 14: // EXPRESION ::= ASCII 
+          case 22: // EXPRESION ::= ASCII 
             {
               Expression RESULT =null;
 		int ascleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int ascright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String asc = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(asc, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 15: // EXPRESION ::= ID 
+          case 23: // EXPRESION ::= ID 
             {
               Expression RESULT =null;
 		int leleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int leright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String le = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(le , Type.LETRA); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 16: // EXPRESION ::= CHAR_RANGE 
+          case 24: // EXPRESION ::= CHAR_RANGE 
             {
               Expression RESULT =null;
 		int chleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int chright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Expression ch = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = ch; 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 17: // EXPRESION ::= EXPRESION RANGO EXPRESION 
+          case 25: // EXPRESION ::= EXPRESION RANGO EXPRESION 
             {
               Expression RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
@@ -495,156 +672,156 @@ class CUP$Parser$actions {
 		int e2right = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		Expression e2 = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new RangeSet(e1,e2); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",7, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("EXPRESION",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 18: // CHAR_RANGE ::= LLAVE_DCHA 
+          case 26: // CHAR_RANGE ::= LLAVE_DCHA 
             {
               Expression RESULT =null;
 		int rbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int rbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String rb = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(rb, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 19: // CHAR_RANGE ::= LLAVE_IZQ 
+          case 27: // CHAR_RANGE ::= LLAVE_IZQ 
             {
               Expression RESULT =null;
 		int lbleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int lbright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String lb = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(lb, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 20: // CHAR_RANGE ::= PAR_IZQ 
+          case 28: // CHAR_RANGE ::= PAR_IZQ 
             {
               Expression RESULT =null;
 		int plleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int plright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String pl = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(pl, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 21: // CHAR_RANGE ::= PAR_DCHA 
+          case 29: // CHAR_RANGE ::= PAR_DCHA 
             {
               Expression RESULT =null;
 		int prleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int prright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String pr = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(pr, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 22: // CHAR_RANGE ::= DOS_PUNTOS 
+          case 30: // CHAR_RANGE ::= DOS_PUNTOS 
             {
               Expression RESULT =null;
 		int dpleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int dpright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String dp = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(dp, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 23: // CHAR_RANGE ::= PUNTO_COMA 
+          case 31: // CHAR_RANGE ::= PUNTO_COMA 
             {
               Expression RESULT =null;
 		int pcleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int pcright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String pc = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(pc, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 24: // CHAR_RANGE ::= COMA 
+          case 32: // CHAR_RANGE ::= COMA 
             {
               Expression RESULT =null;
 		int cmleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int cmright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String cm = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(cm, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 25: // CHAR_RANGE ::= UNION 
+          case 33: // CHAR_RANGE ::= UNION 
             {
               Expression RESULT =null;
 		int unleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int unright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String un = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(un, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 26: // CHAR_RANGE ::= INTERSECCION 
+          case 34: // CHAR_RANGE ::= INTERSECCION 
             {
               Expression RESULT =null;
 		int inleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int inright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String in = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(in, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 27: // CHAR_RANGE ::= DIFERENCIA 
+          case 35: // CHAR_RANGE ::= DIFERENCIA 
             {
               Expression RESULT =null;
 		int dfleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int dfright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String df = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(df, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 28: // CHAR_RANGE ::= COMPLEMENTO 
+          case 36: // CHAR_RANGE ::= COMPLEMENTO 
             {
               Expression RESULT =null;
 		int cpleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int cpright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String cp = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(cp, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 29: // CHAR_RANGE ::= RANGO 
+          case 37: // CHAR_RANGE ::= RANGO 
             {
               Expression RESULT =null;
 		int rgleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
 		int rgright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
 		String rg = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
 		 RESULT = new Primitive(rg, Type.SIMBOLO); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CHAR_RANGE",14, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 30: // OPERADORES ::= CONJUNTO 
+          case 38: // OPERADORES ::= CONJUNTO 
             {
               Expression RESULT =null;
 		int coleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
@@ -656,12 +833,12 @@ class CUP$Parser$actions {
                 }
                 RESULT = co; 
         
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 31: // OPERADORES ::= UNION OPERADORES OPERADORES 
+          case 39: // OPERADORES ::= UNION OPERADORES OPERADORES 
             {
               Expression RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
@@ -674,12 +851,12 @@ class CUP$Parser$actions {
                 operacionesStack.push("U");
                 RESULT = new Operators(e1,"U",e2); 
         
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 32: // OPERADORES ::= INTERSECCION OPERADORES OPERADORES 
+          case 40: // OPERADORES ::= INTERSECCION OPERADORES OPERADORES 
             {
               Expression RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
@@ -692,12 +869,12 @@ class CUP$Parser$actions {
                 operacionesStack.push("&");
                 RESULT = new Operators(e1,"&",e2); 
         
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 33: // OPERADORES ::= DIFERENCIA OPERADORES OPERADORES 
+          case 41: // OPERADORES ::= DIFERENCIA OPERADORES OPERADORES 
             {
               Expression RESULT =null;
 		int e1left = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
@@ -710,12 +887,40 @@ class CUP$Parser$actions {
                 operacionesStack.push("-");
                 RESULT = new Operators(e1,"-",e2); 
         
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 34: // OPERADORES ::= COMPLEMENTO OPERADORES 
+          case 42: // OPERADORES ::= UNION PAR_IZQ LISTA_OPERADORES PAR_DCHA 
+            {
+              Expression RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List<Expression> l = (List<Expression>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 
+                RESULT = Operators.chain("U", l); 
+        
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 43: // OPERADORES ::= INTERSECCION PAR_IZQ LISTA_OPERADORES PAR_DCHA 
+            {
+              Expression RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).right;
+		List<Expression> l = (List<Expression>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
+		 
+                RESULT = Operators.chain("&", l); 
+        
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-3)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 44: // OPERADORES ::= COMPLEMENTO OPERADORES 
             {
               Expression RESULT =null;
 		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
@@ -725,12 +930,39 @@ class CUP$Parser$actions {
                 operacionesStack.push("^");
                 RESULT = new Operators(e,"^",null); 
         
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",9, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("OPERADORES",11, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 45: // LISTA_OPERADORES ::= LISTA_OPERADORES COMA OPERADORES 
+            {
+              List<Expression> RESULT =null;
+		int lleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).left;
+		int lright = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)).right;
+		List<Expression> l = (List<Expression>)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-2)).value;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expression e = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 l.add(e); RESULT = l; 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("LISTA_OPERADORES",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+            }
+          return CUP$Parser$result;
+
+          /*. . . . . . . . . . . . . . . . . . . .*/
+          case 46: // LISTA_OPERADORES ::= OPERADORES 
+            {
+              List<Expression> RESULT =null;
+		int eleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).left;
+		int eright = ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()).right;
+		Expression e = (Expression)((java_cup.runtime.Symbol) CUP$Parser$stack.peek()).value;
+		 RESULT = new ArrayList<>(Arrays.asList(e)); 
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("LISTA_OPERADORES",13, ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
           /*. . . . . . . . . . . . . . . . . . . .*/
-          case 35: // CONJUNTO ::= LLAVE_IZQ ID LLAVE_DCHA 
+          case 47: // CONJUNTO ::= LLAVE_IZQ ID LLAVE_DCHA 
             {
               Expression RESULT =null;
 		int idleft = ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-1)).left;
@@ -738,7 +970,7 @@ class CUP$Parser$actions {
 		String id = (String)((java_cup.runtime.Symbol) CUP$Parser$stack.elementAt(CUP$Parser$top-1)).value;
 		 capturarOperando(id);
                 RESULT = new ReferenceSet(id); 
-              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CONJUNTO",8, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
+              CUP$Parser$result = parser.getSymbolFactory().newSymbol("CONJUNTO",10, ((java_cup.runtime.Symbol)CUP$Parser$stack.elementAt(CUP$Parser$top-2)), ((java_cup.runtime.Symbol)CUP$Parser$stack.peek()), RESULT);
             }
           return CUP$Parser$result;
 
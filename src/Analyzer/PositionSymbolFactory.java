@@ -0,0 +1,47 @@
+package Analyzer;
+
+import java_cup.runtime.Symbol;
+import java_cup.runtime.SymbolFactory;
+
+/**
+ * Fábrica de símbolos del parser. El lexer entrega Symbol simples con la línea
+ * y la posición en left/right; los símbolos que arma el parser heredan la posición
+ * del primer y del último símbolo que reducen. Es lo mismo que hace la fábrica
+ * por defecto de CUP, que está marcada como obsoleta, sin exigir ComplexSymbol.
+ *
+ * @author danie
+ */
+public final class PositionSymbolFactory implements SymbolFactory {
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Symbol right, Object value) {
+        return new Symbol(id, left, right, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Symbol right) {
+        return new Symbol(id, left, right);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Symbol left, Object value) {
+        return new Symbol(id, left, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id, Object value) {
+        return new Symbol(id, value);
+    }
+
+    @Override
+    public Symbol newSymbol(String name, int id) {
+        return new Symbol(id);
+    }
+
+    @Override
+    public Symbol startSymbol(String name, int id, int state) {
+        Symbol start = new Symbol(id);
+        start.parse_state = state;
+        return start;
+    }
+}
@@ -8,33 +8,40 @@ package Analyzer;
 /** CUP generated class containing symbol constants. */
 public class sym {
   /* terminals */
-  public static final int DIFERENCIA = 7;
-  public static final int PAR_DCHA = 20;
-  public static final int INTERSECCION = 6;
-  public static final int FLECHA = 10;
+  public static final int DIFERENCIA = 10;
+  public static final int CADENA = 18;
+  public static final int PAR_DCHA = 24;
+  public static final int INTERSECCION = 9;
+  public static final int FLECHA = 13;
   public static final int OPERA = 3;
-  public static final int ID = 12;
-  public static final int DOS_PUNTOS = 17;
-  public static final int COMA = 18;
+  public static final int ID = 15;
+  public static final int DOS_PUNTOS = 21;
+  public static final int UNIVERSO = 5;
+  public static final int COMA = 22;
   public static final int EOF = 0;
   public static final int CONJ = 2;
-  public static final int PAR_IZQ = 19;
-  public static final int UNION = 5;
+  public static final int PAR_IZQ = 23;
+  public static final int UNION = 8;
   public static final int error = 1;
-  public static final int LLAVE_DCHA = 16;
-  public static final int COMPLEMENTO = 8;
-  public static final int LLAVE_IZQ = 15;
-  public static final int PUNTO_COMA = 11;
-  public static final int ASCII = 14;
+  public static final int LLAVE_DCHA = 20;
+  public static final int COMPLEMENTO = 11;
+  public static final int LLAVE_IZQ = 19;
+  public static final int PUNTO_COMA = 14;
+  public static final int ARCHIVO = 6;
+  public static final int ASCII = 17;
   public static final int EVALUAR = 4;
-  public static final int ENTERO = 13;
-  public static final int RANGO = 9;
+  public static final int ENTERO = 16;
+  public static final int RANGO = 12;
+  public static final int IMPORTAR = 7;
   public static final String[] terminalNames = new String[] {
   "EOF",
   "error",
   "CONJ",
   "OPERA",
   "EVALUAR",
+  "UNIVERSO",
+  "ARCHIVO",
+  "IMPORTAR",
   "UNION",
   "INTERSECCION",
   "DIFERENCIA",
@@ -45,6 +52,7 @@ public class sym {
   "ID",
   "ENTERO",
   "ASCII",
+  "CADENA",
   "LLAVE_IZQ",
   "LLAVE_DCHA",
   "DOS_PUNTOS",
@@ -0,0 +1,85 @@
+package Environment;
+
+/**
+ * Ciclos sobre arreglos de palabras de 64 bits usados por los mapas de bits
+ * (IntBitmap): OR, AND, AND NOT y conteo de bits.
+ *
+ * Si la JVM se inició con --add-modules jdk.incubator.vector se usa la versión
+ * SIMD (VectorBitsetKernels), que procesa varias palabras por instrucción. Si el
+ * módulo no está, o con -Dconj.simd=false, se usan los ciclos escalares de esta
+ * clase. La clase vectorial solo se carga por reflexión, así el programa funciona
+ * igual sin el módulo.
+ *
+ * @author danie
+ */
+class BitsetKernels {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNELS = "Environment.VectorBitsetKernels";
+
+    private static final BitsetKernels instance = load();
+
+    static BitsetKernels getInstance() {
+        return instance;
+    }
+
+    private static BitsetKernels load() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("conj.simd", "true"));
+        if (!enabled || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return new BitsetKernels();
+        }
+        try {
+            return (BitsetKernels) Class.forName(VECTOR_KERNELS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new BitsetKernels();
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // OPERACIONES (los arreglos tienen el mismo largo; devuelven la cantidad de bits del resultado)
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    int or(long[] a, long[] b, long[] result) {
+        int card = 0;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] | b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    int and(long[] a, long[] b, long[] result) {
+        int card = 0;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    int andNot(long[] a, long[] b, long[] result) {
+        int card = 0;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = a[i] & ~b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    /**
+     * OR sobre el arreglo destino, sin contar (para uniones de varios operandos)
+     */
+    void orInto(long[] target, long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    int cardinality(long[] words) {
+        int card = 0;
+        for (long word : words) {
+            card += Long.bitCount(word);
+        }
+        return card;
+    }
+}
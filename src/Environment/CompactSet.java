@@ -0,0 +1,211 @@
+package Environment;
+
+import java.util.*;
+
+/**
+ * Conjunto con muchos enteros guardados en un mapa de bits comprimido.
+ *
+ * Los elementos Integer (ENTERO mayores a 9 o negativos, ya normalizados) van a
+ * un IntBitmap; los demás (caracteres, cadenas) a un HashSet aparte. Un conjunto
+ * de cientos de miles de identificadores ocupa unos pocos bytes por elemento en
+ * vez de un Integer y una entrada de HashSet por cada uno. La unión, intersección
+ * y diferencia entre dos CompactSet se hacen sobre los mapas de bits.
+ * Es inmutable: se construye con CompactSet.Builder.
+ *
+ * @author danie
+ */
+public final class CompactSet extends AbstractSet<Object> {
+
+    private final IntBitmap integers;
+    private final Set<Object> others;
+    private final int integerCount;
+
+    private CompactSet(IntBitmap integers, Set<Object> others) {
+        integers.optimize();
+        this.integers = integers;
+        this.others = Collections.unmodifiableSet(others);
+        this.integerCount = integers.cardinality();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTAS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Verifica si un elemento (ya normalizado) pertenece al conjunto
+     */
+    @Override
+    public boolean contains(Object element) {
+        if (element instanceof Integer) {
+            return integers.contains((Integer) element);
+        }
+        return others.contains(element);
+    }
+
+    /**
+     * Pertenencia de un entero ya normalizado (fuera de 0-9) sin crear un Integer
+     */
+    boolean containsInt(int value) {
+        return integers.contains(value);
+    }
+
+    @Override
+    public int size() {
+        return integerCount + others.size();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<Object> first = others.iterator();
+        PrimitiveIterator.OfInt rest = integers.iterator();
+
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || rest.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return first.hasNext() ? first.next() : (Object) rest.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Enteros en orden creciente, sin crear un Integer por elemento
+     */
+    PrimitiveIterator.OfInt sortedIntegers() {
+        return integers.sortedIterator();
+    }
+
+    /**
+     * Elementos que no son enteros (caracteres y cadenas)
+     */
+    Set<Object> others() {
+        return others;
+    }
+
+    /**
+     * Cantidad de elementos enteros guardados en el mapa de bits
+     */
+    public int getIntegerCount() {
+        return integerCount;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // OPERACIONES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    static CompactSet union(CompactSet a, CompactSet b) {
+        Set<Object> others = new HashSet<>(a.others);
+        others.addAll(b.others);
+        return new CompactSet(IntBitmap.or(a.integers, b.integers), others);
+    }
+
+    static CompactSet intersection(CompactSet a, CompactSet b) {
+        Set<Object> others = new HashSet<>();
+        Set<Object> smaller = a.others.size() <= b.others.size() ? a.others : b.others;
+        Set<Object> larger = smaller == a.others ? b.others : a.others;
+        for (Object element : smaller) {
+            if (larger.contains(element)) {
+                others.add(element);
+            }
+        }
+        return new CompactSet(IntBitmap.and(a.integers, b.integers), others);
+    }
+
+    static CompactSet difference(CompactSet a, CompactSet b) {
+        Set<Object> others = new HashSet<>(a.others);
+        others.removeAll(b.others);
+        return new CompactSet(IntBitmap.andNot(a.integers, b.integers), others);
+    }
+
+    /**
+     * Diferencia con un conjunto cualquiera (sus elementos se normalizan)
+     */
+    static CompactSet difference(CompactSet a, Set<Object> b) {
+        Builder removed = new Builder();
+        for (Object element : b) {
+            removed.add(element);
+        }
+        return difference(a, removed.build());
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSTRUCCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Acumula elementos y conjuntos compactos y los une en un CompactSet inmutable.
+     * Los conjuntos agregados con addAll no se copian: se combinan al construir.
+     */
+    public static final class Builder {
+        private final IntBitmap added = new IntBitmap();
+        private final Set<Object> others = new HashSet<>();
+        private final List<CompactSet> sets = new ArrayList<>();
+
+        /**
+         * Agrega un elemento, normalizándolo
+         */
+        public Builder add(Object element) {
+            Object normalized = Environment.normalizeElement(element);
+            if (normalized instanceof Integer) {
+                added.add((Integer) normalized);
+            } else {
+                others.add(normalized);
+            }
+            return this;
+        }
+
+        /**
+         * Agrega un entero sin crear un Integer (los dígitos 0-9 se normalizan como caracteres)
+         */
+        public Builder addInt(int value) {
+            if (value >= 0 && value <= 9) {
+                others.add((char) ('0' + value));
+                return this;
+            }
+            added.add(value);
+            return this;
+        }
+
+        /**
+         * Agrega muchos enteros de una vez: se ordenan primero para que cada valor
+         * vaya al final de su contenedor en vez de desplazar los anteriores.
+         * Ordena el arreglo recibido.
+         */
+        public Builder addInts(int[] values, int length) {
+            Arrays.sort(values, 0, length);
+            for (int i = 0; i < length; i++) {
+                addInt(values[i]);
+            }
+            return this;
+        }
+
+        /**
+         * Agrega todos los elementos de un conjunto
+         */
+        public Builder addAll(Set<Object> set) {
+            if (set instanceof CompactSet) {
+                CompactSet compact = (CompactSet) set;
+                sets.add(compact);
+                others.addAll(compact.others);
+            } else {
+                for (Object element : set) {
+                    add(element);
+                }
+            }
+            return this;
+        }
+
+        public CompactSet build() {
+            List<IntBitmap> bitmaps = new ArrayList<>(sets.size() + 1);
+            bitmaps.add(added);
+            for (CompactSet set : sets) {
+                bitmaps.add(set.integers);
+            }
+            return new CompactSet(IntBitmap.orAll(bitmaps), new HashSet<>(others));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package Environment;
+
+import java.util.*;
+
+/**
+ * Conjunto "todo el universo excepto X" guardado de forma simbólica.
+ *
+ * Solo almacena los elementos excluidos (los que pertenecen al universo), por
+ * lo que ^{A} cuesta O(|A|) sin importar el tamaño del universo. Los elementos
+ * se recorren bajo demanda filtrando el universo. Es inmutable.
+ *
+ * @author danie
+ */
+public final class ComplementSet extends AbstractSet<Object> {
+
+    private final Universe universe;
+    private final Set<Object> excluded;
+
+    /**
+     * Dos complementos sobre universos iguales son iguales si excluyen lo mismo,
+     * sin recorrer el universo
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof ComplementSet) {
+            ComplementSet complement = (ComplementSet) other;
+            if (universe.equals(complement.universe)) {
+                return excluded.equals(complement.excluded);
+            }
+        }
+        return super.equals(other);
+    }
+
+    /**
+     * @param universe Universo de referencia
+     * @param excluded Elementos normalizados a excluir (se descartan los que no están en el universo)
+     */
+    ComplementSet(Universe universe, Collection<Object> excluded) {
+        this.universe = universe;
+
+        Set<Object> inUniverse = new HashSet<>();
+        for (Object element : excluded) {
+            if (universe.contains(element)) {
+                inUniverse.add(element);
+            }
+        }
+        this.excluded = Collections.unmodifiableSet(inUniverse);
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return universe.contains(element) && !excluded.contains(element);
+    }
+
+    @Override
+    public int size() {
+        return universe.size() - excluded.size();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<Object> base = universe.iterator();
+
+        return new Iterator<Object>() {
+            private Object next = advance();
+
+            private Object advance() {
+                while (base.hasNext()) {
+                    Object candidate = base.next();
+                    if (!excluded.contains(candidate)) {
+                        return candidate;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Object next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Object current = next;
+                next = advance();
+                return current;
+            }
+        };
+    }
+
+    public Universe getUniverse() {
+        return universe;
+    }
+
+    /**
+     * Elementos del universo que no pertenecen a este conjunto
+     */
+    public Set<Object> getExcluded() {
+        return excluded;
+    }
+}
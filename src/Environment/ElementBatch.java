@@ -0,0 +1,64 @@
+package Environment;
+
+import java.util.Arrays;
+
+/**
+ * Lote de elementos para consultar su pertenencia de una sola vez
+ * (Environment.slotContainsBatch).
+ *
+ * Los enteros se guardan en un int[] sin crear un Integer por elemento; los
+ * demás (texto) en un Object[] paralelo, que queda en null para los enteros.
+ * Se reutiliza entre lotes con clear().
+ *
+ * @author danie
+ */
+public final class ElementBatch {
+
+    private final int[] integers;
+    private final Object[] texts;
+    private int size;
+
+    public ElementBatch(int capacity) {
+        this.integers = new int[capacity];
+        this.texts = new Object[capacity];
+    }
+
+    public void addInt(int value) {
+        integers[size] = value;
+        texts[size] = null;
+        size++;
+    }
+
+    public void addText(String text) {
+        texts[size] = text;
+        size++;
+    }
+
+    public boolean isFull() {
+        return size == integers.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        Arrays.fill(texts, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * true si el elemento en la posición es un entero (getInt), false si es texto (getText)
+     */
+    public boolean isInt(int index) {
+        return texts[index] == null;
+    }
+
+    public int getInt(int index) {
+        return integers[index];
+    }
+
+    public Object getText(int index) {
+        return texts[index];
+    }
+}
@@ -3,6 +3,7 @@ package Environment;
 import Types.Output;
 import Types.OutputError;
 
+import java.lang.foreign.Arena;
 import java.util.*;
 import Utils.*;
 
@@ -26,6 +27,11 @@ public class Environment {
     private static final int ASCII_END = 126;   // '~'
     private static final int DIGIT_START = 0;
     private static final int DIGIT_END = 9;
+    // Cantidad de enteros a partir de la cual un conjunto se guarda como CompactSet
+    static final int COMPACT_MIN_INTEGERS = 64;
+    // Cantidad de enteros a partir de la cual un conjunto se guarda fuera del heap
+    // (-Dconj.offheap.min=N; 0 o sin definir deja todos los conjuntos en el heap)
+    private static final int OFF_HEAP_MIN_INTEGERS = Integer.getInteger("conj.offheap.min", 0);
     
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     // ATRIBUTOS PRINCIPALES
@@ -36,11 +42,19 @@ public class Environment {
     private int operationsPerformed;
     private int totalSets;
     
-    // Universo de elementos para operaciones de complemento
-    private final Set<Object> currentUniverse;
+    // Universo de elementos para operaciones de complemento (configurable con UNIVERSO)
+    private Universe currentUniverse;
     
-    // Almacenamiento de conjuntos definidos
-    private final Map<String, Set<Object>> sets;
+    // Almacenamiento de conjuntos definidos: cada nombre se liga una vez a una posición
+    // del arreglo y la ejecución lee los conjuntos por posición
+    private final Map<String, Integer> slotIndex;
+    private final List<Set<Object>> slots;
+    
+    // Memoria nativa de los conjuntos fuera del heap; vive hasta release()
+    private Arena offHeapArena;
+    
+    // Huella del contenido de cada conjunto (para el cache incremental)
+    private final Map<String, Long> setFingerprints;
     
     // Mapas para historial y elementos
     private final Map<String, List<Object>> setElements;
@@ -63,8 +77,9 @@ public class Environment {
     public Environment(String name) {
         this.operationsPerformed = 0;
         this.totalSets = 0;
-        this.currentUniverse = new HashSet<>();
-        this.sets = new TreeMap<>();
+        this.slotIndex = new HashMap<>();
+        this.slots = new ArrayList<>();
+        this.setFingerprints = new HashMap<>();
         this.setElements = new HashMap<>();
         this.operationsHistory = new HashMap<>();
         this.operacionesStack = new HashMap<>();
@@ -89,9 +104,7 @@ public class Environment {
      * Rango: ASCII 33 ('!') hasta ASCII 126 ('~')
      */
     private void initializeUniverse() {
-        for (int i = ASCII_START; i <= ASCII_END; i++) {
-            currentUniverse.add((char) i);
-        }
+        currentUniverse = Universe.ascii(ASCII_START, ASCII_END);
     }
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     // GESTIÓN DE OPERACIONES ACTUALES
@@ -189,13 +202,26 @@ public class Environment {
      * @return true si es un conjunto nuevo, false si ya existía
      */
     public boolean saveSet(String setName, Set<Object> elements) {
-        boolean isNewSet = !sets.containsKey(setName);
+        int slot = bindSlot(setName);
+        boolean isNewSet = slots.get(slot) == null;
         
         if (isNewSet) {
             totalSets++;
         }
         
-        sets.put(setName, new HashSet<>(elements));
+        // Los complementos se cuentan por su universo, que ya está acotado al definirlo
+        if (!(elements instanceof ComplementSet)) {
+            ResourceLimits.getInstance().checkElements(elements.size());
+        }
+        
+        // Los complementos y conjuntos compactos son inmutables y se guardan sin copiar;
+        // el resto se guarda normalizado
+        Set<Object> stored = isImmutable(elements) ? elements : normalizeAll(elements);
+        if (shouldMoveOffHeap(stored)) {
+            stored = OffHeapSet.copyOf(offHeapArena(), stored);
+        }
+        slots.set(slot, stored);
+        setFingerprints.put(setName, computeFingerprint(stored));
         return isNewSet;
     }
     
@@ -206,12 +232,88 @@ public class Environment {
      * @return Copia del conjunto o null si no existe
      */
     public Set<Object> getSet(String setName) {
-        if (!sets.containsKey(setName)) {
+        Set<Object> stored = lookup(setName);
+        if (stored == null) {
             OutputError.addMessage("No se encontró el conjunto '" + setName + "'.");
             return null;
         }
         
-        return new HashSet<>(sets.get(setName));
+        return isImmutable(stored) ? stored : new HashSet<>(stored);
+    }
+    
+    /**
+     * Obtiene el conjunto con sus elementos en el heap, para guardarlo más allá de
+     * esta ejecución (los conjuntos fuera del heap se copian a un CompactSet).
+     * 
+     * @param setName Nombre del conjunto
+     * @return Conjunto o null si no existe
+     */
+    public Set<Object> getHeapSet(String setName) {
+        Set<Object> stored = getSet(setName);
+        return stored != null ? toHeap(stored) : null;
+    }
+    
+    /**
+     * Copia al heap un conjunto guardado fuera del heap; los demás se devuelven tal cual.
+     * Lo que sobrevive a la ejecución (cache, diagramas) no puede apuntar a la arena,
+     * que se cierra en release().
+     * 
+     * @param set Conjunto a copiar
+     * @return Conjunto con sus elementos en el heap
+     */
+    public static Set<Object> toHeap(Set<Object> set) {
+        if (set instanceof OffHeapSet) {
+            return new CompactSet.Builder().addAll(set).build();
+        }
+        return set;
+    }
+    
+    /**
+     * Obtiene una vista de solo lectura del conjunto, sin copiarlo.
+     * 
+     * @param setName Nombre del conjunto
+     * @return Vista del conjunto o null si no existe
+     */
+    public Set<Object> viewSet(String setName) {
+        Set<Object> stored = lookup(setName);
+        if (stored == null || isImmutable(stored)) {
+            return stored;
+        }
+        return Collections.unmodifiableSet(stored);
+    }
+    
+    /**
+     * Obtiene la cantidad de elementos de un conjunto guardado, sin copiarlo.
+     * 
+     * @param setName Nombre del conjunto
+     * @return Cardinalidad del conjunto o -1 si no existe
+     */
+    public int getSetSize(String setName) {
+        Set<Object> stored = lookup(setName);
+        return stored != null ? stored.size() : -1;
+    }
+    
+    /**
+     * Verifica si un elemento pertenece a un conjunto guardado, sin copiarlo.
+     * Los conjuntos se guardan normalizados, por lo que basta una consulta por hash.
+     * 
+     * @param setName Nombre del conjunto
+     * @param element Elemento a buscar
+     * @return true si el conjunto existe y contiene el elemento
+     */
+    public boolean setContains(String setName, Object element) {
+        Set<Object> stored = lookup(setName);
+        return stored != null && stored.contains(normalizeElement(element));
+    }
+    
+    /**
+     * Verifica si un elemento pertenece al universo actual.
+     * 
+     * @param element Elemento a buscar
+     * @return true si el elemento está en el universo
+     */
+    public boolean isInUniverse(Object element) {
+        return currentUniverse.contains(normalizeElement(element));
     }
     
     /**
@@ -221,7 +323,154 @@ public class Environment {
      * @return true si existe, false en caso contrario
      */
     public boolean existSet(String setName) {
-        return sets.containsKey(setName);
+        return lookup(setName) != null;
+    }
+    
+    /**
+     * Nombres de los conjuntos definidos, en el orden en que se ligaron
+     * 
+     * @return Lista de nombres
+     */
+    public List<String> getSetNames() {
+        String[] names = new String[slots.size()];
+        for (Map.Entry<String, Integer> entry : slotIndex.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        
+        List<String> defined = new ArrayList<>();
+        for (int slot = 0; slot < names.length; slot++) {
+            if (slots.get(slot) != null) {
+                defined.add(names[slot]);
+            }
+        }
+        return defined;
+    }
+    
+    /**
+     * Obtiene la huella del contenido actual de un conjunto.
+     * Dos conjuntos con los mismos elementos tienen la misma huella.
+     * 
+     * @param setName Nombre del conjunto
+     * @return Huella del conjunto o null si no existe
+     */
+    public Long getSetFingerprint(String setName) {
+        return setFingerprints.get(setName);
+    }
+    
+    /**
+     * Verifica si el conjunto guardado tiene exactamente los elementos indicados
+     * (la huella puede coincidir entre conjuntos distintos)
+     * 
+     * @param setName Nombre del conjunto
+     * @param expected Elementos esperados
+     * @return true si el conjunto existe y es igual a expected
+     */
+    public boolean hasSameSet(String setName, Set<Object> expected) {
+        Set<Object> stored = lookup(setName);
+        return stored != null && (stored == expected || stored.equals(expected));
+    }
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ACCESO POR POSICIÓN (referencias ligadas por el análisis semántico)
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    
+    /**
+     * Liga un nombre de conjunto a una posición fija del entorno, creándola si no existe.
+     * El conjunto se guarda después en esa posición con saveSet.
+     * 
+     * @param setName Nombre del conjunto
+     * @return Posición del conjunto
+     */
+    public int bindSlot(String setName) {
+        Integer slot = slotIndex.get(setName);
+        if (slot == null) {
+            slot = slots.size();
+            slotIndex.put(setName, slot);
+            slots.add(null);
+        }
+        return slot;
+    }
+    
+    /**
+     * Vista de solo lectura del conjunto guardado en una posición, sin copiarlo.
+     * 
+     * @param slot Posición obtenida con bindSlot
+     * @return Vista del conjunto o null si todavía no tiene valor
+     */
+    public Set<Object> viewSlot(int slot) {
+        Set<Object> stored = slots.get(slot);
+        if (stored == null || isImmutable(stored)) {
+            return stored;
+        }
+        return Collections.unmodifiableSet(stored);
+    }
+    
+    /**
+     * Cardinalidad del conjunto guardado en una posición.
+     * 
+     * @param slot Posición obtenida con bindSlot
+     * @return Cardinalidad o -1 si todavía no tiene valor
+     */
+    public int getSlotSize(int slot) {
+        Set<Object> stored = slots.get(slot);
+        return stored != null ? stored.size() : -1;
+    }
+    
+    /**
+     * Verifica si un elemento pertenece al conjunto guardado en una posición.
+     * 
+     * @param slot Posición obtenida con bindSlot
+     * @param element Elemento a buscar
+     * @return true si la posición tiene un conjunto y contiene el elemento
+     */
+    public boolean slotContains(int slot, Object element) {
+        Set<Object> stored = slots.get(slot);
+        return stored != null && stored.contains(normalizeElement(element));
+    }
+    
+    /**
+     * Pertenencia en lote: pone en 1 el bit i de hits si el elemento i del lote
+     * pertenece al conjunto guardado en la posición. Los enteros se consultan sin
+     * crear objetos en los conjuntos compactos y fuera del heap.
+     * 
+     * @param slot Posición obtenida con bindSlot
+     * @param batch Elementos a consultar
+     * @param hits Mapa de bits del resultado (al menos batch.size() bits; se sobrescribe)
+     * @return Cantidad de elementos que pertenecen, o -1 si la posición no tiene valor
+     */
+    public int slotContainsBatch(int slot, ElementBatch batch, long[] hits) {
+        Set<Object> stored = slots.get(slot);
+        if (stored == null) {
+            return -1;
+        }
+        
+        Arrays.fill(hits, 0, (batch.size() + 63) >>> 6, 0L);
+        int count = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            boolean member = batch.isInt(i)
+                    ? containsInt(stored, batch.getInt(i))
+                    : stored.contains(normalizeElement(batch.getText(i)));
+            if (member) {
+                hits[i >>> 6] |= 1L << i;
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Pertenencia de un entero sin normalizar (los dígitos 0-9 se guardan como caracteres)
+     */
+    private static boolean containsInt(Set<Object> set, int value) {
+        if (isDigit(value)) {
+            return set.contains((char) ('0' + value));
+        }
+        if (set instanceof CompactSet) {
+            return ((CompactSet) set).containsInt(value);
+        }
+        if (set instanceof OffHeapSet) {
+            return ((OffHeapSet) set).containsInt(value);
+        }
+        return set.contains(value);
     }
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     // OPERACIONES DE CONJUNTOS
@@ -235,10 +484,180 @@ public class Environment {
      * @return Resultado de la unión
      */
     public Set<Object> executeUnion(Set<Object> setA, Set<Object> setB) {
+        Set<Object> result = unionSets(setA, setB);
+        
+        incrementOperationCounter();
+        return result;
+    }
+    
+    /**
+     * Calcula la unión sin contarla como operación realizada.
+     * Si algún lado es un complemento el resultado sigue siendo simbólico:
+     * (U - X) ∪ B = U - (X - B) y (U - X) ∪ (U - Y) = U - (X ∩ Y).
+     * 
+     * @param setA Primer conjunto
+     * @param setB Segundo conjunto
+     * @return Resultado de la unión
+     */
+    public Set<Object> unionSets(Set<Object> setA, Set<Object> setB) {
+        ComplementSet complementA = asCurrentComplement(setA);
+        ComplementSet complementB = asCurrentComplement(setB);
+        
+        if (complementA != null && complementB != null) {
+            Set<Object> excluded = new HashSet<>(complementA.getExcluded());
+            excluded.retainAll(complementB.getExcluded());
+            return new ComplementSet(currentUniverse, excluded);
+        }
+        
+        if (complementA != null || complementB != null) {
+            ComplementSet complement = complementA != null ? complementA : complementB;
+            Set<Object> other = complementA != null ? setB : setA;
+            
+            if (allInUniverse(other)) {
+                Set<Object> excluded = new HashSet<>(complement.getExcluded());
+                excluded.removeAll(normalizeAll(other));
+                return new ComplementSet(currentUniverse, excluded);
+            }
+        }
+        
+        if (setA instanceof OffHeapSet || setB instanceof OffHeapSet) {
+            return OffHeapSet.union(offHeapArena(), asOffHeap(setA), asOffHeap(setB));
+        }
+        
+        // Con un conjunto compacto los enteros se unen sobre el mapa de bits
+        if (setA instanceof CompactSet && setB instanceof CompactSet) {
+            return CompactSet.union((CompactSet) setA, (CompactSet) setB);
+        }
+        if (setA instanceof CompactSet || setB instanceof CompactSet) {
+            return new CompactSet.Builder().addAll(setA).addAll(setB).build();
+        }
+        
         Set<Object> result = new HashSet<>(setA);
         result.addAll(setB);
+        return result;
+    }
+    
+    /**
+     * Une varios conjuntos en una sola pasada (U n-aria). Se reserva la capacidad
+     * una vez y no se crean uniones intermedias. Cuenta como n-1 uniones.
+     * 
+     * @param operands Conjuntos a unir (al menos uno)
+     * @return Resultado de la unión
+     */
+    public Set<Object> unionAll(List<Set<Object>> operands) {
+        long total = 0;
+        boolean symbolic = false;
+        boolean compact = false;
+        boolean offHeap = false;
+        for (Set<Object> operand : operands) {
+            total += operand.size();
+            symbolic |= operand instanceof ComplementSet;
+            compact |= operand instanceof CompactSet;
+            offHeap |= operand instanceof OffHeapSet;
+        }
         
-        incrementOperationCounter();
+        // Con complementos se combina de a pares de forma simbólica; fuera del heap, por mezcla
+        if (symbolic || offHeap) {
+            Set<Object> result = operands.get(0);
+            for (int i = 1; i < operands.size(); i++) {
+                result = executeUnion(result, operands.get(i));
+            }
+            return result;
+        }
+        
+        ResourceLimits limits = ResourceLimits.getInstance();
+        if (compact) {
+            CompactSet.Builder builder = new CompactSet.Builder();
+            for (Set<Object> operand : operands) {
+                limits.checkDeadline();
+                builder.addAll(operand);
+            }
+            operationsPerformed += operands.size() - 1;
+            return builder.build();
+        }
+        
+        // Se reserva para el total, salvo que supere el límite de elementos (se verifica al agregar)
+        long capacity = limits.getMaxElements() > 0 ? Math.min(total, limits.getMaxElements()) : total;
+        Set<Object> result = new HashSet<>((int) Math.min(Integer.MAX_VALUE, capacity * 4 / 3 + 1));
+        for (Set<Object> operand : operands) {
+            limits.checkDeadline();
+            result.addAll(operand);
+            limits.checkElements(result.size());
+        }
+        operationsPerformed += operands.size() - 1;
+        return result;
+    }
+    
+    /**
+     * Intersecta varios conjuntos en una sola pasada (& n-aria): se recorre el
+     * conjunto explícito más pequeño y cada elemento se consulta en los demás,
+     * deteniéndose en el primero que no lo contiene. Cuenta como n-1 intersecciones.
+     * 
+     * @param operands Conjuntos a intersectar (al menos dos)
+     * @return Resultado de la intersección
+     */
+    public Set<Object> executeIntersectionAll(List<Set<Object>> operands) {
+        Set<Object> smallest = null;
+        for (Set<Object> operand : operands) {
+            if (asCurrentComplement(operand) == null && (smallest == null || operand.size() < smallest.size())) {
+                smallest = operand;
+            }
+        }
+        
+        // Solo complementos: (U - X) ∩ (U - Y) ∩ ... = U - (X ∪ Y ∪ ...)
+        if (smallest == null) {
+            Set<Object> result = operands.get(0);
+            for (int i = 1; i < operands.size(); i++) {
+                result = executeIntersection(result, operands.get(i));
+            }
+            return result;
+        }
+        
+        List<Set<Object>> others = new ArrayList<>(operands);
+        others.remove(smallest);
+        others.sort(Comparator.comparingInt(Set::size));
+        
+        // Todos fuera del heap: se intersectan por mezcla de menor a mayor
+        if (smallest instanceof OffHeapSet && allOfType(others, OffHeapSet.class)) {
+            OffHeapSet result = (OffHeapSet) smallest;
+            for (Set<Object> other : others) {
+                result = OffHeapSet.intersection(offHeapArena(), result, (OffHeapSet) other);
+            }
+            operationsPerformed += operands.size() - 1;
+            return result;
+        }
+        
+        // Todos compactos: se intersectan los mapas de bits de menor a mayor
+        if (smallest instanceof CompactSet && allOfType(others, CompactSet.class)) {
+            CompactSet result = (CompactSet) smallest;
+            for (Set<Object> other : others) {
+                result = CompactSet.intersection(result, (CompactSet) other);
+            }
+            operationsPerformed += operands.size() - 1;
+            return result;
+        }
+        
+        ResourceLimits limits = ResourceLimits.getInstance();
+        Set<Object> result = new HashSet<>();
+        int visited = 0;
+        for (Object element : smallest) {
+            if ((++visited & 0xFFF) == 0) {
+                limits.checkDeadline();
+            }
+            Object normalized = normalizeElement(element);
+            boolean inAll = true;
+            for (Set<Object> other : others) {
+                if (!other.contains(normalized)) {
+                    inAll = false;
+                    break;
+                }
+            }
+            if (inAll) {
+                result.add(element);
+            }
+        }
+        
+        operationsPerformed += operands.size() - 1;
         return result;
     }
     
@@ -250,10 +669,38 @@ public class Environment {
      * @return Resultado de la intersección
      */
     public Set<Object> executeIntersection(Set<Object> setA, Set<Object> setB) {
+        ComplementSet complementA = asCurrentComplement(setA);
+        ComplementSet complementB = asCurrentComplement(setB);
+        
+        // (U - X) ∩ (U - Y) = U - (X ∪ Y)
+        if (complementA != null && complementB != null) {
+            Set<Object> excluded = new HashSet<>(complementA.getExcluded());
+            excluded.addAll(complementB.getExcluded());
+            incrementOperationCounter();
+            return new ComplementSet(currentUniverse, excluded);
+        }
+        
+        if (setA instanceof OffHeapSet && setB instanceof OffHeapSet) {
+            incrementOperationCounter();
+            return OffHeapSet.intersection(offHeapArena(), (OffHeapSet) setA, (OffHeapSet) setB);
+        }
+        
+        if (setA instanceof CompactSet && setB instanceof CompactSet) {
+            incrementOperationCounter();
+            return CompactSet.intersection((CompactSet) setA, (CompactSet) setB);
+        }
+        
+        // Se recorre el lado explícito más pequeño y se consulta el otro por hash
+        if (complementA != null || (complementB == null && setB.size() < setA.size())) {
+            Set<Object> swap = setA;
+            setA = setB;
+            setB = swap;
+        }
+        
         Set<Object> result = new HashSet<>();
         
         for (Object elementA : setA) {
-            if (containsElement(setB, elementA)) {
+            if (setB.contains(normalizeElement(elementA))) {
                 result.add(elementA);
             }
         }
@@ -270,12 +717,60 @@ public class Environment {
      * @return Resultado de la diferencia (setA - setB)
      */
     public Set<Object> computeDifference(Set<Object> setA, Set<Object> setB) {
-        Set<Object> result = new HashSet<>(setA);
+        ComplementSet complementA = asCurrentComplement(setA);
+        ComplementSet complementB = asCurrentComplement(setB);
         
-        for (Object elementB : setB) {
-            result.removeIf(elementA -> areElementsEqual(elementA, elementB));
+        // (U - X) - B = U - (X ∪ B)
+        if (complementA != null && complementB == null) {
+            Set<Object> excluded = new HashSet<>(complementA.getExcluded());
+            excluded.addAll(normalizeAll(setB));
+            incrementOperationCounter();
+            return new ComplementSet(currentUniverse, excluded);
+        }
+        
+        // (U - X) - (U - Y) = Y - X: se recorre solo Y, no el universo
+        if (complementA != null && complementB != null) {
+            Set<Object> result = new HashSet<>();
+            for (Object element : complementB.getExcluded()) {
+                if (complementA.contains(element)) {
+                    result.add(element);
+                }
+            }
+            incrementOperationCounter();
+            return result;
         }
         
+        // A - (U - Y): quedan los elementos de A que están en Y o fuera del universo
+        if (complementB != null) {
+            Set<Object> result = new HashSet<>();
+            for (Object element : setA) {
+                if (!complementB.contains(normalizeElement(element))) {
+                    result.add(element);
+                }
+            }
+            incrementOperationCounter();
+            return result;
+        }
+        
+        // Minuendo fuera del heap: se resta por mezcla de los enteros ordenados
+        if (setA instanceof OffHeapSet) {
+            incrementOperationCounter();
+            return OffHeapSet.difference(offHeapArena(), (OffHeapSet) setA, asOffHeap(setB));
+        }
+        
+        // Minuendo compacto: se resta sobre el mapa de bits sin expandirlo
+        if (setA instanceof CompactSet) {
+            incrementOperationCounter();
+            return setB instanceof CompactSet
+                    ? CompactSet.difference((CompactSet) setA, (CompactSet) setB)
+                    : CompactSet.difference((CompactSet) setA, setB);
+        }
+        
+        Set<Object> result = new HashSet<>(setA);
+        
+        // Los conjuntos del entorno están normalizados: una consulta por hash por elemento
+        result.removeIf(elementA -> setB.contains(normalizeElement(elementA)));
+        
         incrementOperationCounter();
         return result;
     }
@@ -287,11 +782,12 @@ public class Environment {
      * @return Complemento del conjunto
      */
     public Set<Object> executeComplement(Set<Object> set) {
-        Set<Object> result = new HashSet<>(currentUniverse);
+        ComplementSet complement = asCurrentComplement(set);
         
-        for (Object element : set) {
-            result.removeIf(universeElement -> areElementsEqual(universeElement, element));
-        }
+        // Doble complemento: ^(U - X) = X, sin recorrer el universo
+        Set<Object> result = complement != null
+                ? new HashSet<>(complement.getExcluded())
+                : new ComplementSet(currentUniverse, normalizeAll(set));
         
         incrementOperationCounter();
         return result;
@@ -300,6 +796,17 @@ public class Environment {
     // UTILIDADES Y FORMATEO
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     
+    /**
+     * Indica si el conjunto es inmutable (complemento, compacto o fuera del heap):
+     * esos conjuntos se comparten sin copiarlos.
+     * 
+     * @param set Conjunto a revisar
+     * @return true si el conjunto no se puede modificar
+     */
+    public static boolean isImmutable(Set<Object> set) {
+        return set instanceof ComplementSet || set instanceof CompactSet || set instanceof OffHeapSet;
+    }
+    
     /**
      * Verifica si un conjunto contiene un elemento específico.
      * 
@@ -308,6 +815,16 @@ public class Environment {
      * @return true si el conjunto contiene el elemento
      */
     public boolean containsElement(Set<Object> set, Object element) {
+        Object normalized = normalizeElement(element);
+        
+        // Los elementos guardados ya están normalizados: basta una consulta por hash
+        if (set.contains(normalized)) {
+            return true;
+        }
+        if (isImmutable(set)) {
+            return false;
+        }
+        
         return containsNormalizedElement(set, element);
     }
     
@@ -318,38 +835,23 @@ public class Environment {
      * @return Cadena formateada del conjunto
      */
     public static String formatSet(Set<Object> set) {
-        if (set.isEmpty()) {
-            return "∅";
-        }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append("{");
-        
-        List<Object> sortedElements = getSortedElementsStatic(set);
-        
-        for (int i = 0; i < sortedElements.size(); i++) {
-            sb.append(formatStaticElement(sortedElements.get(i)));
-            if (i < sortedElements.size() - 1) {
-                sb.append(", ");
-            }
-        }
-        
-        sb.append("}");
-        return sb.toString();
+        return SetFormatter.format(set);
     }
     
     /**
      * Limpia todos los datos del entorno y los reinicia.
      */
     public void resetEnvironment() {
+        release();
         currentAnalysis = null;
         operationsPerformed = 0;
         totalSets = 0;
-        sets.clear();
+        slotIndex.clear();
+        slots.clear();
+        setFingerprints.clear();
         setElements.clear();
         operationsHistory.clear();
         operacionesStack.clear();
-        currentUniverse.clear();
         
         clearCurrentOperation();
         initializeUniverse();
@@ -358,14 +860,25 @@ public class Environment {
         Output.Console.add("Datos del entorno limpiados correctamente.");
     }
     
+    /**
+     * Libera la memoria nativa de los conjuntos guardados fuera del heap.
+     * Después de llamarlo esos conjuntos ya no se pueden leer.
+     */
+    public void release() {
+        if (offHeapArena != null) {
+            offHeapArena.close();
+            offHeapArena = null;
+        }
+    }
+    
     /**
      * Obtiene información sobre el universo actual.
      * 
      * @return Información descriptiva del universo
      */
     public String getUniverseInfo() {
-        return String.format("Universo ASCII (%d-%d): De '!' (%d) hasta '~' (%d)%nTotal de elementos: %d",
-                ASCII_START, ASCII_END, ASCII_START, ASCII_END, currentUniverse.size());
+        return String.format("Universo (%s)%nTotal de elementos: %d",
+                currentUniverse.describe(), currentUniverse.size());
     }
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     // GESTIÓN DE STACK DE OPERACIONES
@@ -448,6 +961,15 @@ public class Environment {
         return operationsPerformed;
     }
     
+    /**
+     * Suma operaciones realizadas fuera del entorno (resultados reutilizados del cache).
+     * 
+     * @param count Numero de operaciones a sumar
+     */
+    public void recordOperations(int count) {
+        operationsPerformed += count;
+    }
+    
     /**
      * Obtiene el total de conjuntos definidos.
      * 
@@ -472,7 +994,30 @@ public class Environment {
      * @param elements Elementos a agregar
      */
     public void addToUniverse(Set<Object> elements) {
-        currentUniverse.addAll(elements);
+        Universe.Builder builder = new Universe.Builder().addUniverse(currentUniverse);
+        for (Object element : elements) {
+            builder.add(normalizeElement(element));
+        }
+        currentUniverse = builder.build();
+    }
+    
+    /**
+     * Reemplaza el universo (declaración UNIVERSO). Los complementos calculados
+     * antes conservan el universo con el que fueron creados.
+     * 
+     * @param universe Nuevo universo
+     */
+    public void setUniverse(Universe universe) {
+        this.currentUniverse = universe;
+    }
+    
+    /**
+     * Obtiene el universo actual sin copiarlo.
+     * 
+     * @return Universo actual
+     */
+    public Universe getUniverse() {
+        return currentUniverse;
     }
     
     // ═══════════════════════════════════════════════════════════════════════════════════════════
@@ -486,6 +1031,133 @@ public class Environment {
         operationsPerformed++;
     }
     
+    /**
+     * Conjunto guardado con ese nombre (null si no existe)
+     */
+    private Set<Object> lookup(String setName) {
+        Integer slot = slotIndex.get(setName);
+        return slot != null ? slots.get(slot) : null;
+    }
+    
+    /**
+     * Calcula una huella independiente del orden de los elementos
+     */
+    private static long computeFingerprint(Set<Object> conjunto) {
+        if (conjunto instanceof ComplementSet) {
+            ComplementSet complement = (ComplementSet) conjunto;
+            return ~computeFingerprint(complement.getExcluded()) * 31 + complement.getUniverse().getFingerprint();
+        }
+        
+        long hash = conjunto.size();
+        for (Object element : conjunto) {
+            long h = (element.hashCode() ^ element.getClass().getName().hashCode()) * 0x9E3779B97F4A7C15L;
+            hash += h ^ (h >>> 29);
+        }
+        return hash;
+    }
+    
+    /**
+     * Devuelve el conjunto como complemento si fue calculado sobre el universo actual
+     * (o sobre uno igual, como los resultados que el cache trae de una ejecución anterior)
+     */
+    private ComplementSet asCurrentComplement(Set<Object> set) {
+        if (set instanceof ComplementSet && currentUniverse.equals(((ComplementSet) set).getUniverse())) {
+            return (ComplementSet) set;
+        }
+        return null;
+    }
+    
+    /**
+     * Indica si el conjunto es el universo actual completo (un complemento sin excluidos)
+     * 
+     * @param set Conjunto a revisar
+     * @return true si es U
+     */
+    public boolean isWholeUniverse(Set<Object> set) {
+        ComplementSet complement = asCurrentComplement(set);
+        return complement != null && complement.getExcluded().isEmpty();
+    }
+    
+    /**
+     * Indica si se sabe, sin recorrerlo, que el conjunto está dentro del universo
+     * actual (los conjuntos explícitos pueden tener elementos fuera de él)
+     * 
+     * @param set Conjunto a revisar
+     * @return true si es un complemento sobre el universo actual o está vacío
+     */
+    public boolean isWithinUniverse(Set<Object> set) {
+        return asCurrentComplement(set) != null || set.isEmpty();
+    }
+    
+    /**
+     * Verifica que todos los elementos pertenezcan al universo actual
+     */
+    private boolean allInUniverse(Set<Object> set) {
+        for (Object element : set) {
+            if (!currentUniverse.contains(normalizeElement(element))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Normaliza todos los elementos de un conjunto. Si quedan muchos enteros
+     * el resultado se guarda como CompactSet.
+     */
+    private static Set<Object> normalizeAll(Set<Object> set) {
+        if (set instanceof CompactSet || set instanceof OffHeapSet) {
+            return set;
+        }
+        
+        Set<Object> normalized = new HashSet<>();
+        int integers = 0;
+        for (Object element : set) {
+            Object value = normalizeElement(element);
+            normalized.add(value);
+            if (value instanceof Integer) {
+                integers++;
+            }
+        }
+        
+        if (integers >= COMPACT_MIN_INTEGERS) {
+            return new CompactSet.Builder().addAll(normalized).build();
+        }
+        return normalized;
+    }
+    
+    private static boolean allOfType(List<Set<Object>> sets, Class<?> type) {
+        for (Set<Object> set : sets) {
+            if (!type.isInstance(set)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Arena de la ejecución (compartida: los diagramas y reportes leen desde otros hilos)
+     */
+    private Arena offHeapArena() {
+        if (offHeapArena == null) {
+            offHeapArena = Arena.ofShared();
+        }
+        return offHeapArena;
+    }
+    
+    private boolean shouldMoveOffHeap(Set<Object> stored) {
+        return OFF_HEAP_MIN_INTEGERS > 0
+                && stored instanceof CompactSet
+                && ((CompactSet) stored).getIntegerCount() >= OFF_HEAP_MIN_INTEGERS;
+    }
+    
+    /**
+     * Operando como OffHeapSet (los demás conjuntos se copian a la arena de la ejecución)
+     */
+    private OffHeapSet asOffHeap(Set<Object> set) {
+        return set instanceof OffHeapSet ? (OffHeapSet) set : OffHeapSet.copyOf(offHeapArena(), set);
+    }
+    
     /**
      * Verifica si un conjunto contiene un elemento usando comparacion normalizada
      */
@@ -514,7 +1186,7 @@ public class Environment {
     /**
      * Normaliza un elemento a su representacion estandar
      */
-    private Object normalizeElement(Object elemento) {
+    static Object normalizeElement(Object elemento) {
         if (elemento instanceof String) {
             return normalizarElementoString((String) elemento);
         }
@@ -529,7 +1201,7 @@ public class Environment {
     /**
      * Normaliza elementos de tipo String
      */
-    private Object normalizarElementoString(String str) {
+    private static Object normalizarElementoString(String str) {
         if (str.length() == 1) {
             return str.charAt(0);
         }
@@ -545,46 +1217,15 @@ public class Environment {
     /**
      * Normaliza elementos de tipo Integer
      */
-    private Object normalizeIntegerElement(Integer numero) {
+    private static Object normalizeIntegerElement(Integer numero) {
         return isDigit(numero) ? (char)('0' + numero) : numero;
     }
     
     /**
      * Verifica si un numero es un digito (0-9)
      */
-    private boolean isDigit(int numero) {
+    private static boolean isDigit(int numero) {
         return numero >= DIGIT_START && numero <= DIGIT_END;
     }
-    
-    // ═══════════════════════════════════════════════════════════════════════════════════════════
-    // METODOS STATIC DE UTILIDAD
-    // ═══════════════════════════════════════════════════════════════════════════════════════════
-    
-    /**
-     * Obtiene una lista ordenada de elementos del conjunto 
-     */
-    private static List<Object> getSortedElementsStatic(Set<Object> conjunto) {
-        List<Object> elements = new ArrayList<>(conjunto);
-        elements.sort((a, b) -> {
-            if (a instanceof Integer && b instanceof Integer) {
-                return ((Integer) a).compareTo((Integer) b);
-            } else if (a instanceof Character && b instanceof Character) {
-                return ((Character) a).compareTo((Character) b);
-            } else {
-                return a.toString().compareTo(b.toString());
-            }
-        });
-        return elements;
-    }
-    
-    /**
-     * Formatea un elemento individual para su visualizacion
-     */
-    private static String formatStaticElement(Object elemento) {
-        if (elemento instanceof Character) {
-            return "'" + elemento + "'";
-        }
-        return elemento.toString();
-    }
-    
+
 }
\ No newline at end of file
@@ -0,0 +1,777 @@
+package Environment;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Conjunto de enteros comprimido al estilo Roaring.
+ *
+ * Cada entero se divide en sus 16 bits altos (clave) y sus 16 bits bajos. Por
+ * clave se guarda un contenedor con los bits bajos, de una de tres formas:
+ * - arreglo ordenado de char (hasta 4096 valores, 2 bytes por valor)
+ * - mapa de bits de 65536 bits (8 KB fijos, para grupos densos)
+ * - lista de rangos [inicio, largo] (para identificadores consecutivos)
+ * Las operaciones de conjuntos se hacen contenedor por contenedor; entre mapas
+ * de bits son AND/OR de palabras de 64 bits, sin crear objetos por elemento.
+ *
+ * @author danie
+ */
+final class IntBitmap {
+
+    // Un arreglo con más valores ocupa más que un mapa de bits (4096 * 2 bytes = 8 KB)
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    private static final BitsetKernels kernels = BitsetKernels.getInstance();
+
+    private char[] keys;
+    private Container[] containers;
+    private int count;
+
+    IntBitmap() {
+        this(4);
+    }
+
+    private IntBitmap(int capacity) {
+        this.keys = new char[capacity];
+        this.containers = new Container[capacity];
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTAS Y MODIFICACIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    boolean contains(int value) {
+        int index = findKey((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Agrega un entero (solo sobre mapas creados con el constructor, no sobre resultados de operaciones)
+     */
+    void add(int value) {
+        char key = (char) (value >>> 16);
+        // Caso frecuente: valores agregados en orden creciente van al último contenedor
+        int index = count > 0 && keys[count - 1] == key ? count - 1 : findKey(key);
+        if (index >= 0) {
+            containers[index] = containers[index].add((char) value);
+        } else {
+            insertAt(-index - 1, key, new ArrayContainer().add((char) value));
+        }
+    }
+
+    int cardinality() {
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    /**
+     * Cambia cada contenedor por su forma más compacta (arreglo, mapa de bits o rangos)
+     */
+    void optimize() {
+        for (int i = 0; i < count; i++) {
+            containers[i] = containers[i].optimize();
+        }
+    }
+
+    /**
+     * Recorre los enteros (en orden de clave sin signo y luego de bits bajos)
+     */
+    PrimitiveIterator.OfInt iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Recorre los valores de menor a mayor con signo: los negativos (claves desde
+     * 0x8000) van antes que los positivos
+     */
+    PrimitiveIterator.OfInt sortedIterator() {
+        int firstNegative = findKey((char) 0x8000);
+        return iterator(firstNegative >= 0 ? firstNegative : -firstNegative - 1);
+    }
+
+    /**
+     * Recorre los contenedores empezando en first y dando la vuelta hasta first - 1
+     */
+    private PrimitiveIterator.OfInt iterator(int first) {
+        return new PrimitiveIterator.OfInt() {
+            private int visited = 0;
+            private int index = count > 0 ? first % count : 0;
+            private CharCursor cursor = count > 0 ? containers[index].cursor() : null;
+
+            @Override
+            public boolean hasNext() {
+                while (cursor != null && !cursor.hasNext()) {
+                    visited++;
+                    index = (index + 1) % count;
+                    cursor = visited < count ? containers[index].cursor() : null;
+                }
+                return cursor != null;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return keys[index] << 16 | cursor.next();
+            }
+        };
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // OPERACIONES (contenedor por contenedor)
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    static IntBitmap or(IntBitmap a, IntBitmap b) {
+        IntBitmap result = new IntBitmap(Math.max(1, a.count + b.count));
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                result.append(a.keys[i], a.containers[i++]);
+            } else if (a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j++]);
+            } else {
+                result.append(a.keys[i], or(a.containers[i++], b.containers[j++]));
+            }
+        }
+        while (i < a.count) {
+            result.append(a.keys[i], a.containers[i++]);
+        }
+        while (j < b.count) {
+            result.append(b.keys[j], b.containers[j++]);
+        }
+        return result;
+    }
+
+    /**
+     * Une varios mapas en una pasada por clave: los grupos densos se acumulan
+     * sobre un solo arreglo de palabras (OR en el lugar) y se cuentan una vez
+     */
+    static IntBitmap orAll(List<IntBitmap> bitmaps) {
+        if (bitmaps.size() == 1) {
+            return bitmaps.get(0);
+        }
+        if (bitmaps.size() == 2) {
+            return or(bitmaps.get(0), bitmaps.get(1));
+        }
+
+        int total = 0;
+        for (IntBitmap bitmap : bitmaps) {
+            total += bitmap.count;
+        }
+        // Pares (clave, contenedor) ordenados por clave
+        long[] order = new long[total];
+        Container[] pending = new Container[total];
+        int n = 0;
+        for (IntBitmap bitmap : bitmaps) {
+            for (int i = 0; i < bitmap.count; i++) {
+                order[n] = (long) bitmap.keys[i] << 32 | n;
+                pending[n++] = bitmap.containers[i];
+            }
+        }
+        Arrays.sort(order);
+
+        IntBitmap result = new IntBitmap(Math.max(1, total));
+        for (int start = 0; start < total; ) {
+            char key = (char) (order[start] >>> 32);
+            int end = start + 1;
+            while (end < total && (char) (order[end] >>> 32) == key) {
+                end++;
+            }
+            result.append(key, orGroup(order, pending, start, end));
+            start = end;
+        }
+        return result;
+    }
+
+    private static Container orGroup(long[] order, Container[] pending, int start, int end) {
+        if (end - start == 1) {
+            return pending[(int) order[start]];
+        }
+
+        long cardinalities = 0;
+        for (int i = start; i < end; i++) {
+            cardinalities += pending[(int) order[i]].cardinality();
+        }
+        if (cardinalities <= ARRAY_MAX) {
+            Container merged = pending[(int) order[start]];
+            for (int i = start + 1; i < end; i++) {
+                merged = or(merged, pending[(int) order[i]]);
+            }
+            return merged;
+        }
+
+        long[] words = new long[BITMAP_WORDS];
+        for (int i = start; i < end; i++) {
+            Container container = pending[(int) order[i]];
+            if (container instanceof BitmapContainer) {
+                kernels.orInto(words, ((BitmapContainer) container).words);
+            } else {
+                CharCursor cursor = container.cursor();
+                while (cursor.hasNext()) {
+                    char value = cursor.next();
+                    words[value >>> 6] |= 1L << value;
+                }
+            }
+        }
+        int card = kernels.cardinality(words);
+        BitmapContainer bitmap = new BitmapContainer(words, card);
+        return card <= ARRAY_MAX ? ArrayContainer.from(bitmap) : bitmap;
+    }
+
+    static IntBitmap and(IntBitmap a, IntBitmap b) {
+        IntBitmap result = new IntBitmap(Math.max(1, Math.min(a.count, b.count)));
+        int i = 0;
+        int j = 0;
+        while (i < a.count && j < b.count) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container common = and(a.containers[i++], b.containers[j++]);
+                if (common.cardinality() > 0) {
+                    result.append(a.keys[i - 1], common);
+                }
+            }
+        }
+        return result;
+    }
+
+    static IntBitmap andNot(IntBitmap a, IntBitmap b) {
+        IntBitmap result = new IntBitmap(Math.max(1, a.count));
+        int j = 0;
+        for (int i = 0; i < a.count; i++) {
+            while (j < b.count && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            if (j < b.count && b.keys[j] == a.keys[i]) {
+                Container remaining = andNot(a.containers[i], b.containers[j]);
+                if (remaining.cardinality() > 0) {
+                    result.append(a.keys[i], remaining);
+                }
+            } else {
+                result.append(a.keys[i], a.containers[i]);
+            }
+        }
+        return result;
+    }
+
+    private static Container or(Container a, Container b) {
+        a = a.expand();
+        b = b.expand();
+        if (a instanceof BitmapContainer) {
+            return ((BitmapContainer) a).or(b);
+        }
+        if (b instanceof BitmapContainer) {
+            return ((BitmapContainer) b).or(a);
+        }
+        return ((ArrayContainer) a).or((ArrayContainer) b);
+    }
+
+    private static Container and(Container a, Container b) {
+        a = a.expand();
+        b = b.expand();
+        if (a instanceof BitmapContainer && b instanceof BitmapContainer) {
+            return ((BitmapContainer) a).and((BitmapContainer) b);
+        }
+        if (a instanceof BitmapContainer) {
+            return ((ArrayContainer) b).filter((BitmapContainer) a, true);
+        }
+        if (b instanceof BitmapContainer) {
+            return ((ArrayContainer) a).filter((BitmapContainer) b, true);
+        }
+        return ((ArrayContainer) a).and((ArrayContainer) b);
+    }
+
+    private static Container andNot(Container a, Container b) {
+        a = a.expand();
+        b = b.expand();
+        if (a instanceof BitmapContainer) {
+            return ((BitmapContainer) a).andNot(b);
+        }
+        if (b instanceof BitmapContainer) {
+            return ((ArrayContainer) a).filter((BitmapContainer) b, false);
+        }
+        return ((ArrayContainer) a).andNot((ArrayContainer) b);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private int findKey(char key) {
+        return Arrays.binarySearch(keys, 0, count, key);
+    }
+
+    /**
+     * Agrega un contenedor al final (las claves llegan en orden creciente).
+     * El resultado de or/and/andNot comparte contenedores con los operandos,
+     * por eso esos mapas ya no se modifican con add.
+     */
+    private void append(char key, Container container) {
+        ensureCapacity();
+        keys[count] = key;
+        containers[count] = container;
+        count++;
+    }
+
+    private void insertAt(int index, char key, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, count - index);
+        System.arraycopy(containers, index, containers, index + 1, count - index);
+        keys[index] = key;
+        containers[index] = container;
+        count++;
+    }
+
+    private void ensureCapacity() {
+        if (count == keys.length) {
+            int capacity = Math.max(4, count * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONTENEDORES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Recorrido de los bits bajos de un contenedor
+     */
+    private interface CharCursor {
+        boolean hasNext();
+        char next();
+    }
+
+    /**
+     * Contenedor de los 16 bits bajos de una clave. add puede devolver un
+     * contenedor de otro tipo cuando cambia la forma más conveniente.
+     */
+    private abstract static class Container {
+        abstract int cardinality();
+        abstract boolean contains(char value);
+        abstract Container add(char value);
+        abstract CharCursor cursor();
+
+        /**
+         * Forma sobre la que operan or/and/andNot (los rangos se expanden)
+         */
+        Container expand() {
+            return this;
+        }
+
+        /**
+         * Forma que ocupa menos memoria para el contenido actual
+         */
+        Container optimize() {
+            int runs = countRuns();
+            int card = cardinality();
+            int arrayBytes = card * 2;
+            int bitmapBytes = BITMAP_WORDS * 8;
+            int runBytes = runs * 4;
+
+            if (runBytes < Math.min(arrayBytes, bitmapBytes)) {
+                return this instanceof RunContainer ? this : RunContainer.from(this, runs);
+            }
+            Container expanded = expand();
+            if (card <= ARRAY_MAX) {
+                return expanded instanceof ArrayContainer ? expanded : ArrayContainer.from(expanded);
+            }
+            return expanded instanceof BitmapContainer ? expanded : BitmapContainer.from(expanded);
+        }
+
+        int countRuns() {
+            int runs = 0;
+            int previous = -2;
+            CharCursor cursor = cursor();
+            while (cursor.hasNext()) {
+                int value = cursor.next();
+                if (value != previous + 1) {
+                    runs++;
+                }
+                previous = value;
+            }
+            return runs;
+        }
+    }
+
+    /**
+     * Valores ordenados en un arreglo de char
+     */
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int card;
+
+        ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        ArrayContainer(char[] values, int card) {
+            this.values = values;
+            this.card = card;
+        }
+
+        static ArrayContainer from(Container source) {
+            char[] values = new char[source.cardinality()];
+            int n = 0;
+            CharCursor cursor = source.cursor();
+            while (cursor.hasNext()) {
+                values[n++] = cursor.next();
+            }
+            return new ArrayContainer(values, n);
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, card, value) >= 0;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = card > 0 && values[card - 1] < value ? -card - 1 : Arrays.binarySearch(values, 0, card, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (card == ARRAY_MAX) {
+                return BitmapContainer.from(this).add(value);
+            }
+            index = -index - 1;
+            if (card == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, card * 2)));
+            }
+            System.arraycopy(values, index, values, index + 1, card - index);
+            values[index] = value;
+            card++;
+            return this;
+        }
+
+        @Override
+        CharCursor cursor() {
+            return new CharCursor() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < card;
+                }
+
+                @Override
+                public char next() {
+                    return values[index++];
+                }
+            };
+        }
+
+        /**
+         * Unión por mezcla de los dos arreglos ordenados
+         */
+        Container or(ArrayContainer other) {
+            if (card + other.card > ARRAY_MAX) {
+                return BitmapContainer.from(this).or(other);
+            }
+            char[] merged = new char[card + other.card];
+            int i = 0, j = 0, n = 0;
+            while (i < card && j < other.card) {
+                char a = values[i];
+                char b = other.values[j];
+                if (a < b) {
+                    merged[n++] = a;
+                    i++;
+                } else if (a > b) {
+                    merged[n++] = b;
+                    j++;
+                } else {
+                    merged[n++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            while (i < card) merged[n++] = values[i++];
+            while (j < other.card) merged[n++] = other.values[j++];
+            return new ArrayContainer(merged, n);
+        }
+
+        Container and(ArrayContainer other) {
+            char[] common = new char[Math.min(card, other.card)];
+            int i = 0, j = 0, n = 0;
+            while (i < card && j < other.card) {
+                char a = values[i];
+                char b = other.values[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    common[n++] = a;
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(common, n);
+        }
+
+        Container andNot(ArrayContainer other) {
+            char[] remaining = new char[card];
+            int i = 0, j = 0, n = 0;
+            while (i < card) {
+                char a = values[i];
+                while (j < other.card && other.values[j] < a) {
+                    j++;
+                }
+                if (j >= other.card || other.values[j] != a) {
+                    remaining[n++] = a;
+                }
+                i++;
+            }
+            return new ArrayContainer(remaining, n);
+        }
+
+        /**
+         * Valores que están (keep = true) o no están (keep = false) en el mapa de bits
+         */
+        Container filter(BitmapContainer bitmap, boolean keep) {
+            char[] kept = new char[card];
+            int n = 0;
+            for (int i = 0; i < card; i++) {
+                if (bitmap.contains(values[i]) == keep) {
+                    kept[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(kept, n);
+        }
+    }
+
+    /**
+     * Mapa de 65536 bits en 1024 palabras de 64 bits
+     */
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int card;
+
+        BitmapContainer(long[] words, int card) {
+            this.words = words;
+            this.card = card;
+        }
+
+        static BitmapContainer from(Container source) {
+            long[] words = new long[BITMAP_WORDS];
+            CharCursor cursor = source.cursor();
+            while (cursor.hasNext()) {
+                char value = cursor.next();
+                words[value >>> 6] |= 1L << value;
+            }
+            return new BitmapContainer(words, source.cardinality());
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        Container add(char value) {
+            long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                card++;
+            }
+            return this;
+        }
+
+        /**
+         * Cuenta los inicios de rango palabra por palabra: bits encendidos cuyo bit anterior está apagado
+         */
+        @Override
+        int countRuns() {
+            int runs = 0;
+            long previous = 0;
+            for (long word : words) {
+                runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            return runs;
+        }
+
+        @Override
+        CharCursor cursor() {
+            return new CharCursor() {
+                private int word = 0;
+                private long bits = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (bits == 0 && word < BITMAP_WORDS - 1) {
+                        bits = words[++word];
+                    }
+                    return bits != 0;
+                }
+
+                @Override
+                public char next() {
+                    hasNext();
+                    char value = (char) (word << 6 | Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                    return value;
+                }
+            };
+        }
+
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                long[] result = new long[BITMAP_WORDS];
+                return new BitmapContainer(result, kernels.or(words, ((BitmapContainer) other).words, result));
+            }
+            long[] result = words.clone();
+            int resultCard = card;
+            CharCursor cursor = other.cursor();
+            while (cursor.hasNext()) {
+                char value = cursor.next();
+                long bit = 1L << value;
+                if ((result[value >>> 6] & bit) == 0) {
+                    result[value >>> 6] |= bit;
+                    resultCard++;
+                }
+            }
+            return new BitmapContainer(result, resultCard);
+        }
+
+        Container and(BitmapContainer other) {
+            long[] result = new long[BITMAP_WORDS];
+            int resultCard = kernels.and(words, other.words, result);
+            BitmapContainer bitmap = new BitmapContainer(result, resultCard);
+            return resultCard <= ARRAY_MAX ? ArrayContainer.from(bitmap) : bitmap;
+        }
+
+        Container andNot(Container other) {
+            long[] result;
+            int resultCard;
+            if (other instanceof BitmapContainer) {
+                result = new long[BITMAP_WORDS];
+                resultCard = kernels.andNot(words, ((BitmapContainer) other).words, result);
+            } else {
+                result = words.clone();
+                resultCard = card;
+                CharCursor cursor = other.cursor();
+                while (cursor.hasNext()) {
+                    char value = cursor.next();
+                    long bit = 1L << value;
+                    if ((result[value >>> 6] & bit) != 0) {
+                        result[value >>> 6] &= ~bit;
+                        resultCard--;
+                    }
+                }
+            }
+            BitmapContainer bitmap = new BitmapContainer(result, resultCard);
+            return resultCard <= ARRAY_MAX ? ArrayContainer.from(bitmap) : bitmap;
+        }
+    }
+
+    /**
+     * Rangos de valores consecutivos: inicio y largo - 1 de cada rango
+     */
+    private static final class RunContainer extends Container {
+        private final char[] starts;
+        private final char[] lengths;
+        private final int runs;
+        private final int card;
+
+        private RunContainer(char[] starts, char[] lengths, int runs, int card) {
+            this.starts = starts;
+            this.lengths = lengths;
+            this.runs = runs;
+            this.card = card;
+        }
+
+        static RunContainer from(Container source, int runs) {
+            char[] starts = new char[runs];
+            char[] lengths = new char[runs];
+            int run = -1;
+            int previous = -2;
+            CharCursor cursor = source.cursor();
+            while (cursor.hasNext()) {
+                char value = cursor.next();
+                if (value != previous + 1) {
+                    starts[++run] = value;
+                } else {
+                    lengths[run]++;
+                }
+                previous = value;
+            }
+            return new RunContainer(starts, lengths, runs, source.cardinality());
+        }
+
+        @Override
+        int cardinality() {
+            return card;
+        }
+
+        @Override
+        boolean contains(char value) {
+            int index = Arrays.binarySearch(starts, 0, runs, value);
+            if (index >= 0) {
+                return true;
+            }
+            index = -index - 2;
+            return index >= 0 && value - starts[index] <= lengths[index];
+        }
+
+        @Override
+        Container add(char value) {
+            return contains(value) ? this : expand().add(value);
+        }
+
+        @Override
+        CharCursor cursor() {
+            return new CharCursor() {
+                private int run = 0;
+                private int offset = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return run < runs;
+                }
+
+                @Override
+                public char next() {
+                    char value = (char) (starts[run] + offset);
+                    if (offset == lengths[run]) {
+                        run++;
+                        offset = 0;
+                    } else {
+                        offset++;
+                    }
+                    return value;
+                }
+            };
+        }
+
+        @Override
+        Container expand() {
+            return card <= ARRAY_MAX ? ArrayContainer.from(this) : BitmapContainer.from(this);
+        }
+
+        @Override
+        int countRuns() {
+            return runs;
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package Environment;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.util.*;
+
+/**
+ * Conjunto de enteros guardado fuera del heap (API FFM: Arena y MemorySegment).
+ *
+ * Los enteros se escriben en un segmento de memoria nativa con la forma que
+ * ocupe menos: un arreglo ordenado de int (4 bytes por elemento) o un mapa de
+ * bits sobre el intervalo [mínimo, máximo]. Los elementos que no son enteros
+ * quedan en un HashSet normal. El segmento pertenece a la Arena del entorno,
+ * que se cierra al terminar la ejecución, por lo que la vida de los conjuntos
+ * es explícita y el recolector de basura no los recorre.
+ * Es inmutable; las operaciones entre dos OffHeapSet mezclan los enteros
+ * ordenados en dos pasadas (contar y escribir) sin crear objetos por elemento.
+ *
+ * @author danie
+ */
+public final class OffHeapSet extends AbstractSet<Object> {
+
+    private final MemorySegment segment;
+    private final boolean bitmap;
+    private final int min;
+    private final int integerCount;
+    private final Set<Object> others;
+
+    private OffHeapSet(MemorySegment segment, boolean bitmap, int min, int integerCount, Set<Object> others) {
+        this.segment = segment;
+        this.bitmap = bitmap;
+        this.min = min;
+        this.integerCount = integerCount;
+        this.others = Collections.unmodifiableSet(others);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTAS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Verifica si un elemento (ya normalizado) pertenece al conjunto
+     */
+    @Override
+    public boolean contains(Object element) {
+        if (element instanceof Integer) {
+            return containsInt((Integer) element);
+        }
+        return others.contains(element);
+    }
+
+    @Override
+    public int size() {
+        return integerCount + others.size();
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<Object> first = others.iterator();
+        IntCursor rest = cursor();
+
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return first.hasNext() || rest.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                if (first.hasNext()) {
+                    return first.next();
+                }
+                if (!rest.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return rest.next();
+            }
+        };
+    }
+
+    /**
+     * Enteros en orden creciente leídos del segmento
+     */
+    PrimitiveIterator.OfInt sortedIntegers() {
+        IntCursor values = cursor();
+        return new PrimitiveIterator.OfInt() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public int nextInt() {
+                if (!values.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return values.next();
+            }
+        };
+    }
+
+    /**
+     * Elementos que no son enteros (caracteres y cadenas)
+     */
+    Set<Object> others() {
+        return others;
+    }
+
+    /**
+     * Bytes de memoria nativa que ocupan los enteros
+     */
+    public long getOffHeapBytes() {
+        return segment.byteSize();
+    }
+
+    /**
+     * Pertenencia de un entero ya normalizado (fuera de 0-9) sin crear un Integer
+     */
+    boolean containsInt(int value) {
+        if (integerCount == 0) {
+            return false;
+        }
+        if (bitmap) {
+            long offset = (long) value - min;
+            if (offset < 0 || offset >= segment.byteSize() * 8) {
+                return false;
+            }
+            return (segment.getAtIndex(ValueLayout.JAVA_LONG, offset >>> 6) & (1L << offset)) != 0;
+        }
+
+        long low = 0;
+        long high = integerCount - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            int current = segment.getAtIndex(ValueLayout.JAVA_INT, mid);
+            if (current < value) {
+                low = mid + 1;
+            } else if (current > value) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recorre los enteros en orden creciente
+     */
+    private IntCursor cursor() {
+        if (bitmap) {
+            return new IntCursor() {
+                private final long words = segment.byteSize() / 8;
+                private long word = 0;
+                private long bits = words > 0 ? segment.getAtIndex(ValueLayout.JAVA_LONG, 0) : 0;
+
+                @Override
+                public boolean hasNext() {
+                    while (bits == 0 && word < words - 1) {
+                        bits = segment.getAtIndex(ValueLayout.JAVA_LONG, ++word);
+                    }
+                    return bits != 0;
+                }
+
+                @Override
+                public int next() {
+                    int value = (int) (min + (word << 6) + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                    return value;
+                }
+            };
+        }
+        return new IntCursor() {
+            private long index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < integerCount;
+            }
+
+            @Override
+            public int next() {
+                return segment.getAtIndex(ValueLayout.JAVA_INT, index++);
+            }
+        };
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // OPERACIONES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private enum Merge { UNION, INTERSECTION, DIFFERENCE }
+
+    static OffHeapSet union(Arena arena, OffHeapSet a, OffHeapSet b) {
+        Set<Object> others = new HashSet<>(a.others);
+        others.addAll(b.others);
+        return merge(arena, a, b, Merge.UNION, others);
+    }
+
+    static OffHeapSet intersection(Arena arena, OffHeapSet a, OffHeapSet b) {
+        Set<Object> others = new HashSet<>(a.others);
+        others.retainAll(b.others);
+        return merge(arena, a, b, Merge.INTERSECTION, others);
+    }
+
+    static OffHeapSet difference(Arena arena, OffHeapSet a, OffHeapSet b) {
+        Set<Object> others = new HashSet<>(a.others);
+        others.removeAll(b.others);
+        return merge(arena, a, b, Merge.DIFFERENCE, others);
+    }
+
+    /**
+     * Primera pasada: cuenta el resultado y sus límites; segunda: lo escribe
+     */
+    private static OffHeapSet merge(Arena arena, OffHeapSet a, OffHeapSet b, Merge kind, Set<Object> others) {
+        int count = 0;
+        int first = 0;
+        int last = 0;
+        IntCursor counting = new MergeCursor(a.cursor(), b.cursor(), kind);
+        while (counting.hasNext()) {
+            int value = counting.next();
+            if (count++ == 0) {
+                first = value;
+            }
+            last = value;
+        }
+        return write(arena, new MergeCursor(a.cursor(), b.cursor(), kind), count, first, last, others);
+    }
+
+    /**
+     * Copia un conjunto cualquiera fuera del heap (los enteros se ordenan una vez)
+     */
+    static OffHeapSet copyOf(Arena arena, Set<Object> set) {
+        int[] values = new int[16];
+        int count = 0;
+        Set<Object> others = new HashSet<>();
+        for (Object element : set) {
+            Object normalized = Environment.normalizeElement(element);
+            if (normalized instanceof Integer) {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = (Integer) normalized;
+            } else {
+                others.add(normalized);
+            }
+        }
+
+        Arrays.sort(values, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || values[i] != values[unique - 1]) {
+                values[unique++] = values[i];
+            }
+        }
+
+        int[] sorted = values;
+        int total = unique;
+        IntCursor source = new IntCursor() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return index < total;
+            }
+
+            @Override
+            public int next() {
+                return sorted[index++];
+            }
+        };
+        return write(arena, source, total, total > 0 ? sorted[0] : 0, total > 0 ? sorted[total - 1] : 0, others);
+    }
+
+    /**
+     * Reserva el segmento con la forma más pequeña y escribe los enteros ordenados
+     */
+    private static OffHeapSet write(Arena arena, IntCursor source, int count, int first, int last, Set<Object> others) {
+        long span = count > 0 ? (long) last - first + 1 : 0;
+        long bitmapBytes = (span + 63) / 64 * 8;
+        long arrayBytes = (long) count * 4;
+        boolean useBitmap = count > 0 && bitmapBytes < arrayBytes;
+
+        MemorySegment segment = arena.allocate(Math.max(8, useBitmap ? bitmapBytes : arrayBytes), 8);
+        if (useBitmap) {
+            while (source.hasNext()) {
+                long offset = (long) source.next() - first;
+                long index = offset >>> 6;
+                segment.setAtIndex(ValueLayout.JAVA_LONG, index,
+                        segment.getAtIndex(ValueLayout.JAVA_LONG, index) | (1L << offset));
+            }
+        } else {
+            long index = 0;
+            while (source.hasNext()) {
+                segment.setAtIndex(ValueLayout.JAVA_INT, index++, source.next());
+            }
+        }
+        return new OffHeapSet(segment, useBitmap, first, count, others);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // RECORRIDOS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private interface IntCursor {
+        boolean hasNext();
+        int next();
+    }
+
+    /**
+     * Mezcla dos recorridos ordenados según la operación
+     */
+    private static final class MergeCursor implements IntCursor {
+        private final IntCursor left;
+        private final IntCursor right;
+        private final Merge kind;
+        private boolean hasLeft;
+        private boolean hasRight;
+        private int leftValue;
+        private int rightValue;
+        private boolean ready;
+        private int next;
+
+        MergeCursor(IntCursor left, IntCursor right, Merge kind) {
+            this.left = left;
+            this.right = right;
+            this.kind = kind;
+            advanceLeft();
+            advanceRight();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready) {
+                // La intersección termina cuando se acaba un lado; la diferencia, cuando se acaba la izquierda
+                if (!hasLeft && (kind != Merge.UNION || !hasRight)) {
+                    break;
+                }
+                if (!hasRight && kind == Merge.INTERSECTION) {
+                    break;
+                }
+                if (hasLeft && (!hasRight || leftValue < rightValue)) {
+                    if (kind != Merge.INTERSECTION) {
+                        emit(leftValue);
+                    }
+                    advanceLeft();
+                } else if (hasRight && (!hasLeft || rightValue < leftValue)) {
+                    if (kind == Merge.UNION) {
+                        emit(rightValue);
+                    }
+                    advanceRight();
+                } else {
+                    if (kind != Merge.DIFFERENCE) {
+                        emit(leftValue);
+                    }
+                    advanceLeft();
+                    advanceRight();
+                }
+            }
+            return ready;
+        }
+
+        @Override
+        public int next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return next;
+        }
+
+        private void emit(int value) {
+            next = value;
+            ready = true;
+        }
+
+        private void advanceLeft() {
+            hasLeft = left.hasNext();
+            if (hasLeft) {
+                leftValue = left.next();
+            }
+        }
+
+        private void advanceRight() {
+            hasRight = right.hasNext();
+            if (hasRight) {
+                rightValue = right.next();
+            }
+        }
+    }
+}
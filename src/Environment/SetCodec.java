@@ -0,0 +1,336 @@
+package Environment;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Formato binario de un conjunto para los snapshots del espacio de trabajo.
+ *
+ * Los enteros y los códigos de caracteres se escriben ordenados con la forma
+ * que ocupe menos: arreglo de int, rangos [inicio, fin] o mapa de bits sobre
+ * [mínimo, máximo]. Las cadenas van como bytes UTF-8. Un complemento guarda su
+ * universo (rangos de caracteres y extras) y los elementos excluidos. Al leer,
+ * los conjuntos con muchos enteros vuelven como CompactSet sin pasar por objetos
+ * Integer intermedios.
+ *
+ * @author danie
+ */
+public final class SetCodec {
+
+    private static final byte PLAIN = 0;
+    private static final byte COMPLEMENT = 1;
+
+    private static final byte ARRAY = 0;
+    private static final byte RANGES = 1;
+    private static final byte BITMAP = 2;
+
+    private SetCodec() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ESCRITURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Escribe un conjunto normalizado
+     *
+     * @throws IOException si contiene elementos que no son enteros, caracteres ni cadenas
+     */
+    public static void write(Set<Object> set, DataOutput out) throws IOException {
+        if (set instanceof ComplementSet) {
+            ComplementSet complement = (ComplementSet) set;
+            out.writeByte(COMPLEMENT);
+            writeElements(complement.getUniverse(), out);
+            writeElements(complement.getExcluded(), out);
+            return;
+        }
+        out.writeByte(PLAIN);
+        writeElements(set, out);
+    }
+
+    /**
+     * Escribe un universo (sus rangos de caracteres y extras)
+     */
+    public static void writeUniverse(Universe universe, DataOutput out) throws IOException {
+        writeElements(universe, out);
+    }
+
+    private static void writeElements(Set<Object> set, DataOutput out) throws IOException {
+        SortedInts characters = new SortedInts();
+        List<String> texts = new ArrayList<>();
+        IntSource integers = null;
+        Set<Object> others = set;
+
+        // Los enteros de los conjuntos compactos se recorren ya ordenados, sin copiarlos
+        if (set instanceof CompactSet) {
+            CompactSet compact = (CompactSet) set;
+            integers = compact::sortedIntegers;
+            others = compact.others();
+        } else if (set instanceof OffHeapSet) {
+            OffHeapSet offHeap = (OffHeapSet) set;
+            integers = offHeap::sortedIntegers;
+            others = offHeap.others();
+        } else if (set instanceof Universe) {
+            // Los intervalos de enteros del universo no se convierten a objetos
+            Universe universe = (Universe) set;
+            integers = universe::sortedIntegers;
+            others = universe.others();
+        }
+
+        SortedInts looseIntegers = new SortedInts();
+        for (Object element : others) {
+            if (element instanceof Integer) {
+                looseIntegers.add((Integer) element);
+            } else if (element instanceof Character) {
+                characters.add((Character) element);
+            } else if (element instanceof String) {
+                texts.add((String) element);
+            } else {
+                throw new IOException("Elemento no soportado en el snapshot: " + element.getClass().getSimpleName());
+            }
+        }
+
+        writeInts(integers != null ? integers : looseIntegers.sort(), out);
+        writeInts(characters.sort(), out);
+        out.writeInt(texts.size());
+        for (String text : texts) {
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Elige la forma más pequeña para los valores ordenados y los escribe.
+     * Una primera pasada cuenta valores y rangos; la segunda escribe.
+     */
+    private static void writeInts(IntSource values, DataOutput out) throws IOException {
+        int count = 0;
+        int runs = 0;
+        int min = 0;
+        int max = 0;
+        for (PrimitiveIterator.OfInt it = values.iterator(); it.hasNext(); ) {
+            int value = it.nextInt();
+            if (count == 0) {
+                min = value;
+                runs = 1;
+            } else if (value != max + 1) {
+                runs++;
+            }
+            max = value;
+            count++;
+        }
+
+        out.writeInt(count);
+        if (count == 0) {
+            return;
+        }
+
+        long arrayBytes = (long) count * 4;
+        long rangeBytes = (long) runs * 8;
+        long bitmapBytes = (((long) max - min) / 64 + 1) * 8;
+        PrimitiveIterator.OfInt it = values.iterator();
+
+        if (rangeBytes <= arrayBytes && rangeBytes <= bitmapBytes) {
+            out.writeByte(RANGES);
+            out.writeInt(runs);
+            int start = it.nextInt();
+            int last = start;
+            while (it.hasNext()) {
+                int value = it.nextInt();
+                if (value != last + 1) {
+                    out.writeInt(start);
+                    out.writeInt(last);
+                    start = value;
+                }
+                last = value;
+            }
+            out.writeInt(start);
+            out.writeInt(last);
+        } else if (bitmapBytes < arrayBytes) {
+            int words = (int) (bitmapBytes / 8);
+            out.writeByte(BITMAP);
+            out.writeInt(min);
+            out.writeInt(words);
+            long word = 0;
+            long wordIndex = 0;
+            while (it.hasNext()) {
+                long offset = (long) it.nextInt() - min;
+                while (offset >>> 6 > wordIndex) {
+                    out.writeLong(word);
+                    word = 0;
+                    wordIndex++;
+                }
+                word |= 1L << offset;
+            }
+            out.writeLong(word);
+        } else {
+            out.writeByte(ARRAY);
+            while (it.hasNext()) {
+                out.writeInt(it.nextInt());
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // LECTURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lee un conjunto escrito con write. Si un complemento se tomó sobre un universo
+     * igual al actual, se liga al universo actual para conservar sus atajos.
+     */
+    public static Set<Object> read(ByteBuffer in, Universe current) {
+        byte kind = in.get();
+        if (kind == COMPLEMENT) {
+            Universe decoded = readUniverse(in);
+            if (current != null && current.equals(decoded)) {
+                decoded = current;
+            }
+            return new ComplementSet(decoded, readPlain(in));
+        }
+        if (kind != PLAIN) {
+            throw new IllegalStateException("Tipo de conjunto desconocido en el snapshot: " + kind);
+        }
+        return readPlain(in);
+    }
+
+    /**
+     * Lee un universo escrito con writeUniverse
+     */
+    public static Universe readUniverse(ByteBuffer in) {
+        Universe.Builder universe = new Universe.Builder();
+        readElements(in, new ElementTarget() {
+            @Override
+            public void addInt(int value) {
+                universe.add(value);
+            }
+
+            @Override
+            public void add(Object element) {
+                universe.add(element);
+            }
+        });
+        return universe.build();
+    }
+
+    /**
+     * Conjunto sin complemento: con muchos enteros se arma un CompactSet; si no, un HashSet
+     */
+    private static Set<Object> readPlain(ByteBuffer in) {
+        int integerCount = in.getInt(in.position());
+        if (integerCount >= Environment.COMPACT_MIN_INTEGERS) {
+            CompactSet.Builder builder = new CompactSet.Builder();
+            readElements(in, new ElementTarget() {
+                @Override
+                public void addInt(int value) {
+                    builder.addInt(value);
+                }
+
+                @Override
+                public void add(Object element) {
+                    builder.add(element);
+                }
+            });
+            return builder.build();
+        }
+
+        Set<Object> set = new HashSet<>();
+        readElements(in, new ElementTarget() {
+            @Override
+            public void addInt(int value) {
+                // Los conjuntos se guardaron normalizados: los enteros nunca son dígitos 0-9
+                set.add(value);
+            }
+
+            @Override
+            public void add(Object element) {
+                set.add(element);
+            }
+        });
+        return set;
+    }
+
+    private static void readElements(ByteBuffer in, ElementTarget target) {
+        readInts(in, target::addInt);
+        readInts(in, code -> target.add((char) code));
+        int texts = in.getInt();
+        for (int i = 0; i < texts; i++) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            target.add(new String(bytes, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void readInts(ByteBuffer in, java.util.function.IntConsumer target) {
+        int count = in.getInt();
+        if (count == 0) {
+            return;
+        }
+        byte form = in.get();
+        if (form == RANGES) {
+            int runs = in.getInt();
+            for (int r = 0; r < runs; r++) {
+                int start = in.getInt();
+                int end = in.getInt();
+                for (long value = start; value <= end; value++) {
+                    target.accept((int) value);
+                }
+            }
+        } else if (form == BITMAP) {
+            int min = in.getInt();
+            int words = in.getInt();
+            for (int w = 0; w < words; w++) {
+                long word = in.getLong();
+                while (word != 0) {
+                    target.accept((int) (min + ((long) w << 6) + Long.numberOfTrailingZeros(word)));
+                    word &= word - 1;
+                }
+            }
+        } else if (form == ARRAY) {
+            for (int i = 0; i < count; i++) {
+                target.accept(in.getInt());
+            }
+        } else {
+            throw new IllegalStateException("Forma de enteros desconocida en el snapshot: " + form);
+        }
+    }
+
+    /**
+     * Destino de los elementos leídos (enteros sin normalizar y el resto ya normalizado)
+     */
+    private interface ElementTarget {
+        void addInt(int value);
+        void add(Object element);
+    }
+
+    /**
+     * Valores ordenados que se pueden recorrer más de una vez
+     */
+    private interface IntSource {
+        PrimitiveIterator.OfInt iterator();
+    }
+
+    /**
+     * Valores int en un arreglo que crece; se ordenan una vez antes de escribirlos
+     */
+    private static final class SortedInts {
+        private int[] values = new int[16];
+        private int count;
+
+        void add(int value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        IntSource sort() {
+            Arrays.sort(values, 0, count);
+            return () -> Arrays.stream(values, 0, count).iterator();
+        }
+    }
+}
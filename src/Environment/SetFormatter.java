@@ -0,0 +1,283 @@
+package Environment;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Texto de un conjunto para la consola y para archivos de resultado.
+ *
+ * Los elementos salen en orden (caracteres, enteros y luego cadenas) leyéndolos
+ * de la representación del conjunto: los enteros de un CompactSet u OffHeapSet
+ * ya vienen ordenados, sin copiar ni ordenar con un comparador de objetos. Los
+ * valores consecutivos se agrupan como rango ('a'~'z', 10~500). En la consola se
+ * muestran como máximo conj.maxElementos partes y un resumen de lo omitido; con
+ * -Dconj.resultados=carpeta el resultado completo se escribe además en un
+ * archivo por operación, por bloques, sin armar una sola cadena.
+ *
+ * @author danie
+ */
+public final class SetFormatter {
+
+    private static int maxItems = Integer.getInteger("conj.maxElementos", 200);
+    private static final String RESULTS_DIRECTORY = System.getProperty("conj.resultados");
+
+    // Desde 3 valores consecutivos se muestra el rango
+    private static final int MIN_RANGE = 3;
+
+    // Los archivos de resultado se escriben en bloques de este tamaño
+    private static final int WRITE_BUFFER = 1 << 16;
+
+    private SetFormatter() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSOLA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Texto del conjunto con a lo sumo conj.maxElementos partes
+     */
+    public static String format(Set<Object> set) {
+        return format(set, maxItems);
+    }
+
+    /**
+     * Texto del conjunto con a lo sumo limit partes (elementos o rangos); si no
+     * caben todas se indica cuántos elementos faltan
+     */
+    public static String format(Set<Object> set, int limit) {
+        if (set.isEmpty()) {
+            return "∅";
+        }
+
+        StringBuilder text = new StringBuilder("{");
+        ItemSink sink = new ItemSink(text, ", ", limit);
+        emit(set, sink);
+        if (sink.truncated) {
+            text.append(", … +").append(set.size() - sink.elements).append(" más");
+        }
+        return text.append('}').toString();
+    }
+
+    public static int getMaxItems() {
+        return maxItems;
+    }
+
+    public static void setMaxItems(int max) {
+        maxItems = max;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ARCHIVOS DE RESULTADO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Escribe el resultado completo de una operación en la carpeta de conj.resultados
+     *
+     * @return Archivo escrito, o null si la propiedad no está configurada
+     */
+    public static Path writeResult(String operationName, Set<Object> set) throws IOException {
+        if (RESULTS_DIRECTORY == null || RESULTS_DIRECTORY.isEmpty()) {
+            return null;
+        }
+        Path directory = Paths.get(RESULTS_DIRECTORY);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(operationName + ".txt");
+        write(set, file);
+        return file;
+    }
+
+    /**
+     * Escribe todos los elementos, una parte (elemento o rango) por línea
+     */
+    public static void write(Set<Object> set, Path file) throws IOException {
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), WRITE_BUFFER)) {
+            ItemSink sink = new ItemSink(out, "\n", Integer.MAX_VALUE);
+            try {
+                emit(set, sink);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            out.write('\n');
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // RECORRIDO ORDENADO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Entrega los elementos en orden hasta terminar o llenar el destino
+     */
+    private static void emit(Set<Object> set, ItemSink sink) {
+        IntBuffer characters = new IntBuffer();
+        List<String> texts = new ArrayList<>();
+        PrimitiveIterator.OfInt integers;
+
+        if (set instanceof CompactSet) {
+            splitOthers(((CompactSet) set).others(), characters, texts);
+            integers = ((CompactSet) set).sortedIntegers();
+        } else if (set instanceof OffHeapSet) {
+            splitOthers(((OffHeapSet) set).others(), characters, texts);
+            integers = ((OffHeapSet) set).sortedIntegers();
+        } else {
+            // Conjunto sin orden propio: los enteros se ordenan como int[]
+            IntBuffer values = new IntBuffer();
+            for (Object element : set) {
+                if (element instanceof Integer) {
+                    values.add((Integer) element);
+                } else {
+                    splitOther(element, characters, texts);
+                }
+            }
+            integers = values.sorted();
+        }
+
+        if (emitRuns(characters.sorted(), true, sink) && emitRuns(integers, false, sink)) {
+            Collections.sort(texts);
+            for (String text : texts) {
+                if (!sink.single(text)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void splitOthers(Set<Object> others, IntBuffer characters, List<String> texts) {
+        for (Object element : others) {
+            splitOther(element, characters, texts);
+        }
+    }
+
+    private static void splitOther(Object element, IntBuffer characters, List<String> texts) {
+        if (element instanceof Character) {
+            characters.add((Character) element);
+        } else {
+            texts.add(element.toString());
+        }
+    }
+
+    /**
+     * Agrupa valores ordenados consecutivos en rangos
+     *
+     * @return false si el destino se llenó
+     */
+    private static boolean emitRuns(PrimitiveIterator.OfInt values, boolean character, ItemSink sink) {
+        if (!values.hasNext()) {
+            return true;
+        }
+        int first = values.nextInt();
+        int last = first;
+        while (values.hasNext()) {
+            int value = values.nextInt();
+            if (value == last + 1 && last != Integer.MAX_VALUE) {
+                last = value;
+                continue;
+            }
+            if (!sink.run(first, last, character)) {
+                return false;
+            }
+            first = value;
+            last = value;
+        }
+        return sink.run(first, last, character);
+    }
+
+    /**
+     * Destino del texto: cuenta partes y elementos y se detiene al llegar al límite
+     */
+    private static final class ItemSink {
+        private final Appendable out;
+        private final String separator;
+        private final int limit;
+        private int items;
+        long elements;
+        boolean truncated;
+
+        ItemSink(Appendable out, String separator, int limit) {
+            this.out = out;
+            this.separator = separator;
+            this.limit = limit;
+        }
+
+        boolean run(int first, int last, boolean character) {
+            long length = (long) last - first + 1;
+            if (length < MIN_RANGE) {
+                for (long value = first; value <= last; value++) {
+                    if (!single(character ? (Object) (char) value : (Object) (int) value)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            if (!startItem()) {
+                return false;
+            }
+            append(element(first, character)).append("~").append(element(last, character));
+            elements += length;
+            return true;
+        }
+
+        boolean single(Object element) {
+            if (!startItem()) {
+                return false;
+            }
+            append(element instanceof Character ? "'" + element + "'" : element.toString());
+            elements++;
+            return true;
+        }
+
+        private boolean startItem() {
+            if (items == limit) {
+                truncated = true;
+                return false;
+            }
+            if (items++ > 0) {
+                append(separator);
+            }
+            return true;
+        }
+
+        private ItemSink append(String text) {
+            try {
+                out.append(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return this;
+        }
+
+        private static String element(int value, boolean character) {
+            return character ? "'" + (char) value + "'" : Integer.toString(value);
+        }
+    }
+
+    /**
+     * Arreglo de int que crece, para ordenar sin crear objetos
+     */
+    private static final class IntBuffer {
+        private int[] values = new int[16];
+        private int count;
+
+        void add(int value) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = value;
+        }
+
+        PrimitiveIterator.OfInt sorted() {
+            Arrays.sort(values, 0, count);
+            return Arrays.stream(values, 0, count).iterator();
+        }
+    }
+}
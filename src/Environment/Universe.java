@@ -0,0 +1,418 @@
+package Environment;
+
+import java.util.*;
+
+/**
+ * Universo de elementos usado por el complemento.
+ *
+ * Los caracteres se guardan como rangos de códigos [inicio, fin] (por ejemplo
+ * ASCII 33-126 o un bloque Unicode completo, incluidos los que están por encima
+ * de U+FFFF), de modo que un universo de miles de caracteres ocupa unos pocos
+ * enteros. Los números se guardan aparte como intervalos de enteros: 10~20 son
+ * los números 10 a 20, no los caracteres con esos códigos. Los números 0-9 se
+ * normalizan a los caracteres '0'-'9', igual que en los conjuntos. El resto de
+ * los elementos (cadenas) se guarda en un conjunto. Una vez creado no cambia:
+ * los conjuntos complemento pueden referenciarlo sin copiarlo.
+ *
+ * @author danie
+ */
+public final class Universe extends AbstractSet<Object> {
+
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+    private final int[] integerStarts;
+    private final int[] integerEnds;
+    private final Set<Object> extras;
+    private final long size;
+    private final long fingerprint;
+
+    private Universe(int[] rangeStarts, int[] rangeEnds, int[] integerStarts, int[] integerEnds, Set<Object> extras) {
+        this.rangeStarts = rangeStarts;
+        this.rangeEnds = rangeEnds;
+        this.integerStarts = integerStarts;
+        this.integerEnds = integerEnds;
+        this.extras = Collections.unmodifiableSet(extras);
+
+        long total = extras.size();
+        long hash = extras.size();
+        // Cada extra se mezcla por separado: sumar sus hashCode hacía coincidir contenidos distintos
+        for (Object element : extras) {
+            long h = (element.hashCode() ^ element.getClass().getName().hashCode()) * 0x9E3779B97F4A7C15L;
+            hash += h ^ (h >>> 29);
+        }
+        for (int i = 0; i < rangeStarts.length; i++) {
+            total += (long) rangeEnds[i] - rangeStarts[i] + 1;
+            hash = hash * 31 + ((long) rangeStarts[i] << 32 | rangeEnds[i]);
+        }
+        // Los intervalos de enteros se distinguen de los de caracteres con los mismos límites
+        hash = hash * 31 + integerStarts.length;
+        for (int i = 0; i < integerStarts.length; i++) {
+            total += (long) integerEnds[i] - integerStarts[i] + 1;
+            hash = hash * 31 + ((long) integerStarts[i] << 32 | (integerEnds[i] & 0xFFFFFFFFL));
+        }
+        this.size = total;
+        this.fingerprint = hash;
+    }
+
+    /**
+     * Universo por defecto: caracteres ASCII imprimibles del 33 ('!') al 126 ('~')
+     */
+    public static Universe ascii(int start, int end) {
+        return new Builder().addRange(start, end).build();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTAS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Verifica si un elemento (ya normalizado) pertenece al universo.
+     * Para caracteres y enteros es una búsqueda binaria sobre los rangos.
+     */
+    @Override
+    public boolean contains(Object element) {
+        if (element instanceof Character) {
+            return inRanges(rangeStarts, rangeEnds, (Character) element);
+        }
+        if (element instanceof Integer) {
+            return inRanges(integerStarts, integerEnds, (Integer) element);
+        }
+        int codePoint = supplementaryCodePoint(element);
+        if (codePoint >= 0) {
+            return inRanges(rangeStarts, rangeEnds, codePoint);
+        }
+        return extras.contains(element);
+    }
+
+    /**
+     * Cantidad de elementos (se limita a Integer.MAX_VALUE; ver countElements)
+     */
+    @Override
+    public int size() {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Cantidad exacta de elementos, aunque supere el rango de int
+     */
+    public long countElements() {
+        return size;
+    }
+
+    /**
+     * Recorre los caracteres, luego los extras y por último los enteros
+     */
+    @Override
+    public Iterator<Object> iterator() {
+        Iterator<Object> integers = integers();
+        Iterator<Object> others = others().iterator();
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return others.hasNext() || integers.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return others.hasNext() ? others.next() : integers.next();
+            }
+        };
+    }
+
+    /**
+     * Enteros del universo en orden ascendente, sin crear objetos Integer
+     */
+    PrimitiveIterator.OfInt sortedIntegers() {
+        return new RangeIterator(integerStarts, integerEnds);
+    }
+
+    /**
+     * Vista de los elementos que no son enteros: caracteres y extras
+     */
+    Set<Object> others() {
+        return new AbstractSet<Object>() {
+            @Override
+            public Iterator<Object> iterator() {
+                RangeIterator codes = new RangeIterator(rangeStarts, rangeEnds);
+                Iterator<Object> extrasIterator = extras.iterator();
+                return new Iterator<Object>() {
+                    @Override
+                    public boolean hasNext() {
+                        return codes.hasNext() || extrasIterator.hasNext();
+                    }
+
+                    @Override
+                    public Object next() {
+                        if (codes.hasNext()) {
+                            int code = codes.nextInt();
+                            return code <= Character.MAX_VALUE ? (Object) (char) code : new String(Character.toChars(code));
+                        }
+                        return extrasIterator.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                long total = extras.size();
+                for (int i = 0; i < rangeStarts.length; i++) {
+                    total += (long) rangeEnds[i] - rangeStarts[i] + 1;
+                }
+                return (int) Math.min(total, Integer.MAX_VALUE);
+            }
+        };
+    }
+
+    private Iterator<Object> integers() {
+        PrimitiveIterator.OfInt values = sortedIntegers();
+        return new Iterator<Object>() {
+            @Override
+            public boolean hasNext() {
+                return values.hasNext();
+            }
+
+            @Override
+            public Object next() {
+                return values.nextInt();
+            }
+        };
+    }
+
+    /**
+     * Huella del universo (cambia si cambia su contenido)
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Dos universos son iguales si tienen los mismos rangos y los mismos extras.
+     * Los rangos ya están ordenados y fusionados, así que se comparan sin recorrer
+     * sus elementos; la huella solo sirve para descartar rápido.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Universe)) {
+            return super.equals(other);
+        }
+        Universe universe = (Universe) other;
+        return fingerprint == universe.fingerprint
+                && Arrays.equals(rangeStarts, universe.rangeStarts)
+                && Arrays.equals(rangeEnds, universe.rangeEnds)
+                && Arrays.equals(integerStarts, universe.integerStarts)
+                && Arrays.equals(integerEnds, universe.integerEnds)
+                && extras.equals(universe.extras);
+    }
+
+    /**
+     * Descripción corta del universo para mostrar en consola
+     */
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rangeStarts.length; i++) {
+            if (sb.length() > 0) sb.append(", ");
+            if (rangeStarts[i] == rangeEnds[i]) {
+                sb.append('\'').appendCodePoint(rangeStarts[i]).append('\'');
+            } else {
+                sb.append(rangeStarts[i]).append('-').append(rangeEnds[i]);
+            }
+        }
+        for (int i = 0; i < integerStarts.length; i++) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(integerStarts[i]);
+            if (integerStarts[i] != integerEnds[i]) {
+                sb.append('~').append(integerEnds[i]);
+            }
+        }
+        if (!extras.isEmpty()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(extras.size()).append(" elemento(s) adicionales");
+        }
+        return sb.toString();
+    }
+
+    private static boolean inRanges(int[] starts, int[] ends, int value) {
+        int low = 0;
+        int high = starts.length - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (value < starts[mid]) {
+                high = mid - 1;
+            } else if (value > ends[mid]) {
+                low = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Código de un elemento que es un único caracter por encima de U+FFFF
+     * (se normaliza como cadena de dos char), o -1
+     */
+    private static int supplementaryCodePoint(Object element) {
+        if (element instanceof String) {
+            String text = (String) element;
+            if (text.length() == 2 && Character.isSurrogatePair(text.charAt(0), text.charAt(1))) {
+                return text.codePointAt(0);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Recorre los valores de una lista de rangos ordenados
+     */
+    private static final class RangeIterator implements PrimitiveIterator.OfInt {
+        private final int[] starts;
+        private final int[] ends;
+        private int range;
+        private long next;
+
+        RangeIterator(int[] starts, int[] ends) {
+            this.starts = starts;
+            this.ends = ends;
+            this.next = starts.length > 0 ? starts[0] : 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return range < starts.length;
+        }
+
+        @Override
+        public int nextInt() {
+            if (range >= starts.length) {
+                throw new NoSuchElementException();
+            }
+            int value = (int) next;
+            if (value == ends[range]) {
+                range++;
+                if (range < starts.length) {
+                    next = starts[range];
+                }
+            } else {
+                next++;
+            }
+            return value;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSTRUCCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Acumula rangos y elementos y los une en un universo inmutable
+     */
+    public static final class Builder {
+        private final List<int[]> ranges = new ArrayList<>();
+        private final List<int[]> integerRanges = new ArrayList<>();
+        private final Set<Object> extras = new HashSet<>();
+
+        /**
+         * Agrega el rango de caracteres [start, end] (códigos 0 a U+10FFFF)
+         */
+        public Builder addRange(int start, int end) {
+            if (start < 0 || end > Character.MAX_CODE_POINT || start > end) {
+                throw new IllegalArgumentException("Rango de universo inválido: " + start + "-" + end);
+            }
+            ranges.add(new int[]{start, end});
+            return this;
+        }
+
+        /**
+         * Agrega el rango de números [start, end]. La parte entre 0 y 9 se guarda
+         * como los caracteres '0'-'9', que es como se normalizan esos números.
+         */
+        public Builder addIntegerRange(int start, int end) {
+            if (start > end) {
+                throw new IllegalArgumentException("Rango de universo inválido: " + start + "~" + end);
+            }
+            if (start <= 9 && end >= 0) {
+                addRange('0' + Math.max(start, 0), '0' + Math.min(end, 9));
+            }
+            if (start < 0) {
+                integerRanges.add(new int[]{start, Math.min(end, -1)});
+            }
+            if (end > 9) {
+                integerRanges.add(new int[]{Math.max(start, 10), end});
+            }
+            return this;
+        }
+
+        /**
+         * Agrega todos los rangos y elementos de otro universo
+         */
+        public Builder addUniverse(Universe universe) {
+            for (int i = 0; i < universe.rangeStarts.length; i++) {
+                ranges.add(new int[]{universe.rangeStarts[i], universe.rangeEnds[i]});
+            }
+            for (int i = 0; i < universe.integerStarts.length; i++) {
+                integerRanges.add(new int[]{universe.integerStarts[i], universe.integerEnds[i]});
+            }
+            extras.addAll(universe.extras);
+            return this;
+        }
+
+        /**
+         * Agrega un elemento ya normalizado
+         */
+        public Builder add(Object element) {
+            if (element instanceof Character) {
+                char c = (Character) element;
+                return addRange(c, c);
+            }
+            if (element instanceof Integer) {
+                int value = (Integer) element;
+                return addIntegerRange(value, value);
+            }
+            int codePoint = supplementaryCodePoint(element);
+            if (codePoint >= 0) {
+                return addRange(codePoint, codePoint);
+            }
+            extras.add(element);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return ranges.isEmpty() && integerRanges.isEmpty() && extras.isEmpty();
+        }
+
+        /**
+         * Ordena y fusiona los rangos que se solapan o son contiguos
+         */
+        public Universe build() {
+            int[][] characters = merge(ranges);
+            int[][] integers = merge(integerRanges);
+            return new Universe(characters[0], characters[1], integers[0], integers[1], new HashSet<>(extras));
+        }
+
+        private static int[][] merge(List<int[]> ranges) {
+            ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+            List<int[]> merged = new ArrayList<>();
+            for (int[] range : ranges) {
+                int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && (long) range[0] <= (long) last[1] + 1) {
+                    last[1] = Math.max(last[1], range[1]);
+                } else {
+                    merged.add(new int[]{range[0], range[1]});
+                }
+            }
+
+            int[] starts = new int[merged.size()];
+            int[] ends = new int[merged.size()];
+            for (int i = 0; i < merged.size(); i++) {
+                starts[i] = merged.get(i)[0];
+                ends[i] = merged.get(i)[1];
+            }
+            return new int[][]{starts, ends};
+        }
+    }
+}
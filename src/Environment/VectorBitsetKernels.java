@@ -0,0 +1,96 @@
+package Environment;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Versión SIMD de BitsetKernels con la Vector API (jdk.incubator.vector).
+ *
+ * Cada iteración procesa SPECIES.length() palabras (4 con AVX2, 8 con AVX-512).
+ * El conteo de bits se acumula por carril y se reduce una sola vez al final.
+ * Solo se carga desde BitsetKernels cuando el módulo está disponible.
+ *
+ * @author danie
+ */
+final class VectorBitsetKernels extends BitsetKernels {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    int or(long[] a, long[] b, long[] result) {
+        LongVector counts = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            LongVector words = LongVector.fromArray(SPECIES, a, i).or(LongVector.fromArray(SPECIES, b, i));
+            words.intoArray(result, i);
+            counts = counts.add(words.lanewise(VectorOperators.BIT_COUNT));
+        }
+        int card = (int) counts.reduceLanes(VectorOperators.ADD);
+        for (; i < result.length; i++) {
+            result[i] = a[i] | b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    @Override
+    int and(long[] a, long[] b, long[] result) {
+        LongVector counts = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            LongVector words = LongVector.fromArray(SPECIES, a, i).and(LongVector.fromArray(SPECIES, b, i));
+            words.intoArray(result, i);
+            counts = counts.add(words.lanewise(VectorOperators.BIT_COUNT));
+        }
+        int card = (int) counts.reduceLanes(VectorOperators.ADD);
+        for (; i < result.length; i++) {
+            result[i] = a[i] & b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    @Override
+    int andNot(long[] a, long[] b, long[] result) {
+        LongVector counts = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(result.length); i < bound; i += SPECIES.length()) {
+            LongVector words = LongVector.fromArray(SPECIES, a, i)
+                    .lanewise(VectorOperators.AND_NOT, LongVector.fromArray(SPECIES, b, i));
+            words.intoArray(result, i);
+            counts = counts.add(words.lanewise(VectorOperators.BIT_COUNT));
+        }
+        int card = (int) counts.reduceLanes(VectorOperators.ADD);
+        for (; i < result.length; i++) {
+            result[i] = a[i] & ~b[i];
+            card += Long.bitCount(result[i]);
+        }
+        return card;
+    }
+
+    @Override
+    void orInto(long[] target, long[] source) {
+        int i = 0;
+        for (int bound = SPECIES.loopBound(target.length); i < bound; i += SPECIES.length()) {
+            LongVector.fromArray(SPECIES, target, i).or(LongVector.fromArray(SPECIES, source, i)).intoArray(target, i);
+        }
+        for (; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    @Override
+    int cardinality(long[] words) {
+        LongVector counts = LongVector.zero(SPECIES);
+        int i = 0;
+        for (int bound = SPECIES.loopBound(words.length); i < bound; i += SPECIES.length()) {
+            counts = counts.add(LongVector.fromArray(SPECIES, words, i).lanewise(VectorOperators.BIT_COUNT));
+        }
+        int card = (int) counts.reduceLanes(VectorOperators.ADD);
+        for (; i < words.length; i++) {
+            card += Long.bitCount(words[i]);
+        }
+        return card;
+    }
+}
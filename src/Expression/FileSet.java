@@ -0,0 +1,344 @@
+package Expression;
+
+import Abstract.Expression;
+import Environment.CompactSet;
+import Environment.Environment;
+import Types.Return;
+import Types.Type;
+import Types.TypeExpression;
+import Utils.ResourceLimits;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Elementos de un conjunto leídos desde un archivo
+ * Ejemplo: CONJ : ids -> ARCHIVO "datos/ids.txt" ;
+ *
+ * El archivo tiene un elemento por línea o separados por comas (las líneas que
+ * empiezan con # se ignoran). Se mapea en memoria (FileChannel.map) y se divide
+ * en bloques que se analizan en paralelo desde los bytes (por ventanas de 64 KB
+ * copiadas a un arreglo reutilizable): los enteros se convierten sin crear
+ * cadenas y van al mapa de bits de un CompactSet; no pasa por el lexer ni crea
+ * un Symbol por elemento.
+ * Las rutas relativas se resuelven desde la carpeta del archivo .ca.
+ *
+ * @author danie
+ */
+public class FileSet extends Expression {
+
+    // Bloques de al menos 1 MB para que el paralelismo compense
+    private static final long MIN_CHUNK_BYTES = 1 << 20;
+
+    // Bytes que se copian del archivo mapeado por cada ventana de análisis
+    private static final int WINDOW_BYTES = 1 << 16;
+
+    // Carpeta del programa que se está ejecutando (null: directorio de trabajo)
+    private static Path baseDirectory;
+
+    private final String path;
+
+    public FileSet(String path) {
+        super(TypeExpression.ARCHIVO);
+        this.path = path;
+    }
+
+    public static void setBaseDirectory(Path directory) {
+        baseDirectory = directory;
+    }
+
+    public static Path getBaseDirectory() {
+        return baseDirectory;
+    }
+
+    @Override
+    public Return Execute(Environment environment) {
+        try {
+            return new Return(load(), Type.CONJUNTO);
+        } catch (NoSuchFileException e) {
+            throw new RuntimeException("No existe el archivo '" + resolvePath() + "'", e);
+        } catch (ResourceLimits.LimitExceededException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new RuntimeException("No se pudo leer el archivo '" + path + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Ruta del archivo resuelta desde la carpeta del programa
+     */
+    public Path resolvePath() {
+        return resolve(path);
+    }
+
+    /**
+     * Resuelve una ruta relativa desde la carpeta del programa
+     */
+    public static Path resolve(String path) {
+        Path file = Paths.get(path);
+        return file.isAbsolute() || baseDirectory == null ? file : baseDirectory.resolve(file);
+    }
+
+    /**
+     * Marca del contenido actual (tamaño y fecha): cambia si se modifica el archivo
+     */
+    public String getStamp() {
+        try {
+            Path file = resolvePath();
+            return Files.size(file) + "@" + Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // LECTURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private CompactSet load() throws IOException {
+        try (FileChannel channel = FileChannel.open(resolvePath(), StandardOpenOption.READ);
+             Arena arena = Arena.ofShared()) {
+            long size = channel.size();
+            if (size == 0) {
+                return new CompactSet.Builder().build();
+            }
+            MemorySegment bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+
+            long[] bounds = splitChunks(bytes, size);
+            List<CompactSet> parts = IntStream.range(0, bounds.length - 1)
+                    .parallel()
+                    .mapToObj(i -> parseChunk(bytes, bounds[i], bounds[i + 1]))
+                    .collect(Collectors.toList());
+
+            CompactSet.Builder builder = new CompactSet.Builder();
+            for (CompactSet part : parts) {
+                builder.addAll(part);
+            }
+            CompactSet result = builder.build();
+            ResourceLimits.getInstance().checkElements(result.size());
+            return result;
+        }
+    }
+
+    /**
+     * Recorre los elementos del archivo en el orden en que aparecen, sin armar un
+     * conjunto (los repetidos se entregan cada vez)
+     */
+    public void forEachElement(ElementSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(resolvePath(), StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            long size = channel.size();
+            if (size > 0) {
+                parseRange(channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena), 0, size, sink);
+            }
+        }
+    }
+
+    /**
+     * Divide el archivo en bloques que empiezan después de un salto de línea (o de
+     * una coma, si el bloque no tiene saltos de línea)
+     */
+    private static long[] splitChunks(MemorySegment bytes, long size) {
+        int chunks = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4L, size / MIN_CHUNK_BYTES));
+        long[] bounds = new long[chunks + 1];
+        for (int i = 1; i < chunks; i++) {
+            long nominal = Math.max(bounds[i - 1], size * i / chunks);
+            long limit = Math.min(size, nominal + size / chunks);
+            long position = nextByte(bytes, nominal, limit, (byte) '\n');
+            if (position == limit) {
+                position = nextByte(bytes, nominal, size, (byte) ',');
+            }
+            bounds[i] = Math.min(size, position + 1);
+        }
+        bounds[chunks] = size;
+        return bounds;
+    }
+
+    private static long nextByte(MemorySegment bytes, long from, long limit, byte target) {
+        long position = from;
+        while (position < limit && bytes.get(ValueLayout.JAVA_BYTE, position) != target) {
+            position++;
+        }
+        return position;
+    }
+
+    private static CompactSet parseChunk(MemorySegment bytes, long start, long end) {
+        ChunkValues values = new ChunkValues();
+        parseRange(bytes, start, end, values);
+        return values.builder.addInts(values.integers, values.count).build();
+    }
+
+    /**
+     * Analiza un bloque: cada elemento entre separadores se entrega al receptor.
+     * Los bytes mapeados se copian por ventanas a un arreglo que se reutiliza y
+     * cada ventana termina en un separador, así ningún elemento queda partido.
+     */
+    private static void parseRange(MemorySegment bytes, long start, long end, ElementSink sink) {
+        WindowScanner scanner = new WindowScanner(start == 0 || bytes.get(ValueLayout.JAVA_BYTE, start - 1) == '\n');
+        byte[] window = new byte[(int) Math.min(WINDOW_BYTES, end - start)];
+        long position = start;
+
+        ResourceLimits limits = ResourceLimits.getInstance();
+        while (position < end) {
+            limits.checkDeadline();
+            int length = (int) Math.min(window.length, end - position);
+            MemorySegment.copy(bytes, ValueLayout.JAVA_BYTE, position, window, 0, length);
+
+            int limit = length;
+            if (position + length < end) {
+                limit = lastSeparator(window, length) + 1;
+                if (limit == 0) {
+                    // Un elemento más largo que la ventana: se agranda y se vuelve a leer
+                    window = new byte[window.length * 2];
+                    continue;
+                }
+            }
+            scanner.scan(window, limit, sink);
+            position += limit;
+        }
+    }
+
+    private static int lastSeparator(byte[] window, int length) {
+        int i = length - 1;
+        while (i >= 0 && !isSeparator(window[i])) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Recorre ventanas consecutivas; recuerda si la siguiente empieza una línea o
+     * sigue dentro de un comentario
+     */
+    private static final class WindowScanner {
+        private boolean lineStart;
+        private boolean comment;
+
+        WindowScanner(boolean lineStart) {
+            this.lineStart = lineStart;
+        }
+
+        void scan(byte[] window, int limit, ElementSink sink) {
+            int position = 0;
+            while (position < limit) {
+                // Comentario: se salta hasta el fin de la línea
+                if (comment || (lineStart && window[position] == '#')) {
+                    while (position < limit && window[position] != '\n') {
+                        position++;
+                    }
+                    comment = position == limit;
+                }
+
+                int tokenStart = position;
+                while (position < limit && !isSeparator(window[position])) {
+                    position++;
+                }
+                addToken(window, tokenStart, position, sink);
+
+                lineStart = position < limit && window[position] == '\n';
+                position++;
+            }
+        }
+    }
+
+    /**
+     * Agrega un elemento: los enteros se leen de los bytes; el resto se decodifica como texto
+     */
+    private static void addToken(byte[] window, int start, int end, ElementSink sink) {
+        while (start < end && isBlank(window[start])) {
+            start++;
+        }
+        while (end > start && isBlank(window[end - 1])) {
+            end--;
+        }
+        if (start == end) {
+            return;
+        }
+
+        // Hasta 10 dígitos se acumulan en un long sin desbordarse; si no cabe en un int se trata como texto
+        long value = parseDigits(window, start, end);
+        if (value >= 0 && value <= Integer.MAX_VALUE) {
+            sink.addInt((int) value);
+            return;
+        }
+        sink.addText(new String(window, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Valor de un elemento formado solo por dígitos (hasta 10), o -1 si no lo es
+     */
+    private static long parseDigits(byte[] window, int start, int end) {
+        if (end - start > 10) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte b = window[i];
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Recibe los elementos leídos: los enteros sin convertir a objeto y el resto como texto
+     */
+    public interface ElementSink {
+        void addInt(int value);
+        void addText(String text);
+    }
+
+    /**
+     * Enteros de un bloque (se agregan ordenados al final) y el resto de elementos
+     */
+    private static final class ChunkValues implements ElementSink {
+        final CompactSet.Builder builder = new CompactSet.Builder();
+        int[] integers = new int[1024];
+        int count;
+
+        @Override
+        public void addInt(int value) {
+            if (count == integers.length) {
+                integers = Arrays.copyOf(integers, count * 2);
+            }
+            integers[count++] = value;
+        }
+
+        @Override
+        public void addText(String text) {
+            builder.add(text);
+        }
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == '\n' || b == ',';
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    @Override
+    public String toString() {
+        return "FileSet{path=" + path + '}';
+    }
+}
@@ -5,11 +5,13 @@
 package Expression;
 
 import Abstract.Expression;
+import Environment.ComplementSet;
 import Environment.Environment;
 import Types.Type;
 import Types.TypeExpression;
 import Types.Return;
 import Analyzer.Parser;
+import Utils.ResourceLimits;
 import java.util.*;
 
 /**
@@ -24,8 +26,11 @@ public class Operators extends Expression {
     private Expression right;
     private String operator;
     
-    // Usar el stack de la gramatica
-    private List<String> capturedOperands = new ArrayList<>();
+    // Vista n-aria de las cadenas de U y & (se calcula al ejecutar)
+    private List<Expression> chainOperands;
+    
+    // Representación prefija del árbol (se calcula una sola vez)
+    private String representation;
     
     public Operators(Expression left, String operator, Expression right) {
         super(TypeExpression.OPERACION);
@@ -33,103 +38,88 @@ public class Operators extends Expression {
         this.left = left;
         this.right = right;
         this.operator = operator;
-        
-        // Capturar operandos usando el stack de la gramatica
-        captureOperandsFromGrammar();
     }
     
     /**
-     * Captura operandos desde el stack de la gramatica
-     */ 
-    private void captureOperandsFromGrammar() {
-        if (Parser.operandosCapturados != null && !Parser.operandosCapturados.isEmpty()) {
-            this.capturedOperands = new ArrayList<>(Parser.operandosCapturados);
-        } else {
-            extractTraditionalOperands();
-        }
-    }
-    
-    /**
-     * Método tradicional de captura
+     * Extrae los operandos en orden de izquierda a derecha, sin recursión
+     * (las expresiones generadas pueden tener miles de operadores anidados)
      */
-    private void extractTraditionalOperands() {
-        List<String> foundOperands = new ArrayList<>();
-        extractOperandsRecursively(this, foundOperands);
-        this.capturedOperands = foundOperands;
-    }
-    
-    /**
-     * Extrae operandos recursivamente de forma correcta
-     */
-    private void extractOperandsRecursively(Expression expr, List<String> operandsList) {
-        if (expr instanceof ReferenceSet) {
-            operandsList.add(((ReferenceSet) expr).getSetName());
-        } else if (expr instanceof Operators) {
-            Operators op = (Operators) expr;
-            
-            // Procesar operando izquierdo
-            if (op.getLeft() != null) {
-                extractOperandsRecursively(op.getLeft(), operandsList);
-            }
+    private static void extractOperands(Expression expr, List<String> operandsList) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expr);
+        
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
             
-            // Procesar operando derecho
-            if (op.getRight() != null) {
-                extractOperandsRecursively(op.getRight(), operandsList);
+            if (current instanceof ReferenceSet) {
+                operandsList.add(((ReferenceSet) current).getSetName());
+            } else if (current instanceof Operators) {
+                Operators op = (Operators) current;
+                if (op.getRight() != null) {
+                    pending.push(op.getRight());
+                }
+                if (op.getLeft() != null) {
+                    pending.push(op.getLeft());
+                }
             }
         }
     }
     
+    /**
+     * Operandos de la expresión en orden de aparición (se extraen al pedirlos:
+     * copiarlos de la gramática en cada nodo era cuadrático)
+     */
     public List<String> getCapturedOperands() {
-        return new ArrayList<>(capturedOperands);
+        List<String> foundOperands = new ArrayList<>();
+        extractOperands(this, foundOperands);
+        return foundOperands;
     }
     
     /**
-     * Método para obtener representacion simplificada correcta
+     * Nombres de los conjuntos referenciados en el árbol, sin repetir y en orden
      */
-    public String getSimplifiedRepresentation() {
-        StringBuilder representation = new StringBuilder();
-        buildCompleteRepresentation(this, representation);
-        return representation.toString().trim();
+    public Set<String> getReferencedSets() {
+        List<String> foundOperands = new ArrayList<>();
+        extractOperands(this, foundOperands);
+        return new LinkedHashSet<>(foundOperands);
     }
     
     /**
-     * Construye la representacion completa recursivamente
+     * Representación prefija de la operación ("& U A B A").
+     * Se construye una sola vez, en preorden y con una pila explícita.
      */
-    private void buildCompleteRepresentation(Expression expr, StringBuilder sb) {
-        if (expr instanceof Operators) {
-            Operators op = (Operators) expr;
-            
-            // Agregar operador
-            sb.append(op.getOperator()).append(" ");
-            
-            // Procesar operando izquierdo
-            if (op.getLeft() != null) {
-                if (op.getLeft() instanceof Operators) {
-                    buildCompleteRepresentation(op.getLeft(), sb);
-                } else if (op.getLeft() instanceof ReferenceSet) {
-                    sb.append(((ReferenceSet) op.getLeft()).getSetName()).append(" ");
-                }
-            }
+    public String getSimplifiedRepresentation() {
+        if (representation == null) {
+            StringJoiner sb = new StringJoiner(" ");
+            Deque<Expression> pending = new ArrayDeque<>();
+            pending.push(this);
             
-            // Procesar operando derecho
-            if (op.getRight() != null) {
-                if (op.getRight() instanceof Operators) {
-                    buildCompleteRepresentation(op.getRight(), sb);
-                } else if (op.getRight() instanceof ReferenceSet) {
-                    sb.append(((ReferenceSet) op.getRight()).getSetName()).append(" ");
+            while (!pending.isEmpty()) {
+                Expression current = pending.pop();
+                
+                if (current instanceof Operators) {
+                    Operators op = (Operators) current;
+                    sb.add(op.getOperator());
+                    if (op.getRight() != null) {
+                        pending.push(op.getRight());
+                    }
+                    if (op.getLeft() != null) {
+                        pending.push(op.getLeft());
+                    }
+                } else if (current instanceof ReferenceSet) {
+                    sb.add(((ReferenceSet) current).getSetName());
                 }
             }
-            
-        } else if (expr instanceof ReferenceSet) {
-            sb.append(((ReferenceSet) expr).getSetName()).append(" ");
+            representation = sb.toString();
         }
+        return representation;
     }
     
     /**
      * Metodo auxiliar para realizar cast seguro a Set<Object>
      */
     @SuppressWarnings("unchecked")
-    private Set<Object> safeSetCast(Object obj, String operandName) {
+    private static Set<Object> safeSetCast(Object obj, String operandName) {
         if (obj instanceof Set<?>) {
             return (Set<Object>) obj;
         }
@@ -140,7 +130,7 @@ public class Operators extends Expression {
     /**
      * Valida que el Return contenga un conjunto valido
      */
-    private void validateReturn(Return returnValue, String operandName) {
+    private static void validateReturn(Return returnValue, String operandName) {
         if (returnValue == null) {
             throw new IllegalArgumentException("El resultado del operando " + operandName + " es nulo");
         }
@@ -154,6 +144,7 @@ public class Operators extends Expression {
         try {
             String OperationName = environment.getCurrentOperationName();
             
+            // Solo la raíz llega aquí: los nodos anidados se evalúan en executeOperation
             if (OperationName != null) {
                 String representacionParte = getSimplifiedRepresentation();
                 environment.addOperationPart(OperationName, representacionParte);
@@ -173,73 +164,404 @@ public class Operators extends Expression {
     }
     
     /**
-     * Ejecuta la operacion original y retorna Set<Object>
+     * Evalúa el árbol en postorden con una pila explícita de nodos en curso, así
+     * una expresión con miles de operadores anidados no desborda la pila de Java.
+     * Usa las cardinalidades guardadas en el entorno para elegir un orden barato:
+     * las cadenas de & y U se aplanan y se evalúan de menor a mayor, y se corta
+     * en cuanto un resultado intermedio queda vacío.
      */
     private Set<Object> executeOperation(Environment environment) {
+        Map<Expression, Long> estimates = new IdentityHashMap<>();
+        Deque<Evaluation> pending = new ArrayDeque<>();
+        pending.push(new Evaluation(this, environment, estimates));
         
-        if (operator.equals("U")) {
-            Return leftReturn = left.Execute(environment);
-            Return rightReturn = right.Execute(environment);
-            
-            // Validar que los returns sean validos
-            validateReturn(leftReturn, "izquierdo");
-            validateReturn(rightReturn, "derecho");
-            
+        while (true) {
+            Evaluation current = pending.peek();
+            Expression operand = current.nextOperand();
             
-            Set<Object> leftResult = safeSetCast(leftReturn.value, "izquierdo");
-            Set<Object> rightResult = safeSetCast(rightReturn.value, "derecho");
-            
-            Set<Object> result = new HashSet<>(leftResult);
-            result.addAll(rightResult);
-            
-            return result;
-            
-        } else if (operator.equals("&")) {
-            Return leftReturn = left.Execute(environment);
-            Return rightReturn = right.Execute(environment);
-
-            // Validar que los returns sean validos
-            validateReturn(leftReturn, "izquierdo");
-            validateReturn(rightReturn, "derecho");
-            
-            Set<Object> leftResult = safeSetCast(leftReturn.value, "izquierdo");
-            Set<Object> rightResult = safeSetCast(rightReturn.value, "derecho");
-            
-            Set<Object> result = environment.executeIntersection(leftResult, rightResult);
-            
-            return result;
+            if (operand == null) {
+                Set<Object> result = current.finish(environment);
+                pending.pop();
+                if (pending.isEmpty()) {
+                    return result;
+                }
+                pending.peek().accept(result, environment);
+                
+            } else if (operand instanceof Operators) {
+                ResourceLimits.getInstance().checkDeadline();
+                pending.push(new Evaluation((Operators) operand, environment, estimates));
+                
+            } else {
+                current.accept(evaluateOperand(operand, environment, current.operandName()), environment);
+            }
+        }
+    }
+    
+    /**
+     * Evaluación en curso de un nodo: sus operandos en el orden en que se evalúan
+     * y lo acumulado hasta ahora.
+     *
+     * U A U B C ... es un nodo n-ario: todos los operandos se agregan a un único
+     * conjunto resultado (sin uniones intermedias).
+     * & A & B C ... se evalúa de menor a mayor (& ∅ X = ∅ sin evaluar X) y se
+     * intersecta en una sola pasada, recorriendo el más pequeño y consultando los demás.
+     * - A B : - ∅ X = ∅ sin evaluar X. Si B es una unión se aplica
+     * A - (B ∪ C) = (A - B) - C, que reduce el resultado en cada paso sin construir la unión.
+     * Con el universo U como operando: & U X = X y - X U = ∅ sin evaluar el resto, cuando
+     * se sabe que X está dentro de U (un complemento); un X explícito puede tener elementos
+     * fuera del universo, que & descarta y - conserva, y se calcula como siempre.
+     */
+    private static final class Evaluation {
+        private final Operators node;
+        private final List<Expression> operands;
+        private final List<Set<Object>> parts = new ArrayList<>();
+        private Set<Object> universePart;
+        private Set<Object> result;
+        private boolean done;
+        private int next;
+        
+        Evaluation(Operators node, Environment environment, Map<Expression, Long> estimates) {
+            this.node = node;
             
-        } else if (operator.equals("-")) {
-            Return leftReturn = left.Execute(environment);
-            Return rightReturn = right.Execute(environment);
-
-            // Validar que los returns sean validos
-            validateReturn(leftReturn, "izquierdo");
-            validateReturn(rightReturn, "derecho");
+            switch (node.getOperator()) {
+                case "U":
+                    operands = node.getChainOperands();
+                    break;
+                case "&":
+                    operands = new ArrayList<>(node.getChainOperands());
+                    operands.sort(Comparator.comparingLong(operand -> estimateSize(operand, environment, estimates)));
+                    break;
+                case "-": {
+                    List<Expression> subtrahends = new ArrayList<>();
+                    collectChain(node.getRight(), "U", subtrahends);
+                    subtrahends.sort(Comparator.comparingLong(operand -> -estimateSize(operand, environment, estimates)));
+                    operands = new ArrayList<>();
+                    operands.add(node.getLeft());
+                    operands.addAll(subtrahends);
+                    break;
+                }
+                case "^":
+                    operands = List.of(node.getLeft());
+                    break;
+                default:
+                    operands = List.of();
+                    break;
+            }
+        }
+        
+        /**
+         * Siguiente operando a evaluar, o null si el nodo ya tiene su resultado
+         */
+        Expression nextOperand() {
+            return done || next >= operands.size() ? null : operands.get(next++);
+        }
+        
+        String operandName() {
+            return next == 1 ? "izquierdo" : "derecho";
+        }
+        
+        /**
+         * Recibe el conjunto del último operando pedido
+         */
+        void accept(Set<Object> part, Environment environment) {
+            switch (node.getOperator()) {
+                case "&":
+                    if (part.isEmpty()) {
+                        result = new HashSet<>();
+                        done = true;
+                    } else if (environment.isWholeUniverse(part)) {
+                        universePart = part;
+                    } else {
+                        parts.add(part);
+                    }
+                    break;
+                case "-":
+                    if (next == 1) {
+                        result = part.isEmpty() ? new HashSet<>() : part;
+                    } else if (environment.isWholeUniverse(part) && environment.isWithinUniverse(result)) {
+                        // - X U = ∅: los sustraendos que faltan no se evalúan
+                        result = new HashSet<>();
+                    } else {
+                        result = environment.computeDifference(result, part);
+                    }
+                    done = result.isEmpty();
+                    break;
+                default:
+                    parts.add(part);
+                    break;
+            }
+        }
+        
+        /**
+         * & U X = X cuando todos los demás operandos están dentro del universo; si alguno
+         * puede tener elementos fuera, U se intersecta como cualquier otro operando
+         */
+        private Set<Object> intersect(Environment environment) {
+            if (universePart != null) {
+                if (parts.isEmpty()) {
+                    return universePart;
+                }
+                boolean withinUniverse = true;
+                for (Set<Object> part : parts) {
+                    withinUniverse &= environment.isWithinUniverse(part);
+                }
+                if (!withinUniverse) {
+                    parts.add(universePart);
+                }
+            }
+            return parts.size() == 1 ? parts.get(0) : environment.executeIntersectionAll(parts);
+        }
+        
+        Set<Object> finish(Environment environment) {
+            switch (node.getOperator()) {
+                case "U":
+                    return environment.unionAll(parts);
+                case "&":
+                    return done ? result : intersect(environment);
+                case "-":
+                    return result;
+                case "^":
+                    return environment.executeComplement(parts.get(0));
+                default:
+                    // Si no se reconoce el operador, retornar conjunto vacío
+                    System.err.println("Operador no reconocido: " + node.getOperator());
+                    return new HashSet<>();
+            }
+        }
+    }
+    
+    /**
+     * Evalúa un operando que no es una operación y valida que su resultado sea
+     * un conjunto. Las referencias se leen directamente del entorno, sin copiarlas:
+     * las operaciones siempre devuelven conjuntos nuevos.
+     */
+    private static Set<Object> evaluateOperand(Expression operand, Environment environment, String operandName) {
+        ResourceLimits.getInstance().checkDeadline();
+        if (operand instanceof ReferenceSet) {
+            return ((ReferenceSet) operand).resolve(environment);
+        }
+        
+        Return operandReturn = operand.Execute(environment);
+        validateReturn(operandReturn, operandName);
+        return safeSetCast(operandReturn.value, operandName);
+    }
+    
+    /**
+     * Operandos de este nodo vistos como operación n-aria: U A U B C -> [A, B, C].
+     * Se calcula una sola vez y sin recursión (las cadenas pueden ser muy largas).
+     */
+    public List<Expression> getChainOperands() {
+        if (chainOperands == null) {
+            List<Expression> operands = new ArrayList<>();
+            collectChain(this, operator, operands);
+            chainOperands = Collections.unmodifiableList(operands);
+        }
+        return chainOperands;
+    }
+    
+    /**
+     * Aplana una cadena del mismo operador conmutativo, en orden de izquierda a derecha
+     */
+    private static void collectChain(Expression expr, String chainOperator, List<Expression> operands) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expr);
+        
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
             
-            Set<Object> leftResult = safeSetCast(leftReturn.value, "izquierdo");
-            Set<Object> rightResult = safeSetCast(rightReturn.value, "derecho");
+            if (current instanceof Operators && ((Operators) current).getOperator().equals(chainOperator)) {
+                Operators op = (Operators) current;
+                pending.push(op.getRight());
+                pending.push(op.getLeft());
+            } else {
+                operands.add(current);
+            }
+        }
+    }
+    
+    /**
+     * Estima la cardinalidad de una subexpresión con los tamaños guardados en el entorno.
+     * Recorre en postorden sin recursión y guarda cada estimación en estimates, así
+     * cada nodo se estima una sola vez por evaluación.
+     */
+    private static long estimateSize(Expression expr, Environment environment, Map<Expression, Long> estimates) {
+        Deque<Expression> pending = new ArrayDeque<>();
+        pending.push(expr);
+        
+        while (!pending.isEmpty()) {
+            Expression current = pending.peek();
+            if (estimates.containsKey(current)) {
+                pending.pop();
+                continue;
+            }
             
-            Set<Object> result = environment.computeDifference(leftResult, rightResult);
+            if (!(current instanceof Operators)) {
+                pending.pop();
+                estimates.put(current, estimateLeafSize(current, environment));
+                continue;
+            }
             
-            return result;
+            Operators op = (Operators) current;
+            boolean ready = true;
+            for (Expression child : new Expression[]{op.getRight(), op.getLeft()}) {
+                if (child != null && !estimates.containsKey(child)) {
+                    pending.push(child);
+                    ready = false;
+                }
+            }
+            if (ready) {
+                pending.pop();
+                estimates.put(current, combineSizes(op, environment, estimates));
+            }
+        }
+        return estimates.get(expr);
+    }
+    
+    private static long estimateLeafSize(Expression expr, Environment environment) {
+        if (expr instanceof ReferenceSet) {
+            ReferenceSet reference = (ReferenceSet) expr;
+            int size = reference.getSlot() >= 0
+                    ? environment.getSlotSize(reference.getSlot())
+                    : environment.getSetSize(reference.getSetName());
+            return size >= 0 ? size : Long.MAX_VALUE;
+        }
+        return Long.MAX_VALUE;
+    }
+    
+    private static long combineSizes(Operators op, Environment environment, Map<Expression, Long> estimates) {
+        switch (op.getOperator()) {
+            case "&":
+                return Math.min(estimates.get(op.getLeft()), estimates.get(op.getRight()));
+            case "U": {
+                long leftSize = estimates.get(op.getLeft());
+                long rightSize = estimates.get(op.getRight());
+                return leftSize > Long.MAX_VALUE - rightSize ? Long.MAX_VALUE : leftSize + rightSize;
+            }
+            case "-":
+                return estimates.get(op.getLeft());
+            case "^":
+                return Math.max(0, environment.getUniverse().size() - estimates.get(op.getLeft()));
+            default:
+                return Long.MAX_VALUE;
+        }
+    }
+    
+    /**
+     * Responde si un elemento pertenece al resultado de la operación sin construirlo:
+     * recorre el árbol y consulta por hash los conjuntos referenciados.
+     * Las ramas se evalúan con cortocircuito (& y - se detienen en el primer "no").
+     */
+    public boolean containsElement(Environment environment, Object element) {
+        return isMember(this, environment, element);
+    }
+    
+    /**
+     * Pertenencia de un elemento a una subexpresión (referencia u operación).
+     * Las operaciones se recorren con una pila explícita de nodos en curso;
+     * stage indica cuántos operandos de cada nodo ya se consultaron.
+     */
+    public static boolean isMember(Expression expr, Environment environment, Object element) {
+        if (!(expr instanceof Operators)) {
+            return isLeafMember(expr, environment, element);
+        }
+        
+        Deque<Operators> nodes = new ArrayDeque<>();
+        Deque<Integer> stages = new ArrayDeque<>();
+        nodes.push((Operators) expr);
+        stages.push(0);
+        boolean value = false;
+        
+        while (true) {
+            Operators op = nodes.peek();
+            int stage = stages.pop();
+            stages.push(stage + 1);
             
-        } else if (operator.equals("^")) {
-            Return leftReturn = left.Execute(environment);
-
-            // Validar que el return sea valido
-            validateReturn(leftReturn, "izquierdo");
-             
-            Set<Object> leftResult = safeSetCast(leftReturn.value, "izquierdo");
+            Boolean result = null;
+            Expression operand = null;
+            switch (op.getOperator()) {
+                case "U":
+                    if (stage == 0) {
+                        operand = op.getLeft();
+                    } else if (stage == 1 && !value) {
+                        operand = op.getRight();
+                    } else {
+                        result = value;
+                    }
+                    break;
+                case "&":
+                    if (stage == 0) {
+                        operand = op.getLeft();
+                    } else if (stage == 1 && value) {
+                        operand = op.getRight();
+                    } else {
+                        result = value;
+                    }
+                    break;
+                case "-":
+                    if (stage == 0) {
+                        operand = op.getLeft();
+                    } else if (stage == 1 && value) {
+                        operand = op.getRight();
+                    } else {
+                        result = stage == 2 ? !value : false;
+                    }
+                    break;
+                case "^":
+                    if (stage == 0 && environment.isInUniverse(element)) {
+                        operand = op.getLeft();
+                    } else {
+                        result = stage == 1 ? !value : false;
+                    }
+                    break;
+                default:
+                    result = false;
+                    break;
+            }
             
-            Set<Object> result = environment.executeComplement(leftResult);
+            if (result != null) {
+                nodes.pop();
+                stages.pop();
+                if (nodes.isEmpty()) {
+                    return result;
+                }
+                value = result;
+            } else if (operand instanceof Operators) {
+                nodes.push((Operators) operand);
+                stages.push(0);
+            } else {
+                value = isLeafMember(operand, environment, element);
+            }
+        }
+    }
+    
+    private static boolean isLeafMember(Expression expr, Environment environment, Object element) {
+        if (expr instanceof ReferenceSet) {
+            ReferenceSet reference = (ReferenceSet) expr;
+            if (reference.getSlot() >= 0 && environment.getSlotSize(reference.getSlot()) >= 0) {
+                return environment.slotContains(reference.getSlot(), element);
+            }
             
-            return result;
+            String setName = reference.getSetName();
+            if (!environment.existSet(setName)) {
+                throw new RuntimeException("Conjunto no definido: " + setName);
+            }
+            return environment.setContains(setName, element);
         }
         
-        // Si no se reconoce el operador, retornar conjunto vacío
-        System.err.println("Operador no reconocido: " + operator);
-        return new HashSet<>();
+        return false;
+    }
+    
+    /**
+     * Construye una cadena n-aria (U ( {A}, {B}, {C} )) como árbol binario por la
+     * izquierda, para que representación y simplificación sigan funcionando igual
+     */
+    public static Expression chain(String operator, List<Expression> operands) {
+        Expression result = operands.get(0);
+        for (int i = 1; i < operands.size(); i++) {
+            Parser.operacionesStack.push(operator);
+            result = new Operators(result, operator, operands.get(i));
+        }
+        return result;
     }
     
     // Getters para los operandos y operador
@@ -253,8 +575,30 @@ public class Operators extends Expression {
         return operator; 
     }
     
+    /**
+     * Mismo texto que "Operators{left=" + left + ", right=" + right + ...,
+     * armado con una pila explícita (es parte de la clave del cache de instrucciones)
+     */
     @Override
     public String toString() {
-        return "Operators{left=" + left + ", right=" + right + ", operator='" + operator + "'}";
+        StringBuilder sb = new StringBuilder();
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(this);
+        
+        while (!pending.isEmpty()) {
+            Object current = pending.pop();
+            
+            if (current instanceof Operators) {
+                Operators op = (Operators) current;
+                pending.push(", operator='" + op.getOperator() + "'}");
+                pending.push(op.getRight() != null ? op.getRight() : "null");
+                pending.push(", right=");
+                pending.push(op.getLeft() != null ? op.getLeft() : "null");
+                sb.append("Operators{left=");
+            } else {
+                sb.append(current);
+            }
+        }
+        return sb.toString();
     }
 }
\ No newline at end of file
@@ -10,12 +10,14 @@ import Types.TypeExpression;
 import Types.Return;
 import Types.Type;
 import Types.OutputError;
+import Utils.ResourceLimits;
 import java.util.HashSet;
 import java.util.Set;
 
 /**
- * Representa un rango de valores (ejemplo: a~z, 0~9)
- * Genera todos los caracteres ASCII entre dos valores
+ * Representa un rango de valores (ejemplo: a~z, 0~9, 10~20)
+ * Genera todos los caracteres entre dos caracteres, o todos los números entre
+ * dos números (si algún límite es un número de más de un dígito)
  * 
  * @author danie
  */
@@ -32,40 +34,121 @@ public class RangeSet extends Expression {
     @Override
     public Return Execute(Environment environment) {
         try {
-            Return startReturn = startExpression.Execute(environment);
-            Return endReturn = endExpression.Execute(environment);
+            Bounds bounds = evaluateBounds(environment);
             
-            if (startReturn == null || endReturn == null) {
-                return createErrorReturn("No se pudieron evaluar los límites del rango.");
+            if (bounds == null) {
+                return new Return(new HashSet<>(), Type.RANGO);
             }
             
-            int startAscii = convertToAscii(startReturn.value);
-            int endAscii = convertToAscii(endReturn.value);
+            // El tamaño se conoce antes de generar: un rango enorme se rechaza sin reservar memoria
+            ResourceLimits.getInstance().checkElements(bounds.size());
             
-            if (startAscii == -1 || endAscii == -1) {
-                return createErrorReturn("No se pudieron convertir los valores del rango a códigos ASCII.");
-            }
-            
-            if (startAscii > endAscii) {
-                return createErrorReturn("El valor de inicio del rango debe ser menor o igual al valor de fin.");
-            }
-            
-            Set<Object> elements = generateRange(startAscii, endAscii);
+            Set<Object> elements = generateRange(bounds);
             return new Return(elements, Type.RANGO);
             
+        } catch (ResourceLimits.LimitExceededException e) {
+            throw e;
         } catch (Exception e) {
             return createErrorReturn("Error al evaluar rango: " + e.getMessage());
         }
     }
     
-    private Set<Object> generateRange(int start, int end) {
+    /**
+     * Límites de un rango ya evaluados
+     */
+    public static final class Bounds {
+        public final int start;
+        public final int end;
+        /** true si son números (10~20); false si son códigos de caracter (a~z) */
+        public final boolean numeric;
+        
+        Bounds(int start, int end, boolean numeric) {
+            this.start = start;
+            this.end = end;
+            this.numeric = numeric;
+        }
+        
+        public long size() {
+            return (long) end - start + 1;
+        }
+    }
+    
+    /**
+     * Evalúa solo los límites del rango, sin generar sus elementos.
+     * Si algún límite es un número de varios dígitos y el otro también es un número,
+     * el rango es numérico; si no, va entre códigos de caracter (hasta U+10FFFF).
+     * @return Límites del rango, o null si el rango no es válido
+     */
+    public Bounds evaluateBounds(Environment environment) {
+        Return startReturn = startExpression.Execute(environment);
+        Return endReturn = endExpression.Execute(environment);
+        
+        if (startReturn == null || endReturn == null) {
+            createErrorReturn("No se pudieron evaluar los límites del rango.");
+            return null;
+        }
+        
+        Integer startNumber = numericValue(startReturn.value);
+        Integer endNumber = numericValue(endReturn.value);
+        boolean numeric = startNumber != null && endNumber != null
+                && (startReturn.value instanceof Integer || endReturn.value instanceof Integer);
+        
+        int start;
+        int end;
+        if (numeric) {
+            start = startNumber;
+            end = endNumber;
+        } else {
+            start = convertToAscii(startReturn.value);
+            end = convertToAscii(endReturn.value);
+            
+            if (start == -1 || end == -1) {
+                createErrorReturn("No se pudieron convertir los valores del rango a códigos ASCII.");
+                return null;
+            }
+        }
+        
+        if (start > end) {
+            createErrorReturn("El valor de inicio del rango debe ser menor o igual al valor de fin.");
+            return null;
+        }
+        
+        return new Bounds(start, end, numeric);
+    }
+    
+    /**
+     * Genera los elementos ya normalizados: los números 0-9 como caracteres '0'-'9',
+     * los códigos por encima de U+FFFF como cadenas
+     */
+    private Set<Object> generateRange(Bounds bounds) {
         Set<Object> elements = new HashSet<>();
-        for (int i = start; i <= end; i++) {
-            elements.add((char) i);
+        for (long i = bounds.start; i <= bounds.end; i++) {
+            int value = (int) i;
+            if (bounds.numeric) {
+                elements.add(value >= 0 && value <= 9 ? (Object) (char) ('0' + value) : (Object) value);
+            } else if (value <= Character.MAX_VALUE) {
+                elements.add((char) value);
+            } else {
+                elements.add(new String(Character.toChars(value)));
+            }
         }
         return elements;
     }
     
+    /**
+     * Valor numérico de un límite: un entero o un dígito '0'-'9'; null si no es un número
+     */
+    private Integer numericValue(Object value) {
+        if (value instanceof Integer) {
+            return (Integer) value;
+        }
+        if (value instanceof Character) {
+            char c = (Character) value;
+            return c >= '0' && c <= '9' ? c - '0' : null;
+        }
+        return null;
+    }
+    
     private int convertToAscii(Object value) {
         if (value instanceof Character) {
             return (int) ((Character) value);
@@ -77,8 +160,8 @@ public class RangeSet extends Expression {
         
         if (value instanceof String) {
             String str = (String) value;
-            if (str.length() == 1) {
-                return (int) str.charAt(0);
+            if (!str.isEmpty() && str.codePointCount(0, str.length()) == 1) {
+                return str.codePointAt(0);
             }
             
             try {
@@ -10,6 +10,7 @@ import Types.TypeExpression;
 import Types.Return;
 import Types.Type;
 import Types.OutputError;
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -21,6 +22,9 @@ import java.util.Set;
 public class ReferenceSet extends Expression {
     private final String setName;
     
+    // Posición del conjunto en el entorno; la asigna el análisis semántico (-1 si no está ligada)
+    private int slot = -1;
+    
     public ReferenceSet(String setName) {
         super(TypeExpression.IDENTIFICADOR);
         this.setName = setName;
@@ -28,6 +32,14 @@ public class ReferenceSet extends Expression {
     
     @Override
     public Return Execute(Environment environment) {
+        // Referencia ya validada: se lee por posición
+        if (slot >= 0) {
+            Set<Object> bound = environment.viewSlot(slot);
+            if (bound != null) {
+                return new Return(Environment.isImmutable(bound) ? bound : new HashSet<>(bound), Type.CONJUNTO);
+            }
+        }
+        
         try {
             if (!environment.existSet(setName)) {
                 String errorMessage = "❌ Error: El conjunto '" + setName + "' no ha sido definido.";
@@ -58,10 +70,36 @@ public class ReferenceSet extends Expression {
         }
     }
     
+    /**
+     * Obtiene el conjunto referenciado sin copiarlo (solo lectura)
+     */
+    public Set<Object> resolve(Environment environment) {
+        Set<Object> elements = slot >= 0 ? environment.viewSlot(slot) : environment.viewSet(setName);
+        
+        if (elements == null) {
+            OutputError.addMessage("❌ Error: El conjunto '" + setName + "' no ha sido definido.");
+            OutputError.addMessage("💡 Consejo: Debe definir el conjunto '" + setName + "' antes de usarlo en operaciones.");
+            throw new RuntimeException("Conjunto no definido: " + setName);
+        }
+        
+        return elements;
+    }
+    
     public String getSetName() {
         return setName;
     }
     
+    /**
+     * Liga la referencia a la posición del conjunto en el entorno
+     */
+    public void bind(int slot) {
+        this.slot = slot;
+    }
+    
+    public int getSlot() {
+        return slot;
+    }
+    
     @Override
     public String toString() {
         return "ReferenceSet{setName='" + setName + "'}";
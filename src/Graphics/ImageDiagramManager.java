@@ -2,12 +2,18 @@ package Graphics;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import javax.imageio.ImageIO;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Gestor centralizado para la generación y almacenamiento de diagramas de Venn como imagenes
@@ -25,9 +31,17 @@ public class ImageDiagramManager {
         return instance;
     }
     
+    // Máximo de diagramas que se mantienen sin codificar en memoria; los más antiguos se guardan en disco
+    private static final int MAX_IMAGES_IN_MEMORY = 64;
+    // Máximo de diagramas que conservan sus datos para redibujarse al hacer zoom; los
+    // menos usados se descartan y el visor escala su imagen
+    private static final int MAX_DIAGRAM_DATA = 256;
+    
     private String outputDirectory;
     private String imageFormat;
     private List<String> generatedImages;
+    private final Map<String, BufferedImage> renderedImages;
+    private final Map<String, VennDiagramData> diagramData;
     private boolean autoOpen;
     private JFrame parentFrame;
     
@@ -35,6 +49,25 @@ public class ImageDiagramManager {
         this.outputDirectory = "diagramas_venn";
         this.imageFormat = "png";
         this.generatedImages = Collections.synchronizedList(new ArrayList<>());
+        this.renderedImages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                if (size() <= MAX_IMAGES_IN_MEMORY) {
+                    return false;
+                }
+                // Se codifica solo si la imagen sigue en uso
+                if (generatedImages.contains(eldest.getKey()) && !new File(eldest.getKey()).exists()) {
+                    VennDiagramGenerator.writeImageFile(eldest.getValue(), eldest.getKey(), imageFormat);
+                }
+                return true;
+            }
+        };
+        this.diagramData = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VennDiagramData> eldest) {
+                return size() > MAX_DIAGRAM_DATA;
+            }
+        });
         this.autoOpen = false;
         this.parentFrame = null;
         
@@ -42,40 +75,114 @@ public class ImageDiagramManager {
     }
     
     /**
-     * Genera una imagen de diagrama de Venn automáticamente
+     * Genera una imagen de diagrama de Venn automáticamente.
+     * La imagen queda en memoria; solo se codifica a disco al persistirla o descargarla.
+     * 
+     * @return Ruta que identifica al diagrama (y donde se guardará al persistirlo)
      */
     public String generateDiagramImage(VennDiagramData data) {
         try {
             String fileName = generateUniqueFileName(data);
             String fullPath = outputDirectory + File.separator + fileName;
             
-            boolean success = VennDiagramGenerator.generateImageFile(data, fullPath, imageFormat);
+            BufferedImage image = VennDiagramGenerator.generateImageInMemory(data);
             
-            if (success) {
-                generatedImages.add(fullPath);
-                //System.out.println("✅ Diagrama generado: " + fullPath);
-                
-                if (autoOpen) {
-                    openImage(fullPath);
-                }
-                
-                return fullPath;
-            } else {
-                System.err.println("❌ Error generando diagrama para: " + data.getOperationName());
-                return null;
+            synchronized (renderedImages) {
+                renderedImages.put(fullPath, image);
+            }
+            diagramData.put(fullPath, data);
+            generatedImages.add(fullPath);
+            
+            if (autoOpen) {
+                openImage(fullPath);
             }
             
+            return fullPath;
+            
         } catch (Exception e) {
             System.err.println("❌ Error generando diagrama: " + e.getMessage());
             return null;
         }
     }
     
+    /**
+     * Obtiene la imagen de un diagrama, desde memoria o leyendo el archivo si ya fue guardado
+     * @return Imagen del diagrama o null si no existe
+     */
+    public BufferedImage getImage(String imagePath) {
+        synchronized (renderedImages) {
+            BufferedImage image = renderedImages.get(imagePath);
+            if (image != null) {
+                return image;
+            }
+        }
+        
+        try {
+            File imageFile = new File(imagePath);
+            return imageFile.exists() ? ImageIO.read(imageFile) : null;
+        } catch (Exception e) {
+            System.err.println("❌ Error leyendo imagen: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Vuelve a dibujar un diagrama a la escala indicada a partir de sus datos
+     * (sin perder nitidez al ampliar)
+     * @return Imagen escalada o null si el diagrama no se generó en esta sesión
+     */
+    public BufferedImage renderImage(String imagePath, double scale) {
+        VennDiagramData data = diagramData.get(imagePath);
+        return data != null ? VennDiagramGenerator.generateImageInMemory(data, scale) : null;
+    }
+    
+    /**
+     * Verifica si un diagrama está disponible en memoria o en disco
+     */
+    public boolean hasImage(String imagePath) {
+        synchronized (renderedImages) {
+            if (renderedImages.containsKey(imagePath)) {
+                return true;
+            }
+        }
+        return imagePath != null && new File(imagePath).exists();
+    }
+    
+    /**
+     * Guarda en disco un diagrama que todavía solo existe en memoria
+     * @return true si el archivo existe al terminar
+     */
+    public boolean persistImage(String imagePath) {
+        File imageFile = new File(imagePath);
+        if (imageFile.exists()) {
+            return true;
+        }
+        
+        BufferedImage image;
+        synchronized (renderedImages) {
+            image = renderedImages.get(imagePath);
+        }
+        
+        return image != null && VennDiagramGenerator.writeImageFile(image, imagePath, imageFormat);
+    }
+    
+    /**
+     * Guarda en disco todos los diagramas de la ejecución actual
+     */
+    public void persistAllImages() {
+        for (String imagePath : getGeneratedImages()) {
+            if (!persistImage(imagePath)) {
+                System.err.println("❌ No se pudo guardar: " + imagePath);
+            }
+        }
+    }
+    
     /**
      * Abre una imagen en el visualizador predeterminado del sistema
      */
     public void openImage(String imagePath) {
         try {
+            persistImage(imagePath);
             File imageFile = new File(imagePath);
             if (imageFile.exists()) {
                 Desktop.getDesktop().open(imageFile);
@@ -92,6 +199,7 @@ public class ImageDiagramManager {
      */
     public void openOutputDirectory() {
         try {
+            persistAllImages();
             File directory = new File(outputDirectory);
             if (directory.exists()) {
                 Desktop.getDesktop().open(directory);
@@ -108,8 +216,16 @@ public class ImageDiagramManager {
      */
     public boolean deleteImage(String imagePath) {
         try {
+            boolean inMemory;
+            synchronized (renderedImages) {
+                inMemory = renderedImages.remove(imagePath) != null;
+            }
+            diagramData.remove(imagePath);
+            
             File imageFile = new File(imagePath);
-            if (imageFile.exists() && imageFile.delete()) {
+            boolean deleted = imageFile.exists() && imageFile.delete();
+            
+            if (inMemory || deleted) {
                 generatedImages.remove(imagePath);
                 return true;
             }
@@ -162,7 +278,66 @@ public class ImageDiagramManager {
         
         // Limpiar la lista de imagenes generadas
         generatedImages.clear();
+        synchronized (renderedImages) {
+            renderedImages.clear();
+        }
+        diagramData.clear();
+    }
+    
+    /**
+     * Registra una imagen generada en una ejecución anterior que se reutiliza
+     * @return true si el archivo sigue existiendo y fue registrado
+     */
+    public boolean registerExistingImage(String imagePath) {
+        if (!hasImage(imagePath)) {
+            return false;
+        }
+        generatedImages.add(imagePath);
+        return true;
+    }
+    
+    /**
+     * Descarta de memoria las imágenes y los datos de diagramas que no pertenecen a la
+     * ejecución actual, sin tocar los archivos. Se llama al terminar cada ejecución.
+     */
+    public void releaseStaleDiagrams() {
+        Set<String> current = new HashSet<>(getGeneratedImages());
+        synchronized (renderedImages) {
+            renderedImages.keySet().retainAll(current);
+        }
+        synchronized (diagramData) {
+            diagramData.keySet().retainAll(current);
+        }
+    }
+    
+    /**
+     * Elimina del directorio de salida las imagenes que no pertenecen a la ejecución actual
+     */
+    public void deleteStaleImages() {
+        Set<String> activeImages = new HashSet<>();
+        for (String path : getGeneratedImages()) {
+            activeImages.add(new File(path).getAbsolutePath());
+        }
+        
+        releaseStaleDiagrams();
         
+        File outputDir = new File(outputDirectory);
+        File[] imageFiles = outputDir.listFiles((dir, name) -> {
+            String lowerName = name.toLowerCase();
+            return lowerName.endsWith(".png") || lowerName.endsWith(".jpg") || 
+                   lowerName.endsWith(".jpeg") || lowerName.endsWith(".gif") ||
+                   lowerName.endsWith(".bmp");
+        });
+        
+        if (imageFiles == null) {
+            return;
+        }
+        
+        for (File imageFile : imageFiles) {
+            if (!activeImages.contains(imageFile.getAbsolutePath()) && !imageFile.delete()) {
+                System.err.println("❌ No se pudo eliminar: " + imageFile.getName());
+            }
+        }
     }
     
     // ═══════════════════════════════════════════════════════════════════════════════════════════
@@ -260,6 +435,7 @@ public class ImageDiagramManager {
             System.out.println("⚠️ No hay diagramas para mostrar");
             return;
         }
+        // openOutputDirectory guarda antes los diagramas que solo están en memoria
         openOutputDirectory();
     }
     
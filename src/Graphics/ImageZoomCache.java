@@ -0,0 +1,192 @@
+package Graphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleFunction;
+
+/**
+ * Cache de niveles de zoom para el visor de diagramas.
+ *
+ * Para cada imagen mantiene una pirámide de reducciones a la mitad (mipmap) y las
+ * versiones ya escaladas por nivel de zoom. Mientras el usuario cambia el zoom se
+ * usa una interpolación rápida a partir del nivel de la pirámide más cercano; al
+ * detenerse se genera la versión de alta calidad, preferentemente dibujando de
+ * nuevo el diagrama a la escala pedida.
+ *
+ * @author danie
+ */
+public class ImageZoomCache {
+
+    // Cantidad máxima de imágenes escaladas que se conservan
+    private static final int MAX_SCALED_IMAGES = 24;
+
+    // Tamaño mínimo (en pixeles) del último nivel de la pirámide
+    private static final int MIN_LEVEL_SIZE = 64;
+
+    private BufferedImage source;
+    private final List<BufferedImage> pyramid;
+    private final Map<Long, BufferedImage> scaledImages;
+
+    public ImageZoomCache() {
+        this.pyramid = new ArrayList<>();
+        this.scaledImages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+                return size() > MAX_SCALED_IMAGES;
+            }
+        };
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTA DE NIVELES DE ZOOM
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Devuelve una versión escalada de forma rápida (para zoom interactivo).
+     * Si ya existe la versión de alta calidad para ese zoom se devuelve esa.
+     */
+    public BufferedImage getFast(BufferedImage original, double zoom) {
+        selectSource(original);
+
+        if (zoom == 1.0) {
+            return original;
+        }
+
+        BufferedImage cached = scaledImages.get(zoomKey(zoom));
+        if (cached != null) {
+            return cached;
+        }
+
+        return scale(levelFor(zoom), zoom, RenderingHints.VALUE_INTERPOLATION_BILINEAR, false);
+    }
+
+    /**
+     * Devuelve la versión de alta calidad para un zoom y la guarda en el cache.
+     *
+     * @param vectorRenderer Dibuja de nuevo la imagen a una escala dada; puede ser null
+     *                       o devolver null, en cuyo caso se remuestrea la pirámide
+     */
+    public BufferedImage getHighQuality(BufferedImage original, double zoom, DoubleFunction<BufferedImage> vectorRenderer) {
+        selectSource(original);
+
+        if (zoom == 1.0) {
+            return original;
+        }
+
+        long key = zoomKey(zoom);
+        BufferedImage cached = scaledImages.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        BufferedImage scaled = vectorRenderer != null ? vectorRenderer.apply(zoom) : null;
+        if (scaled == null) {
+            scaled = scale(levelFor(zoom), zoom, RenderingHints.VALUE_INTERPOLATION_BICUBIC, true);
+        }
+
+        scaledImages.put(key, scaled);
+        return scaled;
+    }
+
+    /**
+     * Descarta la pirámide y las versiones escaladas
+     */
+    public void clear() {
+        source = null;
+        pyramid.clear();
+        scaledImages.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Cambia la imagen de trabajo; al cambiar de imagen se reinicia el cache
+     */
+    private void selectSource(BufferedImage original) {
+        if (source == original) {
+            return;
+        }
+
+        clear();
+        source = original;
+        pyramid.add(original);
+    }
+
+    /**
+     * Nivel de la pirámide más pequeño que sigue siendo igual o mayor al tamaño pedido.
+     * Los niveles se construyen solo cuando se necesitan.
+     */
+    private BufferedImage levelFor(double zoom) {
+        int level = 0;
+        double levelScale = 1.0;
+
+        while (levelScale / 2 >= zoom) {
+            if (level + 1 >= pyramid.size()) {
+                BufferedImage last = pyramid.get(pyramid.size() - 1);
+                if (last.getWidth() / 2 < MIN_LEVEL_SIZE || last.getHeight() / 2 < MIN_LEVEL_SIZE) {
+                    break;
+                }
+                pyramid.add(halve(last));
+            }
+            level++;
+            levelScale /= 2;
+        }
+
+        return pyramid.get(level);
+    }
+
+    /**
+     * Reduce una imagen a la mitad promediando con interpolación bilineal
+     */
+    private BufferedImage halve(BufferedImage image) {
+        int width = image.getWidth() / 2;
+        int height = image.getHeight() / 2;
+
+        BufferedImage half = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = half.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, 0, 0, width, height, null);
+        g2d.dispose();
+
+        return half;
+    }
+
+    /**
+     * Escala un nivel de la pirámide al tamaño final respecto a la imagen original
+     */
+    private BufferedImage scale(BufferedImage level, double zoom, Object interpolation, boolean quality) {
+        int newWidth = Math.max(1, (int) Math.round(source.getWidth() * zoom));
+        int newHeight = Math.max(1, (int) Math.round(source.getHeight() * zoom));
+
+        BufferedImage scaledImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = scaledImage.createGraphics();
+
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        if (quality) {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+        } else {
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_SPEED);
+        }
+
+        g2d.drawImage(level, 0, 0, newWidth, newHeight, null);
+        g2d.dispose();
+
+        return scaledImage;
+    }
+
+    /**
+     * Los zoom se agrupan en pasos de 0.1% para reutilizar las versiones escaladas
+     */
+    private long zoomKey(double zoom) {
+        return Math.round(zoom * 1000);
+    }
+}
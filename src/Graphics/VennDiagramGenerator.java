@@ -1,6 +1,7 @@
 package Graphics;
 
 import Environment.Environment;
+import Utils.TraceEvents;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -198,25 +199,18 @@ public class VennDiagramGenerator {
      * @return true si se guardo exitosamente, false en caso contrario
      */
     public static boolean generateImageFile(VennDiagramData data, String outputPath, String format) {
+        return writeImageFile(generateImageInMemory(data), outputPath, format);
+    }
+    
+    /**
+     * Codifica una imagen ya renderizada y la guarda en disco
+     * @param image Imagen renderizada en memoria
+     * @param outputPath Ruta donde guardar la imagen
+     * @param format Formato de la imagen (png, jpg, jpeg)
+     * @return true si se guardo exitosamente, false en caso contrario
+     */
+    public static boolean writeImageFile(BufferedImage image, String outputPath, String format) {
         try {
-            BufferedImage image = new BufferedImage(DIAGRAM_WIDTH, DIAGRAM_HEIGHT, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g2d = image.createGraphics();
-            
-            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-            g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-            g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-            g2d.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-            
-            g2d.setColor(UNIVERSE_COLOR);
-            g2d.fillRect(0, 0, DIAGRAM_WIDTH, DIAGRAM_HEIGHT);
-            
-            renderDiagram(g2d, data);
-            
-            g2d.dispose();
-            
             File outputFile = new File(outputPath);
             
             File parentDir = outputFile.getParentFile();
@@ -227,19 +221,23 @@ public class VennDiagramGenerator {
             String formatToUse = format.toLowerCase();
             boolean success = false;
             
+            TraceEvents.FileWriteEvent event = new TraceEvents.FileWriteEvent();
+            event.begin();
+            
             if (formatToUse.equals("jpg") || formatToUse.equals("jpeg")) {
-                BufferedImage jpgImage = new BufferedImage(DIAGRAM_WIDTH, DIAGRAM_HEIGHT, BufferedImage.TYPE_INT_RGB);
-                Graphics2D jpgG2d = jpgImage.createGraphics();
-                jpgG2d.setColor(UNIVERSE_COLOR);
-                jpgG2d.fillRect(0, 0, DIAGRAM_WIDTH, DIAGRAM_HEIGHT);
-                jpgG2d.drawImage(image, 0, 0, null);
-                jpgG2d.dispose();
-                
-                success = ImageIO.write(jpgImage, "jpg", outputFile);
+                success = ImageIO.write(image, "jpg", outputFile);
             } else {
                 success = ImageIO.write(image, "png", outputFile);
             }
             
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = "imagen";
+                event.path = outputPath;
+                event.bytes = outputFile.length();
+                event.commit();
+            }
+            
             return success;
             
         } catch (IOException e) {
@@ -275,9 +273,30 @@ public class VennDiagramGenerator {
      * @return BufferedImage con el diagrama renderizado
      */
     public static BufferedImage generateImageInMemory(VennDiagramData data) {
-        BufferedImage image = new BufferedImage(DIAGRAM_WIDTH, DIAGRAM_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        return generateImageInMemory(data, 1.0);
+    }
+    
+    /**
+     * Genera el diagrama de Venn en memoria a una escala dada, dibujando de nuevo
+     * las figuras vectoriales en lugar de redimensionar los pixeles
+     * @param data Datos del diagrama de Venn
+     * @param scale Escala respecto al tamaño original (1.0 = 800x520)
+     * @return BufferedImage con el diagrama renderizado a esa escala
+     */
+    public static BufferedImage generateImageInMemory(VennDiagramData data, double scale) {
+        TraceEvents.DiagramRenderEvent event = new TraceEvents.DiagramRenderEvent();
+        event.begin();
+        
+        int width = Math.max(1, (int) Math.round(DIAGRAM_WIDTH * scale));
+        int height = Math.max(1, (int) Math.round(DIAGRAM_HEIGHT * scale));
+        
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
         Graphics2D g2d = image.createGraphics();
         
+        if (scale != 1.0) {
+            g2d.scale((double) width / DIAGRAM_WIDTH, (double) height / DIAGRAM_HEIGHT);
+        }
+        
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
         g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -293,6 +312,16 @@ public class VennDiagramGenerator {
         
         g2d.dispose();
         
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = data.getOperationName();
+            event.operationType = data.getOperator();
+            event.width = width;
+            event.height = height;
+            event.elements = data.getResult() != null ? data.getResult().size() : 0;
+            event.commit();
+        }
+        
         return image;
     }
     /**
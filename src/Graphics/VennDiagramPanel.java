@@ -1,6 +1,6 @@
 package Graphics;
 
-import Environment.Environment;
+import Environment.SetFormatter;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Ellipse2D;
@@ -402,7 +402,7 @@ public class VennDiagramPanel extends JPanel {
         g2d.setFont(elementFont);
         
         // Mostrar el resultado
-        String resultText = "Resultado: " + Environment.formatSet(diagramData.getResult());
+        String resultText = "Resultado: " + SetFormatter.format(diagramData.getResult(), 20);
         if (resultText.length() > 50) {
             resultText = resultText.substring(0, 50) + "...";
         }
@@ -40,9 +40,13 @@ import javax.swing.table.DefaultTableModel;
 import javax.imageio.ImageIO;
 import java.util.Arrays;
 import Project.Project;
+import Expression.FileSet;
 import Graphics.ImageDiagramManager;
+import Graphics.ImageZoomCache;
 import Reports.reports;
-import Utils.Token;
+import Utils.InstructionCache;
+import Utils.InstructionProfiler;
+import Utils.TokenBuffer;
 import Utils.ErrorHandler;
 import javax.swing.JTextPane;
 
@@ -55,7 +59,9 @@ import javax.swing.JTextPane;
 public class ApplicationUI extends javax.swing.JFrame {
     private static ApplicationUI instance; 
     private File currentFile;
-    private List<Token> tokens = new ArrayList<>();
+    // Guarda y carga el snapshot <archivo>.snap con los resultados reutilizables
+    private boolean snapshotsEnabled;
+    private TokenBuffer tokens = new TokenBuffer();
     
     private List<File> imageFiles = new ArrayList<>();
     private int currentImageIndex = 0;
@@ -63,6 +69,10 @@ public class ApplicationUI extends javax.swing.JFrame {
     private JPanel imagePanel;
     private double currentZoom = 1.1;
     private BufferedImage currentOriginalImage;
+    private String currentImagePath;
+    private final transient ImageZoomCache zoomCache = new ImageZoomCache();
+    // Retraso antes de generar la versión de alta calidad tras el último cambio de zoom
+    private final javax.swing.Timer highQualityZoomTimer = new javax.swing.Timer(200, e -> renderHighQualityZoom());
     
     private SyntaxHighlightedEditor syntaxEditor;
 
@@ -76,6 +86,8 @@ public class ApplicationUI extends javax.swing.JFrame {
         clearTable(); 
         initImageViewer(); 
         initSyntaxEditor();
+        initProfilerMenu();
+        initSnapshotMenu();
     }
 
     public static JTextPane getTxtConsole() {
@@ -99,6 +111,10 @@ public class ApplicationUI extends javax.swing.JFrame {
             clearTable();
             readFile(fileToOpen); 
             currentFile = fileToOpen; 
+            FileSet.setBaseDirectory(fileToOpen.getAbsoluteFile().getParentFile().toPath());
+            // Los resultados del documento anterior no se reutilizan en este
+            InstructionCache.getInstance().setDocument(fileToOpen.toPath());
+            loadSnapshot();
         }
     }
 
@@ -135,6 +151,8 @@ public class ApplicationUI extends javax.swing.JFrame {
             }
             writeToFile(fileToSave);
             currentFile = fileToSave;
+            FileSet.setBaseDirectory(fileToSave.getAbsoluteFile().getParentFile().toPath());
+            InstructionCache.getInstance().setDocument(fileToSave.toPath());
         }
     }
 
@@ -195,11 +213,12 @@ public class ApplicationUI extends javax.swing.JFrame {
         clearTable();  
 
         try {
-            ImageDiagramManager imageManager = ImageDiagramManager.getInstance();
-            imageManager.deleteAllGeneratedImages();
-            
             tokens = Project.parseInput(input, txtConsola); 
             clearTable(); 
+            saveSnapshot();
+            
+            InstructionProfiler profiler = InstructionProfiler.getInstance();
+            syntaxEditor.setLineCosts(profiler.isEnabled() ? profiler.getCostByLine() : null);
             
             updateImageViewer();
             
@@ -242,6 +261,113 @@ public class ApplicationUI extends javax.swing.JFrame {
         }
     }
 
+    /**
+     * Agrega al menú REPORTES la opción para activar el perfilador y su reporte
+     */
+    private void initProfilerMenu() {
+        javax.swing.JCheckBoxMenuItem activarPerfil = new javax.swing.JCheckBoxMenuItem("Perfilar ejecución");
+        javax.swing.JMenuItem reportePerfil = new javax.swing.JMenuItem("Perfil");
+        
+        for (javax.swing.JMenuItem item : new javax.swing.JMenuItem[]{activarPerfil, reportePerfil}) {
+            item.setBackground(new java.awt.Color(0, 51, 102));
+            item.setFont(new java.awt.Font("SansSerif", 1, 14));
+            item.setForeground(new java.awt.Color(255, 255, 255));
+            item.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED));
+        }
+        reportePerfil.setIcon(new javax.swing.ImageIcon(getClass().getResource("/assets/settings.png")));
+        
+        activarPerfil.addActionListener(e -> {
+            InstructionProfiler.getInstance().setEnabled(activarPerfil.isSelected());
+            if (!activarPerfil.isSelected()) {
+                syntaxEditor.setLineCosts(null);
+            }
+        });
+        reportePerfil.addActionListener(e -> openProfileReport());
+        
+        reporte1.addSeparator();
+        reporte1.add(activarPerfil);
+        reporte1.add(reportePerfil);
+    }
+    
+    private void initSnapshotMenu() {
+        javax.swing.JCheckBoxMenuItem activarSnapshot = new javax.swing.JCheckBoxMenuItem("Guardar snapshot");
+        activarSnapshot.setBackground(new java.awt.Color(0, 51, 102));
+        activarSnapshot.setFont(new java.awt.Font("SansSerif", 1, 14));
+        activarSnapshot.setForeground(new java.awt.Color(255, 255, 255));
+        activarSnapshot.setBorder(javax.swing.BorderFactory.createBevelBorder(javax.swing.border.BevelBorder.RAISED));
+        
+        activarSnapshot.addActionListener(e -> {
+            snapshotsEnabled = activarSnapshot.isSelected();
+            if (snapshotsEnabled) {
+                loadSnapshot();
+            }
+        });
+        
+        ejecutar.addSeparator();
+        ejecutar.add(activarSnapshot);
+    }
+    
+    /**
+     * Carga el snapshot del archivo actual: las instrucciones que no cambiaron se
+     * reutilizan en la próxima ejecución
+     */
+    private void loadSnapshot() {
+        if (!snapshotsEnabled || currentFile == null) {
+            return;
+        }
+        String message = InstructionCache.getInstance().loadSnapshotFor(currentFile.toPath());
+        if (message != null) {
+            txtConsola.setText(message + "\n");
+        }
+    }
+    
+    /**
+     * Guarda el snapshot del archivo actual después de ejecutarlo
+     */
+    private void saveSnapshot() {
+        if (!snapshotsEnabled || currentFile == null) {
+            return;
+        }
+        // El snapshot guarda las rutas de los diagramas: deben existir en disco
+        ImageDiagramManager.getInstance().persistAllImages();
+        txtConsola.setText(txtConsola.getText() + InstructionCache.getInstance().saveSnapshotFor(currentFile.toPath()) + "\n");
+    }
+    
+    private void openProfileReport() {
+        InstructionProfiler profiler = InstructionProfiler.getInstance();
+        
+        if (profiler.getEntries().isEmpty()) {
+            showWarningMessage(
+                "⚠️ No hay mediciones para mostrar.\n" +
+                "⏱️ Active 'Perfilar ejecución' en el menú REPORTES y ejecute el programa.",
+                "Aviso");
+            return;
+        }
+        
+        try {
+            String archivoHTML = reports.createProfileReportHTML(
+                profiler.getEntries(), Arrays.asList(getEditorText().split("\\R", -1)));
+            
+            if (archivoHTML != null) {
+                java.awt.Desktop.getDesktop().open(new java.io.File(archivoHTML));
+                
+                displaySuccessMessage(
+                    "✅ Reporte de perfil generado exitosamente!\n" +
+                    "📄 Archivo: " + archivoHTML + "\n" +
+                    "🌐 El reporte se abrió en tu navegador.",
+                    "Reporte Generado");
+            } else {
+                displayErrorMessage(
+                    "❌ Error generando el reporte de perfil.",
+                    "Error");
+            }
+        } catch (Exception e) {
+            displayErrorMessage(
+                "❌ Error abriendo el reporte: " + e.getMessage(),
+                "Error");
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════════════════════
     // MetodoS PARA DIAGRAMAS DE VENN
     // ═══════════════════════════════════════════════════════════════════════════════════════════
@@ -259,8 +385,11 @@ public class ApplicationUI extends javax.swing.JFrame {
         }
         
         try {
+            // Regenerar todos los diagramas sin reutilizar resultados anteriores
+            Project.invalidateCache();
             imageManager.deleteAllGeneratedImages();
             tokens = Project.parseInput(input, txtConsola);
+            imageManager.persistAllImages();
             updateImageViewer();
             
             displaySuccessMessage(
@@ -385,14 +514,20 @@ public class ApplicationUI extends javax.swing.JFrame {
             });
             
             if (files != null) {
-                Arrays.sort(files, (f1, f2) -> f1.getName().compareTo(f2.getName()));
-                
-                for (File file : files) {
-                    imageFiles.add(file);
-                }
+                imageFiles.addAll(Arrays.asList(files));
             }
         }
         
+        // Diagramas de la ejecución actual que aún no se han guardado en disco
+        for (String imagePath : ImageDiagramManager.getInstance().getGeneratedImages()) {
+            File file = new File(imagePath);
+            if (!file.exists()) {
+                imageFiles.add(file);
+            }
+        }
+        
+        imageFiles.sort((f1, f2) -> f1.getName().compareTo(f2.getName()));
+        
         currentImageIndex = 0;
     }
     
@@ -425,10 +560,11 @@ public class ApplicationUI extends javax.swing.JFrame {
         if (currentImageIndex >= 0 && currentImageIndex < imageFiles.size()) {
             try {
                 File imageFile = imageFiles.get(currentImageIndex);
-                BufferedImage originalImage = ImageIO.read(imageFile);
+                BufferedImage originalImage = ImageDiagramManager.getInstance().getImage(imageFile.getPath());
                 
                 if (originalImage != null) {
                     currentOriginalImage = originalImage;
+                    currentImagePath = imageFile.getPath();
                     fitToWindow();
                     
                     String info = String.format("📊 %s (%dx%d px)", 
@@ -442,7 +578,7 @@ public class ApplicationUI extends javax.swing.JFrame {
                     imageLabel.setIcon(null);
                     currentOriginalImage = null;
                 }
-            } catch (IOException e) {
+            } catch (Exception e) {
                 imageLabel.setText("❌ Error leyendo imagen: " + e.getMessage());
                 imageLabel.setIcon(null);
                 currentOriginalImage = null;
@@ -493,35 +629,22 @@ public class ApplicationUI extends javax.swing.JFrame {
     
     private void updateImageDisplay() {
         if (currentOriginalImage != null) {
-            ImageIcon imageIcon = createZoomedImageIcon(currentOriginalImage, currentZoom);
+            // Respuesta inmediata con interpolación rápida; la versión nítida llega al detener el zoom
+            ImageIcon imageIcon = new ImageIcon(zoomCache.getFast(currentOriginalImage, currentZoom));
             imageLabel.setIcon(imageIcon);
             imageLabel.setText(null);
+            highQualityZoomTimer.restart();
         }
     }
 
-    private ImageIcon createZoomedImageIcon(BufferedImage original, double zoom) {
-        if (zoom == 1.0) {
-            return new ImageIcon(original);
+    private void renderHighQualityZoom() {
+        highQualityZoomTimer.stop();
+        if (currentOriginalImage != null) {
+            String imagePath = currentImagePath;
+            BufferedImage scaled = zoomCache.getHighQuality(currentOriginalImage, currentZoom,
+                scale -> ImageDiagramManager.getInstance().renderImage(imagePath, scale));
+            imageLabel.setIcon(new ImageIcon(scaled));
         }
-        
-        int newWidth = (int) Math.round(original.getWidth() * zoom);
-        int newHeight = (int) Math.round(original.getHeight() * zoom);
-        
-        BufferedImage scaledImage = new BufferedImage(newWidth, newHeight, BufferedImage.TYPE_INT_RGB);
-        Graphics2D g2d = scaledImage.createGraphics();
-        
-        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        g2d.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
-        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
-        
-        g2d.drawImage(original, 0, 0, newWidth, newHeight, null);
-        g2d.dispose();
-        
-        return new ImageIcon(scaledImage);
     }
     
     private void updateButtonStates() {
@@ -754,11 +877,11 @@ public class ApplicationUI extends javax.swing.JFrame {
                     }
                 }
                 
-                java.nio.file.Files.copy(
-                    currentImageFile.toPath(), 
-                    destinationFile.toPath(), 
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING
-                );
+                // La imagen se codifica directamente desde memoria en el formato elegido
+                String format = extension.substring(1).toLowerCase();
+                if (!ImageIO.write(currentOriginalImage, format, destinationFile)) {
+                    throw new IOException("Formato no soportado: " + format);
+                }
                 
                 String fileSize = formatFileSize(destinationFile.length());
                 displaySuccessMessage(
@@ -1372,6 +1495,7 @@ public class ApplicationUI extends javax.swing.JFrame {
         • OPERA : result2 -> & {conjunto1} {conjunto2} ;  // Intersección
         • OPERA : result3 -> - {conjunto1} {conjunto2} ;  // Diferencia
         • OPERA : result4 -> ^ {conjunto1} ;  // Complemento
+        • OPERA : result5 -> U ( {conjunto1}, {conjunto2}, {conjunto3} ) ;  // Unión/intersección de varios conjuntos
 
          EVALUACIÓN DE OPERACIONES:
         • EVALUAR ( {a, b} , result1 ) ;
@@ -1379,6 +1503,9 @@ public class ApplicationUI extends javax.swing.JFrame {
         • EVALUAR ( {a, b} , result3 ) ;
         • EVALUAR ( {a, b} , result4 ) ; 
 
+         UNIVERSO (opcional, por defecto ASCII 33-126):
+        • UNIVERSO -> a ~ z, 0 ~ 9 ;  // Universo usado por el complemento
+
          SÍMBOLOS ESPECIALES:
         • U : Unión
         • & : Intersección
@@ -37,7 +37,7 @@ public class SyntaxHighlightedEditor extends JPanel {
     
     // Palabras clave del lenguaje
     private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
-        "CONJ", "OPERA", "EVALUAR"
+        "CONJ", "OPERA", "EVALUAR", "UNIVERSO", "ARCHIVO", "IMPORTAR"
     ));
     
     // Signos de puntuacion
@@ -51,6 +51,11 @@ public class SyntaxHighlightedEditor extends JPanel {
     private boolean showingPlaceholder = false;
     private javax.swing.Timer highlightTimer;
     
+    // Costo de ejecución por línea (perfilador); se dibuja como una barra en el margen
+    private transient Map<Integer, Long> lineCosts = Collections.emptyMap();
+    private long maxLineCost = 0;
+    private static final Color LINE_COST_COLOR = new Color(255, 107, 107);
+    
     public SyntaxHighlightedEditor() {
         setDoubleBuffered(true);  
         initializeEditor();
@@ -225,6 +230,8 @@ public class SyntaxHighlightedEditor extends JPanel {
                             g2d.setColor(LINE_NUMBER_COLOR);
                         }
                         
+                        paintLineCost(g2d, line + 1, y - fm.getAscent() - LINE_HEIGHT_OFFSET, fm.getHeight() + LINE_HEIGHT_OFFSET);
+                        
                         String lineNumber = String.valueOf(line + 1);
                         int x = getWidth() - fm.stringWidth(lineNumber) - MARGIN;
                         g2d.drawString(lineNumber, x, y);
@@ -237,6 +244,24 @@ public class SyntaxHighlightedEditor extends JPanel {
             }
         }
         
+        /**
+         * Dibuja a la izquierda del número una barra proporcional al costo de la línea
+         */
+        private void paintLineCost(Graphics2D g2d, int line, int top, int height) {
+            // Los costos no se serializan: un editor deserializado no tiene mapa hasta el próximo perfil
+            Long cost = lineCosts != null ? lineCosts.get(line) : null;
+            if (cost == null || maxLineCost <= 0) {
+                return;
+            }
+            
+            Color previous = g2d.getColor();
+            int width = Math.max(2, (int) Math.round(14.0 * cost / maxLineCost));
+            int alpha = 90 + (int) Math.round(165.0 * cost / maxLineCost);
+            g2d.setColor(new Color(LINE_COST_COLOR.getRed(), LINE_COST_COLOR.getGreen(), LINE_COST_COLOR.getBlue(), alpha));
+            g2d.fillRect(2, top + 2, width, Math.max(1, height - 4));
+            g2d.setColor(previous);
+        }
+        
         /**
          * Pinta una linea especifica como fallback
          */
@@ -797,6 +822,22 @@ public class SyntaxHighlightedEditor extends JPanel {
         return textPane;
     }
     
+    /**
+     * Muestra en el margen el costo de ejecución de cada línea (vacío para ocultarlo)
+     * @param costs Costo por número de línea (desde 1)
+     */
+    public void setLineCosts(Map<Integer, Long> costs) {
+        lineCosts = costs != null ? new HashMap<>(costs) : Collections.emptyMap();
+        maxLineCost = 0;
+        for (long cost : lineCosts.values()) {
+            maxLineCost = Math.max(maxLineCost, cost);
+        }
+        
+        if (lineNumberPanel != null) {
+            lineNumberPanel.repaint();
+        }
+    }
+    
     /**
      * Obtiene el panel de numeros de linea para configuraciones avanzadas
      */
@@ -11,6 +11,7 @@ import Types.TypeInstrution;
 import Types.Return;
 import Types.Output;
 import Types.OutputError;
+import Expression.FileSet;
 import Expression.ListElements;
 import java.util.List;
 import java.util.ArrayList;
@@ -45,6 +46,12 @@ public class DefineSet extends Instruction {
     @Override
     public void Execute(Environment environment) {
         try {
+            // CONJ : A -> ARCHIVO "ruta" ; el conjunto se guarda tal como lo arma FileSet
+            if (isFileDefinition()) {
+                defineFromFile(environment, (FileSet) elements.get(0));
+                return;
+            }
+            
             Set<Object> setElements = evaluateAllElements(environment);
             saveSetToEnvironment(environment, setElements);
             logSetCreation(setElements);
@@ -54,6 +61,21 @@ public class DefineSet extends Instruction {
         }
     }
     
+    @SuppressWarnings("unchecked") // FileSet siempre devuelve un conjunto
+    private void defineFromFile(Environment environment, FileSet file) {
+        Set<Object> setElements = (Set<Object>) file.Execute(environment).value;
+        saveSetToEnvironment(environment, setElements);
+        
+        // Con miles de elementos solo se muestra la cantidad
+        showHeader();
+        Output.Console.add("📦 Conjunto: '" + setName + "' ✨ Elementos: " + setElements.size()
+                + " (desde el archivo \"" + file.getPath() + "\")");
+    }
+    
+    private boolean isFileDefinition() {
+        return elements.size() == 1 && elements.get(0) instanceof FileSet;
+    }
+    
     private List<Expression> extractElements(Expression elementList) {
         if (elementList instanceof ListElements) {
             return ((ListElements) elementList).getElements();
@@ -96,12 +118,18 @@ public class DefineSet extends Instruction {
     }
     
     private void logSetCreation(Set<Object> setElements) {
+        showHeader();
+        Output.Console.add("📦 Conjunto: '" + setName + "' ✨ Elementos: " + setElements);
+    }
+    
+    /**
+     * Muestra el encabezado de la sección si todavía no se mostró
+     */
+    public static void showHeader() {
         if (!headerShown) {
             Output.Console.add("🎯═══════════ CONJUNTOS DEFINIDOS ═══════════🎯");
             headerShown = true;
         }
-        
-        Output.Console.add("📦 Conjunto: '" + setName + "' ✨ Elementos: " + setElements);
     }
     
     // Método para resetear el estado del encabezado
@@ -114,6 +142,35 @@ public class DefineSet extends Instruction {
         return headerShown;
     }
     
+    public String getSetName() {
+        return setName;
+    }
+    
+    public List<Expression> getElements() {
+        return elements;
+    }
+    
+    /**
+     * Archivo del que se leen los elementos (CONJ : A -> ARCHIVO "ruta" ;), o null
+     */
+    public FileSet getSourceFile() {
+        return isFileDefinition() ? (FileSet) elements.get(0) : null;
+    }
+    
+    @Override
+    public String getSourceKey() {
+        // Si el archivo cambia (tamaño o fecha) la definición se vuelve a ejecutar
+        if (isFileDefinition()) {
+            return "CONJ:" + setName + "->" + elements + ":" + ((FileSet) elements.get(0)).getStamp();
+        }
+        return "CONJ:" + setName + "->" + elements;
+    }
+    
+    @Override
+    public String getWrittenSet() {
+        return setName;
+    }
+    
     @Override
     public String toString() {
         return "DefineSet{setName='" + setName + "', elements=" + elements.size() + '}';
@@ -0,0 +1,106 @@
+package Instruction;
+
+import Abstract.Instruction;
+import Abstract.Expression;
+import Environment.Environment;
+import Environment.Universe;
+import Types.TypeInstrution;
+import Types.Return;
+import Types.Output;
+import Types.OutputError;
+import Expression.ListElements;
+import Expression.RangeSet;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Instrucción para declarar el universo usado por el complemento
+ * Ejemplo: UNIVERSO -> a~z, 0~9, 100~200 ;
+ * Los rangos se guardan como intervalos, sin generar cada elemento: los de
+ * caracteres como códigos y los numéricos como enteros
+ *
+ * @author danie
+ */
+public class DefineUniverse extends Instruction {
+    private final List<Expression> elements;
+
+    public DefineUniverse(Expression elementList) {
+        super(TypeInstrution.DEFINICION_UNIVERSO);
+        this.elements = extractElements(elementList);
+    }
+
+    @Override
+    public void Execute(Environment environment) {
+        try {
+            Universe.Builder builder = new Universe.Builder();
+
+            for (Expression element : elements) {
+                addElementToUniverse(element, environment, builder);
+            }
+
+            if (builder.isEmpty()) {
+                OutputError.addMessage("❌ Error: El universo declarado no tiene elementos.");
+                return;
+            }
+
+            Universe universe = builder.build();
+            environment.setUniverse(universe);
+
+            Output.Console.add("🌌 Universo: " + universe.describe() + " ✨ Total de elementos: " + universe.countElements());
+
+        } catch (Exception e) {
+            OutputError.addMessage("❌ Error al definir el universo: " + e.getMessage());
+        }
+    }
+
+    private List<Expression> extractElements(Expression elementList) {
+        if (elementList instanceof ListElements) {
+            return ((ListElements) elementList).getElements();
+        } else {
+            List<Expression> singleElement = new ArrayList<>();
+            singleElement.add(elementList);
+            return singleElement;
+        }
+    }
+
+    private void addElementToUniverse(Expression element, Environment environment, Universe.Builder builder) {
+        // Los rangos solo aportan sus límites
+        if (element instanceof RangeSet) {
+            RangeSet.Bounds bounds = ((RangeSet) element).evaluateBounds(environment);
+            if (bounds == null) {
+                return;
+            }
+            if (bounds.numeric) {
+                builder.addIntegerRange(bounds.start, bounds.end);
+            } else {
+                builder.addRange(bounds.start, bounds.end);
+            }
+            return;
+        }
+
+        Return result = element.Execute(environment);
+
+        if (result == null || result.value == null) {
+            return;
+        }
+
+        if (result.value instanceof Collection<?>) {
+            for (Object value : (Collection<?>) result.value) {
+                builder.add(value);
+            }
+        } else {
+            builder.add(result.value);
+        }
+    }
+
+    @Override
+    public String getSourceKey() {
+        return "UNIVERSO:" + elements;
+    }
+
+    @Override
+    public String toString() {
+        return "DefineUniverse{elements=" + elements.size() + '}';
+    }
+}
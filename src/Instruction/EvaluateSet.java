@@ -6,16 +6,34 @@ package Instruction;
 
 import Abstract.Instruction;
 import Abstract.Expression;
+import Environment.ElementBatch;
 import Environment.Environment;
 import Types.TypeInstrution;
 import Types.Return;
 import Types.Output;
 import Types.OutputError;
+import Expression.FileSet;
 import Expression.ListElements;
+import Expression.Operators;
 import Expression.ReferenceSet;
+import Utils.ResourceLimits;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Set;
+import java.util.Collections;
 
 /**
  * Instrucción para evaluar elementos contra un conjunto resultado
@@ -26,6 +44,21 @@ import java.util.Set;
 public class EvaluateSet extends Instruction {
     private final List<Expression> elements;
     private final String operationName;
+    // Expresión a evaluar directamente (EVALUAR ( {x}, & {A} {B} );); null si se evalúa una operación guardada
+    private final Operators expression;
+    
+    // EVALUAR ( ARCHIVO "ruta", r ) -> "salida" ; elementos leídos de un archivo y archivo de resultado (opcional)
+    private final FileSet probes;
+    private final String outputPath;
+    
+    // Elementos consultados en la última ejecución de la variante con archivo
+    private long evaluatedCount;
+    
+    // Elementos por lote en la variante con archivo (múltiplo de 64: los lotes llenan palabras completas)
+    private static final int BATCH_SIZE = 1 << 16;
+    
+    // Posición de la operación evaluada en el entorno; la asigna el análisis semántico
+    private int targetSlot = -1;
     
     // Variable para controlar si ya se mostro el encabezado de evaluacion
     private static boolean evaluationHeaderShown = false;
@@ -34,38 +67,79 @@ public class EvaluateSet extends Instruction {
         super(TypeInstrution.EVALUACION);
         this.operationName = operationName;
         this.elements = extractElements(elementList);
+        this.expression = null;
+        this.probes = null;
+        this.outputPath = null;
     }
     
     public EvaluateSet(List<Expression> elements, String operationName) {
         super(TypeInstrution.EVALUACION);
         this.elements = elements;
         this.operationName = operationName;
+        this.expression = null;
+        this.probes = null;
+        this.outputPath = null;
+    }
+    
+    /**
+     * Evalúa los elementos directamente contra una expresión de conjuntos,
+     * sin calcular el conjunto resultado
+     */
+    public EvaluateSet(Expression elementList, Expression expression) {
+        super(TypeInstrution.EVALUACION);
+        this.elements = extractElements(elementList);
+        this.expression = expression instanceof Operators ? (Operators) expression : null;
+        this.operationName = expression instanceof ReferenceSet
+                ? ((ReferenceSet) expression).getSetName()
+                : this.expression.getSimplifiedRepresentation();
+        this.probes = null;
+        this.outputPath = null;
+    }
+    
+    /**
+     * Evalúa todos los elementos de un archivo contra una operación guardada.
+     * Muestra solo el resumen; el detalle por elemento va al archivo de salida:
+     * un mapa de bits si termina en .bin, o una línea "elemento<TAB>1|0" por elemento.
+     * 
+     * @param probes Archivo con los elementos a evaluar
+     * @param operationName Operación evaluada
+     * @param outputPath Archivo de resultado, o null para mostrar solo el resumen
+     */
+    public EvaluateSet(FileSet probes, String operationName, String outputPath) {
+        super(TypeInstrution.EVALUACION);
+        this.elements = Collections.emptyList();
+        this.operationName = operationName;
+        this.expression = null;
+        this.probes = probes;
+        this.outputPath = outputPath;
     }
     
     @Override
     public void Execute(Environment environment) {
         try {
-            // Validar que la operación existe
-            if (!isOperationDefined(environment)) {
+            // Las referencias ya fueron validadas y ligadas por el análisis semántico;
+            // solo falta comprobar que la operación evaluada haya producido un resultado
+            if (expression == null && targetSlot >= 0 && environment.getSlotSize(targetSlot) < 0) {
                 showOperationNotFoundError(operationName);
                 return;
             }
             
-            Set<Object> operationResult = environment.getSet(operationName);
-            
-            // Validar que el resultado no sea nulo o vacío
-            if (operationResult == null) {
-                OutputError.addMessage("❌ Error: No se pudo obtener el resultado de la operación '" + operationName + "'.");
+            if (probes != null) {
+                evaluateFromFile(environment);
                 return;
             }
             
-            // Validar que todos los elementos de evaluación sean válidos antes de proceder
-            if (!validateAllElements(environment)) {
-                return; // Los errores específicos ya fueron reportados en validateAllElements
+            // Cada elemento se evalúa una sola vez; si alguno es inválido no se muestra nada
+            List<Object> values = evaluateAllValues(environment);
+            if (values == null) {
+                return; // Los errores específicos ya fueron reportados en evaluateAllValues
             }
             
             displayEvaluationHeader();
-            evaluateAllElements(environment, operationResult);
+            for (Object elementValue : values) {
+                ResourceLimits.getInstance().checkDeadline();
+                Output.Console.add("🔸 " + elementValue + " -> " + determineEvaluationResult(environment, elementValue));
+            }
             displayEvaluationFooter();
             
         } catch (Exception e) {
@@ -73,6 +147,180 @@ public class EvaluateSet extends Instruction {
         }
     }
     
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // EVALUACIÓN DESDE ARCHIVO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    
+    /**
+     * Lee los elementos en lotes y consulta cada lote de una vez en el entorno;
+     * no crea un Return ni una línea de consola por elemento
+     */
+    private void evaluateFromFile(Environment environment) throws IOException {
+        int slot = targetSlot >= 0 ? targetSlot : environment.bindSlot(operationName);
+        
+        try (ResultWriter writer = openWriter()) {
+            BulkEvaluation evaluation = new BulkEvaluation(environment, slot, writer);
+            try {
+                probes.forEachElement(evaluation);
+                evaluation.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            evaluatedCount = evaluation.total;
+            
+            displayEvaluationHeader();
+            Output.Console.add("📄 Archivo: \"" + probes.getPath() + "\" · Elementos: " + evaluation.total);
+            Output.Console.add("✅ Pertenecen: " + evaluation.members);
+            Output.Console.add("❌ No pertenecen: " + (evaluation.total - evaluation.members));
+            if (outputPath != null) {
+                Output.Console.add("💾 Resultado: \"" + outputPath + "\"");
+            }
+            displayEvaluationFooter();
+        } catch (NoSuchFileException e) {
+            throw new IOException("No existe el archivo '" + e.getFile() + "'", e);
+        }
+    }
+    
+    private ResultWriter openWriter() throws IOException {
+        if (outputPath == null) {
+            return null;
+        }
+        Path output = FileSet.resolve(outputPath);
+        return outputPath.endsWith(".bin") ? new BitmapWriter(output) : new HitFileWriter(output);
+    }
+    
+    /**
+     * Acumula los elementos leídos y consulta la pertenencia cada BATCH_SIZE elementos
+     */
+    private final class BulkEvaluation implements FileSet.ElementSink {
+        private final Environment environment;
+        private final int slot;
+        private final ResultWriter writer;
+        private final ElementBatch batch = new ElementBatch(BATCH_SIZE);
+        private final long[] hits = new long[BATCH_SIZE / 64];
+        long total;
+        long members;
+        
+        BulkEvaluation(Environment environment, int slot, ResultWriter writer) {
+            this.environment = environment;
+            this.slot = slot;
+            this.writer = writer;
+        }
+        
+        @Override
+        public void addInt(int value) {
+            batch.addInt(value);
+            if (batch.isFull()) {
+                flush();
+            }
+        }
+        
+        @Override
+        public void addText(String text) {
+            batch.addText(text);
+            if (batch.isFull()) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (batch.size() == 0) {
+                return;
+            }
+            ResourceLimits.getInstance().checkDeadline();
+            int found = environment.slotContainsBatch(slot, batch, hits);
+            if (found < 0) {
+                throw new IllegalStateException("La operación '" + operationName + "' no tiene resultado");
+            }
+            members += found;
+            total += batch.size();
+            if (writer != null) {
+                try {
+                    writer.write(batch, hits);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            batch.clear();
+        }
+    }
+    
+    /**
+     * Destino del resultado de cada lote
+     */
+    private interface ResultWriter extends Closeable {
+        void write(ElementBatch batch, long[] hits) throws IOException;
+    }
+    
+    /**
+     * Mapa de bits: el bit i (palabras de 64 bits little-endian) indica si el elemento i pertenece
+     */
+    private static final class BitmapWriter implements ResultWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_SIZE / 8).order(ByteOrder.LITTLE_ENDIAN);
+        
+        BitmapWriter(Path output) throws IOException {
+            this.channel = FileChannel.open(output, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        }
+        
+        @Override
+        public void write(ElementBatch batch, long[] hits) throws IOException {
+            buffer.clear();
+            buffer.asLongBuffer().put(hits, 0, (batch.size() + 63) >>> 6);
+            buffer.limit(((batch.size() + 63) >>> 6) * 8);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+    
+    /**
+     * Archivo de texto con una línea "elemento<TAB>1" (pertenece) o "elemento<TAB>0" por elemento
+     */
+    private static final class HitFileWriter implements ResultWriter {
+        private final OutputStream out;
+        private final byte[] digits = new byte[11];
+        
+        HitFileWriter(Path output) throws IOException {
+            this.out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16);
+        }
+        
+        @Override
+        public void write(ElementBatch batch, long[] hits) throws IOException {
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.isInt(i)) {
+                    writeInt(batch.getInt(i));
+                } else {
+                    out.write(batch.getText(i).toString().getBytes(StandardCharsets.UTF_8));
+                }
+                out.write('\t');
+                out.write((hits[i >>> 6] & (1L << i)) != 0 ? '1' : '0');
+                out.write('\n');
+            }
+        }
+        
+        // Los enteros leídos del archivo no son negativos
+        private void writeInt(int value) throws IOException {
+            int position = digits.length;
+            do {
+                digits[--position] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            out.write(digits, position, digits.length - position);
+        }
+        
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+    
     private List<Expression> extractElements(Expression elementList) {
         if (elementList instanceof ListElements) {
             return ((ListElements) elementList).getElements();
@@ -83,93 +331,69 @@ public class EvaluateSet extends Instruction {
         }
     }
     
-    private boolean isOperationDefined(Environment environment) {
-        return environment.existSet(operationName);
-    }
-    
     /**
-     * Valida que todos los elementos de evaluación sean válidos
+     * Evalúa todos los elementos una sola vez
      * @param environment El entorno de ejecución
-     * @return true si todos los elementos son válidos, false en caso contrario
+     * @return Valores evaluados, o null si algún elemento es inválido
      */
-    private boolean validateAllElements(Environment environment) {
+    private List<Object> evaluateAllValues(Environment environment) {
+        List<Object> values = new ArrayList<>();
         boolean allValid = true;
         
         for (Expression element : elements) {
-            if (!validateSingleElement(element, environment)) {
+            Return result = evaluateSingleElement(element, environment);
+            if (result == null) {
                 allValid = false;
                 // No retornamos inmediatamente para reportar todos los errores posibles
+            } else {
+                values.add(result.value);
             }
         }
         
-        return allValid;
+        return allValid ? values : null;
     }
     
     /**
-     * Valida un elemento individual
-     * @param element El elemento a validar
+     * Evalúa y valida un elemento individual
+     * @param element El elemento a evaluar
      * @param environment El entorno de ejecución
-     * @return true si el elemento es válido, false en caso contrario
+     * @return Resultado del elemento, o null si no es válido
      */
-    private boolean validateSingleElement(Expression element, Environment environment) {
+    private Return evaluateSingleElement(Expression element, Environment environment) {
         try {
-            // Si es una referencia a conjunto, validar que existe
-            if (element instanceof ReferenceSet) {
-                ReferenceSet refSet = (ReferenceSet) element;
-                String setName = refSet.getSetName();
-                
-                if (!environment.existSet(setName)) {
-                    showSetNotFoundInEvaluationError(setName);
-                    return false;
-                }
-            }
-            
-            // Intentar ejecutar el elemento para validar que se puede evaluar
             Return result = element.Execute(environment);
             if (result == null || result.value == null) {
                 OutputError.addMessage("❌ Error: No se pudo evaluar el elemento: " + element.toString());
-                return false;
+                return null;
             }
             
-            return true;
+            return result;
             
         } catch (Exception e) {
             OutputError.addMessage("❌ Error al validar elemento: " + e.getMessage());
-            return false;
+            return null;
         }
     }
     
     private void displayEvaluationHeader() {
-        if (!evaluationHeaderShown) {
-            Output.Console.add("🔍═══════════ EVALUACIONES DE CONJUNTOS ═══════════🔍");
-            evaluationHeaderShown = true;
-        }
+        showEvaluationHeader();
         
         Output.Console.add("🎯 Evaluar: " + operationName);
         Output.Console.add("─────────────────────────");
     }
     
-    private void evaluateAllElements(Environment environment, Set<Object> operationResult) {
-        for (Expression element : elements) {
-            evaluateSingleElement(element, environment, operationResult);
-        }
-    }
-    
-    private void evaluateSingleElement(Expression element, Environment environment, Set<Object> operationResult) {
-        Return result = element.Execute(environment);
-        
-        if (result == null || result.value == null) {
-            return;
-        }
-        
-        Object elementValue = result.value;
-        String evaluationResult = determineEvaluationResult(environment, operationResult, elementValue);
+    /**
+     * Consulta la pertenencia sin copiar el resultado guardado; para una expresión
+     * recorre el árbol de operadores sin construir el conjunto resultado
+     */
+    private String determineEvaluationResult(Environment environment, Object elementValue) {
+        boolean member = expression != null
+                ? expression.containsElement(environment, elementValue)
+                : targetSlot >= 0
+                    ? environment.slotContains(targetSlot, elementValue)
+                    : environment.setContains(operationName, elementValue);
         
-        Output.Console.add("🔸 " + elementValue + " -> " + evaluationResult);
-    }
-    
-    private String determineEvaluationResult(Environment environment, Set<Object> operationResult, Object elementValue) {
-        if (environment.containsElement(operationResult, elementValue)) {
+        if (member) {
             return "✅ exitoso";
         } else {
             return "❌ fallo";
@@ -187,6 +411,16 @@ public class EvaluateSet extends Instruction {
     }
     
     // Método para verificar si el encabezado ya se mostró 
+    /**
+     * Muestra el encabezado de la sección si todavía no se mostró
+     */
+    public static void showEvaluationHeader() {
+        if (!evaluationHeaderShown) {
+            Output.Console.add("🔍═══════════ EVALUACIONES DE CONJUNTOS ═══════════🔍");
+            evaluationHeaderShown = true;
+        }
+    }
+    
     public static boolean isEvaluationHeaderShown() {
         return evaluationHeaderShown;
     }
@@ -211,6 +445,54 @@ public class EvaluateSet extends Instruction {
         OutputError.addMessage("   Ejemplo: " + setName + " = {1, 2, 3};");
     }
     
+    public String getOperationName() {
+        return operationName;
+    }
+    
+    /**
+     * Expresión evaluada directamente, o null si se evalúa una operación guardada
+     */
+    public Operators getExpression() {
+        return expression;
+    }
+    
+    public List<Expression> getElements() {
+        return elements;
+    }
+    
+    /**
+     * Cantidad de elementos evaluados: los de la lista, o los leídos del archivo en la última ejecución
+     */
+    public long getEvaluatedCount() {
+        return probes != null ? evaluatedCount : elements.size();
+    }
+    
+    /**
+     * Liga la operación evaluada a su posición en el entorno
+     */
+    public void bindTarget(int slot) {
+        this.targetSlot = slot;
+    }
+    
+    @Override
+    public String getSourceKey() {
+        // Si cambia el archivo de elementos o el de resultado (o se borra) se vuelve a ejecutar
+        if (probes != null) {
+            return "EVALUAR:ARCHIVO:" + probes.getPath() + "@" + probes.getStamp() + "," + operationName
+                    + (outputPath != null ? "->" + outputPath + "@" + new FileSet(outputPath).getStamp() : "");
+        }
+        return "EVALUAR:" + elements + "," + (expression != null ? expression : operationName);
+    }
+    
+    @Override
+    public Set<String> getReadSets() {
+        if (expression == null) {
+            return Collections.singleton(operationName);
+        }
+        
+        return expression.getReferencedSets();
+    }
+    
     @Override
     public String toString() {
         return "EvaluateSet{operationName='" + operationName + "', elements=" + elements.size() + '}';
@@ -0,0 +1,80 @@
+package Instruction;
+
+import Abstract.Instruction;
+import Environment.Environment;
+import Expression.FileSet;
+import Types.Output;
+import Types.OutputError;
+import Types.TypeInstrution;
+import Utils.ModuleCache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instrucción para usar los conjuntos definidos en otro archivo
+ * Ejemplo: IMPORTAR "base/alfabetos.ca" ;
+ *
+ * Del módulo solo se ejecutan sus definiciones (CONJ, UNIVERSO e IMPORTAR) y se
+ * agregan al entorno los conjuntos que define; su universo no se importa. Los
+ * módulos se reutilizan desde ModuleCache mientras su contenido no cambie.
+ * La ruta se resuelve desde la carpeta del archivo que importa.
+ *
+ * @author danie
+ */
+public class ImportModule extends Instruction {
+    private final String path;
+    private ModuleCache.Module module;
+
+    public ImportModule(String path) {
+        super(TypeInstrution.IMPORTACION);
+        this.path = path;
+    }
+
+    /**
+     * Carga el módulo (el análisis semántico lo hace antes de ejecutar para conocer sus conjuntos)
+     */
+    public ModuleCache.Module load() throws IOException {
+        if (module == null) {
+            module = ModuleCache.getInstance().load(resolvePath());
+        }
+        return module;
+    }
+
+    @Override
+    public void Execute(Environment environment) {
+        try {
+            Map<String, Set<Object>> sets = load().getSets();
+            for (Map.Entry<String, Set<Object>> set : sets.entrySet()) {
+                environment.saveSet(set.getKey(), set.getValue());
+            }
+
+            DefineSet.showHeader();
+            Output.Console.add("📚 Módulo: \"" + path + "\" ✨ Conjuntos: "
+                    + (sets.isEmpty() ? "ninguno" : String.join(", ", sets.keySet())));
+
+        } catch (IOException e) {
+            OutputError.addMessage("❌ Error al importar el módulo '" + path + "': " + e.getMessage());
+        }
+    }
+
+    public Path resolvePath() {
+        return FileSet.resolve(path);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String getSourceKey() {
+        return "IMPORTAR:" + path;
+    }
+
+    @Override
+    public String toString() {
+        return "ImportModule{path=" + path + '}';
+    }
+}
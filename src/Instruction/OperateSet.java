@@ -3,8 +3,11 @@ package Instruction;
 import Abstract.Instruction;
 import Abstract.Expression;
 import Environment.Environment;
+import Environment.SetFormatter;
 import Types.TypeInstrution;
+import Utils.InstructionProfiler;
 import Utils.OperationsSimplifier;
+import Utils.ResourceLimits;
 import Types.Return;
 import Types.Output;
 import Types.OutputError;
@@ -15,6 +18,8 @@ import Expression.Operators;
 import Expression.ReferenceSet;
 import Expression.Primitive;
 import Types.Type;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -47,11 +52,7 @@ public class OperateSet extends Instruction {
         try {
             environment.setCurrentOperation(operationName);
             
-            // Validar operandos antes de ejecutar la operación
-            if (!validateOperands(environment)) {
-                return; // Los errores específicos ya fueron reportados
-            }
-            
+            // Los operandos ya fueron validados y ligados por el análisis semántico
             Set<Object> operationResult = executeOperation(environment);
             
             if (operationResult == null) {
@@ -62,12 +63,15 @@ public class OperateSet extends Instruction {
             String operacionCompleta = environment.getCompleteOperation(operationName);
             
             if (!operacionCompleta.isEmpty()) {
+                long simplificationStart = System.nanoTime();
                 
                 OperationsSimplifier.simplifyAndAnalyze(
                     operationName, 
                     operacionCompleta, 
                     environment
                 );
+                
+                InstructionProfiler.getInstance().addSimplificationTime(System.nanoTime() - simplificationStart);
             }
             
             environment.saveSet(operationName, operationResult);
@@ -76,7 +80,9 @@ public class OperateSet extends Instruction {
             logOperationSuccess(operationResult);
             
             // Generar diagrama de Venn automaticamente después de la operacion
+            long renderStart = System.nanoTime();
             generateVennDiagramImage(environment, operationResult);
+            InstructionProfiler.getInstance().addRenderTime(System.nanoTime() - renderStart);
             
         } catch (RuntimeException e) {
             // Manejar errores de conjuntos no definidos y otros errores de tiempo de ejecución
@@ -109,50 +115,30 @@ public class OperateSet extends Instruction {
         }
     }
     
-    /**
-     * Valida que todos los operandos (conjuntos referenciados) existan antes de ejecutar la operación
-     * @param environment El entorno de ejecución
-     * @return true si todos los operandos son válidos, false en caso contrario
-     */
-    private boolean validateOperands(Environment environment) {
-        try {
-            Set<String> referencedSets = extractAllReferencedSets(expression);
-            boolean allValid = true;
-            int missingCount = 0;
-            
-            for (String setName : referencedSets) {
-                if (!environment.existSet(setName)) {
-                    showSetNotFoundInOperationError(setName);
-                    allValid = false;
-                    missingCount++;
-                    // No retornamos inmediatamente para reportar todos los conjuntos faltantes
-                }
-            }
-            
-            if (!allValid) {
-                showIncompleteOperationError(operationName, missingCount);
-            }
-            
-            return allValid;
-            
-        } catch (Exception e) {
-            OutputError.addMessage("❌ Error al validar operandos para la operación '" + operationName + "': " + e.getMessage());
-            return false;
-        }
-    }
-    
     private void logOperationSuccess(Set<Object> operationResult) {
-        if (!resultsHeaderShown) {
-            Output.Console.add("⚡═══════════ RESULTADOS DE OPERACIONES ═══════════⚡");
-            resultsHeaderShown = true;
-        }
+        showResultsHeader();
         
         String operationIcon = getOperationIcon();
         Output.Console.add(operationIcon + " Operación '" + operationName + "' ejecutada correctamente.");
         Output.Console.add("🎯 Resultado: " + Environment.formatSet(operationResult));
+        writeFullResult(operationResult);
         Output.Console.add("─────────────────────────────────────");
     }
     
+    /**
+     * Con -Dconj.resultados=carpeta el resultado completo (sin recortar) se escribe en un archivo
+     */
+    private void writeFullResult(Set<Object> operationResult) {
+        try {
+            Path file = SetFormatter.writeResult(operationName, operationResult);
+            if (file != null) {
+                Output.Console.add("💾 Resultado completo: " + file);
+            }
+        } catch (IOException e) {
+            OutputError.addMessage("⚠️ No se pudo escribir el resultado de '" + operationName + "': " + e.getMessage());
+        }
+    }
+    
     /**
      * Obtiene el icono emoji apropiado según el tipo de operación
      * @return String con el emoji correspondiente
@@ -180,6 +166,11 @@ public class OperateSet extends Instruction {
      * @param operationResult Resultado de la operación
      */
     private void generateVennDiagramImage(Environment environment, Set<Object> operationResult) {
+        // Al llegar a conj.limite.diagramas la operación sigue sin diagrama
+        if (!ResourceLimits.getInstance().reserveDiagram()) {
+            return;
+        }
+        
         try {
             // Obtener conjuntos de entrada de la operación
             ListElements setA = getInputSetA(environment);
@@ -187,12 +178,13 @@ public class OperateSet extends Instruction {
             
             String operationType = getOperationType(operationName);
             
-            // Crear datos del diagrama
+            // Crear datos del diagrama (el visor los conserva para el zoom después de
+            // cerrar la arena fuera del heap, así que se copian al heap)
             VennDiagramData diagramData = new VennDiagramData(
                 operationName,
                 operationType,
                 Arrays.asList("A", "B"),
-                operationResult,
+                Environment.toHeap(operationResult),
                 createReferencedSetsMap(environment, setA, setB)
             );
             
@@ -270,38 +262,19 @@ public class OperateSet extends Instruction {
     }
     
     /**
-     * Extrae todos los conjuntos referenciados recursivamente de una expresión
+     * Extrae todos los conjuntos referenciados de una expresión (sin recursión)
      * @param expr Expresión a analizar
      * @return Conjunto de nombres de conjuntos referenciados en orden
      */
     private Set<String> extractAllReferencedSets(Abstract.Expression expr) {
+        if (expr instanceof Operators) {
+            return ((Operators) expr).getReferencedSets();
+        }
         Set<String> referencedSets = new LinkedHashSet<>();
-        extractAllReferencedSetsRecursive(expr, referencedSets);
-        return referencedSets;
-    }
-    
-    /**
-     * Método recursivo para extraer conjuntos referenciados
-     * @param expr Expresión a analizar
-     * @param referencedSets Conjunto donde agregar los nombres encontrados
-     */
-    private void extractAllReferencedSetsRecursive(Abstract.Expression expr, Set<String> referencedSets) {
         if (expr instanceof ReferenceSet) {
-            ReferenceSet refSet = (ReferenceSet) expr;
-            referencedSets.add(refSet.getSetName());
-        } else if (expr instanceof Operators) {
-            Operators op = (Operators) expr;
-            
-            // Procesar operando izquierdo
-            if (op.getLeft() != null) {
-                extractAllReferencedSetsRecursive(op.getLeft(), referencedSets);
-            }
-            
-            // Procesar operando derecho
-            if (op.getRight() != null) {
-                extractAllReferencedSetsRecursive(op.getRight(), referencedSets);
-            }
+            referencedSets.add(((ReferenceSet) expr).getSetName());
         }
+        return referencedSets;
     }
     
     /**
@@ -345,7 +318,7 @@ public class OperateSet extends Instruction {
             
             // Agregar todos los conjuntos encontrados al mapa
             for (String setName : allReferencedSets) {
-                Set<Object> setData = environment.getSet(setName);
+                Set<Object> setData = environment.getHeapSet(setName);
                 if (setData != null) {
                     referencedSets.put(setName, setData);
                 } else {
@@ -404,6 +377,16 @@ public class OperateSet extends Instruction {
     }
     
     // Método para verificar si el encabezado ya se mostro 
+    /**
+     * Muestra el encabezado de la sección si todavía no se mostró
+     */
+    public static void showResultsHeader() {
+        if (!resultsHeaderShown) {
+            Output.Console.add("⚡═══════════ RESULTADOS DE OPERACIONES ═══════════⚡");
+            resultsHeaderShown = true;
+        }
+    }
+    
     public static boolean isResultsHeaderShown() {
         return resultsHeaderShown;
     }
@@ -428,6 +411,29 @@ public class OperateSet extends Instruction {
         OutputError.addMessage("💡 Consejo: Defina todos los conjuntos necesarios antes de crear la operación.");
     }
     
+    public String getOperationName() {
+        return operationName;
+    }
+    
+    public Expression getExpression() {
+        return expression;
+    }
+    
+    @Override
+    public String getSourceKey() {
+        return "OPERA:" + operationName + "->" + expression;
+    }
+    
+    @Override
+    public Set<String> getReadSets() {
+        return extractAllReferencedSets(expression);
+    }
+    
+    @Override
+    public String getWrittenSet() {
+        return operationName;
+    }
+    
     @Override
     public String toString() {
         return "OperateSet{operationName='" + operationName + "', expression=" + expression + '}';
@@ -4,21 +4,44 @@
  */
 package Project;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.CharArrayReader;
 import java.io.IOException;
-import java.io.StringReader;
-import java.util.ArrayList;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashSet;
-import java.util.List;
 import java.util.Set;
 import Analyzer.Lexer;
 import Analyzer.Parser;
+import Analyzer.PositionSymbolFactory;
+import Analyzer.sym;
+import Abstract.Instruction;
 import Environment.Environment;
+import Expression.FileSet;
 import Types.Output;
 import Types.OutputError;
 import Utils.ErrorHandler;
+import Utils.InstructionCache;
+import Utils.InstructionProfiler;
+import Utils.ModuleCache;
+import Utils.ResourceLimits;
+import Utils.SemanticAnalyzer;
+import Utils.SimplificationCache;
 import Utils.OperationsSimplifier;
-import Utils.Token;
+import Utils.TokenBuffer;
+import Utils.TraceEvents;
 import Graphics.ImageDiagramManager;
+import Reports.reports;
 import javax.swing.SwingUtilities;
 import java_cup.runtime.Symbol;
 import Gui.ApplicationUI;
@@ -33,19 +56,186 @@ import javax.swing.JTextPane;
  */
 public class Project {
     
+    // Argumento de línea de comandos que activa el perfilador
+    private static final String PROFILE_OPTION = "--perfil";
+    // Argumento que guarda y reutiliza un snapshot <archivo>.snap por programa
+    private static final String SNAPSHOT_OPTION = "--snapshot";
+    private static boolean useSnapshots;
+    // Entorno de la última ejecución (se libera al empezar la siguiente)
+    private static Environment currentEnvironment;
+    
     /**
      * Método principal - Lanza la interfaz grafica
+     * Si recibe archivos como argumentos los ejecuta en modo streaming sin interfaz
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runBatch(args);
+            return;
+        }
         SwingUtilities.invokeLater(() -> new ApplicationUI().setVisible(true));
     }
+    
+    /**
+     * Ejecuta cada archivo recibido y escribe los resultados en la salida estándar.
+     * Con la opción --perfil se genera además un reporte de perfil por archivo.
+     * Con --snapshot cada programa reutiliza los resultados de su ejecución anterior
+     * guardados en <archivo>.snap y al terminar actualiza el snapshot.
+     */
+    private static void runBatch(String[] args) {
+        Writer salida = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        InstructionProfiler profiler = InstructionProfiler.getInstance();
+        
+        for (String file : args) {
+            if (file.equals(PROFILE_OPTION)) {
+                profiler.setEnabled(true);
+                continue;
+            }
+            if (file.equals(SNAPSHOT_OPTION)) {
+                useSnapshots = true;
+                continue;
+            }
+            
+            try {
+                Environment environment = parseFile(Paths.get(file), salida);
+                // Sin visor, los diagramas se guardan en disco al terminar cada archivo
+                ImageDiagramManager.getInstance().persistAllImages();
+                if (useSnapshots) {
+                    InstructionCache cache = InstructionCache.getInstance();
+                    salida.write("♻️ Instrucciones reutilizadas: " + cache.getHits() + "\n");
+                    salida.write(cache.saveSnapshotFor(Paths.get(file)) + "\n");
+                }
+                if (profiler.isEnabled()) {
+                    String report = reports.createProfileReportHTML(profiler.getEntries(),
+                            Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8));
+                    salida.write("⏱️ Reporte de perfil: " + report + "\n");
+                }
+                salida.write("📈 Operaciones realizadas: " + environment.getOperationCount() + "\n");
+                salida.write("📋 Conjuntos definidos: " + environment.getTotalSets() + "\n");
+                salida.write("✅ Análisis exitoso: " + (isSuccessfulAnalysis() ? "Sí" : "No") + "\n");
+                salida.flush();
+            } catch (Exception e) {
+                System.err.println("💥 Error procesando " + file + ": " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Ejecuta un programa leyéndolo directamente desde un archivo (modo streaming).
+     * Cada instrucción se ejecuta en cuanto el parser la reduce y su salida se escribe
+     * de inmediato, sin acumular tokens ni instrucciones: la memoria usada no depende
+     * del tamaño del programa y la ejecución avanza mientras se sigue leyendo el archivo.
+     * 
+     * @param source Archivo .ca a ejecutar
+     * @param salida Destino de la salida de consola
+     * @return Entorno con los conjuntos resultantes
+     */
+    public static Environment parseFile(Path source, Writer salida) throws Exception {
+        resetData();
+        Environment execute = newEnvironment();
+        Output.ClearOutput();
+        // Las rutas de ARCHIVO "..." se resuelven desde la carpeta del programa
+        FileSet.setBaseDirectory(source.toAbsolutePath().getParent());
+        
+        InstructionCache cache = InstructionCache.getInstance();
+        cache.setDocument(source);
+        if (useSnapshots) {
+            cache.clear();
+            String message = cache.loadSnapshotFor(source);
+            if (message != null) {
+                salida.write(message + "\n");
+            }
+            cache.beginRun();
+        }
+        
+        // Los bytes que no son UTF-8 válido llegan al lexer como U+FFFD y se reportan
+        // como error léxico en vez de abortar la lectura del archivo
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(source), decoder))) {
+            Parser parser = new Parser(new Lexer(reader), new PositionSymbolFactory());
+            SemanticAnalyzer analyzer = new SemanticAnalyzer(execute);
+            parser.ejecutor = instruccion -> executeStreamed(instruccion, analyzer, execute, salida);
+            
+            // En modo streaming el evento de análisis sintáctico incluye la ejecución
+            TraceEvents.ParsingEvent parsing = new TraceEvents.ParsingEvent();
+            parsing.begin();
+            parser.parse();
+            parsing.end();
+            if (useSnapshots) {
+                // Las entradas de instrucciones que ya no están en el programa no se guardan
+                cache.retainUsedEntries();
+            }
+            if (parsing.shouldCommit()) {
+                parsing.streaming = true;
+                parsing.syntaxErrors = ErrorHandler.erroresSintacticos.size();
+                parsing.commit();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // Sin el cierre del cache, los datos de diagramas de ejecuciones anteriores se liberan aquí
+            ImageDiagramManager.getInstance().releaseStaleDiagrams();
+        }
+        
+        SimplificationCache.getInstance().save();
+        
+        // Los errores se escriben al final, igual que en el modo interactivo
+        for (String error : OutputError.OutputError) {
+            salida.write("🔸 " + error + "\n");
+        }
+        if (OutputError.getSuppressedCount() > 0) {
+            salida.write("🔸 ... y " + OutputError.getSuppressedCount() + " aparición(es) más de mensajes omitidos\n");
+        }
+        if (!ErrorHandler.erroresLexicos.isEmpty() || !ErrorHandler.erroresSintacticos.isEmpty()) {
+            salida.write("❌ Errores léxicos: " + ErrorHandler.erroresLexicos.size()
+                    + ", sintácticos: " + ErrorHandler.erroresSintacticos.size()
+                    + (ErrorHandler.getSuppressedErrors() > 0 ? ", omitidos: " + ErrorHandler.getSuppressedErrors() : "") + "\n");
+        }
+        salida.flush();
+        
+        return execute;
+    }
+    
+    /**
+     * Analiza y ejecuta una instrucción entregada por el parser y escribe su salida
+     */
+    private static void executeStreamed(Instruction instruccion, SemanticAnalyzer analyzer, Environment environment, Writer salida) {
+        try {
+            ResourceLimits.getInstance().beginInstruction();
+            if (analyzer.analyze(instruccion)) {
+                InstructionProfiler.getInstance().run(instruccion, environment, () -> {
+                    if (useSnapshots) {
+                        InstructionCache.getInstance().execute(instruccion, environment);
+                    } else {
+                        instruccion.Execute(environment);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            Output.Console.add("🔸 Error en instrucción: " + e.getMessage());
+        }
+        
+        try {
+            for (String linea : Output.Console) {
+                salida.write(linea);
+                salida.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            Output.ClearOutput();
+        }
+    }
 
     /**
      * Procesa el input desde la interfaz grafica
      * Método principal llamado desde la interfaz grafica
      */
-    public static List<Token> parseInput(String input, JTextPane txtConsola) throws IOException {
-        List<Token> tokenList = new ArrayList<>();
+    public static TokenBuffer parseInput(String input, JTextPane txtConsola) throws IOException {
+        char[] source = input.toCharArray();
+        TokenBuffer tokenList = new TokenBuffer(source);
         Set<String> erroresUnicos = new LinkedHashSet<>();
         
         // Validar entrada
@@ -62,42 +252,80 @@ public class Project {
             // ANÁLISIS LÉXICO - Generar tokens
             // ═══════════════════════════════════════════════════════════════════════════════════════════
             
-            Lexer scanner = new Lexer(new StringReader(input));
+            // Los tokens se guardan por columnas; el lexema se recorta del texto fuente al pedirlo
+            Lexer scanner = new Lexer(new CharArrayReader(source));
             Symbol token;
             
+            TraceEvents.LexingEvent lexing = new TraceEvents.LexingEvent();
+            lexing.begin();
+            
             do {
                 token = scanner.next_token();
                 if (token.value != null) {
-                    tokenList.add(new Token(
-                        token.value.toString(), 
-                        token.left, 
-                        token.right, 
-                        Analyzer.sym.terminalNames[token.sym]
-                    ));
+                    int start = token.right - 1;
+                    int end = start + scanner.yylength();
+                    // El lexema de una cadena se reporta sin sus comillas, igual que su valor
+                    if (token.sym == sym.CADENA) {
+                        start++;
+                        end--;
+                    }
+                    tokenList.add(token.sym, start, end, token.left, token.right);
                 }
             } while (token.value != null);
             
+            lexing.end();
+            if (lexing.shouldCommit()) {
+                lexing.tokens = tokenList.size();
+                lexing.characters = source.length;
+                lexing.commit();
+            }
+            
             // ═══════════════════════════════════════════════════════════════════════════════════════════
             // ANÁLISIS SINTÁCTICO
             // ═══════════════════════════════════════════════════════════════════════════════════════════
             
-            Parser parser = new Parser(new Lexer(new StringReader(input)));
+            Parser parser = new Parser(new Lexer(new CharArrayReader(source)), new PositionSymbolFactory());
+            
+            TraceEvents.ParsingEvent parsing = new TraceEvents.ParsingEvent();
+            parsing.begin();
             parser.parse();
+            parsing.end();
+            if (parsing.shouldCommit()) {
+                parsing.instructions = parser.sentencias.size();
+                parsing.syntaxErrors = ErrorHandler.erroresSintacticos.size();
+                parsing.commit();
+            }
             
             // ═══════════════════════════════════════════════════════════════════════════════════════════
             // EJECUCIÓN
             // ═══════════════════════════════════════════════════════════════════════════════════════════
             
-            Environment execute = new Environment("Ejecutar");
+            Environment execute = newEnvironment();
             execute.resetEnvironment();
             Output.ClearOutput();
             
+            // Análisis semántico: se validan y ligan todas las referencias antes de ejecutar
+            SemanticAnalyzer analyzer = new SemanticAnalyzer(execute);
+            analyzer.analyze(parser.sentencias);
+            
             StringBuilder result = new StringBuilder();
             
+            // Las instrucciones cuyo código y conjuntos leídos no cambiaron se reutilizan del cache
+            InstructionCache cache = InstructionCache.getInstance();
+            cache.beginRun();
+            
+            // Con el perfilador activo se mide cada instrucción (ver REPORTES → Perfil)
+            InstructionProfiler profiler = InstructionProfiler.getInstance();
+            
             // Primera pasada: ejecutar instrucciones y recopilar salida
             for (var instruccion : parser.sentencias) {
+                if (!analyzer.isExecutable(instruccion)) {
+                    continue;
+                }
+                
                 try {
-                    instruccion.Execute(execute);
+                    ResourceLimits.getInstance().beginInstruction();
+                    profiler.run(instruccion, execute, () -> cache.execute(instruccion, execute));
                     
                     // Recopilar salida de consola
                     for (String salida : Output.Console) {
@@ -113,6 +341,9 @@ public class Project {
                 }
             }
             
+            cache.endRun();
+            SimplificationCache.getInstance().save();
+            
             // Mostrar resultados en la consola
             txtConsola.setText(txtConsola.getText() + "\n" + result.toString());
             
@@ -137,6 +368,14 @@ public class Project {
                         errores.append("🔸 ").append(error).append("\n");
                     }
                 }
+                if (OutputError.getSuppressedCount() > 0) {
+                    errores.append("🔸 ... y ").append(OutputError.getSuppressedCount()).append(" aparición(es) más de mensajes omitidos\n");
+                }
+                if (ErrorHandler.getSuppressedErrors() > 0) {
+                    errores.append("🔸 Errores léxicos/sintácticos omitidos por el límite de ")
+                           .append(ErrorHandler.getMaxErrors()).append(": ")
+                           .append(ErrorHandler.getSuppressedErrors()).append("\n");
+                }
                 
                 // Mensaje para dirigir al usuario a los reportes
                 errores.append("\n📋 Para ver el análisis detallado de errores:\n");
@@ -159,11 +398,32 @@ public class Project {
         } catch (Exception e) {
             txtConsola.setText("💥 Error durante el análisis: " + e.getMessage());
             e.printStackTrace();
+            // La ejecución no llegó a cerrar el cache: se liberan igual los diagramas anteriores
+            ImageDiagramManager.getInstance().releaseStaleDiagrams();
         }
         
         return tokenList;
     }
     
+    /**
+     * Crea el entorno de una ejecución y libera el de la anterior: la memoria
+     * fuera del heap de cada ejecución vive hasta que empieza la siguiente
+     */
+    private static Environment newEnvironment() {
+        if (currentEnvironment != null) {
+            currentEnvironment.release();
+        }
+        currentEnvironment = new Environment("Ejecutar");
+        return currentEnvironment;
+    }
+    
+    /**
+     * Descarta los resultados reutilizables para forzar una ejecución completa
+     */
+    public static void invalidateCache() {
+        InstructionCache.getInstance().clear();
+    }
+    
     /**
      * Limpia los datos del sistema antes de una nueva ejecución
      */
@@ -171,8 +431,14 @@ public class Project {
         ErrorHandler.ResetError();
         Output.ClearOutput();
         OutputError.ResetErrors();
-        ImageDiagramManager.getInstance().deleteAllGeneratedImages();
+        // Los diagramas de instrucciones reutilizadas se conservan; el resto se elimina al terminar
+        ImageDiagramManager.getInstance().clearGeneratedImages();
         OperationsSimplifier.clearSimplifications();
+        InstructionProfiler.getInstance().reset();
+        // Los límites de tiempo y de diagramas cuentan desde aquí
+        ResourceLimits.getInstance().beginRun();
+        // Los módulos importados se vuelven a hashear una vez por ejecución
+        ModuleCache.getInstance().beginRun();
     }
     
     /**
@@ -187,6 +453,7 @@ public class Project {
         txtConsola.setText(txtConsola.getText() + "📈 Operaciones realizadas: " + environment.getOperationCount() + "\n");
         txtConsola.setText(txtConsola.getText() + "📋 Conjuntos definidos: " + environment.getTotalSets() + "\n");
         txtConsola.setText(txtConsola.getText() + "📊 Diagramas generados: " + imageManager.getGeneratedImagesCount() + "\n");
+        txtConsola.setText(txtConsola.getText() + "♻️ Instrucciones reutilizadas: " + InstructionCache.getInstance().getHits() + "\n");
         txtConsola.setText(txtConsola.getText() + "✅ Análisis exitoso: " + (isSuccessfulAnalysis() ? "Sí" : "No") + "\n");
         txtConsola.setText(txtConsola.getText() + "═══════════════════════════════════════════════════════════════════════════════════════════\n");
         
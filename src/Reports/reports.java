@@ -1,13 +1,19 @@
 package Reports;
 
-import Utils.Token;
+import Utils.InstructionProfiler;
+import Utils.TokenBuffer;
+import Utils.TraceEvents;
 import Utils.ErrorHandler;
 import Utils.LexicalError;
 import Utils.SyntacticalError;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -22,7 +28,7 @@ public class reports {
     /**
      * Genera un reporte HTML de tokens
      */
-    public static String createTokenReportHTML(List<Token> tokens) {
+    public static String createTokenReportHTML(TokenBuffer tokens) {
         try {
             // Crear directorio si no existe
             File htmlDir = new File(HTML_DIR);
@@ -76,14 +82,13 @@ public class reports {
                 html.append("</thead>\n");
                 html.append("<tbody>\n");
                 
-                int contador = 1;
-                for (Token token : tokens) {
+                for (int i = 0; i < tokens.size(); i++) {
                     html.append("<tr>\n");
-                    html.append("<td>").append(contador++).append("</td>\n");
-                    html.append("<td class='lexema'>").append(escapeHtml(token.getValue())).append("</td>\n");
-                    html.append("<td class='tipo'>").append(escapeHtml(token.getType())).append("</td>\n");
-                    html.append("<td>").append(token.getLine()).append("</td>\n");
-                    html.append("<td>").append(token.getColumn()).append("</td>\n");
+                    html.append("<td>").append(i + 1).append("</td>\n");
+                    html.append("<td class='lexema'>").append(escapeHtml(tokens.getLexeme(i))).append("</td>\n");
+                    html.append("<td class='tipo'>").append(escapeHtml(tokens.getType(i))).append("</td>\n");
+                    html.append("<td>").append(tokens.getLine(i)).append("</td>\n");
+                    html.append("<td>").append(tokens.getColumn(i)).append("</td>\n");
                     html.append("</tr>\n");
                 }
                 
@@ -96,9 +101,7 @@ public class reports {
             html.append(getHTMLFooter());
             
             // Escribir archivo
-            try (FileWriter writer = new FileWriter(fileName)) {
-                writer.write(html.toString());
-            }
+            writeReport(fileName, html, "reporte_tokens");
             
             return fileName;
             
@@ -162,6 +165,12 @@ public class reports {
                 html.append("<h3>").append(erroresSintacticos.size()).append("</h3>\n");
                 html.append("<p>Errores Sintácticos</p>\n");
                 html.append("</div>\n");
+                if (ErrorHandler.getSuppressedErrors() > 0) {
+                    html.append("<div class='stat-card error'>\n");
+                    html.append("<h3>").append(ErrorHandler.getSuppressedErrors()).append("</h3>\n");
+                    html.append("<p>Omitidos (límite ").append(ErrorHandler.getMaxErrors()).append(")</p>\n");
+                    html.append("</div>\n");
+                }
                 html.append("</div>\n");
                 
                 // Errores Léxicos
@@ -173,9 +182,11 @@ public class reports {
                     html.append("<thead>\n");
                     html.append("<tr>\n");
                     html.append("<th>#</th>\n");
+                    html.append("<th>Código</th>\n");
                     html.append("<th>Descripción</th>\n");
                     html.append("<th>Línea</th>\n");
                     html.append("<th>Columna</th>\n");
+                    html.append("<th>Longitud</th>\n");
                     html.append("<th>Lexema</th>\n");
                     html.append("</tr>\n");
                     html.append("</thead>\n");
@@ -185,9 +196,11 @@ public class reports {
                     for (LexicalError error : erroresLexicos) {
                         html.append("<tr class='lexical-error'>\n");
                         html.append("<td>").append(contador++).append("</td>\n");
+                        html.append("<td>").append(escapeHtml(error.getCode())).append("</td>\n");
                         html.append("<td class='descripcion'>").append(escapeHtml(error.getDescription())).append("</td>\n");
                         html.append("<td>").append(error.getLine()).append("</td>\n");
                         html.append("<td>").append(error.getColumn()).append("</td>\n");
+                        html.append("<td>").append(error.getLength()).append("</td>\n");
                         html.append("<td class='lexema'>").append(escapeHtml(error.getLexema())).append("</td>\n");
                         html.append("</tr>\n");
                     }
@@ -237,9 +250,7 @@ public class reports {
             html.append(getHTMLFooter());
             
             // Escribir archivo
-            try (FileWriter writer = new FileWriter(fileName)) {
-                writer.write(html.toString());
-            }
+            writeReport(fileName, html, "reporte_errores");
             
             return fileName;
             
@@ -249,6 +260,197 @@ public class reports {
         }
     }
     
+    /**
+     * Genera el reporte HTML de puntos críticos del perfilador: una tabla ordenable
+     * por columna y el código fuente con el costo de cada línea
+     * @param entries Mediciones por instrucción
+     * @param sourceLines Líneas del código fuente (puede ser null)
+     */
+    public static String createProfileReportHTML(List<InstructionProfiler.Entry> entries, List<String> sourceLines) {
+        try {
+            // Crear directorio si no existe
+            File htmlDir = new File(HTML_DIR);
+            if (!htmlDir.exists()) {
+                htmlDir.mkdirs();
+            }
+            
+            // 🗑️ LIMPIAR ARCHIVOS ANTERIORES DE PERFIL
+            limpiarArchivosAnteriores(htmlDir, "reporte_perfil_");
+            
+            // Generar nombre de archivo único
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+            String fileName = HTML_DIR + File.separator + "reporte_perfil_" + timestamp + ".html";
+            
+            StringBuilder html = new StringBuilder();
+            
+            // Encabezado HTML con CSS moderno
+            html.append(getHTMLHeader("Reporte de Perfil"));
+            html.append("<style>\n");
+            html.append("th.sortable { cursor: pointer; }\n");
+            html.append("th.sortable:hover { background-color: #333333; }\n");
+            html.append("td.num { text-align: right; font-family: 'Consolas', 'Courier New', monospace; }\n");
+            html.append("td a, .source a { color: #87ceeb; }\n");
+            html.append(".source { font-family: 'Consolas', 'Courier New', monospace; white-space: pre; }\n");
+            html.append(".source tr:target { outline: 2px solid #ffd93d; }\n");
+            html.append("</style>\n");
+            html.append("<script>\n");
+            html.append("function sortTable(col) {\n");
+            html.append("  var body = document.getElementById('hotspots').tBodies[0];\n");
+            html.append("  var rows = Array.prototype.slice.call(body.rows);\n");
+            html.append("  var desc = body.getAttribute('data-col') != col || body.getAttribute('data-dir') != 'desc';\n");
+            html.append("  rows.sort(function (a, b) {\n");
+            html.append("    var x = a.cells[col].getAttribute('data-v'), y = b.cells[col].getAttribute('data-v');\n");
+            html.append("    var r = (x !== null && y !== null) ? x - y : a.cells[col].textContent.localeCompare(b.cells[col].textContent);\n");
+            html.append("    return desc ? -r : r;\n");
+            html.append("  });\n");
+            html.append("  rows.forEach(function (row) { body.appendChild(row); });\n");
+            html.append("  body.setAttribute('data-col', col);\n");
+            html.append("  body.setAttribute('data-dir', desc ? 'desc' : 'asc');\n");
+            html.append("}\n");
+            html.append("</script>\n");
+            
+            // Contenido del reporte
+            html.append("<div class='container'>\n");
+            html.append("<div class='header'>\n");
+            html.append("<h1>⏱️ Reporte de Perfil</h1>\n");
+            html.append("<p class='timestamp'>Generado el: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("</p>\n");
+            html.append("</div>\n");
+            
+            if (entries.isEmpty()) {
+                html.append("<div class='no-data'>\n");
+                html.append("<p>⚠️ No hay mediciones. Active el perfilador y ejecute el programa.</p>\n");
+                html.append("</div>\n");
+            } else {
+                long totalNanos = 0;
+                long totalBytes = 0;
+                Map<Integer, Long> costByLine = new HashMap<>();
+                for (InstructionProfiler.Entry entry : entries) {
+                    totalNanos += entry.getWallNanos();
+                    totalBytes += entry.getAllocatedBytes();
+                    costByLine.merge(entry.getLine(), entry.getWallNanos(), Long::sum);
+                }
+                
+                // Estadísticas
+                html.append("<div class='stats'>\n");
+                html.append("<div class='stat-card'>\n");
+                html.append("<h3>").append(entries.size()).append("</h3>\n");
+                html.append("<p>Instrucciones</p>\n");
+                html.append("</div>\n");
+                html.append("<div class='stat-card'>\n");
+                html.append("<h3>").append(formatMillis(totalNanos)).append("</h3>\n");
+                html.append("<p>Tiempo total (ms)</p>\n");
+                html.append("</div>\n");
+                html.append("<div class='stat-card'>\n");
+                html.append("<h3>").append(formatKilobytes(totalBytes)).append("</h3>\n");
+                html.append("<p>Memoria reservada (KB)</p>\n");
+                html.append("</div>\n");
+                html.append("</div>\n");
+                
+                // Tabla de puntos críticos (inicialmente ordenada por tiempo)
+                List<InstructionProfiler.Entry> sorted = new ArrayList<>(entries);
+                sorted.sort((a, b) -> Long.compare(b.getWallNanos(), a.getWallNanos()));
+                
+                String[] columns = {"Línea", "Instrucción", "Nombre", "Tiempo (ms)", "% del total", "Memoria (KB)",
+                                    "Elementos entrada", "Elementos salida", "Simplificación (ms)", "Diagrama (ms)"};
+                
+                html.append("<div class='table-container'>\n");
+                html.append("<table id='hotspots' class='tokens-table'>\n");
+                html.append("<thead>\n");
+                html.append("<tr>\n");
+                for (int i = 0; i < columns.length; i++) {
+                    html.append("<th class='sortable' onclick='sortTable(").append(i).append(")'>").append(columns[i]).append("</th>\n");
+                }
+                html.append("</tr>\n");
+                html.append("</thead>\n");
+                html.append("<tbody>\n");
+                
+                for (InstructionProfiler.Entry entry : sorted) {
+                    double percent = totalNanos > 0 ? 100.0 * entry.getWallNanos() / totalNanos : 0;
+                    html.append("<tr>\n");
+                    html.append("<td class='num' data-v='").append(entry.getLine()).append("'><a href='#L").append(entry.getLine()).append("'>").append(entry.getLine()).append("</a></td>\n");
+                    html.append("<td class='tipo'>").append(escapeHtml(entry.getKind())).append("</td>\n");
+                    html.append("<td class='lexema'>").append(escapeHtml(entry.getName())).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getWallNanos()).append("'>").append(formatMillis(entry.getWallNanos())).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getWallNanos()).append("'>").append(String.format("%.1f", percent)).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getAllocatedBytes()).append("'>").append(formatKilobytes(entry.getAllocatedBytes())).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getElementsIn()).append("'>").append(entry.getElementsIn()).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getElementsOut()).append("'>").append(entry.getElementsOut()).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getSimplificationNanos()).append("'>").append(formatMillis(entry.getSimplificationNanos())).append("</td>\n");
+                    html.append("<td class='num' data-v='").append(entry.getRenderNanos()).append("'>").append(formatMillis(entry.getRenderNanos())).append("</td>\n");
+                    html.append("</tr>\n");
+                }
+                
+                html.append("</tbody>\n");
+                html.append("</table>\n");
+                html.append("</div>\n");
+                
+                // Código fuente con el costo de cada línea
+                if (sourceLines != null && !sourceLines.isEmpty()) {
+                    html.append("<div class='error-section'>\n");
+                    html.append("<h2>📄 Código Fuente</h2>\n");
+                    html.append("<div class='table-container'>\n");
+                    html.append("<table class='source'>\n");
+                    html.append("<tbody>\n");
+                    
+                    for (int i = 0; i < sourceLines.size(); i++) {
+                        int line = i + 1;
+                        Long cost = costByLine.get(line);
+                        html.append("<tr id='L").append(line).append("'>");
+                        html.append("<td class='num'><a href='#L").append(line).append("'>").append(line).append("</a></td>");
+                        html.append("<td class='num'>").append(cost != null ? formatMillis(cost) + " ms" : "").append("</td>");
+                        html.append("<td>").append(escapeHtml(sourceLines.get(i))).append("</td>");
+                        html.append("</tr>\n");
+                    }
+                    
+                    html.append("</tbody>\n");
+                    html.append("</table>\n");
+                    html.append("</div>\n");
+                    html.append("</div>\n");
+                }
+            }
+            
+            html.append("</div>\n");
+            html.append(getHTMLFooter());
+            
+            // Escribir archivo
+            writeReport(fileName, html, "reporte_perfil");
+            
+            return fileName;
+            
+        } catch (IOException e) {
+            System.err.println("Error generando reporte de perfil: " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Escribe el HTML del reporte y registra el evento JFR de escritura
+     */
+    private static void writeReport(String fileName, StringBuilder html, String kind) throws IOException {
+        TraceEvents.FileWriteEvent event = new TraceEvents.FileWriteEvent();
+        event.begin();
+        
+        try (FileWriter writer = new FileWriter(fileName, StandardCharsets.UTF_8)) {
+            writer.write(html.toString());
+        }
+        
+        event.end();
+        if (event.shouldCommit()) {
+            event.kind = kind;
+            event.path = fileName;
+            event.bytes = new File(fileName).length();
+            event.commit();
+        }
+    }
+    
+    private static String formatMillis(long nanos) {
+        return String.format("%.3f", nanos / 1_000_000.0);
+    }
+    
+    private static String formatKilobytes(long bytes) {
+        return String.format("%.1f", bytes / 1024.0);
+    }
+    
     /**
      * Genera el encabezado HTML con CSS moderno
      */
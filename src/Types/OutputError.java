@@ -13,11 +13,36 @@ import java.util.Set;
  */
 public class OutputError {
     public static Set<String> OutputError = new LinkedHashSet<>();
+    // Total de mensajes reportados (incluye repetidos)
+    private static int messageCount = 0;
+    // Límite de mensajes distintos guardados (configurable con -Dconj.maxMensajes=N)
+    private static int maxMessages = Integer.getInteger("conj.maxMensajes", 1000);
+    // Mensajes que no se guardaron por superar el límite; cuenta cada aparición
+    // (no se guardan los omitidos, así que no se sabe cuántos son distintos)
+    private static int suppressedCount = 0;
     // Método para limpiar la salida de la consola
     public static void ResetErrors() {
         OutputError.clear();
+        messageCount = 0;
+        suppressedCount = 0;
     }   
     public static void addMessage(String mensaje) {
+        messageCount++;
+        if (OutputError.size() >= maxMessages) {
+            if (!OutputError.contains(mensaje)) {
+                suppressedCount++;
+            }
+            return;
+        }
         OutputError.add(mensaje); 
     }
+    public static int getMessageCount() {
+        return messageCount;
+    }
+    public static int getSuppressedCount() {
+        return suppressedCount;
+    }
+    public static void setMaxMessages(int max) {
+        maxMessages = Math.max(1, max);
+    }
 }
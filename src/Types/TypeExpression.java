@@ -18,4 +18,5 @@ public enum TypeExpression {
     PRIMITIVO,         // 1, 2.5, true, false, C
     OPERACION,          // UNION, INTERSECCION, DIFERENCIA, COMPLEMENTO
     LISTA,             // [a, b, c]
+    ARCHIVO,           // ARCHIVO "ruta"
 }
@@ -11,5 +11,7 @@ package Types;
 public enum TypeInstrution {
     DEFINICION_CONJUNTO,    // CONJ : nombre -> definicion;
     DEFINICION_OPERACION,   // OPERA : nombre -> operacion;
-    EVALUACION             // EVALUAR ( {elementos}, operacion );
+    EVALUACION,            // EVALUAR ( {elementos}, operacion );
+    DEFINICION_UNIVERSO,   // UNIVERSO -> elementos;
+    IMPORTACION            // IMPORTAR "modulo.ca";
 }
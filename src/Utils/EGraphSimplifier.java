@@ -0,0 +1,600 @@
+package Utils;
+
+import Types.TypeLaw;
+
+import java.util.*;
+
+/**
+ * Simplificador por saturación de igualdades (e-graph).
+ *
+ * La expresión prefija ("& U A B A") se carga en un grafo de clases de
+ * equivalencia: cada clase junta los términos que se probaron iguales. Las leyes
+ * de TypeLaw se aplican como reglas de reescritura en todas las clases a la vez,
+ * sin elegir una ley por iteración, hasta que ninguna agrega nada (saturación) o
+ * se agota el presupuesto de nodos (conj.egraph.maxNodos) o de rondas
+ * (conj.egraph.maxRondas). Los presupuestos no dependen del reloj: la misma
+ * expresión da el mismo resultado en cualquier máquina. Al final se extrae de la
+ * clase de la expresión el término con menos símbolos; ante un empate queda el
+ * nodo más antiguo, así una expresión sin nada que simplificar sale igual que entró.
+ *
+ * Cada unión guarda la ley que la justificó, o que los hijos ya eran iguales
+ * (congruencia). Las leyes informadas son las del camino de pruebas entre la
+ * expresión original y el término extraído, no todas las que se aplicaron.
+ *
+ * @author danie
+ */
+final class EGraphSimplifier {
+
+    private static final int MAX_NODES = Integer.getInteger("conj.egraph.maxNodos", 5000);
+    private static final int MAX_ROUNDS = Integer.getInteger("conj.egraph.maxRondas", 30);
+
+    private static final String SYMBOL = "$";
+    private static final String EMPTY = "VACIO";
+    private static final String UNIVERSE = "UNIVERSO";
+
+    private static final List<Rule> RULES = List.of(
+            new Rule(TypeLaw.DOBLE_COMPLEMENTO, "^ ^ ?a", "?a"),
+
+            new Rule(TypeLaw.DE_MORGAN, "^ U ?a ?b", "& ^ ?a ^ ?b"),
+            new Rule(TypeLaw.DE_MORGAN, "& ^ ?a ^ ?b", "^ U ?a ?b"),
+            new Rule(TypeLaw.DE_MORGAN, "^ & ?a ?b", "U ^ ?a ^ ?b"),
+            new Rule(TypeLaw.DE_MORGAN, "U ^ ?a ^ ?b", "^ & ?a ?b"),
+
+            new Rule(TypeLaw.COMPLEMENTO_UNIVERSO, "U ?a ^ ?a", UNIVERSE),
+            new Rule(TypeLaw.COMPLEMENTO_VACIO, "& ?a ^ ?a", EMPTY),
+            new Rule(TypeLaw.DIFERENCIA_PROPIA, "- ?a ?a", EMPTY),
+
+            new Rule(TypeLaw.IDEMPOTENCIA, "U ?a ?a", "?a"),
+            new Rule(TypeLaw.IDEMPOTENCIA, "& ?a ?a", "?a"),
+
+            // Con las formas conmutadas no hace falta esperar rondas de conmutativa
+            new Rule(TypeLaw.ABSORCION, "U ?a & ?a ?b", "?a"),
+            new Rule(TypeLaw.ABSORCION, "& ?a U ?a ?b", "?a"),
+            new Rule(TypeLaw.ABSORCION, "U & ?a ?b ?a", "?a"),
+            new Rule(TypeLaw.ABSORCION, "& U ?a ?b ?a", "?a"),
+            new Rule(TypeLaw.ABSORCION, "U ?a & ?b ?a", "?a"),
+            new Rule(TypeLaw.ABSORCION, "& ?a U ?b ?a", "?a"),
+            new Rule(TypeLaw.ABSORCION, "U & ?b ?a ?a", "?a"),
+            new Rule(TypeLaw.ABSORCION, "& U ?b ?a ?a", "?a"),
+
+            new Rule(TypeLaw.DISTRIBUTIVA, "U ?a & ?b ?c", "& U ?a ?b U ?a ?c"),
+            new Rule(TypeLaw.DISTRIBUTIVA, "& U ?a ?b U ?a ?c", "U ?a & ?b ?c"),
+            new Rule(TypeLaw.DISTRIBUTIVA, "& ?a U ?b ?c", "U & ?a ?b & ?a ?c"),
+            new Rule(TypeLaw.DISTRIBUTIVA, "U & ?a ?b & ?a ?c", "& ?a U ?b ?c"),
+
+            new Rule(TypeLaw.ASOCIATIVA, "U ?a U ?b ?c", "U U ?a ?b ?c"),
+            new Rule(TypeLaw.ASOCIATIVA, "U U ?a ?b ?c", "U ?a U ?b ?c"),
+            new Rule(TypeLaw.ASOCIATIVA, "& ?a & ?b ?c", "& & ?a ?b ?c"),
+            new Rule(TypeLaw.ASOCIATIVA, "& & ?a ?b ?c", "& ?a & ?b ?c"),
+
+            new Rule(TypeLaw.CONMUTATIVA, "U ?a ?b", "U ?b ?a"),
+            new Rule(TypeLaw.CONMUTATIVA, "& ?a ?b", "& ?b ?a")
+    );
+
+    /**
+     * Término extraído y leyes que lo justifican (vacía si la expresión no cambió)
+     */
+    static final class Result {
+        final String expression;
+        final List<TypeLaw> laws;
+        final boolean saturated;
+        final int nodes;
+
+        Result(String expression, List<TypeLaw> laws, boolean saturated, int nodes) {
+            this.expression = expression;
+            this.laws = laws;
+            this.saturated = saturated;
+            this.nodes = nodes;
+        }
+    }
+
+    /**
+     * Simplifica una expresión prefija
+     *
+     * @return El resultado, o null si la expresión no es una expresión prefija válida
+     */
+    static Result simplify(String expression) {
+        EGraphSimplifier graph = new EGraphSimplifier();
+        int root = graph.parse(expression);
+        if (root < 0) {
+            return null;
+        }
+        boolean saturated = graph.saturate();
+        return graph.extract(root, expression, saturated);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // GRAFO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Operador (o constante o conjunto) con los ids de sus hijos al crearlo
+     */
+    private static final class ENode {
+        final String op;
+        final String name;
+        final int[] children;
+
+        ENode(String op, String name, int[] children) {
+            this.op = op;
+            this.name = name;
+            this.children = children;
+        }
+    }
+
+    private final List<ENode> nodes = new ArrayList<>();
+    // Unión-búsqueda de las clases (el tamaño de cada clase se guarda en su representante)
+    private int[] parent = new int[64];
+    private int[] size = new int[64];
+    // Bosque de pruebas: cada unión es una arista con su ley (null = congruencia)
+    private int[] proofParent = new int[64];
+    private TypeLaw[] proofLaw = new TypeLaw[64];
+    // Nodos por clave con los hijos canónicos (congruencia) y con los hijos tal cual
+    private final Map<String, Integer> memo = new HashMap<>();
+    private final Map<String, Integer> exact = new HashMap<>();
+    // Nodos distintos de cada clase en la ronda actual (uno por forma canónica)
+    private final Map<Integer, List<Integer>> distinct = new LinkedHashMap<>();
+
+    private EGraphSimplifier() {
+    }
+
+    private int find(int id) {
+        while (parent[id] != id) {
+            parent[id] = parent[parent[id]];
+            id = parent[id];
+        }
+        return id;
+    }
+
+    private String key(String op, String name, int[] children, boolean canonical) {
+        if (name != null) {
+            return SYMBOL + name;
+        }
+        StringBuilder key = new StringBuilder(op);
+        for (int child : children) {
+            key.append(' ').append(canonical ? find(child) : child);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Agrega un nodo. Cada combinación de hijos crea su propio nodo, para que las
+     * pruebas conserven con qué hijos se construyó; si ya había uno congruente,
+     * quedan en la misma clase.
+     */
+    private int add(String op, String name, int[] children) {
+        String exactKey = key(op, name, children, false);
+        Integer known = exact.get(exactKey);
+        if (known != null) {
+            return known;
+        }
+
+        int id = nodes.size();
+        if (id == parent.length) {
+            parent = Arrays.copyOf(parent, id * 2);
+            size = Arrays.copyOf(size, id * 2);
+            proofParent = Arrays.copyOf(proofParent, id * 2);
+            proofLaw = Arrays.copyOf(proofLaw, id * 2);
+        }
+        nodes.add(new ENode(op, name, children));
+        parent[id] = id;
+        size[id] = 1;
+        proofParent[id] = -1;
+        exact.put(exactKey, id);
+
+        Integer congruent = memo.putIfAbsent(key(op, name, children, true), id);
+        if (congruent != null) {
+            union(id, congruent, null);
+        }
+        return id;
+    }
+
+    /**
+     * Une las clases de dos nodos y registra la arista de prueba entre ellos
+     *
+     * @return false si ya estaban en la misma clase
+     */
+    private boolean union(int a, int b, TypeLaw law) {
+        int classA = find(a);
+        int classB = find(b);
+        if (classA == classB) {
+            return false;
+        }
+
+        // El árbol de pruebas de a se re-enraíza en a para colgarlo de b
+        int previous = -1;
+        TypeLaw previousLaw = null;
+        for (int current = a; current != -1; ) {
+            int next = proofParent[current];
+            TypeLaw nextLaw = proofLaw[current];
+            proofParent[current] = previous;
+            proofLaw[current] = previousLaw;
+            previous = current;
+            previousLaw = nextLaw;
+            current = next;
+        }
+        proofParent[a] = b;
+        proofLaw[a] = law;
+
+        if (size[classA] > size[classB]) {
+            int swap = classA;
+            classA = classB;
+            classB = swap;
+        }
+        parent[classA] = classB;
+        size[classB] += size[classA];
+        return true;
+    }
+
+    /**
+     * Restablece la congruencia: nodos con el mismo operador e hijos en las mismas
+     * clases quedan en la misma clase
+     */
+    private void rebuild() {
+        boolean changed;
+        do {
+            changed = false;
+            memo.clear();
+            for (int id = 0; id < nodes.size(); id++) {
+                ENode node = nodes.get(id);
+                Integer other = memo.putIfAbsent(key(node.op, node.name, node.children, true), id);
+                if (other != null && union(id, other, null)) {
+                    changed = true;
+                }
+            }
+        } while (changed);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // LECTURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Carga la expresión de derecha a izquierda con una pila (las cadenas de
+     * operadores pueden ser muy largas)
+     *
+     * @return Id del nodo raíz, o -1 si la expresión no es válida
+     */
+    private int parse(String expression) {
+        String[] tokens = expression.trim().split("\\s+");
+        Deque<Integer> stack = new ArrayDeque<>();
+        for (int i = tokens.length - 1; i >= 0; i--) {
+            String token = tokens[i];
+            int arity = arity(token);
+            if (token.isEmpty() || stack.size() < arity) {
+                return -1;
+            }
+            if (arity == 0) {
+                stack.push(add(SYMBOL, token, new int[0]));
+            } else {
+                int[] children = new int[arity];
+                for (int c = 0; c < arity; c++) {
+                    children[c] = stack.pop();
+                }
+                stack.push(add(token, null, children));
+            }
+        }
+        return stack.size() == 1 ? stack.pop() : -1;
+    }
+
+    private static int arity(String token) {
+        switch (token) {
+            case "U":
+            case "&":
+            case "-":
+                return 2;
+            case "^":
+                return 1;
+            default:
+                return 0;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // REGLAS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Patrón prefijo de una regla: operador, constante o variable (?a)
+     */
+    private static final class Term {
+        final String op;
+        final String variable;
+        final Term[] children;
+
+        Term(String op, String variable, Term[] children) {
+            this.op = op;
+            this.variable = variable;
+            this.children = children;
+        }
+
+        static Term parse(String pattern) {
+            String[] tokens = pattern.split(" ");
+            Deque<Term> stack = new ArrayDeque<>();
+            for (int i = tokens.length - 1; i >= 0; i--) {
+                String token = tokens[i];
+                if (token.startsWith("?")) {
+                    stack.push(new Term(null, token, new Term[0]));
+                    continue;
+                }
+                Term[] children = new Term[arity(token)];
+                for (int c = 0; c < children.length; c++) {
+                    children[c] = stack.pop();
+                }
+                stack.push(new Term(token, null, children));
+            }
+            return stack.pop();
+        }
+    }
+
+    private static final class Rule {
+        final TypeLaw law;
+        final Term left;
+        final Term right;
+
+        Rule(TypeLaw law, String left, String right) {
+            this.law = law;
+            this.left = Term.parse(left);
+            this.right = Term.parse(right);
+        }
+    }
+
+    /**
+     * Regla encontrada en una clase con los valores de sus variables
+     */
+    private static final class Match {
+        final Rule rule;
+        final int classId;
+        final Map<String, Integer> binding;
+
+        Match(Rule rule, int classId, Map<String, Integer> binding) {
+            this.rule = rule;
+            this.classId = classId;
+            this.binding = binding;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // SATURACIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Aplica las reglas por rondas: en cada una se buscan todas las coincidencias
+     * y después se aplican, así el orden de las reglas no cambia el resultado
+     *
+     * @return true si se saturó antes de agotar el presupuesto
+     */
+    private boolean saturate() {
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            // Se busca en un nodo por forma canónica, no en todas sus copias congruentes
+            distinct.clear();
+            for (int id : memo.values()) {
+                distinct.computeIfAbsent(find(id), k -> new ArrayList<>()).add(id);
+            }
+
+            List<Match> matches = new ArrayList<>();
+            Set<String> seen = new HashSet<>();
+            for (int classId : distinct.keySet()) {
+                for (int r = 0; r < RULES.size(); r++) {
+                    Rule rule = RULES.get(r);
+                    List<Map<String, Integer>> bindings = new ArrayList<>();
+                    match(rule.left, classId, new HashMap<>(), bindings);
+                    for (Map<String, Integer> binding : bindings) {
+                        // Los nodos congruentes de una clase dan la misma coincidencia
+                        if (seen.add(r + ":" + classId + ":" + new TreeMap<>(binding))) {
+                            matches.add(new Match(rule, classId, binding));
+                        }
+                    }
+                }
+            }
+
+            boolean changed = false;
+            for (Match match : matches) {
+                if (nodes.size() >= MAX_NODES) {
+                    rebuild();
+                    return false;
+                }
+                changed |= apply(match);
+            }
+            rebuild();
+            if (!changed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void match(Term pattern, int classId, Map<String, Integer> binding, List<Map<String, Integer>> out) {
+        if (pattern.variable != null) {
+            Integer bound = binding.get(pattern.variable);
+            if (bound == null) {
+                Map<String, Integer> extended = new HashMap<>(binding);
+                extended.put(pattern.variable, classId);
+                out.add(extended);
+            } else if (find(bound) == classId) {
+                out.add(binding);
+            }
+            return;
+        }
+
+        for (int id : distinct.get(classId)) {
+            ENode node = nodes.get(id);
+            if (node.name != null || !node.op.equals(pattern.op)) {
+                continue;
+            }
+            List<Map<String, Integer>> partial = List.of(binding);
+            for (int c = 0; c < pattern.children.length && !partial.isEmpty(); c++) {
+                List<Map<String, Integer>> next = new ArrayList<>();
+                for (Map<String, Integer> candidate : partial) {
+                    match(pattern.children[c], find(node.children[c]), candidate, next);
+                }
+                partial = next;
+            }
+            out.addAll(partial);
+        }
+    }
+
+    /**
+     * Une el lado izquierdo con el derecho. Los dos lados se construyen con las
+     * variables, así la prueba del lado izquierdo llega por congruencia al nodo
+     * que coincidió.
+     */
+    private boolean apply(Match match) {
+        int existing = lookup(match.rule.right, match.binding);
+        if (existing >= 0 && existing == find(match.classId)) {
+            return false;
+        }
+        int left = instantiate(match.rule.left, match.binding);
+        int right = instantiate(match.rule.right, match.binding);
+        return union(left, right, match.rule.law);
+    }
+
+    /**
+     * Clase de un patrón con sus variables, o -1 si todavía no está en el grafo
+     */
+    private int lookup(Term pattern, Map<String, Integer> binding) {
+        if (pattern.variable != null) {
+            return find(binding.get(pattern.variable));
+        }
+        int[] children = new int[pattern.children.length];
+        for (int c = 0; c < children.length; c++) {
+            children[c] = lookup(pattern.children[c], binding);
+            if (children[c] < 0) {
+                return -1;
+            }
+        }
+        Integer id = memo.get(key(pattern.op, null, children, true));
+        return id == null ? -1 : find(id);
+    }
+
+    private int instantiate(Term pattern, Map<String, Integer> binding) {
+        if (pattern.variable != null) {
+            return binding.get(pattern.variable);
+        }
+        int[] children = new int[pattern.children.length];
+        for (int c = 0; c < children.length; c++) {
+            children[c] = instantiate(pattern.children[c], binding);
+        }
+        return add(pattern.op, null, children);
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // EXTRACCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Elige en cada clase el nodo de menor costo (cantidad de símbolos), arma el
+     * término desde la raíz y reúne las leyes que lo justifican
+     */
+    private Result extract(int root, String original, boolean saturated) {
+        Map<Integer, Long> cost = new HashMap<>();
+        Map<Integer, Integer> best = new HashMap<>();
+        boolean changed;
+        do {
+            changed = false;
+            for (int id = 0; id < nodes.size(); id++) {
+                long nodeCost = 1;
+                for (int child : nodes.get(id).children) {
+                    Long childCost = cost.get(find(child));
+                    if (childCost == null) {
+                        nodeCost = -1;
+                        break;
+                    }
+                    nodeCost += childCost;
+                }
+                if (nodeCost < 0) {
+                    continue;
+                }
+                int classId = find(id);
+                Long current = cost.get(classId);
+                if (current == null || nodeCost < current || (nodeCost == current && id < best.get(classId))) {
+                    cost.put(classId, nodeCost);
+                    best.put(classId, id);
+                    changed = true;
+                }
+            }
+        } while (changed);
+
+        // El término y los pares (nodo construido, nodo elegido) que hay que explicar
+        StringJoiner term = new StringJoiner(" ");
+        List<int[]> pairs = new ArrayList<>();
+        int chosenRoot = best.get(find(root));
+        pairs.add(new int[]{root, chosenRoot});
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(chosenRoot);
+        while (!stack.isEmpty()) {
+            ENode node = nodes.get(stack.pop());
+            term.add(node.name != null ? node.name : node.op);
+            for (int c = node.children.length - 1; c >= 0; c--) {
+                int child = node.children[c];
+                int chosen = best.get(find(child));
+                pairs.add(new int[]{child, chosen});
+                stack.push(chosen);
+            }
+        }
+
+        String expression = term.toString();
+        if (expression.equals(String.join(" ", original.trim().split("\\s+")))) {
+            return new Result(expression, List.of(), saturated, nodes.size());
+        }
+        return new Result(expression, explain(pairs), saturated, nodes.size());
+    }
+
+    /**
+     * Leyes de las aristas de prueba entre cada par de nodos; las aristas de
+     * congruencia se explican con las pruebas de sus hijos
+     */
+    private List<TypeLaw> explain(List<int[]> pairs) {
+        Set<TypeLaw> laws = new LinkedHashSet<>();
+        Set<Long> explained = new HashSet<>();
+        Deque<int[]> pending = new ArrayDeque<>();
+        for (int i = pairs.size() - 1; i >= 0; i--) {
+            pending.push(pairs.get(i));
+        }
+
+        while (!pending.isEmpty()) {
+            int[] pair = pending.pop();
+            int a = pair[0];
+            int b = pair[1];
+            if (a == b || !explained.add(((long) a << 32) | b)) {
+                continue;
+            }
+
+            // Camino a -> ancestro común <- b en el bosque de pruebas
+            Set<Integer> fromA = new HashSet<>();
+            for (int x = a; x != -1; x = proofParent[x]) {
+                fromA.add(x);
+            }
+            List<Integer> edges = new ArrayList<>();
+            int common = b;
+            List<Integer> fromB = new ArrayList<>();
+            while (!fromA.contains(common)) {
+                fromB.add(common);
+                common = proofParent[common];
+            }
+            for (int x = a; x != common; x = proofParent[x]) {
+                edges.add(x);
+            }
+            Collections.reverse(fromB);
+            edges.addAll(fromB);
+
+            List<int[]> congruences = new ArrayList<>();
+            for (int x : edges) {
+                TypeLaw law = proofLaw[x];
+                if (law != null) {
+                    laws.add(law);
+                    continue;
+                }
+                ENode node = nodes.get(x);
+                ENode other = nodes.get(proofParent[x]);
+                for (int c = 0; c < node.children.length; c++) {
+                    congruences.add(new int[]{node.children[c], other.children[c]});
+                }
+            }
+            for (int i = congruences.size() - 1; i >= 0; i--) {
+                pending.push(congruences.get(i));
+            }
+        }
+        return new ArrayList<>(laws);
+    }
+}
@@ -8,17 +8,98 @@ public class ErrorHandler {
     public static List<LexicalError> erroresLexicos = new ArrayList<>();
     public static List<SyntacticalError> erroresSintacticos = new ArrayList<>();
     
+    // Límite de errores léxicos guardados (configurable con -Dconj.maxErrores=N); los demás solo se cuentan
+    private static int maxErrors = Integer.getInteger("conj.maxErrores", 200);
+    private static int suppressedErrors = 0;
+    // Total de errores léxicos reportados (incluye omitidos y unidos a uno anterior)
+    private static int lexicalErrorCount = 0;
+    
     public static void AddError(String lexema, String tipo, int linea, int columna, String descripcion) {
         if (!lexema.trim().isEmpty() && !Character.isWhitespace(lexema.charAt(0))) {
-            erroresLexicos.add(new LexicalError(lexema, tipo, linea, columna, descripcion));
+            addLexicalError(CARACTER_NO_RECONOCIDO, lexema, tipo, linea, columna, descripcion);
+        }
+    }
+    
+    /**
+     * Registra una racha de caracteres no reconocidos. Si continúa exactamente donde
+     * terminó el error anterior se une a él, de modo que una entrada binaria o mal
+     * codificada produce pocos errores en lugar de uno por caracter.
+     */
+    public static void AddUnrecognized(String lexema, int linea, int columna) {
+        if (lexema.isBlank()) {
+            return; // Espacios Unicode: se ignoran igual que los espacios comunes
+        }
+        lexicalErrorCount++;
+        
+        LexicalError last = erroresLexicos.isEmpty() ? null : erroresLexicos.get(erroresLexicos.size() - 1);
+        if (last != null && last.getCode().equals(CARACTER_NO_RECONOCIDO) && last.getEndColumn() == columna) {
+            last.extend(lexema, describeUnrecognized(last.getLexema(), last.getLength() + lexema.length()));
+            return;
+        }
+        
+        if (erroresLexicos.size() >= maxErrors) {
+            suppressedErrors++;
+            return;
         }
+        
+        erroresLexicos.add(new LexicalError(CARACTER_NO_RECONOCIDO, lexema, "Léxico", linea, columna,
+                describeUnrecognized(lexema, lexema.length())));
     }
+    
      public static void AddSyntacticalError(String tipo, String descripcion, int linea, int columna) {
+        if (erroresSintacticos.size() >= maxErrors) {
+            suppressedErrors++;
+            return;
+        }
         erroresSintacticos.add(new SyntacticalError(tipo, descripcion, linea, columna));
     }
     
     public static void ResetError() {
         erroresLexicos.clear();
         erroresSintacticos.clear();
+        suppressedErrors = 0;
+        lexicalErrorCount = 0;
+    }
+    
+    /**
+     * Cambia la cantidad máxima de errores guardados de cada tipo
+     */
+    public static void setMaxErrors(int max) {
+        maxErrors = Math.max(1, max);
+    }
+    
+    public static int getMaxErrors() {
+        return maxErrors;
+    }
+    
+    /**
+     * Errores que no se guardaron por superar el límite
+     */
+    public static int getSuppressedErrors() {
+        return suppressedErrors;
+    }
+    
+    /**
+     * Total de errores léxicos reportados, aunque se hayan unido u omitido
+     */
+    public static int getLexicalErrorCount() {
+        return lexicalErrorCount;
+    }
+    
+    private static void addLexicalError(String code, String lexema, String tipo, int linea, int columna, String descripcion) {
+        lexicalErrorCount++;
+        if (erroresLexicos.size() >= maxErrors) {
+            suppressedErrors++;
+            return;
+        }
+        erroresLexicos.add(new LexicalError(code, lexema, tipo, linea, columna, descripcion));
+    }
+    
+    private static String describeUnrecognized(String lexema, int length) {
+        if (length == 1) {
+            return "El caracter \"" + lexema + "\" No Pertenece al Lenguaje";
+        }
+        return "Los caracteres \"" + lexema + (length > lexema.length() ? "…" : "") + "\" (" + length
+                + " caracteres) No Pertenecen al Lenguaje";
     }
 }
@@ -0,0 +1,453 @@
+package Utils;
+
+import Abstract.Instruction;
+import Environment.Environment;
+import Environment.SetCodec;
+import Environment.Universe;
+import Graphics.ImageDiagramManager;
+import Instruction.DefineSet;
+import Instruction.EvaluateSet;
+import Instruction.OperateSet;
+import Types.Output;
+import Types.OutputError;
+import Types.TypeInstrution;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Cache de instrucciones para el re-análisis incremental.
+ *
+ * Cada instrucción se identifica por el contenido de su código fuente junto
+ * con la huella de los conjuntos que lee. Si ninguna de las dos cosas cambió
+ * desde la ejecución anterior, se reutilizan la salida de consola, el conjunto
+ * resultante, la simplificación y los diagramas generados en lugar de volver a
+ * ejecutarla. Solo se guardan instrucciones que terminaron sin errores.
+ *
+ * La huella es de 64 bits y puede coincidir entre contenidos distintos: cada
+ * entrada guarda además el universo y los conjuntos que leyó, y solo se
+ * reutiliza si son iguales a los actuales. El cache pertenece a un documento;
+ * al abrir otro archivo se descarta.
+ *
+ * @author danie
+ */
+public class InstructionCache {
+
+    private static InstructionCache instance;
+
+    public static InstructionCache getInstance() {
+        if (instance == null) {
+            instance = new InstructionCache();
+        }
+        return instance;
+    }
+
+    /**
+     * Resultado guardado de una instrucción ejecutada. Las entradas cargadas de un
+     * snapshot guardan el conjunto codificado y lo decodifican la primera vez que
+     * se reutilizan.
+     */
+    static class CachedResult {
+        final List<String> consoleLines;
+        final String writtenSet;
+        final OperationsSimplifier.SimplificationResult simplification;
+        final List<String> images;
+        final int operations;
+        private Set<Object> writtenElements;
+        private ByteBuffer encodedElements;
+        private Universe universe;
+        private Map<String, Set<Object>> readSets;
+        private ByteBuffer encodedInputs;
+
+        CachedResult(List<String> consoleLines, String writtenSet, Set<Object> writtenElements,
+                     OperationsSimplifier.SimplificationResult simplification, List<String> images, int operations,
+                     Universe universe, Map<String, Set<Object>> readSets) {
+            this.consoleLines = consoleLines;
+            this.writtenSet = writtenSet;
+            this.writtenElements = writtenElements;
+            this.simplification = simplification;
+            this.images = images;
+            this.operations = operations;
+            this.universe = universe;
+            this.readSets = readSets;
+        }
+
+        CachedResult(List<String> consoleLines, String writtenSet, ByteBuffer encodedElements,
+                     OperationsSimplifier.SimplificationResult simplification, List<String> images, int operations,
+                     ByteBuffer encodedInputs) {
+            this(consoleLines, writtenSet, (Set<Object>) null, simplification, images, operations, null, null);
+            this.encodedElements = encodedElements;
+            this.encodedInputs = encodedInputs;
+        }
+
+        /**
+         * Verifica que el universo y los conjuntos leídos sean iguales a los que
+         * tenía la instrucción cuando se guardó (no solo su huella)
+         */
+        boolean matches(Environment environment) {
+            decodeInputs();
+            if (!universe.equals(environment.getUniverse())) {
+                return false;
+            }
+            for (Map.Entry<String, Set<Object>> read : readSets.entrySet()) {
+                if (!environment.hasSameSet(read.getKey(), read.getValue())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        Universe universe() {
+            decodeInputs();
+            return universe;
+        }
+
+        Map<String, Set<Object>> readSets() {
+            decodeInputs();
+            return readSets;
+        }
+
+        /**
+         * Universo y conjuntos leídos todavía codificados tal como se leyeron del snapshot, o null
+         */
+        ByteBuffer encodedInputs() {
+            return encodedInputs == null ? null : encodedInputs.duplicate();
+        }
+
+        private void decodeInputs() {
+            if (encodedInputs != null) {
+                ByteBuffer in = encodedInputs.duplicate();
+                universe = SetCodec.readUniverse(in);
+                Map<String, Set<Object>> decoded = new LinkedHashMap<>();
+                int count = in.getInt();
+                for (int i = 0; i < count; i++) {
+                    byte[] name = new byte[in.getInt()];
+                    in.get(name);
+                    decoded.put(new String(name, StandardCharsets.UTF_8), SetCodec.read(in, universe));
+                }
+                readSets = decoded;
+                encodedInputs = null;
+            }
+        }
+
+        /**
+         * Conjunto escrito por la instrucción (se decodifica una sola vez)
+         */
+        Set<Object> elements(Universe universe) {
+            if (encodedElements != null) {
+                writtenElements = SetCodec.read(encodedElements.duplicate(), universe);
+                encodedElements = null;
+            }
+            return writtenElements;
+        }
+
+        /**
+         * Conjunto todavía codificado tal como se leyó del snapshot, o null
+         */
+        ByteBuffer encodedElements() {
+            return encodedElements == null ? null : encodedElements.duplicate();
+        }
+    }
+
+    private final Map<String, CachedResult> entries;
+    private final Set<String> usedKeys;
+    private Path document;
+    private int hits;
+    private int misses;
+
+    private InstructionCache() {
+        this.entries = new HashMap<>();
+        this.usedKeys = new HashSet<>();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CICLO DE EJECUCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Marca el inicio de una nueva ejecución
+     */
+    public void beginRun() {
+        usedKeys.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Ejecuta una instrucción o reutiliza su resultado si nada de lo que lee cambió
+     */
+    public void execute(Instruction instruction, Environment environment) {
+        // La declaración del universo modifica el entorno directamente y las importaciones
+        // escriben varios conjuntos (ModuleCache ya las reutiliza); siempre se ejecutan
+        if (instruction.getTypeInstrution() == TypeInstrution.DEFINICION_UNIVERSO
+                || instruction.getTypeInstrution() == TypeInstrution.IMPORTACION) {
+            instruction.Execute(environment);
+            return;
+        }
+        
+        String key = buildKey(instruction, environment);
+        CachedResult cached = entries.get(key);
+
+        if (cached != null && cached.matches(environment) && replay(cached, instruction, environment)) {
+            usedKeys.add(key);
+            hits++;
+            return;
+        }
+
+        misses++;
+        ImageDiagramManager imageManager = ImageDiagramManager.getInstance();
+        int consoleBefore = Output.Console.size();
+        int errorsBefore = OutputError.getMessageCount();
+        int lexicalBefore = ErrorHandler.getLexicalErrorCount();
+        int imagesBefore = imageManager.getGeneratedImagesCount();
+        int operationsBefore = environment.getOperationCount();
+        int headersBefore = countShownHeaders();
+
+        instruction.Execute(environment);
+
+        // Las instrucciones con errores se vuelven a ejecutar siempre
+        if (OutputError.getMessageCount() != errorsBefore || ErrorHandler.getLexicalErrorCount() != lexicalBefore) {
+            entries.remove(key);
+            return;
+        }
+
+        String writtenSet = instruction.getWrittenSet();
+        Set<Object> writtenElements = null;
+        OperationsSimplifier.SimplificationResult simplification = null;
+
+        if (writtenSet != null) {
+            if (!environment.existSet(writtenSet)) {
+                return;
+            }
+            // El cache sobrevive a la ejecución: los conjuntos fuera del heap se guardan como copia en el heap
+            writtenElements = environment.getHeapSet(writtenSet);
+            simplification = OperationsSimplifier.getSimplifications().get(writtenSet);
+        }
+
+        // Copia de los conjuntos leídos para verificar la entrada cuando su huella vuelva a coincidir
+        Map<String, Set<Object>> readSets = new LinkedHashMap<>();
+        for (String setName : instruction.getReadSets()) {
+            if (!environment.existSet(setName)) {
+                return;
+            }
+            readSets.put(setName, environment.getHeapSet(setName));
+        }
+
+        List<String> images = imageManager.getGeneratedImages();
+
+        // El encabezado de sección se muestra una sola vez; no forma parte del resultado guardado
+        if (countShownHeaders() != headersBefore && consoleBefore < Output.Console.size()) {
+            consoleBefore++;
+        }
+
+        entries.put(key, new CachedResult(
+            new ArrayList<>(Output.Console.subList(consoleBefore, Output.Console.size())),
+            writtenSet,
+            writtenElements,
+            simplification,
+            new ArrayList<>(images.subList(imagesBefore, images.size())),
+            environment.getOperationCount() - operationsBefore,
+            environment.getUniverse(),
+            readSets
+        ));
+        usedKeys.add(key);
+    }
+
+    /**
+     * Marca el final de la ejecución: descarta entradas que ya no pertenecen
+     * al programa y elimina los diagramas que quedaron huérfanos
+     */
+    public void endRun() {
+        retainUsedEntries();
+        ImageDiagramManager.getInstance().deleteStaleImages();
+    }
+
+    /**
+     * Descarta las entradas que no se usaron en la ejecución actual, sin tocar los diagramas
+     */
+    public void retainUsedEntries() {
+        entries.keySet().retainAll(usedKeys);
+    }
+
+    /**
+     * Indica el archivo del programa que se va a ejecutar. Las entradas de otro
+     * documento no se reutilizan: sus rutas de ARCHIVO se resuelven desde otra
+     * carpeta y sus conjuntos no tienen relación con el nuevo programa.
+     *
+     * @param program Archivo del programa, o null para un texto sin guardar
+     */
+    public void setDocument(Path program) {
+        Path normalized = program == null ? null : program.toAbsolutePath().normalize();
+        if (!Objects.equals(normalized, document)) {
+            clear();
+            document = normalized;
+        }
+    }
+
+    /**
+     * Descarta todo el cache (fuerza una ejecución completa)
+     */
+    public void clear() {
+        entries.clear();
+        usedKeys.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // SNAPSHOTS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Archivo de snapshot de un programa: el mismo nombre con extensión .snap
+     */
+    public static Path snapshotPathFor(Path program) {
+        String name = program.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return program.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".snap");
+    }
+
+    /**
+     * Reemplaza el cache por las entradas de un snapshot (ver WorkspaceSnapshot)
+     *
+     * @return Cantidad de instrucciones cargadas
+     */
+    public int loadSnapshot(Path file) throws IOException {
+        Map<String, CachedResult> loaded = WorkspaceSnapshot.read(file);
+        clear();
+        entries.putAll(loaded);
+        return loaded.size();
+    }
+
+    /**
+     * Guarda las entradas actuales en un snapshot
+     *
+     * @return Cantidad de instrucciones guardadas
+     */
+    public int saveSnapshot(Path file) throws IOException {
+        return WorkspaceSnapshot.write(entries, file);
+    }
+
+    /**
+     * Carga el snapshot de un programa si existe; un snapshot dañado o de otra
+     * versión se ignora y deja el cache vacío
+     *
+     * @return Mensaje para la consola, o null si no hay snapshot
+     */
+    public String loadSnapshotFor(Path program) {
+        Path file = snapshotPathFor(program);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return "💾 Snapshot cargado: " + loadSnapshot(file) + " instrucción(es) desde " + file;
+        } catch (IOException | RuntimeException e) {
+            clear();
+            return "⚠️ Snapshot ignorado (" + file + "): " + e.getMessage();
+        }
+    }
+
+    /**
+     * Guarda el snapshot de un programa junto a su archivo .ca
+     *
+     * @return Mensaje para la consola
+     */
+    public String saveSnapshotFor(Path program) {
+        Path file = snapshotPathFor(program);
+        try {
+            return "💾 Snapshot guardado: " + saveSnapshot(file) + " instrucción(es) en " + file;
+        } catch (IOException e) {
+            return "❌ No se pudo guardar el snapshot (" + file + "): " + e.getMessage();
+        }
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Clave = contenido de la instrucción + huella del universo y de cada conjunto leído
+     */
+    private String buildKey(Instruction instruction, Environment environment) {
+        StringBuilder key = new StringBuilder(instruction.getSourceKey());
+        key.append("|U=").append(environment.getUniverse().getFingerprint());
+
+        for (String setName : instruction.getReadSets()) {
+            key.append('|').append(setName).append('=').append(environment.getSetFingerprint(setName));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Cuenta los encabezados de sección que ya fueron mostrados en consola
+     */
+    private int countShownHeaders() {
+        int shown = 0;
+        if (DefineSet.isHeaderShown()) shown++;
+        if (OperateSet.isResultsHeaderShown()) shown++;
+        if (EvaluateSet.isEvaluationHeaderShown()) shown++;
+        return shown;
+    }
+
+    /**
+     * Muestra el encabezado de la sección de una instrucción si todavía no se mostró
+     */
+    private void showSectionHeader(TypeInstrution type) {
+        switch (type) {
+            case DEFINICION_CONJUNTO:
+                DefineSet.showHeader();
+                break;
+            case DEFINICION_OPERACION:
+                OperateSet.showResultsHeader();
+                break;
+            case EVALUACION:
+                EvaluateSet.showEvaluationHeader();
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reproduce los efectos de una instrucción guardada sobre el entorno actual
+     */
+    private boolean replay(CachedResult cached, Instruction instruction, Environment environment) {
+        ImageDiagramManager imageManager = ImageDiagramManager.getInstance();
+
+        // Si algún diagrama ya no existe (en memoria ni en disco), la instrucción se vuelve a ejecutar
+        for (String image : cached.images) {
+            if (!imageManager.hasImage(image)) {
+                return false;
+            }
+        }
+
+        for (String image : cached.images) {
+            imageManager.registerExistingImage(image);
+        }
+
+        if (cached.writtenSet != null) {
+            environment.saveSet(cached.writtenSet, cached.elements(environment.getUniverse()));
+
+            if (cached.simplification != null) {
+                OperationsSimplifier.restoreSimplification(cached.writtenSet, cached.simplification);
+            }
+        }
+
+        environment.recordOperations(cached.operations);
+        // El encabezado no se guarda con la instrucción: se muestra si es la primera de su sección
+        showSectionHeader(instruction.getTypeInstrution());
+        Output.Console.addAll(cached.consoleLines);
+        return true;
+    }
+}
@@ -0,0 +1,257 @@
+package Utils;
+
+import Abstract.Expression;
+import Abstract.Instruction;
+import Environment.Environment;
+import Expression.Operators;
+import Instruction.DefineSet;
+import Instruction.EvaluateSet;
+import Instruction.OperateSet;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+/**
+ * Perfilador de instrucciones (opcional).
+ *
+ * Cuando está activo mide, para cada instrucción ejecutada, el tiempo total, los
+ * bytes reservados por el hilo (ThreadMXBean), la cantidad de elementos leídos y
+ * producidos, y el tiempo dedicado a la simplificación y al diagrama de Venn.
+ * Desactivado no mide nada: cada punto de medición solo consulta una bandera.
+ * También emite el evento JFR de cada instrucción (ver TraceEvents).
+ *
+ * @author danie
+ */
+public class InstructionProfiler {
+
+    private static InstructionProfiler instance;
+
+    public static InstructionProfiler getInstance() {
+        if (instance == null) {
+            instance = new InstructionProfiler();
+        }
+        return instance;
+    }
+
+    /**
+     * Medición de una instrucción
+     */
+    public static class Entry {
+        private final int line;
+        private final String kind;
+        private final String name;
+        private long wallNanos;
+        private long allocatedBytes;
+        private long elementsIn;
+        private long elementsOut;
+        private long simplificationNanos;
+        private long renderNanos;
+
+        Entry(int line, String kind, String name) {
+            this.line = line;
+            this.kind = kind;
+            this.name = name;
+        }
+
+        public int getLine() { return line; }
+        public String getKind() { return kind; }
+        public String getName() { return name; }
+        public long getWallNanos() { return wallNanos; }
+        public long getAllocatedBytes() { return allocatedBytes; }
+        public long getElementsIn() { return elementsIn; }
+        public long getElementsOut() { return elementsOut; }
+        public long getSimplificationNanos() { return simplificationNanos; }
+        public long getRenderNanos() { return renderNanos; }
+    }
+
+    private final List<Entry> entries;
+    private final ThreadMXBean threads;
+    private final boolean allocationSupported;
+    private boolean enabled;
+
+    // Instrucción que se está midiendo (para sumar simplificación y diagramas)
+    private Entry current;
+
+    private InstructionProfiler() {
+        this.entries = new ArrayList<>();
+        this.threads = ManagementFactory.getThreadMXBean();
+        this.allocationSupported = threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported();
+        if (allocationSupported) {
+            ((com.sun.management.ThreadMXBean) threads).setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONFIGURACIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Descarta las mediciones de la ejecución anterior
+     */
+    public void reset() {
+        entries.clear();
+        current = null;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MEDICIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ejecuta la instrucción midiéndola si el perfilador está activo y emitiendo
+     * el evento JFR correspondiente si hay una grabación que lo registre
+     */
+    public void run(Instruction instruction, Environment environment, Runnable execution) {
+        TraceEvents.InstructionEvent event = new TraceEvents.InstructionEvent();
+        if (!enabled && !event.isEnabled()) {
+            execution.run();
+            return;
+        }
+
+        Entry entry = new Entry(instruction.getLine(), describeKind(instruction), describeName(instruction));
+        entry.elementsIn = countElementsIn(instruction, environment);
+        current = enabled ? entry : null;
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        event.begin();
+        try {
+            execution.run();
+        } finally {
+            event.end();
+            entry.wallNanos = System.nanoTime() - start;
+            entry.allocatedBytes = Math.max(0, allocatedBytes() - allocatedBefore);
+            entry.elementsOut = countElementsOut(instruction, environment);
+            current = null;
+            if (enabled) {
+                entries.add(entry);
+            }
+
+            if (event.shouldCommit()) {
+                event.line = entry.line;
+                event.kind = entry.kind;
+                event.name = entry.name;
+                event.operator = describeOperator(instruction);
+                event.elementsIn = entry.elementsIn;
+                event.elementsOut = entry.elementsOut;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Suma tiempo de simplificación a la instrucción en curso
+     */
+    public void addSimplificationTime(long nanos) {
+        if (current != null) {
+            current.simplificationNanos += nanos;
+        }
+    }
+
+    /**
+     * Suma tiempo de generación de diagramas a la instrucción en curso
+     */
+    public void addRenderTime(long nanos) {
+        if (current != null) {
+            current.renderNanos += nanos;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // RESULTADOS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    public List<Entry> getEntries() {
+        return Collections.unmodifiableList(entries);
+    }
+
+    public boolean isAllocationSupported() {
+        return allocationSupported;
+    }
+
+    /**
+     * Tiempo total por línea del código fuente (para el margen del editor)
+     */
+    public Map<Integer, Long> getCostByLine() {
+        Map<Integer, Long> costs = new HashMap<>();
+        for (Entry entry : entries) {
+            if (entry.line > 0) {
+                costs.merge(entry.line, entry.wallNanos, Long::sum);
+            }
+        }
+        return costs;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private long allocatedBytes() {
+        if (!allocationSupported) {
+            return 0;
+        }
+        return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+
+    private static String describeKind(Instruction instruction) {
+        if (instruction instanceof DefineSet) return "CONJ";
+        if (instruction instanceof OperateSet) return "OPERA";
+        if (instruction instanceof EvaluateSet) return "EVALUAR";
+        return instruction.getTypeInstrution().toString();
+    }
+
+    private static String describeName(Instruction instruction) {
+        if (instruction instanceof DefineSet) return ((DefineSet) instruction).getSetName();
+        if (instruction instanceof OperateSet) return ((OperateSet) instruction).getOperationName();
+        if (instruction instanceof EvaluateSet) return ((EvaluateSet) instruction).getOperationName();
+        return "";
+    }
+
+    /**
+     * Operador principal de la expresión de OPERA o EVALUAR (vacío si no tiene)
+     */
+    private static String describeOperator(Instruction instruction) {
+        Expression expression = null;
+        if (instruction instanceof OperateSet) expression = ((OperateSet) instruction).getExpression();
+        if (instruction instanceof EvaluateSet) expression = ((EvaluateSet) instruction).getExpression();
+        return expression instanceof Operators ? ((Operators) expression).getOperator() : "";
+    }
+
+    /**
+     * Elementos de entrada: cardinalidad de los conjuntos leídos, o cantidad de
+     * expresiones de la lista para CONJ
+     */
+    private static long countElementsIn(Instruction instruction, Environment environment) {
+        if (instruction instanceof DefineSet) {
+            return ((DefineSet) instruction).getElements().size();
+        }
+
+        long total = 0;
+        for (String setName : instruction.getReadSets()) {
+            total += Math.max(0, environment.getSetSize(setName));
+        }
+        return total;
+    }
+
+    /**
+     * Elementos de salida: cardinalidad del conjunto escrito, o elementos evaluados en EVALUAR
+     */
+    private static long countElementsOut(Instruction instruction, Environment environment) {
+        if (instruction instanceof EvaluateSet) {
+            return ((EvaluateSet) instruction).getEvaluatedCount();
+        }
+
+        String written = instruction.getWrittenSet();
+        return written != null ? Math.max(0, environment.getSetSize(written)) : 0;
+    }
+}
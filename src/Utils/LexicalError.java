@@ -1,21 +1,59 @@
 package Utils;
 
 public class LexicalError {
+    // Cantidad máxima de caracteres del lexema que se conservan para mostrar
+    private static final int MAX_LEXEMA_PREVIEW = 32;
+
+    private String code;
     private String lexema;
     private String type;
     private String description;
     private int line;
     private int column;
+    // Caracteres cubiertos por el error (una racha de caracteres inválidos es un solo error)
+    private int length;
 
     public LexicalError(String lexema, String tipo, int linea, int columna, String descripcion) {
-        this.lexema = lexema;
+        this(ErrorHandler.CARACTER_NO_RECONOCIDO, lexema, tipo, linea, columna, descripcion);
+    }
+
+    public LexicalError(String code, String lexema, String tipo, int linea, int columna, String descripcion) {
+        this.code = code;
+        this.lexema = preview(lexema);
         this.type = tipo;
         this.line = linea;
         this.column = columna;
         this.description = descripcion;
+        this.length = lexema.length();
+    }
+
+    /**
+     * Extiende el error con caracteres contiguos; el lexema guardado no crece más allá de la vista previa
+     */
+    void extend(String more, String descripcion) {
+        if (lexema.length() < MAX_LEXEMA_PREVIEW) {
+            lexema = preview(lexema + more);
+        }
+        length += more.length();
+        description = descripcion;
+    }
+
+    /**
+     * Posición (en caracteres) inmediatamente posterior al error
+     */
+    int getEndColumn() {
+        return column + length;
+    }
+
+    private static String preview(String text) {
+        return text.length() <= MAX_LEXEMA_PREVIEW ? text : text.substring(0, MAX_LEXEMA_PREVIEW);
     }
 
     // Getters
+    public String getCode() {
+        return code;
+    }
+
     public String getLexema() { 
         return lexema; 
     }
@@ -36,4 +74,8 @@ public class LexicalError {
         return column; 
     }
 
+    public int getLength() {
+        return length;
+    }
+
 }
@@ -0,0 +1,402 @@
+package Utils;
+
+import Abstract.Instruction;
+import Analyzer.Lexer;
+import Analyzer.Parser;
+import Analyzer.PositionSymbolFactory;
+import Environment.Environment;
+import Environment.SetCodec;
+import Expression.FileSet;
+import Instruction.DefineSet;
+import Instruction.ImportModule;
+import Types.Output;
+import Types.OutputError;
+import Types.TypeInstrution;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.zip.CRC32C;
+
+/**
+ * Cache de módulos importados con IMPORTAR.
+ *
+ * Un módulo se identifica por el hash SHA-256 de su contenido (junto con su
+ * carpeta, desde la que se resuelven sus rutas relativas). La primera vez
+ * se analiza y se ejecutan sus definiciones en un entorno propio; los conjuntos
+ * resultantes se guardan en memoria y en disco (conj.modulos, por defecto la
+ * carpeta modulos_cache, un archivo <hash>.mod codificado con SetCodec). Las
+ * siguientes importaciones del mismo contenido, en esta ejecución o en otra, no
+ * vuelven a leer ni a ejecutar el módulo. También se guardan los archivos de los
+ * que depende (ARCHIVO "..." y módulos importados por el módulo): si alguno
+ * cambió, el módulo se vuelve a ejecutar. Cada archivo de módulo se lee y se
+ * hashea una sola vez por ejecución.
+ *
+ * @author danie
+ */
+public class ModuleCache {
+
+    private static ModuleCache instance;
+
+    public static ModuleCache getInstance() {
+        if (instance == null) {
+            instance = new ModuleCache();
+        }
+        return instance;
+    }
+
+    private static final String DIRECTORY = System.getProperty("conj.modulos", "modulos_cache");
+    private static final byte[] MAGIC = "CONJMODL".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+
+    // Marca de una dependencia que es un módulo: su hash (el resto usa tamaño@fecha)
+    private static final String MODULE_STAMP = "#";
+
+    /**
+     * Conjuntos definidos por un módulo y archivos de los que dependen
+     */
+    public static final class Module {
+        private final Map<String, Set<Object>> sets;
+        private final Map<String, String> dependencies;
+
+        Module(Map<String, Set<Object>> sets, Map<String, String> dependencies) {
+            this.sets = Collections.unmodifiableMap(sets);
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * Conjuntos en el orden en que el módulo los define
+         */
+        public Map<String, Set<Object>> getSets() {
+            return sets;
+        }
+
+        public Set<String> getSetNames() {
+            return sets.keySet();
+        }
+    }
+
+    private final Map<String, Module> modules;
+    // Módulos que se están cargando (para detectar importaciones circulares)
+    private final Deque<Path> loading;
+    // Hash del contenido de cada archivo de módulo leído en esta ejecución
+    private final Map<Path, String> digests;
+
+    private ModuleCache() {
+        this.modules = new HashMap<>();
+        this.loading = new ArrayDeque<>();
+        this.digests = new HashMap<>();
+    }
+
+    /**
+     * Marca el inicio de una ejecución: los archivos de módulo se vuelven a hashear
+     */
+    public void beginRun() {
+        digests.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CARGA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Devuelve los conjuntos de un módulo, desde memoria, desde disco o ejecutándolo
+     *
+     * @throws IOException si el archivo no existe, la importación es circular o el módulo tiene errores
+     */
+    public Module load(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        if (loading.contains(absolute)) {
+            throw new IOException("importación circular de " + absolute.getFileName());
+        }
+
+        // El contenido solo se conserva si esta es la primera lectura del archivo en la ejecución
+        byte[] content = null;
+        String digest = digests.get(absolute);
+        if (digest == null) {
+            content = read(absolute);
+            digest = hash(content);
+            digests.put(absolute, digest);
+        }
+        String hash = hash(absolute.getParent().toString().getBytes(StandardCharsets.UTF_8),
+                digest.getBytes(StandardCharsets.US_ASCII));
+
+        Module module = modules.get(hash);
+        if (module == null || !isCurrent(module)) {
+            module = readCached(hash);
+        }
+        if (module == null) {
+            module = compile(absolute, content != null ? content : read(absolute));
+            writeCached(hash, module);
+        }
+        modules.put(hash, module);
+        return module;
+    }
+
+    private static byte[] read(Path file) throws IOException {
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            throw new IOException("no existe el archivo '" + file + "'", e);
+        }
+    }
+
+    /**
+     * Descarta los módulos guardados en memoria (los de disco se conservan)
+     */
+    public void clear() {
+        modules.clear();
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // EJECUCIÓN DE UN MÓDULO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Ejecuta las definiciones del módulo en un entorno propio. La salida de consola
+     * del módulo se descarta; sus errores se reportan como los del programa.
+     */
+    private Module compile(Path file, byte[] content) throws IOException {
+        Environment environment = new Environment("Módulo");
+        Map<String, String> dependencies = new LinkedHashMap<>();
+
+        int consoleBefore = Output.Console.size();
+        int errorsBefore = OutputError.getMessageCount();
+        int lexicalBefore = ErrorHandler.getLexicalErrorCount();
+        int syntacticBefore = ErrorHandler.erroresSintacticos.size();
+        boolean headerShown = DefineSet.isHeaderShown();
+        Path baseDirectory = FileSet.getBaseDirectory();
+
+        loading.push(file);
+        try {
+            // Las rutas dentro del módulo se resuelven desde su carpeta
+            FileSet.setBaseDirectory(file.getParent());
+            Parser parser = new Parser(new Lexer(new InputStreamReader(
+                    new ByteArrayInputStream(content), StandardCharsets.UTF_8)), new PositionSymbolFactory());
+            parser.parse();
+
+            SemanticAnalyzer analyzer = new SemanticAnalyzer(environment);
+            for (Instruction instruction : parser.sentencias) {
+                if (isDefinition(instruction) && analyzer.analyze(instruction)) {
+                    instruction.Execute(environment);
+                    addDependencies(instruction, dependencies);
+                }
+            }
+
+            if (ErrorHandler.getLexicalErrorCount() != lexicalBefore
+                    || ErrorHandler.erroresSintacticos.size() != syntacticBefore) {
+                throw new IOException("el módulo " + file.getFileName() + " tiene errores léxicos o sintácticos");
+            }
+            if (OutputError.getMessageCount() != errorsBefore) {
+                throw new IOException("el módulo " + file.getFileName() + " tiene errores");
+            }
+
+            Map<String, Set<Object>> sets = new LinkedHashMap<>();
+            for (String setName : environment.getSetNames()) {
+                sets.put(setName, environment.getHeapSet(setName));
+            }
+            return new Module(sets, dependencies);
+
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e.getMessage(), e);
+        } finally {
+            loading.pop();
+            FileSet.setBaseDirectory(baseDirectory);
+            Output.Console.subList(consoleBefore, Output.Console.size()).clear();
+            if (!headerShown) {
+                DefineSet.resetHeaderState();
+            }
+            environment.release();
+        }
+    }
+
+    /**
+     * Un módulo solo aporta definiciones: OPERA y EVALUAR no se ejecutan
+     */
+    private static boolean isDefinition(Instruction instruction) {
+        TypeInstrution type = instruction.getTypeInstrution();
+        return type == TypeInstrution.DEFINICION_CONJUNTO
+                || type == TypeInstrution.DEFINICION_UNIVERSO
+                || type == TypeInstrution.IMPORTACION;
+    }
+
+    private void addDependencies(Instruction instruction, Map<String, String> dependencies) throws IOException {
+        if (instruction instanceof DefineSet) {
+            FileSet file = ((DefineSet) instruction).getSourceFile();
+            if (file != null) {
+                dependencies.put(file.resolvePath().toAbsolutePath().normalize().toString(), file.getStamp());
+            }
+        } else if (instruction instanceof ImportModule) {
+            ImportModule imported = (ImportModule) instruction;
+            Path path = imported.resolvePath().toAbsolutePath().normalize();
+            dependencies.put(path.toString(), stamp(path, true));
+            dependencies.putAll(imported.load().dependencies);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // DEPENDENCIAS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Verifica que ningún archivo del que depende el módulo haya cambiado
+     */
+    private boolean isCurrent(Module module) {
+        for (Map.Entry<String, String> dependency : module.dependencies.entrySet()) {
+            boolean isModule = dependency.getValue().startsWith(MODULE_STAMP);
+            if (!dependency.getValue().equals(stamp(Paths.get(dependency.getKey()), isModule))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Marca actual de un archivo: hash del contenido para módulos (el de esta
+     * ejecución si ya se leyó), tamaño y fecha para datos
+     */
+    private String stamp(Path path, boolean isModule) {
+        try {
+            if (isModule) {
+                Path absolute = path.toAbsolutePath().normalize();
+                String digest = digests.get(absolute);
+                if (digest == null) {
+                    digest = hash(Files.readAllBytes(absolute));
+                    digests.put(absolute, digest);
+                }
+                return MODULE_STAMP + digest;
+            }
+            return Files.size(path) + "@" + Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return "?";
+        }
+    }
+
+    private static String hash(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CACHE EN DISCO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lee un módulo guardado; null si no existe, es de otra versión, está dañado o
+     * alguna de sus dependencias cambió
+     */
+    private Module readCached(String hash) {
+        Path file = Paths.get(DIRECTORY, hash + ".mod");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            CRC32C crc = new CRC32C();
+            crc.update(in.array(), 0, in.limit() - Long.BYTES);
+            if (crc.getValue() != in.getLong(in.limit() - Long.BYTES)) {
+                return null;
+            }
+            in.limit(in.limit() - Long.BYTES);
+
+            byte[] magic = new byte[MAGIC.length];
+            in.get(magic);
+            if (!Arrays.equals(magic, MAGIC) || in.getInt() != VERSION) {
+                return null;
+            }
+
+            Map<String, String> dependencies = new LinkedHashMap<>();
+            for (int i = in.getInt(); i > 0; i--) {
+                dependencies.put(readString(in), readString(in));
+            }
+            Map<String, Set<Object>> sets = new LinkedHashMap<>();
+            for (int i = in.getInt(); i > 0; i--) {
+                sets.put(readString(in), SetCodec.read(in, null));
+            }
+
+            Module module = new Module(sets, dependencies);
+            return isCurrent(module) ? module : null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException
+                 | IndexOutOfBoundsException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Guarda un módulo en disco (si no se puede, solo queda en memoria)
+     */
+    private static void writeCached(String hash, Module module) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.write(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(module.dependencies.size());
+            for (Map.Entry<String, String> dependency : module.dependencies.entrySet()) {
+                writeString(out, dependency.getKey());
+                writeString(out, dependency.getValue());
+            }
+            out.writeInt(module.sets.size());
+            for (Map.Entry<String, Set<Object>> set : module.sets.entrySet()) {
+                writeString(out, set.getKey());
+                SetCodec.write(set.getValue(), out);
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+
+            Path directory = Paths.get(DIRECTORY);
+            Files.createDirectories(directory);
+            Path file = directory.resolve(hash + ".mod");
+            Path temp = Files.createTempFile(directory, hash, ".tmp");
+            try {
+                Files.write(temp, bytes.toByteArray());
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ No se pudo guardar el módulo en " + DIRECTORY + ": " + e.getMessage());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
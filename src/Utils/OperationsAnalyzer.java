@@ -54,28 +54,32 @@ public class OperationsAnalyzer {
     }
     
     /**
-     *  Extrae operandos con la lógica correcta
+     *  Extrae operandos con la lógica correcta, con una pila explícita en vez de
+     *  recursión (las expresiones pueden tener miles de operadores anidados)
      */
     private static List<String> extractValidOperands(String expression) {
         List<String> operands = new ArrayList<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.push(expression);
+        boolean root = true;
         
-        // Extraer operando izquierdo
-        String leftOperand = extractSafeOperand(expression, "left=");
-        if (leftOperand.startsWith("Operators{")) {
-            List<String> nestedOperands = extractValidOperands(leftOperand);
-            operands.addAll(nestedOperands);
-        } else if (!leftOperand.equals("null")) {
-            operands.add(leftOperand);
-        }
-        
-        //  Extraer operando derecho de forma independiente
-        String rightOperand = extractSafeOperand(expression, "right=");
-        if (!rightOperand.equals("null")) {
-            if (rightOperand.startsWith("Operators{")) {
-                List<String> nestedOperands = extractValidOperands(rightOperand);
-                operands.addAll(nestedOperands);
-            } else {
-                operands.add(rightOperand);
+        while (!pending.isEmpty()) {
+            String current = pending.pop();
+            
+            if (!root && !current.startsWith("Operators{")) {
+                operands.add(current);
+                continue;
+            }
+            root = false;
+            
+            // Se apila primero el derecho para procesar antes el izquierdo
+            String rightOperand = extractSafeOperand(current, "right=");
+            if (!rightOperand.equals("null")) {
+                pending.push(rightOperand);
+            }
+            String leftOperand = extractSafeOperand(current, "left=");
+            if (!leftOperand.equals("null")) {
+                pending.push(leftOperand);
             }
         }
         
@@ -29,6 +29,8 @@ public class OperationsSimplifier {
         public String[] laws;
         public String originalSet;
         public String simplifiedSet;
+        // false si el simplificador agotó su presupuesto: el resultado no se guarda entre ejecuciones
+        public boolean complete = true;
         
         public SimplificationResult(String[] laws, String original, String simplified) {
             this.laws = laws;
@@ -41,6 +43,9 @@ public class OperationsSimplifier {
      * Método principal para analizar y simplificar
      */
     public static String simplifyAndAnalyze(String operationName, String originalExpression, Environment environment) {
+        TraceEvents.SimplificationEvent event = new TraceEvents.SimplificationEvent();
+        event.begin();
+        
         try {
             // Verificar si ya existe una simplificación para esta operación
             if (simplifications.containsKey(operationName)) {
@@ -50,12 +55,15 @@ public class OperationsSimplifier {
                 if (originalExpression.length() > existingSimplification.originalSet.length()) {
                     simplifications.remove(operationName);
                 } else {
+                    event.reused = true;
                     return operationName; 
                 }
             }
             
-            //  Aplicar simplificación iterativa
-            SimplificationResult result = applyIterativeSimplification(originalExpression);
+            //  Simplificar con el e-graph (o reutilizarlo si la forma de la expresión ya se vio)
+            SimplificationResult result = SimplificationCache.getInstance()
+                    .simplify(originalExpression, OperationsSimplifier::applySaturation);
+            event.appliedLaws = result.laws.length;
             
             // Guardar result
             simplifications.put(operationName, result);
@@ -68,7 +76,38 @@ public class OperationsSimplifier {
         } catch (Exception e) {
             System.err.println("❌ Error en simplificación: " + e.getMessage());
             return operationName;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operationName;
+                event.expressionLength = originalExpression.length();
+                event.commit();
+            }
+        }
+    }
+    
+    /**
+     * Simplifica por saturación de igualdades (EGraphSimplifier); las leyes son las
+     * que justifican la expresión extraída. Si la expresión no se puede leer como
+     * prefija se usa la simplificación iterativa.
+     */
+    static SimplificationResult applySaturation(String originalExpression) {
+        EGraphSimplifier.Result saturation = EGraphSimplifier.simplify(originalExpression);
+        if (saturation == null) {
+            return applyIterativeSimplification(originalExpression);
+        }
+
+        Set<String> laws = new LinkedHashSet<>();
+        for (TypeLaw law : saturation.laws) {
+            laws.add(getLawName(law));
+        }
+        if (laws.isEmpty()) {
+            laws.add(getLawName(TypeLaw.NO_SIMPLIFICABLE));
         }
+        SimplificationResult result = new SimplificationResult(
+                laws.toArray(new String[0]), originalExpression, saturation.expression);
+        result.complete = saturation.saturated;
+        return result;
     }
     
     /**
@@ -488,16 +527,33 @@ public class OperationsSimplifier {
             }
             
             // Escribir archivo dentro de la carpeta JSON
+            TraceEvents.FileWriteEvent event = new TraceEvents.FileWriteEvent();
+            event.begin();
             try (FileWriter writer = new FileWriter("JSON/simplificaciones.json")) {
                 writer.write(jsonString);
                 writer.flush();
             }
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = "json";
+                event.path = "JSON/simplificaciones.json";
+                event.bytes = jsonString.length();
+                event.commit();
+            }
             
         } catch (IOException e) {
             System.err.println("❌ Error al generar JSON: " + e.getMessage());
         }
     }
     
+    /**
+     * Restaura una simplificación calculada previamente (cache incremental)
+     */
+    public static void restoreSimplification(String operationName, SimplificationResult result) {
+        simplifications.put(operationName, result);
+        createJsonFile();
+    }
+    
     /**
      * Limpia las simplificaciones
      */
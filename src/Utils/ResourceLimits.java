@@ -0,0 +1,214 @@
+package Utils;
+
+import Types.OutputError;
+
+/**
+ * Límites de recursos de una ejecución, para correr programas de terceros (modo
+ * por lotes o servicio) sin que uno solo agote la memoria o deje ocupado al proceso.
+ *
+ * Por instrucción: elementos de un conjunto (conj.limite.elementos), profundidad
+ * de las expresiones (conj.limite.profundidad) y tiempo (conj.limite.instruccionMs).
+ * Por ejecución: diagramas generados (conj.limite.diagramas) y tiempo total
+ * (conj.limite.ejecucionMs). Un valor 0 desactiva el límite.
+ *
+ * El tiempo se controla de forma cooperativa: los ciclos de evaluación llaman a
+ * checkDeadline(). Al superar un límite se lanza LimitExceededException, que cada
+ * instrucción reporta como un error más (y queda en el evento JFR
+ * conjanalyzer.LimitExceeded), en vez de terminar con OutOfMemoryError o colgarse.
+ *
+ * @author danie
+ */
+public class ResourceLimits {
+
+    private static ResourceLimits instance;
+
+    public static ResourceLimits getInstance() {
+        if (instance == null) {
+            instance = new ResourceLimits();
+        }
+        return instance;
+    }
+
+    /**
+     * Límites configurables, con su descripción y la propiedad que los define
+     */
+    public enum Limit {
+        ELEMENTOS("elementos por conjunto", "conj.limite.elementos"),
+        PROFUNDIDAD("profundidad de expresión", "conj.limite.profundidad"),
+        DIAGRAMAS("diagramas por ejecución", "conj.limite.diagramas"),
+        TIEMPO_INSTRUCCION("tiempo por instrucción (ms)", "conj.limite.instruccionMs"),
+        TIEMPO_EJECUCION("tiempo de ejecución (ms)", "conj.limite.ejecucionMs");
+
+        private final String description;
+        private final String property;
+
+        Limit(String description, String property) {
+            this.description = description;
+            this.property = property;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    /**
+     * Error de una instrucción que superó un límite
+     */
+    public static final class LimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final Limit limit;
+        private final long value;
+        private final long maximum;
+
+        LimitExceededException(Limit limit, long value, long maximum) {
+            super("⛔ Límite de " + limit.description + " superado: " + value
+                    + " (máximo " + maximum + ", -D" + limit.property + ")");
+            this.limit = limit;
+            this.value = value;
+            this.maximum = maximum;
+        }
+
+        public Limit getLimit() {
+            return limit;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public long getMaximum() {
+            return maximum;
+        }
+    }
+
+    private final long maxElements = Long.getLong("conj.limite.elementos", 100_000_000L);
+    private final int maxDepth = Integer.getInteger("conj.limite.profundidad", 0);
+    private final int maxDiagrams = Integer.getInteger("conj.limite.diagramas", 1000);
+    private final long instructionMillis = Long.getLong("conj.limite.instruccionMs", 0L);
+    private final long runMillis = Long.getLong("conj.limite.ejecucionMs", 0L);
+
+    // Plazos de la ejecución y de la instrucción actual (los lee también FileSet desde sus hilos)
+    private volatile long runStart;
+    private volatile long instructionStart;
+    private volatile boolean runTimed;
+    private volatile boolean instructionTimed;
+
+    private int diagrams;
+    private boolean diagramLimitReported;
+
+    private ResourceLimits() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // EJECUCIÓN E INSTRUCCIONES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Empieza una ejecución: reinicia el contador de diagramas y el plazo total
+     */
+    public void beginRun() {
+        diagrams = 0;
+        diagramLimitReported = false;
+        runStart = System.nanoTime();
+        runTimed = runMillis > 0;
+        instructionTimed = false;
+    }
+
+    /**
+     * Empieza una instrucción: reinicia su plazo
+     */
+    public void beginInstruction() {
+        instructionStart = System.nanoTime();
+        instructionTimed = instructionMillis > 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // VERIFICACIONES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Corta la instrucción si se venció su plazo o el de la ejecución.
+     * Cuesta una lectura del reloj: en ciclos por elemento conviene llamarla cada
+     * algunos miles de vueltas.
+     */
+    public void checkDeadline() {
+        if (!instructionTimed && !runTimed) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (instructionTimed) {
+            long elapsed = (now - instructionStart) / 1_000_000L;
+            if (elapsed > instructionMillis) {
+                throw exceeded(Limit.TIEMPO_INSTRUCCION, elapsed, instructionMillis);
+            }
+        }
+        if (runTimed) {
+            long elapsed = (now - runStart) / 1_000_000L;
+            if (elapsed > runMillis) {
+                throw exceeded(Limit.TIEMPO_EJECUCION, elapsed, runMillis);
+            }
+        }
+    }
+
+    /**
+     * Verifica la cantidad de elementos de un conjunto (o de uno a punto de crearse)
+     */
+    public void checkElements(long count) {
+        if (maxElements > 0 && count > maxElements) {
+            throw exceeded(Limit.ELEMENTOS, count, maxElements);
+        }
+    }
+
+    /**
+     * Verifica la profundidad de anidamiento de una expresión
+     */
+    public void checkDepth(int depth) {
+        if (maxDepth > 0 && depth > maxDepth) {
+            throw exceeded(Limit.PROFUNDIDAD, depth, maxDepth);
+        }
+    }
+
+    /**
+     * Reserva un diagrama de la ejecución. Al llegar al límite la operación se
+     * ejecuta igual, sin diagrama, y se avisa una sola vez por ejecución.
+     *
+     * @return true si se puede generar el diagrama
+     */
+    public boolean reserveDiagram() {
+        if (maxDiagrams <= 0 || diagrams < maxDiagrams) {
+            diagrams++;
+            return true;
+        }
+        if (!diagramLimitReported) {
+            diagramLimitReported = true;
+            OutputError.addMessage(exceeded(Limit.DIAGRAMAS, diagrams + 1L, maxDiagrams).getMessage()
+                    + "; las operaciones siguientes no generan diagrama.");
+        }
+        return false;
+    }
+
+    public long getMaxElements() {
+        return maxElements;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    private static LimitExceededException exceeded(Limit limit, long value, long maximum) {
+        TraceEvents.LimitEvent event = new TraceEvents.LimitEvent();
+        if (event.shouldCommit()) {
+            event.limit = limit.name();
+            event.value = value;
+            event.maximum = maximum;
+            event.commit();
+        }
+        return new LimitExceededException(limit, value, maximum);
+    }
+}
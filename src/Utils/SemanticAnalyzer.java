@@ -0,0 +1,282 @@
+package Utils;
+
+import Abstract.Expression;
+import Abstract.Instruction;
+import Environment.Environment;
+import Expression.ListElements;
+import Expression.Operators;
+import Expression.ReferenceSet;
+import Instruction.DefineSet;
+import Instruction.EvaluateSet;
+import Instruction.ImportModule;
+import Instruction.OperateSet;
+import Types.OutputError;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Análisis semántico de las referencias a conjuntos.
+ *
+ * Se ejecuta después del análisis sintáctico y antes de la ejecución: recorre
+ * las instrucciones en orden, verifica que cada conjunto referenciado haya sido
+ * definido (con CONJ, OPERA o IMPORTAR) antes de usarse y liga cada referencia a su
+ * posición en el entorno. Todos los errores se reportan de una vez y las
+ * instrucciones con referencias inválidas se marcan para no ejecutarse; así la
+ * ejecución lee los conjuntos por posición, sin buscarlos por nombre ni usar
+ * excepciones para detectar conjuntos faltantes.
+ *
+ * @author danie
+ */
+public class SemanticAnalyzer {
+
+    private final Environment environment;
+
+    // Nombres definidos hasta la instrucción analizada
+    private final Set<String> definedSets;
+
+    // Instrucciones que no se deben ejecutar (comparadas por identidad)
+    private final Set<Instruction> rejected;
+
+    private int errorCount;
+
+    public SemanticAnalyzer(Environment environment) {
+        this.environment = environment;
+        this.definedSets = new HashSet<>();
+        this.rejected = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.errorCount = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ANÁLISIS
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Analiza un programa completo, en el orden en que se ejecutará
+     * @return Cantidad de instrucciones rechazadas
+     */
+    public int analyze(List<Instruction> instructions) {
+        for (Instruction instruction : instructions) {
+            analyze(instruction);
+        }
+        return errorCount;
+    }
+
+    /**
+     * Analiza una instrucción (las anteriores ya deben haber sido analizadas)
+     * @return true si la instrucción puede ejecutarse
+     */
+    public boolean analyze(Instruction instruction) {
+        boolean valid;
+
+        if (instruction instanceof DefineSet) {
+            valid = analyzeDefinition((DefineSet) instruction);
+        } else if (instruction instanceof OperateSet) {
+            valid = analyzeOperation((OperateSet) instruction);
+        } else if (instruction instanceof EvaluateSet) {
+            valid = analyzeEvaluation((EvaluateSet) instruction);
+        } else if (instruction instanceof ImportModule) {
+            valid = analyzeImport((ImportModule) instruction);
+        } else {
+            valid = true;
+        }
+
+        if (!valid) {
+            rejected.add(instruction);
+            errorCount++;
+        }
+        return valid;
+    }
+
+    /**
+     * Indica si la instrucción pasó el análisis
+     */
+    public boolean isExecutable(Instruction instruction) {
+        return !rejected.contains(instruction);
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // REGLAS POR INSTRUCCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * CONJ : A -> ... ; define A
+     */
+    private boolean analyzeDefinition(DefineSet instruction) {
+        List<ReferenceSet> references = new ArrayList<>();
+        for (Expression element : instruction.getElements()) {
+            collectReferences(element, references);
+        }
+
+        Set<String> missing = bindReferences(references);
+        for (String setName : missing) {
+            OutputError.addMessage("❌ Error: El conjunto '" + setName + "' no ha sido definido.");
+            OutputError.addMessage("💡 Consejo: Debe definir el conjunto '" + setName + "' antes de usarlo en operaciones.");
+        }
+        if (!missing.isEmpty()) {
+            return false;
+        }
+
+        define(instruction.getSetName());
+        return true;
+    }
+
+    /**
+     * OPERA : r -> ... ; lee los conjuntos de la expresión y define r
+     */
+    private boolean analyzeOperation(OperateSet instruction) {
+        List<ReferenceSet> references = new ArrayList<>();
+        int depth = collectReferences(instruction.getExpression(), references);
+        if (!checkDepth(instruction.getOperationName(), depth)) {
+            return false;
+        }
+
+        Set<String> missing = bindReferences(references);
+        for (String setName : missing) {
+            OperateSet.showSetNotFoundInOperationError(setName);
+        }
+        if (!missing.isEmpty()) {
+            OperateSet.showIncompleteOperationError(instruction.getOperationName(), missing.size());
+            return false;
+        }
+
+        define(instruction.getOperationName());
+        return true;
+    }
+
+    /**
+     * EVALUAR ( {...}, r ) ; o EVALUAR ( {...}, expresión ) ; solo lee conjuntos
+     */
+    private boolean analyzeEvaluation(EvaluateSet instruction) {
+        List<ReferenceSet> references = new ArrayList<>();
+        int depth = collectReferences(instruction.getExpression(), references);
+        if (!checkDepth("EVALUAR", depth)) {
+            return false;
+        }
+        for (Expression element : instruction.getElements()) {
+            collectReferences(element, references);
+        }
+
+        boolean valid = true;
+
+        if (instruction.getExpression() == null) {
+            String target = instruction.getOperationName();
+            if (definedSets.contains(target)) {
+                instruction.bindTarget(environment.bindSlot(target));
+            } else {
+                EvaluateSet.showOperationNotFoundError(target);
+                valid = false;
+            }
+        }
+
+        for (String setName : bindReferences(references)) {
+            EvaluateSet.showSetNotFoundInEvaluationError(setName);
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    /**
+     * IMPORTAR "m.ca" ; carga el módulo y define cada uno de sus conjuntos
+     */
+    private boolean analyzeImport(ImportModule instruction) {
+        try {
+            for (String setName : instruction.load().getSetNames()) {
+                define(setName);
+            }
+            return true;
+        } catch (IOException e) {
+            OutputError.addMessage("❌ Error al importar el módulo '" + instruction.getPath() + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private void define(String setName) {
+        definedSets.add(setName);
+        environment.bindSlot(setName);
+    }
+
+    /**
+     * Liga las referencias a conjuntos ya definidos
+     * @return Nombres no definidos, sin repetir y en orden de aparición
+     */
+    private Set<String> bindReferences(List<ReferenceSet> references) {
+        Set<String> missing = new LinkedHashSet<>();
+
+        for (ReferenceSet reference : references) {
+            String setName = reference.getSetName();
+            if (definedSets.contains(setName)) {
+                reference.bind(environment.bindSlot(setName));
+            } else {
+                missing.add(setName);
+            }
+        }
+
+        return missing;
+    }
+
+    /**
+     * Verifica la profundidad de la expresión antes de ejecutarla (conj.limite.profundidad)
+     */
+    private static boolean checkDepth(String name, int depth) {
+        try {
+            ResourceLimits.getInstance().checkDepth(depth);
+            return true;
+        } catch (ResourceLimits.LimitExceededException e) {
+            OutputError.addMessage("❌ Error en '" + name + "': " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Recorre una expresión sin recursión (las cadenas de operadores pueden ser muy largas)
+     * @return Profundidad de operadores anidados (0 si no hay operadores)
+     */
+    private static int collectReferences(Expression root, List<ReferenceSet> references) {
+        if (root == null) {
+            return 0;
+        }
+
+        Deque<Expression> pending = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        pending.push(root);
+        depths.push(0);
+        int maxDepth = 0;
+
+        while (!pending.isEmpty()) {
+            Expression current = pending.pop();
+            int depth = depths.pop();
+
+            if (current instanceof ReferenceSet) {
+                references.add((ReferenceSet) current);
+            } else if (current instanceof Operators) {
+                Operators op = (Operators) current;
+                maxDepth = Math.max(maxDepth, depth + 1);
+                if (op.getRight() != null) {
+                    pending.push(op.getRight());
+                    depths.push(depth + 1);
+                }
+                if (op.getLeft() != null) {
+                    pending.push(op.getLeft());
+                    depths.push(depth + 1);
+                }
+            } else if (current instanceof ListElements) {
+                List<Expression> elements = ((ListElements) current).getElements();
+                for (int i = elements.size() - 1; i >= 0; i--) {
+                    pending.push(elements.get(i));
+                    depths.push(depth);
+                }
+            }
+        }
+        return maxDepth;
+    }
+}
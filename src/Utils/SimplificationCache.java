@@ -0,0 +1,255 @@
+package Utils;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cache de simplificaciones por forma de la expresión, compartido entre ejecuciones.
+ *
+ * La clave es la expresión con los conjuntos renombrados en orden de aparición:
+ * "^ ^ X" y "^ ^ B" tienen la misma forma "^ ^ A". Los nombres de una letra
+ * mayúscula se renombran a otra letra y el resto a c0, c1, ..., porque el
+ * simplificador los trata distinto. La simplificación se calcula sobre la forma
+ * y se traduce de vuelta a los nombres de cada operación, así una forma ya vista
+ * se resuelve con una búsqueda en un mapa. Solo se guardan las simplificaciones
+ * completas (el e-graph se saturó antes de agotar su presupuesto), como máximo
+ * conj.maxSimplificaciones formas (se descartan las menos usadas) en
+ * JSON/cache_simplificaciones.json.
+ *
+ * @author danie
+ */
+public class SimplificationCache {
+
+    private static SimplificationCache instance;
+
+    public static SimplificationCache getInstance() {
+        if (instance == null) {
+            instance = new SimplificationCache(DEFAULT_FILE);
+        }
+        return instance;
+    }
+
+    private static final Path DEFAULT_FILE = Paths.get("JSON", "cache_simplificaciones.json");
+    // Cambia si cambian las leyes del simplificador: las formas guardadas dejan de valer
+    private static final int VERSION = 3;
+    private static final int MAX_ENTRIES = Integer.getInteger("conj.maxSimplificaciones", 10000);
+
+    // Letras para los nombres de una letra (sin U, que es el operador de unión)
+    private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTVWXYZ";
+    private static final Pattern SINGLE_LETTER = Pattern.compile("[A-Z]");
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_]+");
+    private static final Set<String> OPERATORS = Set.of("U", "&", "-", "^");
+
+    /**
+     * Simplificación guardada de una forma (también es el formato del archivo)
+     */
+    private static final class Entry {
+        String forma;
+        String simplificada;
+        String[] leyes;
+
+        Entry(String forma, String simplificada, String[] leyes) {
+            this.forma = forma;
+            this.simplificada = simplificada;
+            this.leyes = leyes;
+        }
+    }
+
+    private static final class CacheFile {
+        int version;
+        List<Entry> entradas;
+    }
+
+    private final Path file;
+    private final LinkedHashMap<String, Entry> entries;
+    private boolean loaded;
+    private boolean dirty;
+
+    /**
+     * @param file Archivo JSON donde se guardan las formas
+     */
+    SimplificationCache(Path file) {
+        this.file = file;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Simplificación de una expresión: se busca su forma y, si no está, se calcula
+     * con simplifier sobre la forma y se guarda
+     */
+    public OperationsSimplifier.SimplificationResult simplify(String expression,
+            Function<String, OperationsSimplifier.SimplificationResult> simplifier) {
+        Shape shape = Shape.of(expression);
+        if (shape == null) {
+            return simplifier.apply(expression);
+        }
+        load();
+
+        Entry entry = entries.get(shape.key);
+        if (entry == null) {
+            OperationsSimplifier.SimplificationResult result = simplifier.apply(shape.key);
+            entry = new Entry(shape.key, result.simplifiedSet, result.laws);
+            // Un resultado que no llegó a saturarse puede mejorar con otro presupuesto: no se guarda
+            if (result.complete) {
+                entries.put(shape.key, entry);
+                dirty = true;
+            }
+        }
+        return new OperationsSimplifier.SimplificationResult(
+                entry.leyes.clone(), expression, shape.restore(entry.simplificada));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ARCHIVO
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Guarda las formas en disco si cambiaron desde la última vez
+     */
+    public void save() {
+        if (!dirty) {
+            return;
+        }
+        CacheFile content = new CacheFile();
+        content.version = VERSION;
+        content.entradas = new ArrayList<>(entries.values());
+
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "cache_simplificaciones", ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    new GsonBuilder().disableHtmlEscaping().create().toJson(content, writer);
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            dirty = false;
+        } catch (IOException e) {
+            System.err.println("❌ Error al guardar el cache de simplificaciones: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lee las formas guardadas la primera vez que se usan; un archivo de otra
+     * versión o dañado se ignora
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CacheFile content = new Gson().fromJson(reader, CacheFile.class);
+            if (content == null || content.version != VERSION || content.entradas == null) {
+                return;
+            }
+            // Se guardaron de la menos a la más usada: al insertarlas se conserva ese orden
+            for (Entry entry : content.entradas) {
+                if (entry != null && entry.forma != null && entry.simplificada != null && entry.leyes != null) {
+                    entries.put(entry.forma, entry);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("❌ Cache de simplificaciones ignorado: " + e.getMessage());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // FORMA DE UNA EXPRESIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Expresión con los conjuntos renombrados y el camino de vuelta a los nombres originales
+     */
+    private static final class Shape {
+        final String key;
+        private final Map<String, String> originalNames;
+
+        private Shape(String key, Map<String, String> originalNames) {
+            this.key = key;
+            this.originalNames = originalNames;
+        }
+
+        /**
+         * Forma de una expresión prefija ("& U A B A"), o null si tiene algo que no
+         * sea un operador o un nombre de conjunto
+         */
+        static Shape of(String expression) {
+            Map<String, String> canonicalNames = new HashMap<>();
+            Map<String, String> originalNames = new HashMap<>();
+            StringJoiner key = new StringJoiner(" ");
+            int letters = 0;
+            int others = 0;
+
+            for (String token : expression.trim().split("\\s+")) {
+                if (OPERATORS.contains(token)) {
+                    key.add(token);
+                    continue;
+                }
+                if (!NAME.matcher(token).matches()) {
+                    return null;
+                }
+                String canonical = canonicalNames.get(token);
+                if (canonical == null) {
+                    if (SINGLE_LETTER.matcher(token).matches()) {
+                        canonical = String.valueOf(LETTERS.charAt(letters++));
+                    } else {
+                        canonical = "c" + others++;
+                    }
+                    canonicalNames.put(token, canonical);
+                    originalNames.put(canonical, token);
+                }
+                key.add(canonical);
+            }
+            return new Shape(key.toString(), originalNames);
+        }
+
+        /**
+         * Traduce una expresión sobre la forma a los nombres originales
+         */
+        String restore(String canonicalExpression) {
+            Matcher matcher = NAME.matcher(canonicalExpression);
+            StringBuilder restored = new StringBuilder();
+            while (matcher.find()) {
+                String name = originalNames.getOrDefault(matcher.group(), matcher.group());
+                matcher.appendReplacement(restored, Matcher.quoteReplacement(name));
+            }
+            matcher.appendTail(restored);
+            return restored.toString();
+        }
+    }
+}
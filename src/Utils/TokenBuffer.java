@@ -0,0 +1,155 @@
+package Utils;
+
+import Analyzer.sym;
+import java.util.Arrays;
+
+/**
+ * Almacén columnar de tokens.
+ *
+ * En lugar de un objeto Token por lexema guarda cada campo en su propio arreglo
+ * de enteros (símbolo, inicio, fin, línea y columna) y referencia el texto fuente
+ * original. El lexema y el nombre del tipo se obtienen solo cuando se piden, de
+ * modo que millones de tokens ocupan unos pocos arreglos contiguos.
+ *
+ * @author danie
+ */
+public class TokenBuffer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    private char[] source;
+    private int[] symbols;
+    private int[] starts;
+    private int[] ends;
+    private int[] lines;
+    private int[] columns;
+    private int size;
+
+    public TokenBuffer() {
+        this(new char[0]);
+    }
+
+    /**
+     * @param source Texto analizado; los tokens guardan posiciones dentro de él
+     */
+    public TokenBuffer(char[] source) {
+        this.source = source;
+        this.symbols = new int[INITIAL_CAPACITY];
+        this.starts = new int[INITIAL_CAPACITY];
+        this.ends = new int[INITIAL_CAPACITY];
+        this.lines = new int[INITIAL_CAPACITY];
+        this.columns = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSTRUCCIÓN
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Agrega un token
+     * @param symbol Id del símbolo (Analyzer.sym)
+     * @param start Posición inicial del lexema en el texto fuente
+     * @param end Posición final (exclusiva) del lexema en el texto fuente
+     * @param line Línea del token
+     * @param column Columna del token
+     */
+    public void add(int symbol, int start, int end, int line, int column) {
+        if (size == symbols.length) {
+            grow();
+        }
+
+        symbols[size] = symbol;
+        starts[size] = start;
+        ends[size] = end;
+        lines[size] = line;
+        columns[size] = column;
+        size++;
+    }
+
+    /**
+     * Elimina todos los tokens conservando la capacidad reservada
+     */
+    public void clear() {
+        size = 0;
+        source = new char[0];
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // CONSULTA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int getSymbol(int index) {
+        checkIndex(index);
+        return symbols[index];
+    }
+
+    /**
+     * Nombre del tipo del token (ej: "ID", "FLECHA")
+     */
+    public String getType(int index) {
+        return sym.terminalNames[getSymbol(index)];
+    }
+
+    /**
+     * Lexema del token, recortado del texto fuente en el momento de pedirlo
+     */
+    public String getLexeme(int index) {
+        checkIndex(index);
+        return new String(source, starts[index], ends[index] - starts[index]);
+    }
+
+    public int getStart(int index) {
+        checkIndex(index);
+        return starts[index];
+    }
+
+    public int getEnd(int index) {
+        checkIndex(index);
+        return ends[index];
+    }
+
+    public int getLine(int index) {
+        checkIndex(index);
+        return lines[index];
+    }
+
+    public int getColumn(int index) {
+        checkIndex(index);
+        return columns[index];
+    }
+
+    /**
+     * Crea un Token con los datos de la posición indicada
+     */
+    public Token get(int index) {
+        return new Token(getLexeme(index), getLine(index), getColumn(index), getType(index));
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // MÉTODOS AUXILIARES
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    private void grow() {
+        int capacity = symbols.length + (symbols.length >> 1);
+        symbols = Arrays.copyOf(symbols, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        lines = Arrays.copyOf(lines, capacity);
+        columns = Arrays.copyOf(columns, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Token " + index + " fuera de rango (total: " + size + ")");
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package Utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Eventos de Java Flight Recorder para las fases del analizador.
+ *
+ * Permiten relacionar las grabaciones de JFR (GC, CPU, memoria) con el trabajo
+ * propio del programa: análisis léxico, análisis sintáctico, ejecución de cada
+ * instrucción, simplificación, dibujo de diagramas y escritura de archivos.
+ * Si la grabación no está activa o el evento está deshabilitado, crearlos y
+ * confirmarlos no tiene costo apreciable; los campos solo se calculan cuando
+ * shouldCommit() devuelve true.
+ *
+ * Ejemplo: java -XX:StartFlightRecording=filename=conj.jfr -jar ... archivo.ca
+ *
+ * @author danie
+ */
+public final class TraceEvents {
+
+    private static final String CATEGORY = "Analizador de Conjuntos";
+
+    private TraceEvents() {
+    }
+
+    @Name("conjanalyzer.Lexing")
+    @Label("Análisis léxico")
+    @Category({CATEGORY, "Compilación"})
+    @Description("Recorrido completo del lexer sobre el código fuente")
+    public static final class LexingEvent extends Event {
+        @Label("Tokens")
+        public int tokens;
+
+        @Label("Caracteres")
+        public long characters;
+    }
+
+    @Name("conjanalyzer.Parsing")
+    @Label("Análisis sintáctico")
+    @Category({CATEGORY, "Compilación"})
+    @Description("Ejecución de Parser.parse; en modo streaming incluye la ejecución de las instrucciones")
+    public static final class ParsingEvent extends Event {
+        @Label("Instrucciones")
+        public int instructions;
+
+        @Label("Streaming")
+        public boolean streaming;
+
+        @Label("Errores sintácticos")
+        public int syntaxErrors;
+    }
+
+    @Name("conjanalyzer.Instruction")
+    @Label("Instrucción")
+    @Category({CATEGORY, "Ejecución"})
+    @Description("Ejecución de una instrucción CONJ, OPERA, EVALUAR o UNIVERSO")
+    public static final class InstructionEvent extends Event {
+        @Label("Línea")
+        public int line;
+
+        @Label("Tipo")
+        public String kind;
+
+        @Label("Nombre")
+        public String name;
+
+        @Label("Operador")
+        public String operator;
+
+        @Label("Elementos leídos")
+        public long elementsIn;
+
+        @Label("Elementos producidos")
+        public long elementsOut;
+    }
+
+    @Name("conjanalyzer.Simplification")
+    @Label("Simplificación")
+    @Category({CATEGORY, "Ejecución"})
+    @Description("OperationsSimplifier.simplifyAndAnalyze para una operación")
+    public static final class SimplificationEvent extends Event {
+        @Label("Operación")
+        public String operation;
+
+        @Label("Longitud de la expresión")
+        public int expressionLength;
+
+        @Label("Leyes aplicadas")
+        public int appliedLaws;
+
+        @Label("Reutilizada")
+        public boolean reused;
+    }
+
+    @Name("conjanalyzer.DiagramRender")
+    @Label("Dibujo de diagrama")
+    @Category({CATEGORY, "Diagramas"})
+    @Description("Dibujo en memoria de un diagrama de Venn")
+    public static final class DiagramRenderEvent extends Event {
+        @Label("Operación")
+        public String operation;
+
+        @Label("Tipo de operación")
+        public String operationType;
+
+        @Label("Ancho")
+        public int width;
+
+        @Label("Alto")
+        public int height;
+
+        @Label("Elementos del resultado")
+        public int elements;
+    }
+
+    @Name("conjanalyzer.FileWrite")
+    @Label("Escritura de archivo")
+    @Category({CATEGORY, "Archivos"})
+    @Description("Escritura de un reporte, imagen o JSON generado por el programa")
+    public static final class FileWriteEvent extends Event {
+        @Label("Tipo")
+        public String kind;
+
+        @Label("Ruta")
+        public String path;
+
+        @Label("Bytes escritos")
+        @DataAmount
+        public long bytes;
+    }
+
+    @Name("conjanalyzer.LimitExceeded")
+    @Label("Límite superado")
+    @Category({CATEGORY, "Ejecución"})
+    @Description("Una instrucción o ejecución superó un límite de ResourceLimits")
+    public static final class LimitEvent extends Event {
+        @Label("Límite")
+        public String limit;
+
+        @Label("Valor")
+        public long value;
+
+        @Label("Máximo")
+        public long maximum;
+    }
+}
@@ -0,0 +1,313 @@
+package Utils;
+
+import Environment.SetCodec;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Archivo binario con las entradas del InstructionCache, para reutilizar los
+ * resultados de un programa entre ejecuciones de la aplicación.
+ *
+ * Encabezado de 32 bytes: "CONJSNAP", versión, cantidad de entradas, largo del
+ * cuerpo y su CRC32C. Cada entrada guarda la clave de la instrucción, la salida
+ * de consola, las rutas de sus diagramas, la simplificación, el conjunto escrito
+ * y el universo y los conjuntos que leyó (con SetCodec). Se escribe con un FileChannel a un archivo temporal que luego
+ * reemplaza al anterior, así un corte a mitad de escritura no deja un snapshot
+ * inválido. Al cargar, el archivo se mapea en memoria, se verifica el CRC y los
+ * conjuntos quedan codificados hasta que una instrucción los reutiliza.
+ *
+ * @author danie
+ */
+final class WorkspaceSnapshot {
+
+    private static final byte[] MAGIC = "CONJSNAP".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 32;
+    private static final int WRITE_BUFFER = 1 << 16;
+
+    private WorkspaceSnapshot() {
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // ESCRITURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Escribe las entradas; las que tienen elementos que no se pueden codificar se omiten
+     *
+     * @return Cantidad de entradas escritas
+     */
+    static int write(Map<String, InstructionCache.CachedResult> entries, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+        try {
+            int written = 0;
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.position(HEADER_BYTES);
+                CRC32C crc = new CRC32C();
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                        new CheckedOutputStream(Channels.newOutputStream(channel), crc), WRITE_BUFFER));
+
+                ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+                for (Map.Entry<String, InstructionCache.CachedResult> entry : entries.entrySet()) {
+                    InstructionCache.CachedResult result = entry.getValue();
+                    ByteBuffer payload;
+                    ByteBuffer inputs;
+                    try {
+                        payload = encode(result, encoded);
+                        inputs = encodeInputs(result, encoded);
+                    } catch (IOException e) {
+                        continue;
+                    }
+                    writeEntry(out, entry.getKey(), result, payload, inputs);
+                    written++;
+                }
+                out.flush();
+
+                // El encabezado se escribe al final, cuando se conocen el largo y el CRC del cuerpo
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.put(MAGIC).putInt(VERSION).putInt(written)
+                      .putLong(channel.position() - HEADER_BYTES).putLong(crc.getValue()).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return written;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Conjunto codificado de una entrada: si sigue como se leyó del snapshot se copia
+     * sin decodificarlo; null si la instrucción no escribe un conjunto
+     */
+    private static ByteBuffer encode(InstructionCache.CachedResult result, ByteArrayOutputStream encoded) throws IOException {
+        if (result.writtenSet == null) {
+            return null;
+        }
+        ByteBuffer pending = result.encodedElements();
+        if (pending != null) {
+            return pending;
+        }
+        encoded.reset();
+        SetCodec.write(result.elements(null), new DataOutputStream(encoded));
+        return ByteBuffer.wrap(encoded.toByteArray());
+    }
+
+    /**
+     * Universo y conjuntos leídos por la entrada, con los que se verifica antes de reutilizarla
+     */
+    private static ByteBuffer encodeInputs(InstructionCache.CachedResult result, ByteArrayOutputStream encoded) throws IOException {
+        ByteBuffer pending = result.encodedInputs();
+        if (pending != null) {
+            return pending;
+        }
+        encoded.reset();
+        DataOutputStream out = new DataOutputStream(encoded);
+        SetCodec.writeUniverse(result.universe(), out);
+        Map<String, Set<Object>> readSets = result.readSets();
+        out.writeInt(readSets.size());
+        for (Map.Entry<String, Set<Object>> read : readSets.entrySet()) {
+            writeString(out, read.getKey());
+            SetCodec.write(read.getValue(), out);
+        }
+        return ByteBuffer.wrap(encoded.toByteArray());
+    }
+
+    private static void writeEntry(DataOutputStream out, String key, InstructionCache.CachedResult result,
+                                   ByteBuffer payload, ByteBuffer inputs) throws IOException {
+        writeString(out, key);
+        writeString(out, result.writtenSet);
+        out.writeInt(result.operations);
+        writeStrings(out, result.consoleLines);
+        writeStrings(out, result.images);
+
+        OperationsSimplifier.SimplificationResult simplification = result.simplification;
+        out.writeBoolean(simplification != null);
+        if (simplification != null) {
+            writeString(out, simplification.originalSet);
+            writeString(out, simplification.simplifiedSet);
+            writeStrings(out, simplification.laws == null ? null : Arrays.asList(simplification.laws));
+        }
+
+        writePayload(out, payload);
+        writePayload(out, inputs);
+    }
+
+    private static void writePayload(DataOutputStream out, ByteBuffer payload) throws IOException {
+        if (payload == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(payload.remaining());
+        if (payload.hasArray()) {
+            out.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+        } else {
+            byte[] chunk = new byte[Math.min(WRITE_BUFFER, payload.remaining())];
+            while (payload.hasRemaining()) {
+                int length = Math.min(chunk.length, payload.remaining());
+                payload.get(chunk, 0, length);
+                out.write(chunk, 0, length);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String text) throws IOException {
+        if (text == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> texts) throws IOException {
+        if (texts == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(texts.size());
+        for (String text : texts) {
+            writeString(out, text);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+    // LECTURA
+    // ═══════════════════════════════════════════════════════════════════════════════════════════
+
+    /**
+     * Lee las entradas de un snapshot; los conjuntos quedan como vistas del archivo mapeado
+     *
+     * @throws IOException si el archivo no es un snapshot, es de otra versión o está dañado
+     */
+    static Map<String, InstructionCache.CachedResult> read(Path file) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                throw new IOException("el archivo está incompleto");
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("el archivo supera los 2 GB");
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        byte[] magic = new byte[MAGIC.length];
+        map.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("no es un snapshot de conjuntos");
+        }
+        int version = map.getInt();
+        if (version != VERSION) {
+            throw new IOException("versión " + version + " no soportada (se esperaba " + VERSION + ")");
+        }
+        int count = map.getInt();
+        long bodyLength = map.getLong();
+        long checksum = map.getLong();
+        if (count < 0 || bodyLength != map.capacity() - HEADER_BYTES) {
+            throw new IOException("el archivo está incompleto");
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(map.slice(HEADER_BYTES, (int) bodyLength));
+        if (crc.getValue() != checksum) {
+            throw new IOException("el contenido está dañado (CRC distinto)");
+        }
+
+        Map<String, InstructionCache.CachedResult> entries = new HashMap<>();
+        try {
+            for (int i = 0; i < count; i++) {
+                String key = readString(map);
+                entries.put(key, readEntry(map));
+            }
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IOException("el contenido está dañado", e);
+        }
+        return entries;
+    }
+
+    private static InstructionCache.CachedResult readEntry(ByteBuffer in) {
+        String writtenSet = readString(in);
+        int operations = in.getInt();
+        List<String> consoleLines = readStrings(in);
+        List<String> images = readStrings(in);
+
+        OperationsSimplifier.SimplificationResult simplification = null;
+        if (in.get() != 0) {
+            String original = readString(in);
+            String simplified = readString(in);
+            List<String> laws = readStrings(in);
+            simplification = new OperationsSimplifier.SimplificationResult(
+                    laws == null ? null : laws.toArray(new String[0]), original, simplified);
+        }
+
+        ByteBuffer payload = readPayload(in);
+        ByteBuffer inputs = readPayload(in);
+        if (inputs == null) {
+            throw new IllegalArgumentException("entrada sin universo ni conjuntos leídos");
+        }
+        return new InstructionCache.CachedResult(consoleLines, writtenSet, payload, simplification, images, operations, inputs);
+    }
+
+    private static ByteBuffer readPayload(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        ByteBuffer payload = in.slice(in.position(), length);
+        in.position(in.position() + length);
+        return payload;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0) {
+            return null;
+        }
+        List<String> texts = new ArrayList<>(Math.min(count, in.remaining() / 4));
+        for (int i = 0; i < count; i++) {
+            texts.add(readString(in));
+        }
+        return texts;
+    }
+}
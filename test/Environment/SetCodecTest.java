@@ -0,0 +1,59 @@
+package Environment;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de la codificación de conjuntos de los snapshots
+ *
+ * @author danie
+ */
+public class SetCodecTest {
+
+    private static ByteBuffer codificar(Set<Object> set) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SetCodec.write(set, new DataOutputStream(bytes));
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @Test
+    public void conservaEnterosCaracteresYCadenas() throws Exception {
+        Set<Object> original = new HashSet<>(Arrays.asList('a', 'b', 'c', '7', 10, 11, 12, 500, 70000,
+                "hola", new String(Character.toChars(0x1F600))));
+        for (int i = 1000; i < 3000; i += 2) {
+            original.add(i);
+        }
+
+        assertEquals(original, SetCodec.read(codificar(original), null));
+    }
+
+    @Test
+    public void unComplementoSeLigaAlUniversoActualSiEsIgual() throws Exception {
+        Universe guardado = new Universe.Builder().addRange('a', 'z').addIntegerRange(10, 20).build();
+        Universe actual = new Universe.Builder().addIntegerRange(10, 20).addRange('a', 'z').build();
+        Set<Object> complemento = new ComplementSet(guardado, new HashSet<>(Arrays.asList('b', 15)));
+
+        Set<Object> leido = SetCodec.read(codificar(complemento), actual);
+
+        assertTrue(leido instanceof ComplementSet);
+        assertSame(actual, ((ComplementSet) leido).getUniverse());
+        assertEquals(complemento, leido);
+        assertFalse(leido.contains(15));
+        assertTrue(leido.contains(16));
+    }
+
+    @Test
+    public void elUniversoSeLeeIgualAlEscrito() throws Exception {
+        Universe universo = new Universe.Builder().addRange('!', '~').addIntegerRange(100, 5000).add("extra").build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SetCodec.writeUniverse(universo, new DataOutputStream(bytes));
+
+        assertEquals(universo, SetCodec.readUniverse(ByteBuffer.wrap(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,85 @@
+package Environment;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.swing.JTextPane;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del universo: huella, igualdad y reutilización en el cache
+ *
+ * @author danie
+ */
+public class UniverseTest {
+
+    private static Universe universe(Object... elements) {
+        Universe.Builder builder = new Universe.Builder();
+        for (Object element : elements) {
+            builder.add(element);
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void extrasConLaMismaSumaDeHashTienenHuellasDistintas() {
+        Universe first = universe(10, 13);
+        Universe second = universe(11, 12);
+
+        assertNotEquals(first.getFingerprint(), second.getFingerprint());
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    public void universosConElMismoContenidoSonIguales() {
+        Universe first = new Universe.Builder().addRange('a', 'm').addRange('n', 'z').add(100).build();
+        Universe second = new Universe.Builder().add(100).addRange('a', 'z').build();
+
+        assertEquals(first.getFingerprint(), second.getFingerprint());
+        assertEquals(first, second);
+    }
+
+    @Test
+    public void losRangosNumericosSonEnterosYNoCaracteres() {
+        Universe numeros = new Universe.Builder().addIntegerRange(5, 20).build();
+
+        assertEquals(16, numeros.size());
+        assertTrue(numeros.contains(15));
+        assertTrue(numeros.contains('7'));
+        assertFalse(numeros.contains((char) 15));
+        assertFalse(numeros.contains(21));
+
+        Set<Object> recorridos = new HashSet<>(numeros);
+        assertEquals(16, recorridos.size());
+        assertTrue(recorridos.contains('5') && recorridos.contains(10) && recorridos.contains(20));
+    }
+
+    @Test
+    public void aceptaCaracteresPorEncimaDeUFFFF() {
+        String primero = new String(Character.toChars(0x1F600));
+        String otro = new String(Character.toChars(0x1F601));
+        Universe emojis = new Universe.Builder().addRange(0x1F600, 0x1F64F).build();
+
+        assertEquals(0x50, emojis.size());
+        assertTrue(emojis.contains(primero));
+        assertTrue(new HashSet<>(emojis).contains(otro));
+        assertEquals(emojis, new Universe.Builder().add(primero).addRange(0x1F601, 0x1F64F).build());
+    }
+
+    @Test
+    public void elRangoNumericoDelProgramaNoGeneraCaracteresDeControl() throws Exception {
+        JTextPane consola = new JTextPane();
+        Project.Project.parseInput("{ UNIVERSO -> 10~20; CONJ : A -> 10~18; OPERA : r -> ^ {A}; }", consola);
+        assertTrue(consola.getText(), consola.getText().contains("Resultado: {19, 20}"));
+    }
+
+    @Test
+    public void elCacheNoReutilizaElComplementoDeOtroUniverso() throws Exception {
+        JTextPane consola = new JTextPane();
+        Project.Project.parseInput("{ UNIVERSO -> 10, 13; CONJ : A -> 10; OPERA : r -> ^ {A}; }", consola);
+        assertTrue(consola.getText(), consola.getText().contains("Resultado: {13}"));
+
+        Project.Project.parseInput("{ UNIVERSO -> 11, 12; CONJ : A -> 10; OPERA : r -> ^ {A}; }", consola);
+        assertTrue(consola.getText(), consola.getText().contains("Resultado: {11, 12}"));
+    }
+}
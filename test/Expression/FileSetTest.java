@@ -0,0 +1,75 @@
+package Expression;
+
+import Environment.Environment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import javax.swing.JTextPane;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de ARCHIVO: formato del archivo, bloques en paralelo y rutas relativas
+ *
+ * @author danie
+ */
+public class FileSetTest {
+
+    @After
+    public void restaurarCarpeta() {
+        FileSet.setBaseDirectory(null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Set<Object> cargar(Path file) {
+        return (Set<Object>) new FileSet(file.toString()).Execute(new Environment()).value;
+    }
+
+    @Test
+    public void leeLineasComasYComentarios() throws Exception {
+        Path file = Files.createTempFile("elementos", ".txt");
+        Files.writeString(file, "# comentario, 99\n10, 20\r\n 30 \n\nabc,7\n10\n4294967296");
+
+        Set<Object> elements = cargar(file);
+
+        assertEquals(6, elements.size());
+        assertTrue(elements.contains(10) && elements.contains(20) && elements.contains(30));
+        assertTrue(elements.contains("abc"));
+        assertTrue("los dígitos sueltos se normalizan a caracteres", elements.contains('7'));
+        assertTrue("un número que no cabe en un int queda como texto", elements.contains("4294967296"));
+        assertFalse(elements.contains(99));
+    }
+
+    @Test
+    public void unArchivoDeVariosBloquesNoPierdeElementosEnLosBordes() throws Exception {
+        Path file = Files.createTempFile("grande", ".txt");
+        StringBuilder content = new StringBuilder();
+        int count = 400_000;
+        for (int i = 0; i < count; i++) {
+            content.append(1000 + i * 3).append('\n');
+        }
+        Files.writeString(file, content);
+        assertTrue(Files.size(file) > 2 << 20);
+
+        Set<Object> elements = cargar(file);
+
+        assertEquals(count, elements.size());
+        assertTrue(elements.contains(1000));
+        assertTrue(elements.contains(1000 + (count - 1) * 3));
+        assertFalse(elements.contains(1001));
+    }
+
+    @Test
+    public void laRutaRelativaSeResuelveDesdeLaCarpetaDelPrograma() throws Exception {
+        Path folder = Files.createTempDirectory("programa");
+        Files.writeString(folder.resolve("ids.txt"), "100\n200\n");
+        FileSet.setBaseDirectory(folder);
+
+        JTextPane consola = new JTextPane();
+        Project.Project.parseInput("{ CONJ : A -> ARCHIVO \"ids.txt\"; CONJ : B -> 200, 300; "
+                + "OPERA : r -> & {A} {B}; }", consola);
+
+        assertTrue(consola.getText(), consola.getText().contains("Resultado: {200}"));
+    }
+}
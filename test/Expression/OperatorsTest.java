@@ -0,0 +1,89 @@
+package Expression;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.swing.JTextPane;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del planificador de OPERA: resultados y operaciones realmente hechas
+ *
+ * @author danie
+ */
+public class OperatorsTest {
+
+    private static String ejecutar(String programa) throws Exception {
+        JTextPane consola = new JTextPane();
+        Project.Project.parseInput(programa, consola);
+        return consola.getText();
+    }
+
+    private static String resultado(String salida, String operacion) {
+        Matcher matcher = Pattern.compile("Operación '" + operacion + "' ejecutada correctamente\\.\\s*\\S+ Resultado: ([^\\n]*)")
+                                 .matcher(salida);
+        assertTrue("no se encontró el resultado de " + operacion + "\n" + salida, matcher.find());
+        return matcher.group(1).trim();
+    }
+
+    private static int operaciones(String salida) {
+        Matcher matcher = Pattern.compile("Operaciones realizadas: (\\d+)").matcher(salida);
+        assertTrue(salida, matcher.find());
+        return Integer.parseInt(matcher.group(1));
+    }
+
+    @Test
+    public void elUniversoComoOperandoSeResuelveSinOperar() throws Exception {
+        String definiciones = "CONJ : A -> a, b; OPERA : todo -> U ^ {A} {A}; OPERA : c -> ^ {A}; ";
+        String base = ejecutar("{ " + definiciones + "}");
+        String salida = ejecutar("{ " + definiciones
+                + "OPERA : r1 -> & {todo} {c}; "
+                + "OPERA : r2 -> - {c} {todo}; }");
+
+        assertEquals("{'!'~'~'}", resultado(salida, "todo"));
+        assertEquals(resultado(salida, "c"), resultado(salida, "r1"));
+        assertEquals("∅", resultado(salida, "r2"));
+        // & U X = X y - X U = ∅ no agregan operaciones
+        assertEquals(operaciones(base), operaciones(salida));
+    }
+
+    @Test
+    public void laUnionNariaCuentaUnaOperacionPorOperandoExtra() throws Exception {
+        String salida = ejecutar("{ CONJ : A -> 10; CONJ : B -> 20; CONJ : C -> 30; CONJ : D -> 40; "
+                + "OPERA : r -> U {A} U {B} U {C} {D}; }");
+
+        assertEquals("{10, 20, 30, 40}", resultado(salida, "r"));
+        assertEquals(3, operaciones(salida));
+    }
+
+    @Test
+    public void laUnionNariaConComplementosTambienSeCuenta() throws Exception {
+        String salida = ejecutar("{ CONJ : A -> a~y; CONJ : B -> 10; CONJ : C -> 20; "
+                + "OPERA : r -> U ^ {A} U {B} {C}; }");
+
+        // ^ y dos uniones simbólicas
+
+        assertEquals(3, operaciones(salida));
+    }
+
+    @Test
+    public void laDiferenciaConUnaUnionCuentaUnaRestaPorSustraendo() throws Exception {
+        String salida = ejecutar("{ CONJ : A -> 10, 20, 30, 40; CONJ : B -> 10; CONJ : C -> 20; CONJ : D -> 30; "
+                + "OPERA : r -> - {A} U {B} U {C} {D}; }");
+
+        // A - (B ∪ C ∪ D) = ((A - B) - C) - D, sin construir la unión
+        assertEquals("{40}", resultado(salida, "r"));
+        assertEquals(3, operaciones(salida));
+    }
+
+    @Test
+    public void losElementosFueraDelUniversoSeRespetan() throws Exception {
+        String salida = ejecutar("{ CONJ : A -> a, b; CONJ : B -> a, 500; "
+                + "OPERA : todo -> U ^ {A} {A}; "
+                + "OPERA : r3 -> & {todo} {B}; "
+                + "OPERA : r4 -> - {B} {todo}; }");
+
+        assertEquals("{'a'}", resultado(salida, "r3"));
+        assertEquals("{500}", resultado(salida, "r4"));
+    }
+}
@@ -0,0 +1,70 @@
+package Utils;
+
+import Types.TypeLaw;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del simplificador por e-graph: leyes, determinismo y presupuesto
+ *
+ * @author danie
+ */
+public class EGraphSimplifierTest {
+
+    // Cadena larga de uniones: asociativa y conmutativa agotan el presupuesto de nodos
+    private static final String CADENA = "U A U B U C U D U E U F U G U H U I U J K";
+
+    @Test
+    public void aplicaLasLeyesEsperadas() {
+        EGraphSimplifier.Result doble = EGraphSimplifier.simplify("^ ^ A");
+        assertEquals("A", doble.expression);
+        assertEquals(List.of(TypeLaw.DOBLE_COMPLEMENTO), doble.laws);
+        assertTrue(doble.saturated);
+
+        assertEquals("A", EGraphSimplifier.simplify("& U A B A").expression);
+        assertEquals("VACIO", EGraphSimplifier.simplify("- A A").expression);
+    }
+
+    @Test
+    public void unaExpresionSinNadaQueSimplificarSaleIgual() {
+        EGraphSimplifier.Result result = EGraphSimplifier.simplify("U A & B C");
+        assertEquals("U A & B C", result.expression);
+        assertTrue(result.laws.isEmpty());
+    }
+
+    @Test
+    public void elMismoResultadoEnCadaEjecucion() {
+        EGraphSimplifier.Result first = EGraphSimplifier.simplify(CADENA);
+        for (int i = 0; i < 3; i++) {
+            EGraphSimplifier.Result again = EGraphSimplifier.simplify(CADENA);
+            assertEquals(first.expression, again.expression);
+            assertEquals(first.laws, again.laws);
+            assertEquals(first.saturated, again.saturated);
+            assertEquals(first.nodes, again.nodes);
+        }
+    }
+
+    @Test
+    public void unResultadoIncompletoNoSeGuardaEnElCache() throws Exception {
+        assertFalse(EGraphSimplifier.simplify(CADENA).saturated);
+
+        SimplificationCache cache = new SimplificationCache(
+                Files.createTempDirectory("simplificaciones").resolve("cache_simplificaciones.json"));
+        AtomicInteger calculadas = new AtomicInteger();
+        for (int i = 0; i < 2; i++) {
+            cache.simplify(CADENA, expression -> {
+                calculadas.incrementAndGet();
+                return OperationsSimplifier.applySaturation(expression);
+            });
+        }
+        assertEquals(2, calculadas.get());
+    }
+
+    @Test
+    public void unaExpresionInvalidaDevuelveNull() {
+        assertNull(EGraphSimplifier.simplify("U A"));
+    }
+}
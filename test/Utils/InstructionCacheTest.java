@@ -0,0 +1,73 @@
+package Utils;
+
+import Environment.Environment;
+import java.nio.file.Paths;
+import java.util.*;
+import javax.swing.JTextPane;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del re-análisis incremental: reutilización, invalidación y verificación de entradas
+ *
+ * @author danie
+ */
+public class InstructionCacheTest {
+
+    private static final String PROGRAMA = "{ CONJ : A -> 1, 2, 3; CONJ : B -> 3, 4; OPERA : r -> U {A} {B}; }";
+
+    private final JTextPane consola = new JTextPane();
+
+    @Before
+    public void limpiarCache() {
+        InstructionCache.getInstance().setDocument(null);
+        InstructionCache.getInstance().clear();
+    }
+
+    @Test
+    public void reutilizaLasInstruccionesQueNoCambiaron() throws Exception {
+        Project.Project.parseInput(PROGRAMA, consola);
+        assertEquals(0, InstructionCache.getInstance().getHits());
+
+        Project.Project.parseInput(PROGRAMA, consola);
+        assertEquals(3, InstructionCache.getInstance().getHits());
+    }
+
+    @Test
+    public void reEjecutaLaOperacionSiCambiaUnConjuntoLeido() throws Exception {
+        Project.Project.parseInput(PROGRAMA, consola);
+        Project.Project.parseInput(PROGRAMA.replace("3, 4", "5"), consola);
+
+        // Solo A sigue igual; B cambió y r lo lee
+        assertEquals(1, InstructionCache.getInstance().getHits());
+        assertTrue(consola.getText(), consola.getText().contains("Resultado: {'1'~'3', '5'}"));
+    }
+
+    @Test
+    public void otroDocumentoDescartaLasEntradas() throws Exception {
+        InstructionCache cache = InstructionCache.getInstance();
+        cache.setDocument(Paths.get("uno.ca"));
+        Project.Project.parseInput(PROGRAMA, consola);
+
+        cache.setDocument(Paths.get("dos.ca"));
+        Project.Project.parseInput(PROGRAMA, consola);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void unaEntradaNoCoincideSiLosConjuntosLeidosSonDistintos() {
+        Environment environment = new Environment("Prueba");
+        environment.saveSet("A", new HashSet<>(Arrays.asList(10, 20)));
+
+        Map<String, Set<Object>> leidos = new LinkedHashMap<>();
+        leidos.put("A", new HashSet<>(Arrays.asList(10, 30)));
+        InstructionCache.CachedResult entrada = new InstructionCache.CachedResult(
+                new ArrayList<>(), null, (Set<Object>) null, null, new ArrayList<>(), 0,
+                environment.getUniverse(), leidos);
+        assertFalse(entrada.matches(environment));
+
+        leidos.put("A", new HashSet<>(Arrays.asList(10, 20)));
+        assertTrue(entrada.matches(environment));
+    }
+}
@@ -0,0 +1,85 @@
+package Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del cache de módulos: reutilización, cambios del archivo y .mod dañados
+ *
+ * @author danie
+ */
+public class ModuleCacheTest {
+
+    private Path module;
+
+    @Before
+    public void crearModulo() throws Exception {
+        module = Files.createTempDirectory("modulo").resolve("base.ca");
+        Files.writeString(module, "{ CONJ : letras -> a~c; CONJ : nums -> 10, 20; }");
+        ModuleCache.getInstance().clear();
+        ModuleCache.getInstance().beginRun();
+    }
+
+    @Test
+    public void reutilizaElModuloMientrasNoCambie() throws Exception {
+        ModuleCache.Module first = ModuleCache.getInstance().load(module);
+        ModuleCache.Module second = ModuleCache.getInstance().load(module);
+
+        assertSame(first, second);
+        assertEquals(Set.of('a', 'b', 'c'), first.getSets().get("letras"));
+        assertEquals(Set.of(10, 20), first.getSets().get("nums"));
+    }
+
+    @Test
+    public void unCambioDelArchivoSeVeEnLaSiguienteEjecucion() throws Exception {
+        ModuleCache.getInstance().load(module);
+        Files.writeString(module, "{ CONJ : letras -> x; }");
+
+        ModuleCache.getInstance().beginRun();
+        ModuleCache.Module changed = ModuleCache.getInstance().load(module);
+        assertEquals(Set.of("letras"), changed.getSetNames());
+        assertEquals(Set.of('x'), changed.getSets().get("letras"));
+    }
+
+    @Test
+    public void unModuloEnDiscoConCrcIncorrectoSeVuelveAEjecutar() throws Exception {
+        // Contenido único: el .mod se crea en esta prueba
+        Files.writeString(module, "# " + System.nanoTime() + "\n{ CONJ : unico -> 42; }");
+        long before = System.currentTimeMillis() - 1000;
+        ModuleCache.getInstance().load(module);
+
+        Path saved;
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("conj.modulos", "modulos_cache")))) {
+            saved = files.filter(file -> file.toString().endsWith(".mod"))
+                         .filter(file -> file.toFile().lastModified() >= before)
+                         .filter(file -> contains(file, "unico"))
+                         .findFirst().orElseThrow();
+        }
+        byte[] bytes = Files.readAllBytes(saved);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(saved, bytes);
+
+        ModuleCache.getInstance().clear();
+        ModuleCache.getInstance().beginRun();
+        ModuleCache.Module reloaded = ModuleCache.getInstance().load(module);
+
+        assertEquals(Set.of("unico"), reloaded.getSetNames());
+        assertFalse("el .mod dañado se reemplaza", Arrays.equals(bytes, Files.readAllBytes(saved)));
+    }
+
+    private static boolean contains(Path file, String text) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1).contains(text);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
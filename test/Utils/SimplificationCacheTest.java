@@ -0,0 +1,79 @@
+package Utils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del cache de simplificaciones: formas canónicas y archivo JSON
+ *
+ * @author danie
+ */
+public class SimplificationCacheTest {
+
+    private Path file;
+    private final AtomicInteger calculadas = new AtomicInteger();
+
+    private final Function<String, OperationsSimplifier.SimplificationResult> simplificador = expression -> {
+        calculadas.incrementAndGet();
+        return OperationsSimplifier.applySaturation(expression);
+    };
+
+    @Before
+    public void crearArchivo() throws Exception {
+        file = Files.createTempDirectory("simplificaciones").resolve("cache_simplificaciones.json");
+    }
+
+    @Test
+    public void unaFormaYaVistaNoSeVuelveACalcular() {
+        SimplificationCache cache = new SimplificationCache(file);
+
+        assertEquals("X", cache.simplify("^ ^ X", simplificador).simplifiedSet);
+        assertEquals("B", cache.simplify("^ ^ B", simplificador).simplifiedSet);
+        assertEquals("nombres", cache.simplify("& U nombres B nombres", simplificador).simplifiedSet);
+        assertEquals("otros", cache.simplify("& U otros C otros", simplificador).simplifiedSet);
+
+        assertEquals(2, calculadas.get());
+    }
+
+    @Test
+    public void lasFormasGuardadasSeReutilizanEnOtraEjecucion() {
+        SimplificationCache primera = new SimplificationCache(file);
+        primera.simplify("^ ^ X", simplificador);
+        primera.save();
+
+        SimplificationCache segunda = new SimplificationCache(file);
+        OperationsSimplifier.SimplificationResult result = segunda.simplify("^ ^ Y", simplificador);
+
+        assertEquals(1, calculadas.get());
+        assertEquals("Y", result.simplifiedSet);
+        assertEquals("^ ^ Y", result.originalSet);
+        assertTrue(result.laws.length > 0);
+    }
+
+    @Test
+    public void unArchivoDanadoSeIgnoraYSeReemplaza() throws Exception {
+        Files.writeString(file, "{\"version\": 3, \"entradas\": [ {\"forma\": \"^ ^ A\", ");
+        SimplificationCache cache = new SimplificationCache(file);
+
+        assertEquals("A", cache.simplify("^ ^ A", simplificador).simplifiedSet);
+        assertEquals(1, calculadas.get());
+        cache.save();
+
+        new SimplificationCache(file).simplify("^ ^ A", simplificador);
+        assertEquals("el archivo guardado vuelve a ser válido", 1, calculadas.get());
+    }
+
+    @Test
+    public void unArchivoDeOtraVersionSeIgnora() throws Exception {
+        Files.writeString(file, "{\"version\": 1, \"entradas\": [ "
+                + "{\"forma\": \"^ ^ A\", \"simplificada\": \"B\", \"leyes\": []} ]}");
+
+        assertEquals("A", new SimplificationCache(file).simplify("^ ^ A", simplificador).simplifiedSet);
+        assertEquals(1, calculadas.get());
+    }
+}
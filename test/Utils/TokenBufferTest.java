@@ -0,0 +1,31 @@
+package Utils;
+
+import Analyzer.sym;
+import javax.swing.JTextPane;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas del almacén de tokens: lexemas recortados del texto fuente
+ *
+ * @author danie
+ */
+public class TokenBufferTest {
+
+    @Test
+    public void laCadenaSeReportaSinComillas() throws Exception {
+        String programa = "{ CONJ : A -> ARCHIVO \"datos.txt\"; }";
+        TokenBuffer tokens = Project.Project.parseInput(programa, new JTextPane());
+
+        int cadenas = 0;
+        for (int i = 0; i < tokens.size(); i++) {
+            if (tokens.getSymbol(i) == sym.CADENA) {
+                assertEquals("datos.txt", tokens.getLexeme(i));
+                assertEquals(programa.indexOf("datos.txt"), tokens.getStart(i));
+                cadenas++;
+            }
+        }
+        assertEquals(1, cadenas);
+        assertEquals("A", tokens.getLexeme(3));
+    }
+}
@@ -0,0 +1,89 @@
+package Utils;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import javax.swing.JTextPane;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Pruebas de los snapshots (.snap): ida y vuelta y archivos dañados
+ *
+ * @author danie
+ */
+public class WorkspaceSnapshotTest {
+
+    private static final String PROGRAMA = "{ UNIVERSO -> a~z, 100~200; CONJ : A -> a~f, 150; "
+            + "CONJ : B -> 120, hola; OPERA : c -> ^ {A}; OPERA : r -> U {c} {B}; }";
+
+    private final JTextPane consola = new JTextPane();
+    private Path programa;
+
+    @Before
+    public void ejecutarYGuardar() throws Exception {
+        programa = Files.createTempDirectory("snapshot").resolve("programa.ca");
+        InstructionCache cache = InstructionCache.getInstance();
+        cache.setDocument(null);
+        cache.clear();
+        Project.Project.parseInput(PROGRAMA, consola);
+        // UNIVERSO siempre se ejecuta; se guardan A, B, c y r
+        String guardado = cache.saveSnapshotFor(programa);
+        assertTrue(guardado, guardado.startsWith("💾 Snapshot guardado: 4 "));
+        cache.clear();
+    }
+
+    @Test
+    public void lasEntradasCargadasSeReutilizanConElMismoResultado() throws Exception {
+        String antes = consola.getText();
+        InstructionCache cache = InstructionCache.getInstance();
+
+        assertTrue(cache.loadSnapshotFor(programa).startsWith("💾 Snapshot cargado: 4 "));
+        consola.setText("");
+        Project.Project.parseInput(PROGRAMA, consola);
+
+        assertEquals(4, cache.getHits());
+        assertEquals(resultado(antes), resultado(consola.getText()));
+    }
+
+    private static String resultado(String salida) {
+        int operacion = salida.indexOf("Operación 'r' ejecutada correctamente.");
+        assertTrue(salida, operacion >= 0);
+        int inicio = salida.indexOf("Resultado:", operacion);
+        return salida.substring(inicio, salida.indexOf('\n', inicio));
+    }
+
+    @Test
+    public void unSnapshotConCrcIncorrectoSeIgnora() throws Exception {
+        Path file = InstructionCache.snapshotPathFor(programa);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer one = ByteBuffer.allocate(1);
+            long position = channel.size() - 5;
+            channel.read(one, position);
+            one.put(0, (byte) (one.get(0) ^ 0x5A));
+            one.rewind();
+            channel.write(one, position);
+        }
+
+        InstructionCache cache = InstructionCache.getInstance();
+        String mensaje = cache.loadSnapshotFor(programa);
+        assertTrue(mensaje, mensaje.startsWith("⚠️ Snapshot ignorado") && mensaje.contains("CRC"));
+
+        Project.Project.parseInput(PROGRAMA, consola);
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void unSnapshotIncompletoSeIgnora() throws Exception {
+        Path file = InstructionCache.snapshotPathFor(programa);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 1));
+
+        String mensaje = InstructionCache.getInstance().loadSnapshotFor(programa);
+        assertTrue(mensaje, mensaje.startsWith("⚠️ Snapshot ignorado"));
+    }
+}